@@ -0,0 +1,73 @@
+package ak.dev.khi_backend.khi_app.api.export;
+
+import ak.dev.khi_backend.khi_app.enums.ExportFormat;
+import ak.dev.khi_backend.khi_app.enums.ExportTarget;
+import ak.dev.khi_backend.khi_app.service.export.ArchiveExportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ArchiveExportController — full archive download.
+ *
+ *   GET /api/v1/media/export?format=NDJSON|JSONLD
+ *       [&types=NEWS,VIDEO,...][&gzip=true]
+ *
+ * The body is written straight to the servlet output stream with chunked
+ * transfer encoding while the database cursor is read, instead of through a
+ * StreamingResponseBody: a full export can outlast the async request
+ * timeout. Admin-only through the media prefix.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/media/export")
+@RequiredArgsConstructor
+@Tag(name = "Archive export", description = "Streaming NDJSON / JSON-LD export of all content")
+public class ArchiveExportController {
+
+    private final ArchiveExportService archiveExportService;
+
+    @GetMapping
+    public void export(
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(value = "types", required = false) List<ExportTarget> types,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("GET /api/v1/media/export | format={} types={} gzip={}", format, types, gzip);
+
+        String fileName = "khi-archive-" + LocalDate.now()
+                + (format == ExportFormat.JSONLD ? ".jsonld" : ".ndjson")
+                + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip"
+                : format == ExportFormat.JSONLD ? "application/ld+json" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+
+        Map<ExportTarget, Long> written;
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream zipped = new GZIPOutputStream(out, 64 * 1024)) {
+                written = archiveExportService.export(format, types, zipped);
+            }
+        } else {
+            written = archiveExportService.export(format, types, out);
+        }
+        log.info("Archive export finished: {}", written);
+    }
+}
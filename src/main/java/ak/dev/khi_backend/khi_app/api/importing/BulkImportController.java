@@ -0,0 +1,74 @@
+package ak.dev.khi_backend.khi_app.api.importing;
+
+import ak.dev.khi_backend.khi_app.dto.ApiResponse;
+import ak.dev.khi_backend.khi_app.dto.importing.ImportDtos.JobResponse;
+import ak.dev.khi_backend.khi_app.dto.importing.ImportDtos.RowErrorResponse;
+import ak.dev.khi_backend.khi_app.enums.ImportFormat;
+import ak.dev.khi_backend.khi_app.enums.ImportTarget;
+import ak.dev.khi_backend.khi_app.service.importing.BulkImportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * BulkImportController — archive imports from NDJSON / CSV files.
+ *
+ *   POST /api/v1/media/imports?target=NEWS[&format=CSV][&chunkSize=200]
+ *        multipart part {@code file}                → 202 + job (QUEUED)
+ *   GET  /api/v1/media/imports/{id}                 → progress / counts
+ *   GET  /api/v1/media/imports/{id}/errors          → skipped rows, paged
+ *   POST /api/v1/media/imports/{id}/resume          → continue a FAILED job
+ *
+ * Lives under the media prefix so it shares the admin-only rule and the
+ * upload admission limits of the other upload endpoints.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/media/imports")
+@RequiredArgsConstructor
+@Tag(name = "Bulk import", description = "Streaming NDJSON / CSV import of archive content")
+public class BulkImportController {
+
+    private final BulkImportService bulkImportService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<JobResponse>> start(
+            @RequestParam("target") ImportTarget target,
+            @RequestParam(value = "format", required = false) ImportFormat format,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestPart("file") MultipartFile file
+    ) {
+        log.info("POST /api/v1/media/imports | target={} format={} file={}",
+                target, format, file.getOriginalFilename());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(
+                bulkImportService.start(target, format, chunkSize, file), "Import job queued"));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<JobResponse>> status(@PathVariable Long jobId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                bulkImportService.status(jobId), "Import job fetched"));
+    }
+
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<ApiResponse<Page<RowErrorResponse>>> errors(
+            @PathVariable Long jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(
+                bulkImportService.errors(jobId, page, size), "Import row errors fetched"));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ApiResponse<JobResponse>> resume(@PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(
+                bulkImportService.resume(jobId), "Import job resumed"));
+    }
+}
@@ -0,0 +1,78 @@
+package ak.dev.khi_backend.khi_app.api.media;
+
+import ak.dev.khi_backend.khi_app.dto.ApiResponse;
+import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.UploadInitRequest;
+import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.UploadSessionResponse;
+import ak.dev.khi_backend.khi_app.service.media.ChunkedUploadService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * ChunkedUploadController — resumable uploads for files too large (or links
+ * too unreliable) for a single multipart request.
+ *
+ * Flow used by the dashboard:
+ *   1. POST   /api/v1/media/uploads                      → { uploadId, maxChunkSize }
+ *   2. PUT    /api/v1/media/uploads/{id}/chunks?offset=N  raw bytes,
+ *             header X-Chunk-Sha256: hex SHA-256 of the chunk
+ *   3. GET    /api/v1/media/uploads/{id}                 → receivedBytes (resume point)
+ *   4. POST   /api/v1/media/uploads/{id}/complete        → { fileUrl }
+ *   5. Send {@code uploadId} in the Sound / Video create or update JSON
+ *      instead of the matching multipart file part.
+ *
+ *   DELETE /api/v1/media/uploads/{id} cancels and removes the spool.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/media/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Media", description = "Shared S3 upload pipeline used by every Tiptap editor")
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> init(@RequestBody UploadInitRequest request) {
+        return ResponseEntity.ok(
+                ApiResponse.success(chunkedUploadService.init(request), "Upload session created"));
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> status(@PathVariable String uploadId) {
+        return ResponseEntity.ok(
+                ApiResponse.success(chunkedUploadService.status(uploadId), "Upload session fetched"));
+    }
+
+    @PutMapping(value = "/{uploadId}/chunks", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> appendChunk(
+            @PathVariable String uploadId,
+            @RequestParam("offset") long offset,
+            @RequestHeader(value = "X-Chunk-Sha256", required = false) String sha256,
+            HttpServletRequest request
+    ) throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            UploadSessionResponse response = chunkedUploadService.appendChunk(uploadId, offset, body, sha256);
+            return ResponseEntity.ok(ApiResponse.success(response, "Chunk stored"));
+        }
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> complete(@PathVariable String uploadId) {
+        return ResponseEntity.ok(
+                ApiResponse.success(chunkedUploadService.complete(uploadId), "Upload completed"));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<Void>> abort(@PathVariable String uploadId) {
+        chunkedUploadService.abort(uploadId);
+        return ResponseEntity.ok(ApiResponse.success(null, "Upload session aborted"));
+    }
+}
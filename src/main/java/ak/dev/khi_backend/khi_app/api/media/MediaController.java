@@ -1,8 +1,10 @@
 package ak.dev.khi_backend.khi_app.api.media;
 
 import ak.dev.khi_backend.khi_app.dto.ApiResponse;
+import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.OrphanSweepReport;
 import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.UploadResponse;
 import ak.dev.khi_backend.khi_app.service.media.MediaService;
+import ak.dev.khi_backend.khi_app.service.media.OrphanedMediaCollector;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +36,7 @@ import java.util.List;
 public class MediaController {
 
     private final MediaService mediaService;
+    private final OrphanedMediaCollector orphanedMediaCollector;
 
     /**
      * Upload a single media file to S3.
@@ -71,12 +74,25 @@ public class MediaController {
 
     /**
      * Delete a previously uploaded media file from S3 by URL.
-     * Reserved for future S3-orphan cleanup; current Tiptap content rarely
-     * needs to delete individual assets.
+     * Current Tiptap content rarely needs to delete individual assets; bulk
+     * orphan cleanup is {@code POST /gc}.
      */
     @DeleteMapping
     public ResponseEntity<ApiResponse<Void>> delete(@RequestParam("fileUrl") String fileUrl) {
         mediaService.delete(fileUrl);
         return ResponseEntity.ok(ApiResponse.success(null, "Media deleted successfully"));
     }
+
+    /**
+     * Reconcile the bucket against the database and report (dryRun=true,
+     * the default) or delete S3 objects no content references any more.
+     */
+    @PostMapping("/gc")
+    public ResponseEntity<ApiResponse<OrphanSweepReport>> sweepOrphans(
+            @RequestParam(value = "dryRun", defaultValue = "true") boolean dryRun
+    ) {
+        OrphanSweepReport report = orphanedMediaCollector.sweep(dryRun);
+        return ResponseEntity.ok(ApiResponse.success(report,
+                dryRun ? "Orphan sweep report generated" : "Orphaned media deleted"));
+    }
 }
@@ -0,0 +1,102 @@
+package ak.dev.khi_backend.khi_app.api.media;
+
+import ak.dev.khi_backend.khi_app.service.media.MediaStreamService;
+import ak.dev.khi_backend.khi_app.service.media.MediaStreamService.MediaStream;
+import ak.dev.khi_backend.khi_app.service.media.MediaStreamService.Span;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * MediaStreamController — ranged streaming of audio and video objects.
+ *
+ * {@code GET /api/v1/stream/<key>} where {@code <key>} is the storage key of
+ * a stored URL (e.g. {@code khi-web-folders/audio/<uuid>-track.mp3}).
+ * Supports {@code Range} (single range), {@code If-Range},
+ * {@code If-None-Match} / {@code If-Modified-Since} and {@code HEAD}.
+ *
+ * Anonymous callers only reach objects that saved content refers to; staff
+ * ({@code EMPLOYEE} and up) may also preview fresh uploads, which are sent
+ * with {@code Cache-Control: private, no-store}.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/stream")
+@RequiredArgsConstructor
+@Tag(name = "Media streaming", description = "Byte-range streaming for audio and video")
+public class MediaStreamController {
+
+    private static final Set<String> PREVIEW_ROLES = Set.of("ROLE_EMPLOYEE", "ROLE_ADMIN", "ROLE_SUPER_ADMIN");
+
+    private final MediaStreamService mediaStreamService;
+
+    @Value("${app.media.stream.cache-max-age:P365D}")
+    private Duration cacheMaxAge = Duration.ofDays(365);
+
+    @GetMapping("/{*key}")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @PathVariable String key,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpMethod method,
+            WebRequest request,
+            Authentication authentication
+    ) {
+        MediaStream media = mediaStreamService.open(key.startsWith("/") ? key.substring(1) : key,
+                canPreview(authentication));
+
+        if (request.checkNotModified(media.eTag(), media.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        Optional<Span> selected = mediaStreamService.select(media, range, ifRange);
+        if (selected.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + media.size())
+                    .build();
+        }
+        Span span = selected.get();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(span.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(media.contentType())
+                .contentLength(span.length())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .cacheControl(media.published()
+                        ? CacheControl.maxAge(cacheMaxAge).cachePublic().immutable()
+                        : CacheControl.noStore().cachePrivate());
+        if (span.partial()) {
+            response.header(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + span.start() + "-" + span.end() + "/" + media.size());
+        }
+
+        if (method == HttpMethod.HEAD || span.length() == 0) {
+            return response.build();
+        }
+        return response.body(out -> mediaStreamService.write(media, span, out));
+    }
+
+    private static boolean canPreview(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && authentication.getAuthorities().stream()
+                        .anyMatch(authority -> PREVIEW_ROLES.contains(authority.getAuthority()));
+    }
+}
@@ -1,5 +1,6 @@
 package ak.dev.khi_backend.khi_app.api.project;
 
+import ak.dev.khi_backend.khi_app.dto.project.ProjectCard;
 import ak.dev.khi_backend.khi_app.dto.ApiResponse;
 import ak.dev.khi_backend.khi_app.dto.project.ProjectCreateRequest;
 import ak.dev.khi_backend.khi_app.dto.project.ProjectResponse;
@@ -108,6 +109,16 @@ public class ProjectController {
         );
     }
 
+    @GetMapping(value = "/cards", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<Page<ProjectCard>>> getCards(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("GET /api/v1/projects/cards | page={} size={}", page, size);
+        return ResponseEntity.ok(ApiResponse.success(
+                projectService.getCards(page, size), "Project cards fetched successfully"));
+    }
+
     @GetMapping(value = "/featured", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ApiResponse<Page<ProjectResponse>>> getFeatured(
             @RequestParam(defaultValue = "0") int page,
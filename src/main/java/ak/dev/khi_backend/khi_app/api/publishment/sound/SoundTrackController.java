@@ -1,5 +1,6 @@
 package ak.dev.khi_backend.khi_app.api.publishment.sound;
 
+import ak.dev.khi_backend.khi_app.dto.publishment.sound.SoundTrackCard;
 import ak.dev.khi_backend.khi_app.dto.ApiResponse;
 import ak.dev.khi_backend.khi_app.dto.publishment.sound.SoundTrackDtos.*;
 import ak.dev.khi_backend.khi_app.dto.site.SiteContentDtos;
@@ -47,6 +48,7 @@ import java.util.Map;
  * ─── Read endpoints (GET) ─────────────────────────────────────────────────────
  *
  *  GET   /                   → getAll                 ?page=0&size=20
+ *  GET   /cards              → list cards (projection) ?page=0&size=20
  *  GET   /{id}               → getById
  *  DELETE/{id}               → delete
  *  GET   /by-state           → by SINGLE / MULTI      ?state=SINGLE
@@ -256,6 +258,17 @@ public class SoundTrackController {
                 "SoundTracks fetched successfully"));
     }
 
+    @GetMapping(value = "/cards", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<Page<SoundTrackCard>>> getCards(
+            @RequestParam(defaultValue = "0")  int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("GET /api/v1/sound-tracks/cards | page={} size={}", page, size);
+        return ResponseEntity.ok(ApiResponse.success(
+                soundTrackService.getCards(page, size),
+                "SoundTrack cards fetched successfully"));
+    }
+
     @GetMapping(value = "/featured", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ApiResponse<Page<Response>>> getFeatured(
             @RequestParam(defaultValue = "0") int page,
@@ -1,5 +1,6 @@
 package ak.dev.khi_backend.khi_app.api.publishment.video;
 
+import ak.dev.khi_backend.khi_app.dto.publishment.video.VideoCard;
 import ak.dev.khi_backend.khi_app.dto.publishment.video.VideoDTO;
 import ak.dev.khi_backend.khi_app.dto.site.SiteContentDtos;
 import ak.dev.khi_backend.khi_app.model.publishment.video.VideoType;
@@ -147,6 +148,15 @@ public class VideoController {
                 videoType, albumOfMemories, topicId, page, size));
     }
 
+    @Operation(summary = "List lightweight video cards, newest first (no detail collections)")
+    @GetMapping("/cards")
+    public ResponseEntity<Page<VideoCard>> getCards(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(videoService.getCards(page, size));
+    }
+
     @Operation(summary = "List featured videos ordered by featuredOrder ASC")
     @GetMapping("/featured")
     public ResponseEntity<Page<VideoDTO>> getFeatured(
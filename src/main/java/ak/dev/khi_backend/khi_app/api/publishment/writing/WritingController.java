@@ -1,5 +1,6 @@
 package ak.dev.khi_backend.khi_app.api.publishment.writing;
 
+import ak.dev.khi_backend.khi_app.dto.publishment.writing.WritingCard;
 import ak.dev.khi_backend.khi_app.dto.ApiResponse;
 import ak.dev.khi_backend.khi_app.dto.publishment.writing.WritingDtos.*;
 import ak.dev.khi_backend.khi_app.dto.site.SiteContentDtos;
@@ -97,6 +98,16 @@ public class WritingController {
         return ResponseEntity.ok(ApiResponse.success(result, "Writings fetched successfully"));
     }
 
+    @GetMapping("/cards")
+    public ResponseEntity<ApiResponse<Page<WritingCard>>> getCards(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.info("GET /api/v1/writings/cards | page={} size={}", page, size);
+        return ResponseEntity.ok(ApiResponse.success(
+                writingService.getCards(page, size), "Writing cards fetched successfully"));
+    }
+
     @GetMapping("/featured")
     public ResponseEntity<ApiResponse<Page<Response>>> getFeatured(
             @RequestParam(defaultValue = "0") int page,
@@ -0,0 +1,118 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.flyway.autoconfigure.FlywayDataSource;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ReadReplicaConfig — sends read-only transactions to PostgreSQL read
+ * replicas. Active only when {@code app.datasource.replicas.urls} lists at
+ * least one JDBC URL; otherwise the auto-configured single pool is used.
+ *
+ *   dataSource (primary bean) = LazyConnectionDataSourceProxy
+ *     ├─ target             → primary pool  (writes, non-read-only work)
+ *     └─ readOnlyDataSource → ReplicaRoutingDataSource
+ *                               ├─ replica-0 … replica-n (healthy, lag ≤ max-lag)
+ *                               └─ primary   (fallback / read-your-writes)
+ *
+ * The lazy proxy matters: the transaction manager marks the connection
+ * read-only after Hibernate has asked for it, so the physical connection
+ * (and with it the replica) is only chosen at the first statement.
+ *
+ * Replica pools share {@code spring.datasource.hikari} settings and
+ * credentials with the primary and are opened read-only.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("'${app.datasource.replicas.urls:}'.trim() != ''")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    @FlywayDataSource   // migrations run on the primary, never through the routing proxy
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaPools replicaPools(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${app.datasource.replicas.urls}") String urls
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        String[] list = Arrays.stream(urls.split(",")).map(String::trim).filter(u -> !u.isEmpty()).toArray(String[]::new);
+        for (int i = 0; i < list.length; i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setJdbcUrl(list[i]);
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.put("replica-" + i, replica);
+        }
+        log.info("Read replicas configured: {}", replicas.keySet());
+        return new ReplicaPools(replicas);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(
+            ReplicaPools replicaPools,
+            @Value("${app.datasource.replicas.max-lag:PT5S}") Duration maxLag,
+            @Value("${app.datasource.replicas.probe-timeout:PT2S}") Duration probeTimeout
+    ) {
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(replicaPools.pools(), maxLag, probeTimeout);
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaPools replicaPools,
+                                 ReplicaHealthMonitor replicaHealthMonitor) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaPools.pools(), replicaHealthMonitor));
+        return proxy;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${app.datasource.replicas.sticky-window:PT10S}") Duration stickyWindow,
+            @Value("${jwt.cookie-secure:true}") boolean cookieSecure,
+            @Value("${jwt.cookie-same-site:Lax}") String cookieSameSite
+    ) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(stickyWindow, cookieSecure, cookieSameSite));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /** Replica pools by routing key; closed with the context. */
+    public record ReplicaPools(Map<String, DataSource> pools) implements AutoCloseable {
+        @Override
+        public void close() {
+            pools.values().forEach(pool -> ((HikariDataSource) pool).close());
+        }
+    }
+}
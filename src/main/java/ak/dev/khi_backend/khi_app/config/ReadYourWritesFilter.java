@@ -0,0 +1,94 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * ReadYourWritesFilter — keeps a client on the primary right after it
+ * writes, so an editor never reads back a replica that has not replayed
+ * their change yet.
+ *
+ * A request with a mutating method is pinned to the primary for its whole
+ * duration and gets a short-lived cookie holding the time the pin ends;
+ * later requests carrying an unexpired cookie are pinned too. The cookie
+ * rather than server memory holds the window, so it works across instances.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "khi_primary_until";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration stickyWindow;
+    private final boolean cookieSecure;
+    private final String cookieSameSite;
+
+    public ReadYourWritesFilter(Duration stickyWindow, boolean cookieSecure, String cookieSameSite) {
+        this.stickyWindow = stickyWindow;
+        this.cookieSecure = cookieSecure;
+        this.cookieSameSite = cookieSameSite;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long now = System.currentTimeMillis();
+        boolean writes = !READ_METHODS.contains(request.getMethod());
+        if (writes) {
+            // Before the chain: the body may commit the response
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie(now + stickyWindow.toMillis()).toString());
+        }
+        long until = pinnedUntil(request);
+        // The cookie is client-controlled: honour at most one window from now
+        if (writes || (until > now && until <= now + stickyWindow.toMillis())) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private ResponseCookie cookie(long until) {
+        ResponseCookie.ResponseCookieBuilder builder = ResponseCookie.from(COOKIE_NAME, Long.toString(until))
+                .httpOnly(true)
+                .secure(cookieSecure)
+                .path("/")
+                .maxAge(stickyWindow);
+        if (cookieSameSite != null && !cookieSameSite.isBlank()) {
+            builder.sameSite(cookieSameSite);
+        }
+        return builder.build();
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return 0;
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,83 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ReplicaHealthMonitor — periodically probes every read replica and keeps
+ * the set that may serve reads.
+ *
+ * A replica is usable when the probe succeeds and its replay lag is at most
+ * {@code app.datasource.replicas.max-lag}. Lag is zero while everything
+ * received has been replayed (so an idle primary does not make replicas look
+ * stale), otherwise the age of the last replayed transaction. Replicas start
+ * unusable until their first successful probe; a failed probe takes a
+ * replica out until a later one succeeds.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private static final String LAG_SQL = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final Map<String, JdbcTemplate> probes = new LinkedHashMap<>();
+    private final Map<String, Boolean> usable = new ConcurrentHashMap<>();
+    private final Duration maxLag;
+
+    public ReplicaHealthMonitor(Map<String, DataSource> replicas, Duration maxLag, Duration probeTimeout) {
+        this.maxLag = maxLag;
+        replicas.forEach((key, dataSource) -> {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.setQueryTimeout((int) Math.max(1, probeTimeout.toSeconds()));
+            probes.put(key, jdbc);
+            usable.put(key, false);
+        });
+    }
+
+    public boolean isUsable(String key) {
+        return usable.getOrDefault(key, false);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval:PT5S}",
+            initialDelayString = "${app.datasource.replicas.health-check-interval:PT5S}")
+    public void check() {
+        probes.forEach((key, jdbc) -> {
+            Duration lag;
+            try {
+                Number millis = jdbc.queryForObject(LAG_SQL, Number.class);
+                lag = Duration.ofMillis(millis == null ? 0 : millis.longValue());
+            } catch (RuntimeException e) {
+                log.debug("Replica {} probe failed", key, e);
+                lag = null;
+            }
+            update(key, lag);
+        });
+    }
+
+    /** Record a probe result; {@code lag == null} means the replica could not be reached. */
+    void update(String key, Duration lag) {
+        boolean ok = lag != null && lag.compareTo(maxLag) <= 0;
+        Boolean was = usable.put(key, ok);
+        if (was != null && was != ok) {
+            if (ok) {
+                log.info("Replica {} back in rotation (lag {} ms)", key, lag.toMillis());
+            } else if (lag == null) {
+                log.warn("Replica {} unreachable; its reads fall back to other replicas or the primary", key);
+            } else {
+                log.warn("Replica {} lags {} ms (> {} ms); taken out of rotation", key, lag.toMillis(), maxLag.toMillis());
+            }
+        }
+    }
+}
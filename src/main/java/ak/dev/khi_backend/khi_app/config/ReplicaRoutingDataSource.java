@@ -0,0 +1,63 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReplicaRoutingDataSource — the read-only side of the primary's
+ * {@code LazyConnectionDataSourceProxy}: picks the replica a read-only
+ * transaction's connection comes from.
+ *
+ * Healthy replicas (see {@link ReplicaHealthMonitor}) are used round-robin.
+ * The primary is used instead when no replica is healthy and lagging less
+ * than the configured limit, or when the current thread is pinned because
+ * its request just wrote ({@link ReadYourWritesFilter}).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final List<String> replicaKeys;
+    private final ReplicaHealthMonitor health;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaHealthMonitor health) {
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.health = health;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /** Send this thread's read-only transactions to the primary until {@link #unpin()}. */
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PINNED.get() != null || replicaKeys.isEmpty()) return PRIMARY;
+
+        int start = Math.floorMod(next.getAndIncrement(), replicaKeys.size());
+        for (int i = 0; i < replicaKeys.size(); i++) {
+            String key = replicaKeys.get((start + i) % replicaKeys.size());
+            if (health.isUsable(key)) return key;
+        }
+        return PRIMARY;
+    }
+}
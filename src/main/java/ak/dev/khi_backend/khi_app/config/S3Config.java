@@ -1,23 +1,110 @@
 package ak.dev.khi_backend.khi_app.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 
+import java.time.Duration;
+
+/**
+ * S3 clients with explicit pools, timeouts and retries instead of the SDK
+ * defaults (50 connections, no TTL, unbounded acquisition wait on async).
+ *
+ * The sync client serves the request-thread paths (streaming uploads,
+ * ranged reads); the async client backs the future-returning methods of
+ * {@code S3Service}. Both are timed per operation when a
+ * {@link MeterRegistry} is present.
+ */
 @Configuration
+@ConditionalOnProperty(prefix = "app.storage", name = "provider", havingValue = "s3", matchIfMissing = true)
 public class S3Config {
 
     @Value("${aws.s3.region}")
     private String region;
 
+    @Value("${aws.s3.client.max-connections:64}")
+    private int maxConnections = 64;
+
+    /** Async requests allowed to wait for a connection before failing fast. */
+    @Value("${aws.s3.client.max-pending-acquires:1000}")
+    private int maxPendingAcquires = 1000;
+
+    /** Recycle connections so DNS changes on the S3 side are picked up. */
+    @Value("${aws.s3.client.connection-ttl:PT60S}")
+    private Duration connectionTtl = Duration.ofSeconds(60);
+
+    @Value("${aws.s3.client.connection-max-idle:PT30S}")
+    private Duration connectionMaxIdle = Duration.ofSeconds(30);
+
+    @Value("${aws.s3.client.connection-acquisition-timeout:PT5S}")
+    private Duration acquisitionTimeout = Duration.ofSeconds(5);
+
+    @Value("${aws.s3.client.connection-timeout:PT2S}")
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /** Longest silence on an open socket — not a cap on the whole transfer. */
+    @Value("${aws.s3.client.socket-timeout:PT30S}")
+    private Duration socketTimeout = Duration.ofSeconds(30);
+
+    @Value("${aws.s3.client.max-retries:3}")
+    private int maxRetries = 3;
+
     @Bean
-    public S3Client s3Client() {
+    public S3Client s3Client(ObjectProvider<MeterRegistry> meterRegistry) {
         return S3Client.builder()
                 .region(Region.of(region))
                 .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionTimeToLive(connectionTtl)
+                        .connectionMaxIdleTime(connectionMaxIdle)
+                        .connectionAcquisitionTimeout(acquisitionTimeout)
+                        .connectionTimeout(connectionTimeout)
+                        .socketTimeout(socketTimeout))
+                .overrideConfiguration(overrides(meterRegistry, "sync"))
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public S3AsyncClient s3AsyncClient(ObjectProvider<MeterRegistry> meterRegistry) {
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .maxPendingConnectionAcquires(maxPendingAcquires)
+                        .connectionTimeToLive(connectionTtl)
+                        .connectionMaxIdleTime(connectionMaxIdle)
+                        .connectionAcquisitionTimeout(acquisitionTimeout)
+                        .connectionTimeout(connectionTimeout)
+                        .readTimeout(socketTimeout)
+                        .writeTimeout(socketTimeout))
+                .overrideConfiguration(overrides(meterRegistry, "async"))
+                .build();
+    }
+
+    private ClientOverrideConfiguration overrides(ObjectProvider<MeterRegistry> meterRegistry, String client) {
+        ClientOverrideConfiguration.Builder builder = ClientOverrideConfiguration.builder()
+                // STANDARD: exponential backoff with jitter plus a client-side retry quota
+                .retryPolicy(RetryPolicy.builder(RetryMode.STANDARD)
+                        .numRetries(maxRetries)
+                        .build());
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            builder.addExecutionInterceptor(new S3MetricsInterceptor(registry, client));
+        }
+        return builder.build();
+    }
+}
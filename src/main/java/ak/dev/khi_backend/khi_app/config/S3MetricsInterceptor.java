@@ -0,0 +1,99 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every S3 call, sync or async, as a Micrometer timer
+ * ({@code khi.s3.requests}, tagged with the SDK operation such as
+ * {@code PutObject} / {@code GetObject} / {@code DeleteObjects} /
+ * {@code ListObjectsV2}, the client and the outcome) and counts the bytes
+ * sent and received per operation ({@code khi.s3.bytes}). The timer spans
+ * the whole call including retries.
+ */
+public class S3MetricsInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Long> STARTED = new ExecutionAttribute<>("khi.s3.started");
+
+    private final MeterRegistry registry;
+    private final String        client;
+
+    public S3MetricsInterceptor(MeterRegistry registry, String client) {
+        this.registry = registry;
+        this.client = client;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+        attributes.putAttribute(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes attributes) {
+        // once per attempt, so retried uploads count what actually went on the wire
+        countBytes(context.httpRequest(), operation(attributes), "sent");
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes attributes) {
+        countBytes(context.httpResponse(), operation(attributes), "received");
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+        record(attributes, context.httpResponse().isSuccessful() ? "success" : "error");
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+        record(attributes, "error");
+    }
+
+    private void record(ExecutionAttributes attributes, String outcome) {
+        Long started = attributes.getAttribute(STARTED);
+        if (started == null) return;
+        Timer.builder("khi.s3.requests")
+                .description("S3 call latency, including retries")
+                .tag("operation", operation(attributes))
+                .tag("client", client)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private void countBytes(SdkHttpHeaders message, String operation, String direction) {
+        long bytes = message.firstMatchingHeader("Content-Length").map(S3MetricsInterceptor::parse).orElse(0L);
+        if (bytes <= 0) return;
+        Counter.builder("khi.s3.bytes")
+                .baseUnit("bytes")
+                .description("Bytes sent to / received from S3")
+                .tag("operation", operation)
+                .tag("client", client)
+                .tag("direction", direction)
+                .register(registry)
+                .increment(bytes);
+    }
+
+    private static String operation(ExecutionAttributes attributes) {
+        String name = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        return name != null ? name : "unknown";
+    }
+
+    private static long parse(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
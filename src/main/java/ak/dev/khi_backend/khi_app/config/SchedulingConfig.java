@@ -0,0 +1,12 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} housekeeping jobs (upload spool cleanup, ...).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
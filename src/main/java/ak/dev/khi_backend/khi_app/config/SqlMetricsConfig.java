@@ -0,0 +1,53 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * SqlMetricsConfig — per-request SQL accounting (see {@link SqlStats}).
+ *
+ * Hooks {@link SqlStatementInspector}, {@link SqlStatisticsRecorder} and
+ * {@link SqlSessionEventListener} into Hibernate and registers
+ * {@link SqlMetricsFilter} ahead of Spring Security, so the user lookup of
+ * an authenticated request is counted too. Hibernate statistics are turned
+ * on for this; Hibernate's own per-session metrics log only prints with the
+ * {@code org.hibernate.session.metrics} category at DEBUG.
+ *
+ * Switched off with {@code app.sql-metrics.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlMetricsHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            properties.put(AvailableSettings.STATS_BUILDER, (StatisticsFactory) SqlStatisticsRecorder::new);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, "true");
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlSessionEventListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlMetricsFilter> sqlMetricsFilter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.sql-metrics.repeat-threshold:10}") int repeatThreshold,
+            @Value("${app.sql-metrics.server-timing:true}") boolean serverTiming
+    ) {
+        FilterRegistrationBean<SqlMetricsFilter> registration = new FilterRegistrationBean<>(new SqlMetricsFilter(
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), repeatThreshold, serverTiming));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
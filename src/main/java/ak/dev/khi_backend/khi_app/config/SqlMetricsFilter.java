@@ -0,0 +1,129 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link SqlStats} scope per HTTP request and reports it.
+ *
+ *   - {@code Server-Timing: db;dur=<jdbc ms>;desc="<n> queries, <m> rows"},
+ *     set just before the response commits so it also reaches clients of
+ *     endpoints that write their own body
+ *   - Micrometer: {@code khi.sql.statements} / {@code khi.sql.rows}
+ *     summaries and a {@code khi.sql.time} timer per request, tagged with
+ *     method and route pattern
+ *   - a warning (and {@code khi.sql.repeated}) when one statement ran at
+ *     least {@code repeat-threshold} times in a request, the shape an N+1
+ *     leaves behind
+ */
+@Slf4j
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry registry;
+    private final int repeatThreshold;
+    private final boolean serverTiming;
+
+    public SqlMetricsFilter(MeterRegistry registry, int repeatThreshold, boolean serverTiming) {
+        this.registry = registry;
+        this.repeatThreshold = repeatThreshold;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        SqlStats.Scope scope = SqlStats.open(request.getMethod() + " " + request.getRequestURI());
+        HttpServletResponse target = serverTiming ? new ServerTimingResponse(response, scope) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStats.Summary summary = scope.summary();
+            scope.close();
+            // Bodiless responses are committed by the container after this filter
+            if (serverTiming && !response.isCommitted() && !response.containsHeader(HEADER_SERVER_TIMING)) {
+                response.setHeader(HEADER_SERVER_TIMING, serverTiming(summary));
+            }
+            report(request, summary);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStats.Summary summary) {
+        Tags tags = Tags.of("method", request.getMethod(), "uri", route(request));
+
+        DistributionSummary.builder("khi.sql.statements")
+                .description("SQL statements per HTTP request")
+                .tags(tags)
+                .register(registry)
+                .record(summary.statements());
+        DistributionSummary.builder("khi.sql.rows")
+                .description("Rows returned by queries per HTTP request")
+                .tags(tags)
+                .register(registry)
+                .record(summary.rows());
+        Timer.builder("khi.sql.time")
+                .description("JDBC execution time per HTTP request")
+                .tags(tags)
+                .register(registry)
+                .record(summary.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (repeatThreshold > 0 && summary.maxRepeats() >= repeatThreshold) {
+            Map.Entry<String, Integer> worst = summary.repeated().entrySet().iterator().next();
+            Counter.builder("khi.sql.repeated")
+                    .description("Requests in which one statement ran repeat-threshold times or more")
+                    .tags(tags)
+                    .register(registry)
+                    .increment();
+            log.warn("Possible N+1 in {}: statement ran {} times ({} statements total): {}",
+                    summary.name(), worst.getValue(), summary.statements(), worst.getKey());
+        }
+    }
+
+    /** Route pattern ({@code /api/v1/news/{id}}) so the tag does not carry ids. */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNMAPPED";
+    }
+
+    static String serverTiming(SqlStats.Summary summary) {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d queries, %d rows\"",
+                summary.jdbcMillis(), summary.statements(), summary.rows());
+    }
+
+    /** Adds the header with what has run so far at the moment the response commits. */
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStats.Scope scope;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStats.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addHeader(HEADER_SERVER_TIMING, serverTiming(scope.summary()));
+        }
+    }
+}
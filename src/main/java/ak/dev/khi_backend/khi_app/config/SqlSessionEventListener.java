@@ -0,0 +1,39 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time spent executing JDBC statements and batches to the current
+ * {@link SqlStats} scope. Hibernate creates one per session from
+ * {@code hibernate.session.events.auto}.
+ */
+public class SqlSessionEventListener implements SessionEventListener {
+
+    private long started;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlStats.Scope scope = SqlStats.current();
+        if (scope != null && started != 0) scope.jdbcTime(System.nanoTime() - started);
+        started = 0;
+    }
+}
@@ -0,0 +1,18 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares into the current {@link SqlStats}
+ * scope. Hibernate binds parameters as {@code ?}, so the SQL string itself
+ * is the statement's shape; the text is passed through unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStats.Scope scope = SqlStats.current();
+        if (scope != null) scope.statement(sql);
+        return sql;
+    }
+}
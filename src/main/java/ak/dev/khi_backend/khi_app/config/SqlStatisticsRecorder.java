@@ -0,0 +1,38 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate's statistics, also credited to the current {@link SqlStats}
+ * scope: rows returned by queries, and entities / collections loaded
+ * (including the ones pulled in by {@code @BatchSize} and lazy access).
+ * The factory-wide counters keep working as before.
+ */
+public class SqlStatisticsRecorder extends StatisticsImpl {
+
+    public SqlStatisticsRecorder(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        SqlStats.Scope scope = SqlStats.current();
+        if (scope != null) scope.rows(rows);
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        SqlStats.Scope scope = SqlStats.current();
+        if (scope != null) scope.entityLoaded();
+    }
+
+    @Override
+    public void loadCollection(String role) {
+        super.loadCollection(role);
+        SqlStats.Scope scope = SqlStats.current();
+        if (scope != null) scope.collectionLoaded();
+    }
+}
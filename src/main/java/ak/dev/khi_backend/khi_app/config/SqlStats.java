@@ -0,0 +1,142 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SqlStats — what one unit of work (an HTTP request, or a test around
+ * several requests) cost the database, counted on the thread doing it.
+ *
+ * Hibernate reports into the innermost open {@link Scope}:
+ * {@link SqlStatementInspector} counts statements and their SQL shapes,
+ * {@link SqlStatisticsRecorder} adds query rows and entity / collection
+ * loads, and {@link SqlSessionEventListener} adds JDBC execution time.
+ * Nothing is recorded while no scope is open, so scheduled jobs and
+ * start-up work cost nothing.
+ *
+ * Scopes nest: when a scope closes, its totals are added to the enclosing
+ * one and its {@link Summary} is kept there, so a test can look at every
+ * request it performed.
+ */
+public final class SqlStats {
+
+    /** Distinct SQL strings tracked per scope; repeats beyond this are still counted. */
+    static final int MAX_SHAPES = 256;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStats() {}
+
+    /** Opens a scope on this thread; close it in the same thread. */
+    public static Scope open(String name) {
+        Scope scope = new Scope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /** The innermost open scope, or {@code null}. */
+    static Scope current() {
+        return CURRENT.get();
+    }
+
+    // ============================================================
+    // SCOPE
+    // ============================================================
+
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final Scope parent;
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+        private final List<Summary> children = new ArrayList<>();
+
+        private int statements;
+        private long rows;
+        private long entities;
+        private long collections;
+        private long jdbcNanos;
+        private boolean closed;
+
+        private Scope(String name, Scope parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        void statement(String sql) {
+            statements++;
+            Integer seen = shapes.get(sql);
+            if (seen != null) shapes.put(sql, seen + 1);
+            else if (shapes.size() < MAX_SHAPES) shapes.put(sql, 1);
+        }
+
+        void rows(long count) {
+            rows += count;
+        }
+
+        void entityLoaded() {
+            entities++;
+        }
+
+        void collectionLoaded() {
+            collections++;
+        }
+
+        void jdbcTime(long nanos) {
+            jdbcNanos += nanos;
+        }
+
+        public Summary summary() {
+            return new Summary(name, statements, rows, entities, collections, jdbcNanos, repeated());
+        }
+
+        /** Summaries of the scopes that were opened and closed inside this one. */
+        public List<Summary> children() {
+            return Collections.unmodifiableList(children);
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            CURRENT.set(parent);
+            if (parent == null) return;
+
+            parent.statements += statements;
+            parent.rows += rows;
+            parent.entities += entities;
+            parent.collections += collections;
+            parent.jdbcNanos += jdbcNanos;
+            parent.children.add(summary());
+        }
+
+        private Map<String, Integer> repeated() {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            shapes.entrySet().stream()
+                    .filter(e -> e.getValue() > 1)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+            return repeated;
+        }
+    }
+
+    /**
+     * Totals of a closed (or still open) scope. {@code repeated} maps each SQL
+     * string that ran more than once to its count, most frequent first — a
+     * statement repeated once per parent row is the usual N+1 signature.
+     */
+    public record Summary(String name, int statements, long rows, long entities, long collections,
+                          long jdbcNanos, Map<String, Integer> repeated) {
+
+        public double jdbcMillis() {
+            return jdbcNanos / 1_000_000.0;
+        }
+
+        /** Highest repeat count of a single statement, 0 when nothing repeated. */
+        public int maxRepeats() {
+            return repeated.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import ak.dev.khi_backend.khi_app.service.media.UploadAdmissionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Runs upload admission before the handler resolves its multipart
+ * arguments ({@code spring.servlet.multipart.resolve-lazily}), so a
+ * rejected upload is turned away before anything is spooled to disk.
+ * The permit is released when the request completes.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = UploadAdmissionInterceptor.class.getName() + ".permit";
+
+    private final UploadAdmissionService uploadAdmissionService;
+
+    @Value("${spring.servlet.multipart.max-request-size:1GB}")
+    private DataSize maxRequestSize = DataSize.ofGigabytes(1);
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!isUpload(request) || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        long declared = request.getContentLengthLong();
+        UploadAdmissionService.Permit permit = uploadAdmissionService.admit(
+                currentUser(request), declared >= 0 ? declared : maxRequestSize.toBytes());
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof UploadAdmissionService.Permit permit) {
+            permit.close();
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+        }
+    }
+
+    private static boolean isUpload(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!HttpMethod.POST.matches(method) && !HttpMethod.PUT.matches(method) && !HttpMethod.PATCH.matches(method)) {
+            return false;
+        }
+        String contentType = request.getContentType();
+        if (contentType == null) return false;
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return MediaType.MULTIPART_FORM_DATA.includes(type) || MediaType.APPLICATION_OCTET_STREAM.includes(type);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String currentUser(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getName() != null && !"anonymousUser".equals(auth.getName())) {
+            return auth.getName();
+        }
+        return request.getRemoteAddr();
+    }
+}
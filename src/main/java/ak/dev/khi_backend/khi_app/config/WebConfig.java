@@ -1,7 +1,25 @@
 package ak.dev.khi_backend.khi_app.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
-public class WebConfig {
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final UploadAdmissionInterceptor uploadAdmissionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(uploadAdmissionInterceptor)
+                .addPathPatterns(
+                        "/api/v1/media/**",
+                        "/api/v1/sound-tracks/**",
+                        "/api/v1/videos/**",
+                        "/api/v1/writings/**",
+                        "/api/v1/image-collections/**"
+                );
+    }
 }
@@ -0,0 +1,25 @@
+package ak.dev.khi_backend.khi_app.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CardLists — shared plumbing for the list-card projections.
+ *
+ * Card queries aggregate small collections (tags) into one string column
+ * with {@code listagg(..., SEPARATOR)}; Hibernate renders it as
+ * {@code string_agg} on PostgreSQL and {@code LISTAGG} on H2. The card
+ * records split it back with {@link #split(String)}.
+ */
+public final class CardLists {
+
+    /** ASCII unit separator — never typed into a tag or keyword. */
+    public static final String SEPARATOR = "\u001F";
+
+    private CardLists() {}
+
+    public static List<String> split(String aggregated) {
+        if (aggregated == null || aggregated.isEmpty()) return List.of();
+        return Arrays.asList(aggregated.split(SEPARATOR));
+    }
+}
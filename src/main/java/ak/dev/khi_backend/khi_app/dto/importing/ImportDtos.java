@@ -0,0 +1,49 @@
+package ak.dev.khi_backend.khi_app.dto.importing;
+
+import ak.dev.khi_backend.khi_app.enums.ImportFormat;
+import ak.dev.khi_backend.khi_app.enums.ImportJobStatus;
+import ak.dev.khi_backend.khi_app.enums.ImportTarget;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ImportDtos — responses of the bulk import endpoints
+ * ({@code /api/v1/media/imports}).
+ */
+public final class ImportDtos {
+
+    private ImportDtos() {}
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class JobResponse {
+        private Long            id;
+        private ImportTarget    target;
+        private ImportFormat    format;
+        private ImportJobStatus status;
+        private String          fileName;
+        private int             chunkSize;
+        private long            committedRows;
+        private long            importedRows;
+        private long            failedRows;
+        private String          lastError;
+        private String          createdBy;
+        private LocalDateTime   createdAt;
+        private LocalDateTime   updatedAt;
+        private LocalDateTime   finishedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowErrorResponse {
+        private long   rowNumber;
+        private String errorCode;
+        private String message;
+        private String rawRow;
+    }
+}
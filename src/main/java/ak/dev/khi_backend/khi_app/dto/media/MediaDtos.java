@@ -2,6 +2,7 @@ package ak.dev.khi_backend.khi_app.dto.media;
 
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -49,4 +50,75 @@ public class MediaDtos {
     public static class BulkUploadResponse {
         private List<UploadResponse> files;
     }
+
+    // ============================================================
+    // RESUMABLE CHUNKED UPLOAD
+    // ============================================================
+
+    /**
+     * Opens a resumable upload session. {@code type} is the same folder hint
+     * accepted by the single-shot upload endpoint.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UploadInitRequest {
+        private String fileName;
+        private String contentType;
+        private Long   totalSize;
+        private String type;
+    }
+
+    /**
+     * Current state of an upload session. Clients resume by sending the next
+     * chunk at {@code receivedBytes}; once {@code status} is COMPLETED the
+     * {@code uploadId} may be referenced from create/update DTOs.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UploadSessionResponse {
+        private String uploadId;
+        private String fileName;
+        private String contentType;
+        private long   totalSize;
+        private long   receivedBytes;
+        private String status;
+        private String fileUrl;
+        private long   maxChunkSize;
+
+        // Probed from the file headers once the upload is COMPLETED
+        private String  fileFormat;
+        private Integer durationSeconds;
+        private Integer bitrateKbps;
+        private Integer sampleRateHz;
+        private Integer audioChannels;
+        private Integer widthPx;
+        private Integer heightPx;
+    }
+
+    /**
+     * Result of one orphaned-object sweep. In dry-run mode nothing is
+     * deleted and {@code orphanedObjects} is what a real run would remove.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OrphanSweepReport {
+        private boolean       dryRun;
+        private LocalDateTime startedAt;
+        private long          durationMs;
+        private int           referencedKeys;
+        private long          scannedObjects;
+        private long          skippedWithinGracePeriod;
+        private long          orphanedObjects;
+        private long          orphanedBytes;
+        private long          deletedObjects;
+        private long          keptReusedObjects;
+        private long          failedObjects;
+        private List<String>  sampleKeys;
+    }
 }
@@ -0,0 +1,42 @@
+package ak.dev.khi_backend.khi_app.dto.project;
+
+import ak.dev.khi_backend.khi_app.dto.CardLists;
+import ak.dev.khi_backend.khi_app.enums.MediaKind;
+import ak.dev.khi_backend.khi_app.enums.project.ProjectStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * ProjectCard — list-page view of a project, read through a constructor
+ * projection ({@code ProjectRepository.findCards}). Descriptions, the media
+ * gallery and keywords stay out; {@link ProjectResponse} is for detail.
+ */
+public record ProjectCard(
+        Long id,
+        String coverUrl,
+        MediaKind coverMediaType,
+        String coverThumbnailUrl,
+        String titleCkb,
+        String titleKmr,
+        String locationCkb,
+        String locationKmr,
+        String projectTypeCkb,
+        String projectTypeKmr,
+        ProjectStatus status,
+        LocalDate projectDate,
+        Boolean featured,
+        List<String> tagsCkb,
+        List<String> tagsKmr
+) {
+
+    /** Projection constructor — tags arrive as {@link CardLists} aggregates. */
+    public ProjectCard(Long id, String coverUrl, MediaKind coverMediaType, String coverThumbnailUrl,
+                       String titleCkb, String titleKmr, String locationCkb, String locationKmr,
+                       String projectTypeCkb, String projectTypeKmr, ProjectStatus status,
+                       LocalDate projectDate, Boolean featured, String tagsCkb, String tagsKmr) {
+        this(id, coverUrl, coverMediaType, coverThumbnailUrl, titleCkb, titleKmr,
+                locationCkb, locationKmr, projectTypeCkb, projectTypeKmr, status,
+                projectDate, featured, CardLists.split(tagsCkb), CardLists.split(tagsKmr));
+    }
+}
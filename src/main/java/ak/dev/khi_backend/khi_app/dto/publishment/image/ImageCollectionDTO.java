@@ -107,6 +107,13 @@ public final class ImageCollectionDTO {
 
         /** Human readable file size (e.g., "2.4 MB", "850 KB") */
         private String humanReadableSize;
+
+        // ─── LIST-SIZE DERIVATIVE (Response only, null until generated) ───────
+
+        /** Downscaled copy for grids — prefer this over imageUrl in lists. */
+        private String thumbnailUrl;
+        private Integer thumbnailWidthPx;
+        private Integer thumbnailHeightPx;
     }
 
     // =========================================================================
@@ -207,6 +214,11 @@ public final class ImageCollectionDTO {
         private String kmrCoverUrl;
         private String hoverCoverUrl;
 
+        // ── List-size cover derivatives (list endpoints only, null until generated)
+        private String ckbCoverThumbnailUrl;
+        private String kmrCoverThumbnailUrl;
+        private String hoverCoverThumbnailUrl;
+
         // ── Topic ─────────────────────────────────────────────────────────────
         private Long   topicId;
         private String topicNameCkb;
@@ -0,0 +1,52 @@
+package ak.dev.khi_backend.khi_app.dto.publishment.sound;
+
+import ak.dev.khi_backend.khi_app.dto.CardLists;
+import ak.dev.khi_backend.khi_app.enums.publishment.TrackState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SoundTrackCard — what a sound-track list page renders.
+ *
+ * Built straight from a constructor projection
+ * ({@code SoundTrackRepository.findCards}); no entity is loaded, so files,
+ * brochures, attachments and the other collections are never touched.
+ * The detail view still uses {@link SoundTrackDtos.Response}.
+ */
+public record SoundTrackCard(
+        Long id,
+        String titleCkb,
+        String titleKmr,
+        String ckbCoverUrl,
+        String kmrCoverUrl,
+        String hoverCoverUrl,
+        String soundType,
+        TrackState trackState,
+        Boolean albumOfMemories,
+        Long topicId,
+        String topicNameCkb,
+        String topicNameKmr,
+        String reader,
+        String albumName,
+        Integer publishmentYear,
+        Integer fileCount,
+        List<String> tagsCkb,
+        List<String> tagsKmr,
+        LocalDateTime createdAt
+) {
+
+    /** Projection constructor — tags arrive as {@link CardLists} aggregates. */
+    public SoundTrackCard(Long id, String titleCkb, String titleKmr,
+                          String ckbCoverUrl, String kmrCoverUrl, String hoverCoverUrl,
+                          String soundType, TrackState trackState, Boolean albumOfMemories,
+                          Long topicId, String topicNameCkb, String topicNameKmr,
+                          String reader, String albumName, Integer publishmentYear,
+                          Integer fileCount, String tagsCkb, String tagsKmr,
+                          LocalDateTime createdAt) {
+        this(id, titleCkb, titleKmr, ckbCoverUrl, kmrCoverUrl, hoverCoverUrl,
+                soundType, trackState, albumOfMemories, topicId, topicNameCkb, topicNameKmr,
+                reader, albumName, publishmentYear, fileCount,
+                CardLists.split(tagsCkb), CardLists.split(tagsKmr), createdAt);
+    }
+}
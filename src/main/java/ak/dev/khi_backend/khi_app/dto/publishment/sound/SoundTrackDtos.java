@@ -129,6 +129,10 @@ public final class SoundTrackDtos {
         @Size(max = 1200)
         private String fileUrl;
 
+        /** Completed resumable upload; resolved to fileUrl + sizeBytes server-side. */
+        @Size(max = 36)
+        private String uploadId;
+
         @Size(max = 300)
         private String title;
 
@@ -174,6 +178,10 @@ public final class SoundTrackDtos {
         @Size(max = 1200)
         private String fileUrl;
 
+        /** Completed resumable upload; resolved to fileUrl + sizeBytes server-side. */
+        @Size(max = 36)
+        private String uploadId;
+
         private String externalUrl;
         private String embedUrl;
 
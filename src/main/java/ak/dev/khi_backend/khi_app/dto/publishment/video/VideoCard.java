@@ -0,0 +1,45 @@
+package ak.dev.khi_backend.khi_app.dto.publishment.video;
+
+import ak.dev.khi_backend.khi_app.dto.CardLists;
+import ak.dev.khi_backend.khi_app.model.publishment.video.VideoType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * VideoCard — list-page view of a video, read through a constructor
+ * projection ({@code VideoRepository.findCards}). Sources, clip items,
+ * cast and keywords stay out; {@link VideoDTO} is for detail.
+ */
+public record VideoCard(
+        Long id,
+        String ckbCoverUrl,
+        String kmrCoverUrl,
+        String hoverCoverUrl,
+        VideoType videoType,
+        Boolean albumOfMemories,
+        Long topicId,
+        String topicNameCkb,
+        String topicNameKmr,
+        String titleCkb,
+        String titleKmr,
+        Integer durationSeconds,
+        LocalDate publishmentDate,
+        List<String> tagsCkb,
+        List<String> tagsKmr,
+        LocalDateTime createdAt
+) {
+
+    /** Projection constructor — tags arrive as {@link CardLists} aggregates. */
+    public VideoCard(Long id, String ckbCoverUrl, String kmrCoverUrl, String hoverCoverUrl,
+                     VideoType videoType, Boolean albumOfMemories,
+                     Long topicId, String topicNameCkb, String topicNameKmr,
+                     String titleCkb, String titleKmr, Integer durationSeconds,
+                     LocalDate publishmentDate, String tagsCkb, String tagsKmr,
+                     LocalDateTime createdAt) {
+        this(id, ckbCoverUrl, kmrCoverUrl, hoverCoverUrl, videoType, albumOfMemories,
+                topicId, topicNameCkb, topicNameKmr, titleCkb, titleKmr, durationSeconds,
+                publishmentDate, CardLists.split(tagsCkb), CardLists.split(tagsKmr), createdAt);
+    }
+}
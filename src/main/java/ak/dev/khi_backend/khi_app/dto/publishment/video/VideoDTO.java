@@ -149,6 +149,8 @@ public class VideoDTO {
     public static class VideoClipItemDTO {
         private Long id;
         private String url;
+        /** Completed resumable upload; resolved to url server-side. */
+        private String uploadId;
         private String externalUrl;
         private String embedUrl;
         private Integer clipNumber;
@@ -170,6 +172,8 @@ public class VideoDTO {
     @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
     public static class VideoSourceDTO {
         private String url;
+        /** Completed resumable upload; resolved to url server-side. */
+        private String uploadId;
         private String externalUrl;
         private String embedUrl;
         private Boolean main;
@@ -0,0 +1,44 @@
+package ak.dev.khi_backend.khi_app.dto.publishment.writing;
+
+import ak.dev.khi_backend.khi_app.dto.CardLists;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * WritingCard — list-page view of a writing, read through a constructor
+ * projection ({@code WritingRepository.findCards}). Descriptions, file
+ * details, keywords and series children stay out; {@link WritingDtos.Response}
+ * is for detail.
+ */
+public record WritingCard(
+        Long id,
+        String ckbCoverUrl,
+        String kmrCoverUrl,
+        String hoverCoverUrl,
+        String titleCkb,
+        String titleKmr,
+        String writerCkb,
+        String writerKmr,
+        Long topicId,
+        String topicNameCkb,
+        String topicNameKmr,
+        String seriesId,
+        Double seriesOrder,
+        Boolean publishedByInstitute,
+        List<String> tagsCkb,
+        List<String> tagsKmr,
+        LocalDateTime createdAt
+) {
+
+    /** Projection constructor — tags arrive as {@link CardLists} aggregates. */
+    public WritingCard(Long id, String ckbCoverUrl, String kmrCoverUrl, String hoverCoverUrl,
+                       String titleCkb, String titleKmr, String writerCkb, String writerKmr,
+                       Long topicId, String topicNameCkb, String topicNameKmr,
+                       String seriesId, Double seriesOrder, Boolean publishedByInstitute,
+                       String tagsCkb, String tagsKmr, LocalDateTime createdAt) {
+        this(id, ckbCoverUrl, kmrCoverUrl, hoverCoverUrl, titleCkb, titleKmr, writerCkb, writerKmr,
+                topicId, topicNameCkb, topicNameKmr, seriesId, seriesOrder, publishedByInstitute,
+                CardLists.split(tagsCkb), CardLists.split(tagsKmr), createdAt);
+    }
+}
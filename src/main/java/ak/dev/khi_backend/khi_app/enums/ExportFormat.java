@@ -0,0 +1,14 @@
+package ak.dev.khi_backend.khi_app.enums;
+
+/**
+ * ExportFormat — wire format of an archive export.
+ *
+ *   NDJSON → one {@code {"type":..,"data":..}} object per line, data being
+ *            the same shape the detail endpoint returns
+ *   JSONLD → one JSON-LD document whose {@code @graph} holds every item,
+ *            typed with schema.org classes and identified by site URL
+ */
+public enum ExportFormat {
+    NDJSON,
+    JSONLD
+}
@@ -0,0 +1,23 @@
+package ak.dev.khi_backend.khi_app.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ExportTarget — content type included in an archive export, with the
+ * schema.org class and the public site path used for JSON-LD.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportTarget {
+
+    NEWS("NewsArticle", "news"),
+    PROJECT("Project", "projects"),
+    WRITING("Book", "writings"),
+    SOUND_TRACK("AudioObject", "audio"),
+    VIDEO("VideoObject", "videos"),
+    IMAGE_COLLECTION("ImageGallery", "gallery");
+
+    private final String schemaType;
+    private final String sitePath;
+}
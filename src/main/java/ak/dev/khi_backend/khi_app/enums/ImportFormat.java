@@ -0,0 +1,14 @@
+package ak.dev.khi_backend.khi_app.enums;
+
+/**
+ * ImportFormat — encoding of a bulk import file.
+ *
+ *   NDJSON → one JSON object per line
+ *   CSV    → RFC 4180; the header names JSON paths ({@code ckbContent.title}),
+ *            a {@code []} suffix marks a list whose cell is split on {@code |}
+ *            ({@code tags.ckb[]})
+ */
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,17 @@
+package ak.dev.khi_backend.khi_app.enums;
+
+/**
+ * ImportJobStatus — lifecycle of a bulk import job.
+ *
+ *   QUEUED    → spooled, waiting for the import worker
+ *   RUNNING   → chunks are being committed; {@code committedRows} advances
+ *   COMPLETED → every row was either imported or recorded as a row error
+ *   FAILED    → stopped on an unexpected error; the spool is kept and the
+ *               job can be resumed from {@code committedRows}
+ */
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
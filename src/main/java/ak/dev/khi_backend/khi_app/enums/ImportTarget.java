@@ -0,0 +1,18 @@
+package ak.dev.khi_backend.khi_app.enums;
+
+/**
+ * ImportTarget — content type a bulk import job creates, one row per item.
+ * Each row is the JSON create payload the matching create endpoint accepts
+ * (media given as URLs; multipart file parts are not available in imports).
+ *
+ *   NEWS        → NewsDto
+ *   WRITING     → WritingDtos.CreateRequest
+ *   SOUND_TRACK → SoundTrackDtos.CreateRequest
+ *   VIDEO       → VideoDTO
+ */
+public enum ImportTarget {
+    NEWS,
+    WRITING,
+    SOUND_TRACK,
+    VIDEO
+}
@@ -0,0 +1,22 @@
+package ak.dev.khi_backend.khi_app.enums;
+
+/**
+ * MediaOutboxType — kind of post-commit media side effect in the outbox.
+ * The payload is one item per line:
+ *
+ *   DELETE_MEDIA         → S3 keys of removed content; a reference is
+ *                          released per key before the object is deleted
+ *   DELETE_OBJECTS       → S3 keys already released, only the DeleteObjects
+ *                          call is left (queued by DELETE_MEDIA)
+ *   GENERATE_DERIVATIVES → image URLs to create list-size variants for
+ *   EVICT_CACHE          → Spring cache names to clear
+ *   ANALYZE_BOOK         → {@code <writingId>|<language>|<attempt>|<fileUrl>}
+ *                          book files to read page count, cover and text from
+ */
+public enum MediaOutboxType {
+    DELETE_MEDIA,
+    DELETE_OBJECTS,
+    GENERATE_DERIVATIVES,
+    EVICT_CACHE,
+    ANALYZE_BOOK
+}
@@ -0,0 +1,18 @@
+package ak.dev.khi_backend.khi_app.enums;
+
+/**
+ * UploadStatus — lifecycle of a resumable chunked upload session.
+ *
+ *   IN_PROGRESS → chunks are still being appended to the local spool file
+ *   COMPLETED   → the spool was streamed to S3; {@code fileUrl} is set and
+ *                 the uploadId can be referenced from create/update DTOs
+ *   CONSUMED    → attached to a content row, which now owns the stored
+ *                 object's reference; the uploadId cannot be used again
+ *   ABORTED     → cancelled by the client or expired; spool removed
+ */
+public enum UploadStatus {
+    IN_PROGRESS,
+    COMPLETED,
+    CONSUMED,
+    ABORTED
+}
@@ -16,6 +16,8 @@ public enum ErrorCode {
     BAD_REQUEST,            // Malformed input, invalid argument, illegal state
     METHOD_NOT_ALLOWED,     // Wrong HTTP verb for the endpoint
     PAYLOAD_TOO_LARGE,      // File upload exceeds size limit
+    TOO_MANY_REQUESTS,      // Per-user upload budget exhausted
+    SERVICE_UNAVAILABLE,    // Upload capacity saturated; retry later
 
     // ── Project ───────────────────────────────────────────────────────────────
     PROJECT_NOT_FOUND,      // Project with given ID does not exist
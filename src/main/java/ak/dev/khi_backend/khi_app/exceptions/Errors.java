@@ -7,6 +7,7 @@ import ak.dev.khi_backend.khi_app.exceptions.publishment.video.*;
 import ak.dev.khi_backend.khi_app.exceptions.publishment.writing.*;
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
 import java.util.Map;
 
 public final class Errors {
@@ -62,6 +63,20 @@ public final class Errors {
         return new AppException(ErrorCode.STORAGE_ERROR, HttpStatus.BAD_GATEWAY, key, details);
     }
 
+    // ── UPLOAD ADMISSION ─────────────────────────────────────────
+
+    /** 429 — this user already has too many upload bytes in flight */
+    public static UploadThrottledException uploadThrottled(String key, Duration retryAfter, Map<String, Object> details) {
+        return new UploadThrottledException(ErrorCode.TOO_MANY_REQUESTS, HttpStatus.TOO_MANY_REQUESTS,
+                key, retryAfter, details);
+    }
+
+    /** 503 — no upload slot or byte budget freed up within the queue timeout */
+    public static UploadThrottledException uploadSaturated(String key, Duration retryAfter, Map<String, Object> details) {
+        return new UploadThrottledException(ErrorCode.SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE,
+                key, retryAfter, details);
+    }
+
     // ── INTERNAL ─────────────────────────────────────────────────
 
     public static AppException internal(String key, Object... args) {
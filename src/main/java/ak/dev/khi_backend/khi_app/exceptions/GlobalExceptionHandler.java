@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -56,6 +57,20 @@ public class GlobalExceptionHandler {
                 req.getRequestURI(), body.getTraceId(), ex.getDetails());
         return ResponseEntity.status(ex.getHttpStatus()).body(body);
     }
+
+    /**
+     * 429 / 503 — upload admission control rejected the request; same body as
+     * {@link #handleApp} plus {@code Retry-After} (seconds).
+     */
+    @ExceptionHandler(UploadThrottledException.class)
+    public ResponseEntity<ApiErrorResponse> handleUploadThrottled(
+            UploadThrottledException ex, HttpServletRequest req, Locale locale) {
+        ResponseEntity<ApiErrorResponse> response = handleApp(ex, req, locale);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(response.getBody());
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // USER / AUTH Exceptions
     // ═══════════════════════════════════════════════════════════════════════════
@@ -552,6 +567,8 @@ public class GlobalExceptionHandler {
             case MISSING_PARAMETER  -> ku ? "پارامیتەری پێویست کەمە"                                         : "Missing required parameter";
             case METHOD_NOT_ALLOWED -> ku ? "ئەم جۆرە داواکاریی بۆ ئەم ئامرازەیە قبوڵ نەکراوە"             : "HTTP method not allowed";
             case PAYLOAD_TOO_LARGE  -> ku ? "قەبارەی فایل زۆر زیادە"                                        : "File size too large";
+            case TOO_MANY_REQUESTS  -> ku ? "داواکاریی زۆرە. تکایە دواتر هەوڵ بدەرەوە."                     : "Too many requests. Please try again later.";
+            case SERVICE_UNAVAILABLE -> ku ? "خزمەتگوزاری لە ئێستادا سەرقاڵە. تکایە دواتر هەوڵ بدەرەوە."      : "Service is busy. Please try again later.";
             // ── Project-specific ───────────────────────────────────
             case PROJECT_NOT_FOUND  -> ku ? "پرۆژە نەدۆزرایەوە"                                              : "Project not found";
             case PROJECT_CONFLICT   -> ku ? "کێشەی تێکچوون لە پرۆژەدا"                                      : "Project data conflict";
@@ -0,0 +1,23 @@
+package ak.dev.khi_backend.khi_app.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 429 / 503 from upload admission control. The handler adds a
+ * {@code Retry-After} header from {@link #getRetryAfter()}.
+ */
+@Getter
+public class UploadThrottledException extends AppException {
+
+    private final Duration retryAfter;
+
+    public UploadThrottledException(ErrorCode code, HttpStatus status, String messageKey,
+                                    Duration retryAfter, Map<String, Object> details) {
+        super(code, status, messageKey, details);
+        this.retryAfter = retryAfter;
+    }
+}
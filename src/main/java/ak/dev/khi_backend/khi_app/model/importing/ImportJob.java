@@ -0,0 +1,91 @@
+package ak.dev.khi_backend.khi_app.model.importing;
+
+import ak.dev.khi_backend.khi_app.enums.ImportFormat;
+import ak.dev.khi_backend.khi_app.enums.ImportJobStatus;
+import ak.dev.khi_backend.khi_app.enums.ImportTarget;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ImportJob — one bulk import of an NDJSON / CSV file.
+ *
+ * The file stays in a local spool ({@code spoolPath}) while the job runs.
+ * {@code committedRows} is advanced in the same transaction as each chunk,
+ * so after a crash or a FAILED run the job resumes by skipping exactly the
+ * rows that are already in the database.
+ */
+@Entity
+@Table(
+        name = "import_jobs",
+        indexes = @Index(name = "idx_import_job_status", columnList = "status")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target", nullable = false, length = 20)
+    private ImportTarget target;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private ImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImportJobStatus status;
+
+    @Column(name = "file_name", length = 500)
+    private String fileName;
+
+    @Column(name = "spool_path", nullable = false, length = 1000)
+    private String spoolPath;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    /** Rows consumed from the file (imported + failed) — the resume point. */
+    @Column(name = "committed_rows", nullable = false)
+    private long committedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    private long importedRows;
+
+    @Column(name = "failed_rows", nullable = false)
+    private long failedRows;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_by", length = 150)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,51 @@
+package ak.dev.khi_backend.khi_app.model.importing;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ImportRowError — a row of an import file that was skipped, with the
+ * reason and a (truncated) copy of the row so it can be fixed and re-sent.
+ */
+@Entity
+@Table(
+        name = "import_row_errors",
+        indexes = @Index(name = "idx_import_row_error_job_row", columnList = "job_id, record_number")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    /** 1-based record number in the file (header and blank lines excluded). */
+    @Column(name = "record_number", nullable = false)
+    private long rowNumber;
+
+    @Column(name = "error_code", nullable = false, length = 50)
+    private String errorCode;
+
+    @Column(name = "message", length = 1000)
+    private String message;
+
+    @Column(name = "raw_row", columnDefinition = "TEXT")
+    private String rawRow;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
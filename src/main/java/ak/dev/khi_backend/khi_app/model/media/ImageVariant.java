@@ -0,0 +1,59 @@
+package ak.dev.khi_backend.khi_app.model.media;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ImageVariant — a resized derivative of an uploaded image.
+ *
+ * Keyed by the original's public URL rather than by owning entity, so the
+ * same derivative set serves an album item, a collection cover or a News
+ * cover that point at the same object.
+ */
+@Entity
+@Table(
+        name = "image_variants",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_image_variant_source_width",
+                columnNames = {"source_url", "width_px"}),
+        indexes = @Index(name = "idx_image_variant_source_url", columnList = "source_url")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(name = "source_url", nullable = false, length = 1200)
+    private String sourceUrl;
+
+    @Column(name = "url", nullable = false, length = 1200)
+    private String url;
+
+    @Column(name = "width_px", nullable = false)
+    private int widthPx;
+
+    @Column(name = "height_px", nullable = false)
+    private int heightPx;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "content_type", length = 50)
+    private String contentType;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,64 @@
+package ak.dev.khi_backend.khi_app.model.media;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * MediaBlob — content-addressed index over the S3 bucket.
+ *
+ * One row per distinct file body (SHA-256). Re-uploading the same bytes
+ * reuses {@code s3Key} and bumps {@code refCount} instead of writing a new
+ * object; a delete only removes the object once the last reference is gone.
+ *
+ * Objects uploaded before this table existed have no row and are deleted
+ * unconditionally, exactly as before.
+ */
+@Entity
+@Table(
+        name = "media_blobs",
+        indexes = {
+                @Index(name = "idx_media_blob_sha256", columnList = "sha256", unique = true),
+                @Index(name = "idx_media_blob_s3_key", columnList = "s3_key", unique = true)
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    /** Lower-case hex SHA-256 of the object body. */
+    @Column(name = "sha256", nullable = false, unique = true, length = 64)
+    private String sha256;
+
+    @Column(name = "s3_key", nullable = false, unique = true, length = 1000)
+    private String s3Key;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "content_type", length = 150)
+    private String contentType;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_referenced_at", nullable = false)
+    private LocalDateTime lastReferencedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (lastReferencedAt == null) lastReferencedAt = createdAt;
+    }
+}
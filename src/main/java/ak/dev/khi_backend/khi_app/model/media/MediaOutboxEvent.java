@@ -0,0 +1,65 @@
+package ak.dev.khi_backend.khi_app.model.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * MediaOutboxEvent — one pending media side effect, written in the same
+ * transaction as the content change that caused it.
+ *
+ * The row only becomes visible to the worker once that transaction commits,
+ * so a rolled-back save never deletes a file, and a crash after commit never
+ * loses one. Rows are removed when handled; after {@code max-attempts}
+ * failures they stay behind with {@code failed = true} for inspection.
+ */
+@Entity
+@Table(
+        name = "media_outbox",
+        indexes = {
+                @Index(name = "idx_media_outbox_due", columnList = "failed, available_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 40)
+    private MediaOutboxType type;
+
+    /** Newline-separated keys, URLs or cache names depending on {@code type}. */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /** Not picked up before this time — retry backoff and claim lease. */
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "failed", nullable = false)
+    private boolean failed;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (availableAt == null) availableAt = createdAt;
+    }
+}
@@ -0,0 +1,109 @@
+package ak.dev.khi_backend.khi_app.model.media;
+
+import ak.dev.khi_backend.khi_app.enums.UploadStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * UploadSession — server-side state of one resumable chunked upload.
+ *
+ * The bytes live in a spool file on local disk ({@code spoolPath}) until the
+ * client calls complete; {@code receivedBytes} is the only offset a client
+ * may append at, so an interrupted transfer resumes from here.
+ */
+@Entity
+@Table(
+        name = "upload_sessions",
+        indexes = {
+                @Index(name = "idx_upload_session_upload_id", columnList = "upload_id", unique = true),
+                @Index(name = "idx_upload_session_status_updated", columnList = "status, updated_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(name = "upload_id", nullable = false, unique = true, length = 36)
+    private String uploadId;
+
+    @Column(name = "file_name", nullable = false, length = 500)
+    private String fileName;
+
+    @Column(name = "content_type", length = 150)
+    private String contentType;
+
+    /** Optional folder hint: image / audio / video / document. */
+    @Column(name = "media_hint", length = 30)
+    private String mediaHint;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private UploadStatus status;
+
+    @Column(name = "spool_path", length = 1000)
+    private String spoolPath;
+
+    @Column(name = "file_url", length = 1200)
+    private String fileUrl;
+
+    // ─── Technical metadata probed from the spool on complete ────────────────
+
+    @Column(name = "file_format", length = 50)
+    private String fileFormat;
+
+    @Column(name = "duration_seconds")
+    private Integer durationSeconds;
+
+    @Column(name = "bitrate_kbps")
+    private Integer bitrateKbps;
+
+    @Column(name = "sample_rate_hz")
+    private Integer sampleRateHz;
+
+    @Column(name = "audio_channels")
+    private Integer audioChannels;
+
+    @Column(name = "width_px")
+    private Integer widthPx;
+
+    @Column(name = "height_px")
+    private Integer heightPx;
+
+    @Column(name = "created_by", length = 150)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
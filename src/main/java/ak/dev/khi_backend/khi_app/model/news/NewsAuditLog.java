@@ -6,7 +6,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "news_audit_logs")
+@Table(
+        name = "news_audit_logs",
+        indexes = {
+                @Index(name = "idx_nal_news_id",    columnList = "news_id"),
+                @Index(name = "idx_nal_created_at", columnList = "created_at")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +21,7 @@ import java.time.LocalDateTime;
 public class NewsAuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     // REPLACE with:
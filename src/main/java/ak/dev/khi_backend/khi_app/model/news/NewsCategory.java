@@ -27,7 +27,7 @@ import java.util.List;
 public class NewsCategory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(name = "name_ckb", nullable = false, unique = true, length = 120)
@@ -23,7 +23,7 @@ import org.hibernate.annotations.BatchSize;
 public class NewsSubCategory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(name = "name_ckb", nullable = false, length = 120)
@@ -24,7 +24,7 @@ import java.time.LocalDateTime;
 public class ProjectLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /**
@@ -13,7 +13,7 @@ import lombok.*;
 public class ImageAlbumItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /**
@@ -75,6 +75,18 @@ public class ImageAlbumItem {
     @Column(name = "mime_type", length = 50)
     private String mimeType;
 
+    // ─── LIST-SIZE DERIVATIVE (filled asynchronously after upload) ─────
+
+    /** Downscaled copy used by gallery grids; null until generated. */
+    @Column(name = "thumbnail_url", columnDefinition = "TEXT")
+    private String thumbnailUrl;
+
+    @Column(name = "thumbnail_width_px")
+    private Integer thumbnailWidthPx;
+
+    @Column(name = "thumbnail_height_px")
+    private Integer thumbnailHeightPx;
+
     // ─── RELATIONSHIPS ─────────────────────────────────────────────────
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -73,7 +73,7 @@ import java.util.Set;
 public class ImageCollection {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(name = "slug_ckb", unique = true, length = 240)
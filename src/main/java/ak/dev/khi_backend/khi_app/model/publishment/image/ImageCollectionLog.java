@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 public class ImageCollectionLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(name = "image_collection_id")
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sound_reklam_videos")
+@Table(
+        name = "sound_reklam_videos",
+        indexes = @Index(name = "idx_reklam_video_url", columnList = "video_url")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +18,7 @@ import java.time.LocalDateTime;
 public class SoundReklamVideo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(name = "video_url", nullable = false, length = 1200)
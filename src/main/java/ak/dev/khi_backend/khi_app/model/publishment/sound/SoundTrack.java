@@ -31,7 +31,7 @@ import java.util.Set;
 public class SoundTrack {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     // ─── Cover Images ─────────────────────────────────────────────────────────
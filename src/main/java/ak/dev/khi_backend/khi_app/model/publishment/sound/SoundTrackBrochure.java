@@ -26,7 +26,7 @@ import lombok.*;
 public class SoundTrackBrochure {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /**
@@ -42,7 +42,8 @@ import java.util.List;
         name = "sound_track_files",
         indexes = {
                 @Index(name = "idx_sound_file_type",  columnList = "file_type"),
-                @Index(name = "idx_sound_file_track",  columnList = "sound_track_id")
+                @Index(name = "idx_sound_file_track",  columnList = "sound_track_id"),
+                @Index(name = "idx_sound_file_url",    columnList = "file_url")
         }
 )
 @Getter @Setter
@@ -52,7 +53,7 @@ import java.util.List;
 public class SoundTrackFile {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     // ─── File Locations ───────────────────────────────────────────────────────
@@ -22,7 +22,7 @@ import java.time.LocalDateTime;
 public class SoundTrackLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /**
@@ -39,7 +39,7 @@ import java.time.LocalDateTime;
 public class PublishmentTopic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /**
@@ -53,7 +53,8 @@ import java.util.Set;
                 @Index(name = "idx_video_pub_date",    columnList = "publishment_date"),
                 @Index(name = "idx_video_topic",       columnList = "topic_id"),
                 @Index(name = "idx_video_title_ckb",   columnList = "title_ckb"),
-                @Index(name = "idx_video_title_kmr",   columnList = "title_kmr")
+                @Index(name = "idx_video_title_kmr",   columnList = "title_kmr"),
+                @Index(name = "idx_video_source_url",  columnList = "source_url")
         }
 )
 @Getter @Setter
@@ -62,7 +63,7 @@ import java.util.Set;
 public class Video {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     // ─── Cover / Thumbnail ────────────────────────────────────────────────────
@@ -147,7 +148,8 @@ public class Video {
     @Builder.Default
     @BatchSize(size = 25)
     @ElementCollection
-    @CollectionTable(name = "video_source_files", joinColumns = @JoinColumn(name = "video_id"))
+    @CollectionTable(name = "video_source_files", joinColumns = @JoinColumn(name = "video_id"),
+            indexes = @Index(name = "idx_video_source_file_url", columnList = "url"))
     @OrderColumn(name = "display_order")
     private List<VideoSourceFile> videoSources = new ArrayList<>();
 
@@ -183,7 +185,8 @@ public class Video {
 
     @Builder.Default
     @ElementCollection
-    @CollectionTable(name = "video_highlight_clips", joinColumns = @JoinColumn(name = "video_id"))
+    @CollectionTable(name = "video_highlight_clips", joinColumns = @JoinColumn(name = "video_id"),
+            indexes = @Index(name = "idx_video_highlight_clip_url", columnList = "clip_url"))
     @OrderColumn(name = "display_order")
     private List<VideoHighlightClip> highlightClips = new ArrayList<>();
 
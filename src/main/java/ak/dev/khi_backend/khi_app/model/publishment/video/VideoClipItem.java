@@ -20,7 +20,8 @@ import lombok.*;
         name = "video_clip_items",
         indexes = {
                 @Index(name = "idx_clip_video_id",   columnList = "video_id"),
-                @Index(name = "idx_clip_clip_number", columnList = "clip_number")
+                @Index(name = "idx_clip_clip_number", columnList = "clip_number"),
+                @Index(name = "idx_clip_url",         columnList = "url")
         }
 )
 @Getter @Setter
@@ -29,7 +30,7 @@ import lombok.*;
 public class VideoClipItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     // ─── Parent Video ──────────────────────────────────────────────────────────
@@ -27,7 +27,7 @@ import java.time.LocalDateTime;
 public class VideoLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /** ID of the video that was affected (snapshot; nullable after deletion). */
@@ -75,7 +75,7 @@ import java.util.List;
 public class Writing {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     // ─── Cover Images (3 slots) ───────────────────────────────────────────────
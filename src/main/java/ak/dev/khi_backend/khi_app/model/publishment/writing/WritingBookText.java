@@ -0,0 +1,64 @@
+package ak.dev.khi_backend.khi_app.model.publishment.writing;
+
+import ak.dev.khi_backend.khi_app.enums.Language;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * WritingBookText — plain text extracted from one language's book file,
+ * written by the background book analysis.
+ *
+ * Kept out of {@link Writing} so list and detail queries never load it.
+ * One row per (writing, language); a replaced book file overwrites the row
+ * and moves {@code extractedAt}, so a search indexer can catch up
+ * incrementally by paging on that column.
+ */
+@Entity
+@Table(
+        name = "writing_book_texts",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_writing_book_text_lang",
+                columnNames = {"writing_id", "language"}),
+        indexes = @Index(name = "idx_writing_book_text_extracted_at", columnList = "extracted_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WritingBookText {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    /** Plain id, not a relation: text rows are deleted with the writing by the service. */
+    @Column(name = "writing_id", nullable = false)
+    private Long writingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "language", nullable = false, length = 10)
+    private Language language;
+
+    /** The book file the text was extracted from. */
+    @Column(name = "file_url", nullable = false, length = 1000)
+    private String fileUrl;
+
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    /** True when the text was cut at {@code app.writing.analysis.max-text-chars}. */
+    @Column(name = "truncated", nullable = false)
+    private boolean truncated;
+
+    @Column(name = "extracted_at", nullable = false)
+    private LocalDateTime extractedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        extractedAt = LocalDateTime.now();
+    }
+}
@@ -54,7 +54,7 @@ import java.time.LocalDateTime;
 public class WritingLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /**
@@ -56,7 +56,7 @@ import java.util.List;
 public class Service {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     // ─── Core Fields ──────────────────────────────────────────────────────────
@@ -27,7 +27,7 @@ import java.time.LocalDateTime;
 public class ServiceAuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /** ID of the service this log entry refers to. */
@@ -44,7 +44,7 @@ import lombok.*;
 public class ServiceContent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     // ─── Language ─────────────────────────────────────────────────────────────
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 })
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class ContactMessage {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE) private Long id;
     @Column(nullable = false, length = 200) private String name;
     @Column(nullable = false, length = 254) private String email;
     @Column(length = 60) private String phone;
@@ -7,7 +7,7 @@ import lombok.*;
 @Table(name = "donation_settings")
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class DonationSettings {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE) private Long id;
     @Column(name = "title_ckb", length = 500) private String titleCkb;
     @Column(name = "title_kmr", length = 500) private String titleKmr;
     @Column(name = "description_ckb", columnDefinition = "TEXT") private String descriptionCkb;
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 })
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class FeaturedItem {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
     @Column(nullable = false, length = 30) private String type;
     @Column(nullable = false, length = 300) private String slug;
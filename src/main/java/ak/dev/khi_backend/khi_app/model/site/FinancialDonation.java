@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 })
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class FinancialDonation {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE) private Long id;
     @Column(name = "donor_name", nullable = false, length = 200) private String donorName;
     @Column(nullable = false, length = 254) private String email;
     @Column(length = 60) private String phone;
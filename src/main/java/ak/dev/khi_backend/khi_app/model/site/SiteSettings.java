@@ -22,7 +22,7 @@ public class SiteSettings {
     public static final int DEFAULT_MAX_FEATURED_SLIDES = 7;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Builder.Default
@@ -9,7 +9,7 @@ import lombok.*;
 })
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class SocialLink {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE) private Long id;
     @Column(nullable = false, length = 60) private String platform;
     @Column(nullable = false, columnDefinition = "TEXT") private String url;
     @Column(name = "label_ckb", length = 200) private String labelCkb;
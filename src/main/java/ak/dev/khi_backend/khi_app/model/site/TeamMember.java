@@ -9,7 +9,7 @@ import lombok.*;
 })
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class TeamMember {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE) private Long id;
     @Column(name = "name_ckb", nullable = false, length = 300) private String nameCkb;
     @Column(name = "name_kmr", length = 300) private String nameKmr;
     @Column(name = "role_ckb", nullable = false, length = 300) private String roleCkb;
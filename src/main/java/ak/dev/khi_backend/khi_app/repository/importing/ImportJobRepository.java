@@ -0,0 +1,37 @@
+package ak.dev.khi_backend.khi_app.repository.importing;
+
+import ak.dev.khi_backend.khi_app.enums.ImportJobStatus;
+import ak.dev.khi_backend.khi_app.model.importing.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    // Jobs interrupted by a restart
+    List<ImportJob> findByStatusIn(Collection<ImportJobStatus> statuses);
+
+    /**
+     * Move the resume point to {@code committedRows} and add the chunk's
+     * counts — runs inside the chunk's own transaction.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ImportJob j
+        SET j.committedRows = :committedRows,
+            j.importedRows  = j.importedRows + :imported,
+            j.failedRows    = j.failedRows + :failed,
+            j.updatedAt     = :now
+        WHERE j.id = :id
+        """)
+    int advance(@Param("id") Long id,
+                @Param("committedRows") long committedRows,
+                @Param("imported") long imported,
+                @Param("failed") long failed,
+                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,11 @@
+package ak.dev.khi_backend.khi_app.repository.importing;
+
+import ak.dev.khi_backend.khi_app.model.importing.ImportRowError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportRowErrorRepository extends JpaRepository<ImportRowError, Long> {
+
+    Page<ImportRowError> findByJobIdOrderByRowNumberAsc(Long jobId, Pageable pageable);
+}
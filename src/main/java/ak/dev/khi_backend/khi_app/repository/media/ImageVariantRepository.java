@@ -0,0 +1,15 @@
+package ak.dev.khi_backend.khi_app.repository.media;
+
+import ak.dev.khi_backend.khi_app.model.media.ImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Long> {
+
+    List<ImageVariant> findBySourceUrlOrderByWidthPxAsc(String sourceUrl);
+
+    // One IN query per list page instead of one lookup per card
+    List<ImageVariant> findBySourceUrlIn(Collection<String> sourceUrls);
+}
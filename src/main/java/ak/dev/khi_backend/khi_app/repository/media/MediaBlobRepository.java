@@ -0,0 +1,37 @@
+package ak.dev.khi_backend.khi_app.repository.media;
+
+import ak.dev.khi_backend.khi_app.model.media.MediaBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, Long> {
+
+    /**
+     * Row-locked lookup used when reusing a stored object, so a concurrent
+     * release cannot delete the row (and queue the object's deletion) between
+     * finding the blob and taking the new reference.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM MediaBlob b WHERE b.sha256 = :sha256")
+    Optional<MediaBlob> findBySha256ForUpdate(@Param("sha256") String sha256);
+
+    /**
+     * Row-locked lookup used by release so two concurrent deletes of the same
+     * object cannot both see refCount == 1.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM MediaBlob b WHERE b.s3Key = :s3Key")
+    Optional<MediaBlob> findByS3KeyForUpdate(@Param("s3Key") String s3Key);
+
+    /** Batch variant of {@link #findByS3KeyForUpdate}, rows locked in key order. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM MediaBlob b WHERE b.s3Key IN :s3Keys ORDER BY b.s3Key")
+    List<MediaBlob> findByS3KeyInForUpdate(@Param("s3Keys") Collection<String> s3Keys);
+}
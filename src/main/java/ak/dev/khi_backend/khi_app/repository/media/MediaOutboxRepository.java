@@ -0,0 +1,34 @@
+package ak.dev.khi_backend.khi_app.repository.media;
+
+import ak.dev.khi_backend.khi_app.model.media.MediaOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.Timeouts;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface MediaOutboxRepository extends JpaRepository<MediaOutboxEvent, Long> {
+
+    /**
+     * Due events, row-locked with {@code SKIP LOCKED}: a second instance
+     * claiming at the same time takes the next due rows instead of waiting
+     * for the first one's batch.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "" + Timeouts.SKIP_LOCKED_MILLI))
+    @Query("SELECT e FROM MediaOutboxEvent e WHERE e.failed = false AND e.availableAt <= :now ORDER BY e.id")
+    List<MediaOutboxEvent> findDueForUpdate(@Param("now") LocalDateTime now, Pageable page);
+
+    /** Re-reads a claimed event under a row lock before a transactional handler runs. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM MediaOutboxEvent e WHERE e.id = :id")
+    Optional<MediaOutboxEvent> findByIdForUpdate(@Param("id") Long id);
+}
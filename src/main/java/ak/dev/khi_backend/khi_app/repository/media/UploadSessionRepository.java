@@ -0,0 +1,29 @@
+package ak.dev.khi_backend.khi_app.repository.media;
+
+import ak.dev.khi_backend.khi_app.enums.UploadStatus;
+import ak.dev.khi_backend.khi_app.model.media.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    Optional<UploadSession> findByUploadId(String uploadId);
+
+    // Compare-and-set on the status; 0 rows means another request moved it first
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.status = :to, s.updatedAt = :now "
+            + "WHERE s.uploadId = :uploadId AND s.status = :from")
+    int transitionStatus(@Param("uploadId") String uploadId,
+                         @Param("from") UploadStatus from,
+                         @Param("to") UploadStatus to,
+                         @Param("now") LocalDateTime now);
+
+    // Stale sessions whose spool should be reclaimed
+    List<UploadSession> findByStatusAndUpdatedAtBefore(UploadStatus status, LocalDateTime cutoff);
+}
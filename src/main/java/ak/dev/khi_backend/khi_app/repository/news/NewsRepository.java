@@ -1,16 +1,22 @@
 package ak.dev.khi_backend.khi_app.repository.news;
 
+import ak.dev.khi_backend.khi_app.enums.MediaKind;
 import ak.dev.khi_backend.khi_app.model.news.News;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NewsRepository extends JpaRepository<News, Long> {
@@ -199,6 +205,33 @@ public interface NewsRepository extends JpaRepository<News, Long> {
 
     long countByFeaturedTrue();
 
+    /**
+     * Point an IMAGE cover's thumbnail at its list-size derivative, unless an
+     * editor already chose a different thumbnail.
+     */
+    @Modifying
+    @Query("""
+            UPDATE News n
+               SET n.coverThumbnailUrl = :thumbUrl
+             WHERE n.coverUrl = :sourceUrl
+               AND n.coverMediaType = :kind
+               AND (n.coverThumbnailUrl IS NULL OR n.coverThumbnailUrl = :sourceUrl)
+            """)
+    int fillCoverThumbnail(@Param("sourceUrl") String sourceUrl,
+                           @Param("thumbUrl") String thumbUrl,
+                           @Param("kind") MediaKind kind);
+
+    // ── EXPORT ────────────────────────────────────────────────────────────────
 
-
+    /**
+     * Every row in id order as a database cursor, for ArchiveExportService.
+     * Rows are read-only (no dirty-check snapshots) and fetched 100 per
+     * round-trip; consume inside a transaction and close the stream.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT n FROM News n ORDER BY n.id")
+    Stream<News> streamAllForExport();
 }
@@ -1,15 +1,20 @@
 package ak.dev.khi_backend.khi_app.repository.project;
 
+import ak.dev.khi_backend.khi_app.dto.project.ProjectCard;
 import ak.dev.khi_backend.khi_app.model.project.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
@@ -20,6 +25,27 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p.id FROM Project p ORDER BY p.id DESC")
     Page<Long> findAllIds(Pageable pageable);
 
+    /**
+     * List cards — one statement (+ count), no entity hydration. Tag names
+     * are aggregated in correlated sub-selects ('\u001F' is
+     * {@code CardLists.SEPARATOR}).
+     */
+    @Query(value = """
+        SELECT new ak.dev.khi_backend.khi_app.dto.project.ProjectCard(
+            p.id, p.coverUrl, p.coverMediaType, p.coverThumbnailUrl,
+            p.ckbContent.title, p.kmrContent.title,
+            p.ckbContent.location, p.kmrContent.location,
+            p.projectTypeCkb, p.projectTypeKmr, p.status, p.projectDate, p.featured,
+            (SELECT LISTAGG(t.name, '\u001F') WITHIN GROUP (ORDER BY t.name)
+                 FROM Project x JOIN x.tagsCkb t WHERE x.id = p.id),
+            (SELECT LISTAGG(t.name, '\u001F') WITHIN GROUP (ORDER BY t.name)
+                 FROM Project x JOIN x.tagsKmr t WHERE x.id = p.id))
+        FROM Project p
+        ORDER BY p.id DESC
+        """,
+            countQuery = "SELECT COUNT(p) FROM Project p")
+    Page<ProjectCard> findCards(Pageable pageable);
+
     @Query("""
         SELECT DISTINCT p.id FROM Project p
         LEFT JOIN p.tagsCkb tckb
@@ -82,4 +108,14 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     Page<Project> findByFeaturedTrue(Pageable pageable);
 
     long countByFeaturedTrue();
+
+    // ── EXPORT ────────────────────────────────────────────────────────────────
+
+    // Cursor over every row in id order — see NewsRepository#streamAllForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Project p ORDER BY p.id")
+    Stream<Project> streamAllForExport();
 }
@@ -0,0 +1,29 @@
+package ak.dev.khi_backend.khi_app.repository.publishment.image;
+
+import ak.dev.khi_backend.khi_app.model.publishment.image.ImageAlbumItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImageAlbumItemRepository extends JpaRepository<ImageAlbumItem, Long> {
+
+    /**
+     * Attach the list-size derivative to every album item that shows this
+     * original. Bulk JPQL — the derivative worker has no managed entities.
+     */
+    @Modifying
+    @Query("""
+            UPDATE ImageAlbumItem i
+               SET i.thumbnailUrl = :thumbUrl,
+                   i.thumbnailWidthPx = :width,
+                   i.thumbnailHeightPx = :height
+             WHERE i.imageUrl = :sourceUrl
+            """)
+    int applyThumbnail(@Param("sourceUrl") String sourceUrl,
+                       @Param("thumbUrl") String thumbUrl,
+                       @Param("width") int width,
+                       @Param("height") int height);
+}
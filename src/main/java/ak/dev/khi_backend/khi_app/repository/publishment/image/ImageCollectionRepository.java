@@ -1,16 +1,20 @@
 package ak.dev.khi_backend.khi_app.repository.publishment.image;
 
 import ak.dev.khi_backend.khi_app.model.publishment.image.ImageCollection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ImageCollectionRepository extends JpaRepository<ImageCollection, Long> {
@@ -171,6 +175,13 @@ public interface ImageCollectionRepository extends JpaRepository<ImageCollection
 
     long countByFeaturedTrue();
 
+    // ── EXPORT ────────────────────────────────────────────────────────────────
 
-
+    // Cursor over every row in id order — see NewsRepository#streamAllForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM ImageCollection c ORDER BY c.id")
+    Stream<ImageCollection> streamAllForExport();
 }
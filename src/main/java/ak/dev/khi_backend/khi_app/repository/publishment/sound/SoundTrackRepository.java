@@ -1,17 +1,22 @@
 package ak.dev.khi_backend.khi_app.repository.publishment.sound;
 
+import ak.dev.khi_backend.khi_app.dto.publishment.sound.SoundTrackCard;
 import ak.dev.khi_backend.khi_app.model.publishment.sound.SoundTrack;
 import ak.dev.khi_backend.khi_app.enums.publishment.TrackState;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SoundTrackRepository extends JpaRepository<SoundTrack, Long> {
@@ -34,6 +39,30 @@ public interface SoundTrackRepository extends JpaRepository<SoundTrack, Long> {
         """)
     Page<Long> findAllIds(Pageable pageable);
 
+    /**
+     * GET CARDS — list pages in one statement (+ count).
+     * Constructor projection, nothing enters the persistence context; tags
+     * are aggregated in correlated sub-selects ('\u001F' is
+     * {@code CardLists.SEPARATOR}), files only counted.
+     */
+    @Query(value = """
+        SELECT new ak.dev.khi_backend.khi_app.dto.publishment.sound.SoundTrackCard(
+            s.id, s.ckbContent.title, s.kmrContent.title,
+            s.ckbCoverUrl, s.kmrCoverUrl, s.hoverCoverUrl,
+            s.soundType, s.trackState, s.albumOfMemories,
+            tp.id, tp.nameCkb, tp.nameKmr,
+            s.reader, s.albumName, s.publishmentYear, size(s.files),
+            (SELECT LISTAGG(t, '\u001F') WITHIN GROUP (ORDER BY t)
+                 FROM SoundTrack x JOIN x.tagsCkb t WHERE x.id = s.id),
+            (SELECT LISTAGG(t, '\u001F') WITHIN GROUP (ORDER BY t)
+                 FROM SoundTrack x JOIN x.tagsKmr t WHERE x.id = s.id),
+            s.createdAt)
+        FROM SoundTrack s LEFT JOIN s.topic tp
+        ORDER BY s.createdAt DESC, s.id DESC
+        """,
+            countQuery = "SELECT COUNT(s) FROM SoundTrack s")
+    Page<SoundTrackCard> findCards(Pageable pageable);
+
     /**
      * FILTER BY TRACK STATE (SINGLE / MULTI) — Phase 1
      * Hits idx_soundtrack_state.
@@ -210,4 +239,13 @@ public interface SoundTrackRepository extends JpaRepository<SoundTrack, Long> {
 
     long countByFeaturedTrue();
 
+    // ── EXPORT ────────────────────────────────────────────────────────────────
+
+    // Cursor over every row in id order — see NewsRepository#streamAllForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM SoundTrack s ORDER BY s.id")
+    Stream<SoundTrack> streamAllForExport();
 }
@@ -1,17 +1,22 @@
 package ak.dev.khi_backend.khi_app.repository.publishment.video;
 
+import ak.dev.khi_backend.khi_app.dto.publishment.video.VideoCard;
 import ak.dev.khi_backend.khi_app.model.publishment.video.Video;
 import ak.dev.khi_backend.khi_app.model.publishment.video.VideoType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * VideoRepository — Optimised queries for Video entity.
@@ -70,6 +75,32 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
     // ── PAGINATED LIST ── (admin list / public browse)
     // ═══════════════════════════════════════════════════════════════════════════
 
+    /**
+     * List cards, newest first — one statement (+ count) through a
+     * constructor projection, so none of the EAGER element collections is
+     * loaded. Tags are aggregated in correlated sub-selects ('\u001F' is
+     * {@code CardLists.SEPARATOR}).
+     */
+    @Query(
+            value = """
+                SELECT new ak.dev.khi_backend.khi_app.dto.publishment.video.VideoCard(
+                    v.id, v.ckbCoverUrl, v.kmrCoverUrl, v.hoverCoverUrl,
+                    v.videoType, v.albumOfMemories,
+                    tp.id, tp.nameCkb, tp.nameKmr,
+                    v.ckbContent.title, v.kmrContent.title,
+                    v.durationSeconds, v.publishmentDate,
+                    (SELECT LISTAGG(t, '\u001F') WITHIN GROUP (ORDER BY t)
+                         FROM Video x JOIN x.tagsCkb t WHERE x.id = v.id),
+                    (SELECT LISTAGG(t, '\u001F') WITHIN GROUP (ORDER BY t)
+                         FROM Video x JOIN x.tagsKmr t WHERE x.id = v.id),
+                    v.createdAt)
+                FROM Video v LEFT JOIN v.topic tp
+                ORDER BY v.createdAt DESC, v.id DESC
+                """,
+            countQuery = "SELECT COUNT(v) FROM Video v"
+    )
+    Page<VideoCard> findCards(Pageable pageable);
+
     /**
      * All videos, paged — topic eagerly joined to avoid N+1 on topic name
      * display. Separated countQuery hits only the videos table (no JOIN).
@@ -269,5 +300,13 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
 
     long countByFeaturedTrue();
 
+    // ── EXPORT ────────────────────────────────────────────────────────────────
 
+    // Cursor over every row in id order — see NewsRepository#streamAllForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v FROM Video v ORDER BY v.id")
+    Stream<Video> streamAllForExport();
 }
@@ -0,0 +1,28 @@
+package ak.dev.khi_backend.khi_app.repository.publishment.writing;
+
+import ak.dev.khi_backend.khi_app.enums.Language;
+import ak.dev.khi_backend.khi_app.model.publishment.writing.WritingBookText;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface WritingBookTextRepository extends JpaRepository<WritingBookText, Long> {
+
+    Optional<WritingBookText> findByWritingIdAndLanguage(Long writingId, Language language);
+
+    /**
+     * Incremental indexing feed: texts extracted (or re-extracted) after
+     * {@code since}, oldest first — resume from the last row's timestamp.
+     */
+    List<WritingBookText> findByExtractedAtAfterOrderByExtractedAtAscIdAsc(LocalDateTime since, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM WritingBookText t WHERE t.writingId = :writingId")
+    int deleteByWritingId(@Param("writingId") Long writingId);
+}
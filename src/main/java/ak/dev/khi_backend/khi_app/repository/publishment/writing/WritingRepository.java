@@ -1,17 +1,22 @@
 package ak.dev.khi_backend.khi_app.repository.publishment.writing;
 
+import ak.dev.khi_backend.khi_app.dto.publishment.writing.WritingCard;
 import ak.dev.khi_backend.khi_app.model.publishment.writing.Writing;
 import ak.dev.khi_backend.khi_app.enums.publishment.BookGenre;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * WritingRepository — Optimised queries for Writing entity.
@@ -79,6 +84,32 @@ public interface WritingRepository extends JpaRepository<Writing, Long> {
     )
     Page<Writing> findAllWithTopic(Pageable pageable);
 
+    /**
+     * All writings as list cards, newest first — one statement (+ count)
+     * through a constructor projection, so none of the EAGER element
+     * collections is loaded. Tags are aggregated in correlated sub-selects
+     * ('\u001F' is {@code CardLists.SEPARATOR}).
+     */
+    @Query(
+            value = """
+                SELECT new ak.dev.khi_backend.khi_app.dto.publishment.writing.WritingCard(
+                    w.id, w.ckbCoverUrl, w.kmrCoverUrl, w.hoverCoverUrl,
+                    w.ckbContent.title, w.kmrContent.title,
+                    w.ckbContent.writer, w.kmrContent.writer,
+                    tp.id, tp.nameCkb, tp.nameKmr,
+                    w.seriesId, w.seriesOrder, w.publishedByInstitute,
+                    (SELECT LISTAGG(t, '\u001F') WITHIN GROUP (ORDER BY t)
+                         FROM Writing x JOIN x.tagsCkb t WHERE x.id = w.id),
+                    (SELECT LISTAGG(t, '\u001F') WITHIN GROUP (ORDER BY t)
+                         FROM Writing x JOIN x.tagsKmr t WHERE x.id = w.id),
+                    w.createdAt)
+                FROM Writing w LEFT JOIN w.topic tp
+                ORDER BY w.createdAt DESC, w.id DESC
+                """,
+            countQuery = "SELECT COUNT(w) FROM Writing w"
+    )
+    Page<WritingCard> findCards(Pageable pageable);
+
     /**
      * All writings filtered by genre, paged.
      */
@@ -342,4 +373,13 @@ public interface WritingRepository extends JpaRepository<Writing, Long> {
 
     long countByFeaturedTrue();
 
+    // ── EXPORT ────────────────────────────────────────────────────────────────
+
+    // Cursor over every row in id order — see NewsRepository#streamAllForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT w FROM Writing w ORDER BY w.id")
+    Stream<Writing> streamAllForExport();
 }
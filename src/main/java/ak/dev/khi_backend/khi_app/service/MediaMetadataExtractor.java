@@ -1,5 +1,6 @@
 package ak.dev.khi_backend.khi_app.service;
 
+import ak.dev.khi_backend.khi_app.service.media.ImageProbe;
 import com.drew.imaging.ImageMetadataReader;
 import com.drew.metadata.Metadata;
 import com.drew.metadata.bmp.BmpHeaderDirectory;
@@ -15,14 +16,22 @@ import com.drew.metadata.webp.WebpDirectory;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Component;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import java.awt.Dimension;
 import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * MediaMetadataExtractor — Pure-Java metadata extraction for uploaded media.
@@ -37,27 +46,55 @@ import java.util.Locale;
  *
  * Unsupported formats (MKV, AVI, WEBM, FLAC, OGG …) degrade gracefully —
  * only the MIME-derived format string is returned.
+ *
+ * Everything is read from a stream, never from a {@code byte[]} of the whole
+ * file: the MP4 reader skips {@code mdat} and the MP3 reader stops at the
+ * first frame header, so a 1 GB upload costs a few KB of heap. WAV is parsed
+ * here from the RIFF header because the library's WAV handler buffers the
+ * whole {@code data} chunk.
  */
 @Slf4j
 @Component
 public class MediaMetadataExtractor {
 
+    private static final Set<String> WAV_MIME_TYPES =
+            Set.of("audio/wav", "audio/x-wav", "audio/wave", "audio/vnd.wave");
+
+    /** Guards against a corrupt header sending the chunk walk to the end of a huge file. */
+    private static final int MAX_RIFF_CHUNKS = 64;
+
     // =========================================================================
     // PUBLIC API
     // =========================================================================
 
     /**
-     * Extract technical metadata from raw file bytes.
+     * Extract technical metadata from a spooled file on local disk
+     * (e.g. a completed chunked upload before it is shipped to S3).
+     */
+    public MediaFileMeta extract(Path file, String contentType, String originalFilename) {
+        try {
+            return extract(new FileSystemResource(file), Files.size(file), contentType, originalFilename);
+        } catch (IOException e) {
+            log.warn("Cannot stat '{}' for metadata extraction: {}", file, e.getMessage());
+            return MediaFileMeta.empty();
+        }
+    }
+
+    /**
+     * Extract technical metadata by streaming the file headers.
      *
-     * @param bytes           raw file content
-     * @param contentType     MIME type, e.g. "image/jpeg"
+     * @param source           re-openable stream source — a {@code MultipartFile},
+     *                         {@code FileSystemResource}, … (opened at most twice)
+     * @param sizeBytes        total file size, used for MP3 duration and average bitrate
+     * @param contentType      MIME type, e.g. "audio/mpeg"
      * @param originalFilename original file name with extension
      * @return populated {@link MediaFileMeta} — never null, individual fields may be null
      */
-    public MediaFileMeta extract(byte[] bytes, String contentType, String originalFilename) {
+    public MediaFileMeta extract(InputStreamSource source, long sizeBytes,
+                                 String contentType, String originalFilename) {
 
-        if (bytes == null || bytes.length == 0) {
-            log.warn("Empty bytes — skipping metadata extraction");
+        if (source == null || sizeBytes <= 0) {
+            log.warn("Empty source — skipping metadata extraction");
             return MediaFileMeta.empty();
         }
         if (contentType == null || contentType.isBlank()) {
@@ -66,19 +103,37 @@ public class MediaMetadataExtractor {
         }
 
         String mime = contentType.toLowerCase(Locale.ROOT).trim();
+        return probe(source, sizeBytes, mime, originalFilename)
+                .toBuilder()
+                .sizeBytes(sizeBytes)
+                .build();
+    }
+
+    private MediaFileMeta probe(InputStreamSource source, long sizeBytes,
+                                String mime, String originalFilename) {
+        if (WAV_MIME_TYPES.contains(mime)) {
+            try (InputStream in = source.getInputStream()) {
+                return extractWavMeta(in, sizeBytes);
+            } catch (Exception e) {
+                log.warn("WAV header parse failed for '{}': {}", originalFilename, e.getMessage());
+                return MediaFileMeta.builder().fileFormat("WAV").build();
+            }
+        }
 
         try {
-            Metadata metadata = ImageMetadataReader.readMetadata(
-                    new BufferedInputStream(new ByteArrayInputStream(bytes)));
+            Metadata metadata;
+            try (InputStream in = new BufferedInputStream(source.getInputStream())) {
+                metadata = ImageMetadataReader.readMetadata(in, sizeBytes);
+            }
 
             String fileFormat = detectFileFormat(metadata, mime);
 
             if (mime.startsWith("image/")) {
-                return extractImageMeta(metadata, bytes, fileFormat);
+                return extractImageMeta(metadata, source, fileFormat);
             } else if (mime.startsWith("video/")) {
-                return extractVideoMeta(metadata, fileFormat);
+                return extractVideoMeta(metadata, fileFormat, sizeBytes);
             } else if (mime.startsWith("audio/")) {
-                return extractAudioMeta(metadata, fileFormat, bytes.length);
+                return extractAudioMeta(metadata, fileFormat, sizeBytes);
             }
 
             return MediaFileMeta.builder().fileFormat(fileFormat).build();
@@ -93,7 +148,7 @@ public class MediaMetadataExtractor {
     // IMAGE  (JPEG, PNG, WebP, GIF, BMP, TIFF)
     // =========================================================================
 
-    private MediaFileMeta extractImageMeta(Metadata metadata, byte[] bytes, String format) {
+    private MediaFileMeta extractImageMeta(Metadata metadata, InputStreamSource source, String format) {
         Integer width  = null;
         Integer height = null;
 
@@ -139,16 +194,16 @@ public class MediaMetadataExtractor {
             }
         }
 
-        // ── Fallback: ImageIO (handles standard formats reliably) ────────────
+        // ── Fallback: ImageReader header probe (no full raster decode) ───────
         if (width == null || height == null) {
-            try {
-                BufferedImage img = ImageIO.read(new ByteArrayInputStream(bytes));
-                if (img != null) {
-                    width  = img.getWidth();
-                    height = img.getHeight();
+            try (InputStream in = source.getInputStream()) {
+                Dimension dim = ImageProbe.probe(in);
+                if (dim != null) {
+                    width  = dim.width;
+                    height = dim.height;
                 }
-            } catch (Exception e) {
-                log.debug("ImageIO fallback failed: {}", e.getMessage());
+            } catch (IOException e) {
+                log.debug("Header probe fallback failed: {}", e.getMessage());
             }
         }
 
@@ -165,7 +220,7 @@ public class MediaMetadataExtractor {
     // VIDEO  (MP4, MOV / QuickTime)
     // =========================================================================
 
-    private MediaFileMeta extractVideoMeta(Metadata metadata, String format) {
+    private MediaFileMeta extractVideoMeta(Metadata metadata, String format, long fileSize) {
         Integer width    = null;
         Integer height   = null;
         Integer duration = null;
@@ -202,6 +257,19 @@ public class MediaMetadataExtractor {
             }
         }
 
+        // ── Audio track: sample rate / channels ─────────────────────────────
+        Integer sampleRate = null;
+        Integer channels   = null;
+        for (Mp4SoundDirectory dir : metadata.getDirectoriesOfType(Mp4SoundDirectory.class)) {
+            sampleRate = firstNonNull(sampleRate, dir.getInteger(Mp4SoundDirectory.TAG_AUDIO_SAMPLE_RATE));
+            channels   = firstNonNull(channels,   dir.getInteger(Mp4SoundDirectory.TAG_NUMBER_OF_CHANNELS));
+        }
+
+        // ── Average bitrate from container size / runtime ────────────────────
+        if (duration != null && duration > 0 && fileSize > 0) {
+            bitrate = (int) (fileSize * 8L / duration / 1000L);
+        }
+
         log.debug("Video metadata: {}×{}, duration={}s, codec={}, format={}",
                 width, height, duration, codec, format);
 
@@ -212,6 +280,8 @@ public class MediaMetadataExtractor {
                 .fileFormat(format)
                 .codec(codec)
                 .bitrateKbps(bitrate)
+                .sampleRateHz(sampleRate)
+                .channels(channels)
                 .build();
     }
 
@@ -220,9 +290,11 @@ public class MediaMetadataExtractor {
     // =========================================================================
 
     private MediaFileMeta extractAudioMeta(Metadata metadata, String format, long fileSize) {
-        Integer duration = null;
-        String  codec    = null;
-        Integer bitrate  = null;
+        Integer duration   = null;
+        String  codec      = null;
+        Integer bitrate    = null;
+        Integer sampleRate = null;
+        Integer channels   = null;
 
         // ── MP3 ──────────────────────────────────────────────────────────────
         for (Mp3Directory dir : metadata.getDirectoriesOfType(Mp3Directory.class)) {
@@ -234,6 +306,7 @@ public class MediaMetadataExtractor {
                     duration = (int) (fileSize * 8L / (bitrate * 1000L));
                 }
             }
+            sampleRate = firstNonNull(sampleRate, dir.getInteger(Mp3Directory.TAG_FREQUENCY));
         }
 
         // ── M4A / AAC in MP4 container ───────────────────────────────────────
@@ -242,6 +315,8 @@ public class MediaMetadataExtractor {
                 if (dir.containsTag(Mp4SoundDirectory.TAG_AUDIO_FORMAT)) {
                     codec = normaliseCodec(dir.getString(Mp4SoundDirectory.TAG_AUDIO_FORMAT));
                 }
+                sampleRate = firstNonNull(sampleRate, dir.getInteger(Mp4SoundDirectory.TAG_AUDIO_SAMPLE_RATE));
+                channels   = firstNonNull(channels,   dir.getInteger(Mp4SoundDirectory.TAG_NUMBER_OF_CHANNELS));
             }
         }
 
@@ -266,6 +341,11 @@ public class MediaMetadataExtractor {
             }
         }
 
+        // ── Average bitrate for containers that only give a duration ─────────
+        if (bitrate == null && duration != null && duration > 0 && fileSize > 0) {
+            bitrate = (int) (fileSize * 8L / duration / 1000L);
+        }
+
         log.debug("Audio metadata: duration={}s, codec={}, bitrate={}kbps, format={}",
                 duration, codec, bitrate, format);
 
@@ -274,9 +354,88 @@ public class MediaMetadataExtractor {
                 .fileFormat(format)
                 .codec(codec)
                 .bitrateKbps(bitrate)
+                .sampleRateHz(sampleRate)
+                .channels(channels)
                 .build();
     }
 
+    // =========================================================================
+    // WAV  (RIFF header only — the PCM payload is never read)
+    // =========================================================================
+
+    private MediaFileMeta extractWavMeta(InputStream raw, long fileSize) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 8192));
+
+        if (!"RIFF".equals(fourCc(in))) throw new IOException("not a RIFF file");
+        readIntLE(in);                                   // RIFF size — often wrong, ignored
+        if (!"WAVE".equals(fourCc(in))) throw new IOException("not a WAVE file");
+
+        long    position   = 12;
+        Integer channels   = null;
+        Integer sampleRate = null;
+        Integer byteRate   = null;
+        Integer formatTag  = null;
+        Long    dataSize   = null;
+
+        for (int chunks = 0; chunks < MAX_RIFF_CHUNKS && dataSize == null; chunks++) {
+            String id;
+            try {
+                id = fourCc(in);
+            } catch (EOFException eof) {
+                break;
+            }
+            long size = readIntLE(in) & 0xFFFFFFFFL;
+            position += 8;
+
+            if ("fmt ".equals(id) && size >= 16) {
+                formatTag  = readShortLE(in);
+                channels   = readShortLE(in);
+                sampleRate = readIntLE(in);
+                byteRate   = readIntLE(in);
+                in.skipNBytes(size - 12 + (size & 1));
+            } else if ("data".equals(id)) {
+                // Streaming writers leave 0 / 0xFFFFFFFF here; trust the file size instead
+                long remaining = fileSize - position;
+                dataSize = (size == 0 || size == 0xFFFFFFFFL || size > remaining) ? remaining : size;
+            } else {
+                in.skipNBytes(size + (size & 1));
+            }
+            position += size + (size & 1);
+        }
+
+        Integer duration = (dataSize != null && byteRate != null && byteRate > 0)
+                ? (int) (dataSize / byteRate) : null;
+        Integer bitrate = (byteRate != null && byteRate > 0) ? byteRate * 8 / 1000 : null;
+        String codec = (formatTag != null && (formatTag == 1 || formatTag == 3 || formatTag == 0xFFFE))
+                ? "PCM" : null;
+
+        log.debug("WAV metadata: duration={}s, {} Hz, {} ch, bitrate={}kbps",
+                duration, sampleRate, channels, bitrate);
+
+        return MediaFileMeta.builder()
+                .durationSeconds(duration)
+                .fileFormat("WAV")
+                .codec(codec)
+                .bitrateKbps(bitrate)
+                .sampleRateHz(sampleRate)
+                .channels(channels)
+                .build();
+    }
+
+    private static String fourCc(DataInputStream in) throws IOException {
+        byte[] id = new byte[4];
+        in.readFully(id);
+        return new String(id, StandardCharsets.US_ASCII);
+    }
+
+    private static int readIntLE(DataInputStream in) throws IOException {
+        return Integer.reverseBytes(in.readInt());
+    }
+
+    private static int readShortLE(DataInputStream in) throws IOException {
+        return Short.toUnsignedInt(Short.reverseBytes(in.readShort()));
+    }
+
     // =========================================================================
     // FORMAT DETECTION
     // =========================================================================
@@ -385,7 +544,7 @@ public class MediaMetadataExtractor {
      * All fields are nullable — only set when extraction succeeds for that field.
      */
     @Getter
-    @Builder
+    @Builder(toBuilder = true)
     public static class MediaFileMeta {
 
         /** Width in pixels — IMAGE and VIDEO only. */
@@ -416,6 +575,35 @@ public class MediaMetadataExtractor {
          */
         private final Integer bitrateKbps;
 
+        /** Audio sample rate in Hz — AUDIO, and the audio track of VIDEO. */
+        private final Integer sampleRateHz;
+
+        /** Audio channel count (1 = mono, 2 = stereo). */
+        private final Integer channels;
+
+        /** Size of the probed file in bytes — set by the extractor, not parsed. */
+        private final Long sizeBytes;
+
+        /** "1920x1080" when both dimensions are known, else null. */
+        public String resolutionLabel() {
+            return (widthPx != null && heightPx != null) ? widthPx + "x" + heightPx : null;
+        }
+
+        /** "320 kbps" — the label format stored on SoundTrackFile. */
+        public String bitrateLabel() {
+            return bitrateKbps != null && bitrateKbps > 0 ? bitrateKbps + " kbps" : null;
+        }
+
+        /** "44100 Hz" — the label format stored on SoundTrackFile. */
+        public String sampleRateLabel() {
+            return sampleRateHz != null && sampleRateHz > 0 ? sampleRateHz + " Hz" : null;
+        }
+
+        /** Size in MiB, the unit Video / VideoClipItem store. */
+        public Double fileSizeMb() {
+            return sizeBytes != null && sizeBytes > 0 ? sizeBytes / (1024.0 * 1024.0) : null;
+        }
+
         /** Convenience factory — returns a fully-null instance. */
         public static MediaFileMeta empty() {
             return MediaFileMeta.builder().build();
@@ -424,7 +612,8 @@ public class MediaMetadataExtractor {
         /** Returns true when at least one field was successfully extracted. */
         public boolean hasData() {
             return widthPx != null || heightPx != null || durationSeconds != null
-                    || fileFormat != null || codec != null || bitrateKbps != null;
+                    || fileFormat != null || codec != null || bitrateKbps != null
+                    || sampleRateHz != null || channels != null;
         }
     }
 }
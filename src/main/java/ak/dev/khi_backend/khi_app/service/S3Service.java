@@ -2,26 +2,49 @@ package ak.dev.khi_backend.khi_app.service;
 
 import ak.dev.khi_backend.khi_app.enums.project.ProjectMediaType;
 import ak.dev.khi_backend.khi_app.exceptions.BadRequestException;
+import ak.dev.khi_backend.khi_app.model.media.MediaBlob;
+import ak.dev.khi_backend.khi_app.service.media.MediaBlobService;
+import ak.dev.khi_backend.khi_app.service.storage.StorageException;
+import ak.dev.khi_backend.khi_app.service.storage.StorageProvider;
+import ak.dev.khi_backend.khi_app.service.storage.StoredObject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.ResponseBytes;
-import software.amazon.awssdk.core.exception.SdkClientException;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.model.S3Exception;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * S3Service — the media storage facade used by every content service:
+ * key layout, content-addressed dedup and URL handling. The object store
+ * itself is a {@link StorageProvider} (S3 by default, or the local file
+ * system with {@code app.storage.provider=filesystem}); the class keeps its
+ * name because it is injected everywhere.
+ *
+ * Upload, download and batch delete also come as {@code *Async} variants
+ * returning futures, for callers that should not block on the store.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -32,16 +55,18 @@ public class S3Service {
         InputStream open() throws IOException;
     }
 
-    private final S3Client s3Client;
-
-    @Value("${aws.s3.bucket}")
-    private String bucket;
+    private final StorageProvider storage;
+    private final MediaBlobService mediaBlobService;
 
     @Value("${aws.s3.base-folder:khi-web-folders}")
     private String baseFolder;
 
-    @Value("${aws.s3.region}")
-    private String region;
+    /** Streams larger than this are written as multipart uploads. */
+    @Value("${app.storage.multipart-threshold:100MB}")
+    private DataSize multipartThreshold = DataSize.ofMegabytes(100);
+
+    @Value("${app.storage.multipart-part-size:16MB}")
+    private DataSize multipartPartSize = DataSize.ofMegabytes(16);
 
     // ============================================================
     // FOLDER NAMES
@@ -54,6 +79,9 @@ public class S3Service {
     private static final String FOLDER_COVERS = "covers";
     private static final String FOLDER_HOVER = "hover";
 
+    /** S3 DeleteObjects limit per request. */
+    public static final int MAX_DELETE_BATCH = 1000;
+
     // ============================================================
     // UPLOAD METHODS
     // ============================================================
@@ -73,26 +101,23 @@ public class S3Service {
             throw new BadRequestException("media.invalid", "File is empty or null");
         }
 
+        String sha256 = sha256Hex(fileBytes);
+        Optional<String> reused = reuseExisting(sha256);
+        if (reused.isPresent()) return reused.get();
+
         String folder = mediaType != null ? getFolderForMediaType(mediaType) : detectFolder(contentType);
         String key = generateKey(folder, originalFilename);
 
-        log.info("⬆️ Uploading to S3: bucket={}, folder={}, key={}, contentType={}",
-                bucket, folder, key, contentType);
+        log.info("⬆️ Uploading to storage: folder={}, key={}, contentType={}", folder, key, contentType);
 
         try {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .contentType(contentType)
-                    .build();
+            storage.put(key, () -> new ByteArrayInputStream(fileBytes), fileBytes.length, contentType);
 
-            s3Client.putObject(request, RequestBody.fromBytes(fileBytes));
-
-            String publicUrl = getPublicUrl(key);
+            String publicUrl = registerUploaded(sha256, key, fileBytes.length, contentType);
             log.info("✅ File uploaded successfully: {}", publicUrl);
 
             return publicUrl;
-        } catch (S3Exception e) {
+        } catch (StorageException e) {
             log.error("❌ S3 upload failed: {}", e.getMessage(), e);
             throw new BadRequestException("s3.upload.failed", "Failed to upload file to S3: " + e.getMessage());
         }
@@ -100,7 +125,8 @@ public class S3Service {
 
     /**
      * Stream a file to S3 without materializing the whole file in JVM memory.
-     * The provider may be called more than once when the AWS client retries.
+     * The provider is opened once for the SHA-256 pass and again for the PUT
+     * (more than once when the AWS client retries).
      */
     public String upload(InputStreamProvider streamProvider, long contentLength,
                          String originalFilename, String contentType) {
@@ -119,47 +145,89 @@ public class S3Service {
         String resolvedContentType = contentType == null || contentType.isBlank()
                 ? "application/octet-stream"
                 : contentType;
+
+        // The hash has to be known before the PUT to skip it, so this is a
+        // separate sequential read of the (local) source stream.
+        String sha256;
+        try {
+            sha256 = sha256Hex(streamProvider);
+        } catch (IOException e) {
+            log.error("❌ Could not read file for hashing: {}", e.getMessage(), e);
+            throw new BadRequestException("s3.upload.failed",
+                    "Failed to read uploaded file: " + e.getMessage());
+        }
+        return uploadHashed(streamProvider, contentLength, sha256, originalFilename, resolvedContentType, mediaType);
+    }
+
+    /**
+     * Stream a file whose SHA-256 the caller has already computed (e.g. while
+     * deduplicating), skipping the hashing pass. The hash must be of exactly
+     * the bytes the provider yields — it becomes the blob's dedup key.
+     */
+    public String uploadHashed(InputStreamProvider streamProvider, long contentLength, String sha256,
+                               String originalFilename, String contentType, ProjectMediaType mediaType) {
+        if (streamProvider == null || contentLength <= 0) {
+            throw new BadRequestException("media.invalid", "File is empty or null");
+        }
+
+        String resolvedContentType = contentType == null || contentType.isBlank()
+                ? "application/octet-stream"
+                : contentType;
+
+        Optional<String> reused = reuseExisting(sha256);
+        if (reused.isPresent()) return reused.get();
+
         String folder = mediaType != null ? getFolderForMediaType(mediaType) : detectFolder(resolvedContentType);
         String key = generateKey(folder, originalFilename);
 
-        log.info("⬆️ Streaming to S3: bucket={}, folder={}, key={}, contentType={}, size={}",
-                bucket, folder, key, resolvedContentType, contentLength);
+        log.info("⬆️ Streaming to storage: folder={}, key={}, contentType={}, size={}",
+                folder, key, resolvedContentType, contentLength);
 
         try {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .contentType(resolvedContentType)
-                    .contentLength(contentLength)
-                    .build();
-
-            RequestBody body = RequestBody.fromContentProvider(
-                    () -> {
-                        try {
-                            return streamProvider.open();
-                        } catch (IOException e) {
-                            throw new UncheckedIOException("Failed to open upload stream", e);
-                        }
-                    },
-                    contentLength,
-                    resolvedContentType
-            );
-            s3Client.putObject(request, body);
+            if (contentLength > multipartThreshold.toBytes()) {
+                putMultipart(key, streamProvider, contentLength, resolvedContentType);
+            } else {
+                storage.put(key, streamProvider::open, contentLength, resolvedContentType);
+            }
 
-            String publicUrl = getPublicUrl(key);
+            String publicUrl = registerUploaded(sha256, key, contentLength, resolvedContentType);
             log.info("✅ File uploaded successfully: {}", publicUrl);
             return publicUrl;
-        } catch (UncheckedIOException e) {
-            log.error("❌ Could not read file for S3 upload: {}", e.getMessage(), e);
+        } catch (UncheckedIOException | IOException e) {
+            log.error("❌ Could not read file for upload: {}", e.getMessage(), e);
             throw new BadRequestException("s3.upload.failed",
                     "Failed to read uploaded file: " + e.getMessage());
-        } catch (S3Exception | SdkClientException e) {
-            log.error("❌ S3 streaming upload failed: {}", e.getMessage(), e);
+        } catch (StorageException e) {
+            log.error("❌ Streaming upload failed: {}", e.getMessage(), e);
             throw new BadRequestException("s3.upload.failed",
                     "Failed to upload file to S3: " + e.getMessage());
         }
     }
 
+    /**
+     * Read the source once, sequentially, in {@code multipart-part-size}
+     * chunks; only one part is buffered at a time.
+     */
+    private void putMultipart(String key, InputStreamProvider streamProvider,
+                              long contentLength, String contentType) throws IOException {
+        int partSize = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(multipartPartSize.toBytes(), 5L << 20));
+        StorageProvider.MultipartUpload upload = storage.startMultipart(key, contentType);
+        try (InputStream in = streamProvider.open()) {
+            byte[] buffer = new byte[(int) Math.min(partSize, contentLength)];
+            long remaining = contentLength;
+            for (int part = 1; remaining > 0; part++) {
+                int len = in.readNBytes(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (len == 0) throw new IOException("Stream ended " + remaining + " bytes early");
+                upload.uploadPart(part, () -> new ByteArrayInputStream(buffer, 0, len), len);
+                remaining -= len;
+            }
+            upload.complete();
+        } catch (IOException | RuntimeException e) {
+            upload.abort();
+            throw e;
+        }
+    }
+
     /**
      * ✅ Upload album cover image (CKB or KMR)
      */
@@ -171,18 +239,12 @@ public class S3Service {
         log.info("⬆️ Uploading album cover ({}): {}", isCkb ? "CKB" : "KMR", key);
 
         try {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .contentType(contentType)
-                    .build();
-
-            s3Client.putObject(request, RequestBody.fromBytes(fileBytes));
+            storage.put(key, () -> new ByteArrayInputStream(fileBytes), fileBytes.length, contentType);
 
             String publicUrl = getPublicUrl(key);
             log.info("✅ Album cover uploaded: {}", publicUrl);
             return publicUrl;
-        } catch (S3Exception e) {
+        } catch (StorageException e) {
             log.error("❌ Failed to upload album cover: {}", e.getMessage(), e);
             throw new BadRequestException("s3.upload.failed", "Failed to upload cover: " + e.getMessage());
         }
@@ -198,18 +260,12 @@ public class S3Service {
         log.info("⬆️ Uploading album hover image: {}", key);
 
         try {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .contentType(contentType)
-                    .build();
-
-            s3Client.putObject(request, RequestBody.fromBytes(fileBytes));
+            storage.put(key, () -> new ByteArrayInputStream(fileBytes), fileBytes.length, contentType);
 
             String publicUrl = getPublicUrl(key);
             log.info("✅ Album hover image uploaded: {}", publicUrl);
             return publicUrl;
-        } catch (S3Exception e) {
+        } catch (StorageException e) {
             log.error("❌ Failed to upload hover image: {}", e.getMessage(), e);
             throw new BadRequestException("s3.upload.failed", "Failed to upload hover: " + e.getMessage());
         }
@@ -233,18 +289,70 @@ public class S3Service {
         }
 
         try {
-            GetObjectRequest request = GetObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .build();
-
-            ResponseBytes<GetObjectResponse> objectBytes = s3Client.getObjectAsBytes(request);
-            byte[] bytes = objectBytes.asByteArray();
+            byte[] bytes = storage.read(key);
 
-            log.info("⬇️ Downloaded from S3: bucket={}, key={}, size={} bytes", bucket, key, bytes.length);
+            log.info("⬇️ Downloaded from storage: key={}, size={} bytes", key, bytes.length);
             return bytes;
-        } catch (S3Exception e) {
-            log.error("❌ S3 download failed: bucket={}, key={}, error={}", bucket, key, e.getMessage(), e);
+        } catch (StorageException e) {
+            log.error("❌ Download failed: key={}, error={}", key, e.getMessage(), e);
+            throw new BadRequestException("s3.download.failed", "Failed to download file from S3: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stream an object to a local file without holding it in memory — for
+     * background jobs that need random access (e.g. book analysis).
+     *
+     * @return the number of bytes written
+     */
+    public long downloadTo(String fileUrl, Path target) {
+        String key = fileUrl == null || fileUrl.isBlank() ? null : extractKeyFromUrl(fileUrl);
+        if (key == null || key.isBlank()) {
+            throw new BadRequestException("s3.download.invalid", "Could not extract S3 key from URL: " + fileUrl);
+        }
+
+        try (InputStream in = storage.readRange(key, 0, -1)) {
+            long written = Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            log.info("⬇️ Downloaded from storage to file: key={}, size={} bytes", key, written);
+            return written;
+        } catch (StorageException | IOException e) {
+            log.error("❌ Download failed: key={}, error={}", key, e.getMessage());
+            throw new BadRequestException("s3.download.failed", "Failed to download file from S3: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Size of the object behind {@code fileUrl} from a HEAD request, before
+     * anything is read; empty when the object does not exist.
+     */
+    public OptionalLong sizeOf(String fileUrl) {
+        String key = fileUrl == null || fileUrl.isBlank() ? null : extractKeyFromUrl(fileUrl);
+        if (key == null || key.isBlank()) {
+            throw new BadRequestException("s3.download.invalid", "Could not extract S3 key from URL: " + fileUrl);
+        }
+
+        try {
+            return storage.stat(key).map(o -> OptionalLong.of(o.size())).orElse(OptionalLong.empty());
+        } catch (StorageException e) {
+            log.error("❌ Stat failed: key={}, error={}", key, e.getMessage());
+            throw new BadRequestException("s3.download.failed", "Failed to read file metadata from S3: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stream {@code length} bytes of an object starting at {@code offset}; a
+     * negative length reads to the end. The caller closes the stream.
+     */
+    public InputStream openStream(String fileUrl, long offset, long length) {
+        String key = fileUrl == null || fileUrl.isBlank() ? null : extractKeyFromUrl(fileUrl);
+        if (key == null || key.isBlank()) {
+            throw new BadRequestException("s3.download.invalid", "Could not extract S3 key from URL: " + fileUrl);
+        }
+
+        try {
+            return storage.readRange(key, offset, length);
+        } catch (StorageException e) {
+            log.error("❌ Download failed: key={}, error={}", key, e.getMessage());
             throw new BadRequestException("s3.download.failed", "Failed to download file from S3: " + e.getMessage());
         }
     }
@@ -282,71 +390,239 @@ public class S3Service {
         }
 
         try {
-            DeleteObjectRequest request = DeleteObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .build();
+            if (!mediaBlobService.release(key)) {
+                return;
+            }
+        } catch (Exception e) {
+            // Unknown reference state — keeping the object is the safe choice
+            log.error("❌ Could not release blob reference, object kept: key={}", key, e);
+            return;
+        }
 
-            s3Client.deleteObject(request);
-            log.info("🗑️ Deleted from S3: bucket={}, key={}", bucket, key);
-        } catch (S3Exception e) {
-            log.error("❌ S3 delete failed: bucket={}, key={}, error={}", bucket, key, e.getMessage());
-            // Don't throw - allow cascade to continue
+        if (deleteObjects(List.of(key)).isEmpty()) {
+            log.info("🗑️ Deleted from storage: key={}", key);
         }
+        // Failures are logged there; don't throw - allow cascade to continue
     }
 
     /**
-     * ✅ Delete multiple files at once
+     * ✅ Delete multiple files at once — one reference release for the whole
+     * list, then one DeleteObjects call per {@value #MAX_DELETE_BATCH} keys.
+     * Synchronous; content services use {@code MediaDeletionService} to do
+     * this after commit and off the request thread.
      */
-    public void deleteFiles(java.util.List<String> fileUrls) {
+    public void deleteFiles(List<String> fileUrls) {
         if (fileUrls == null || fileUrls.isEmpty()) return;
 
-        log.info("🗑️ Batch deleting {} files from S3", fileUrls.size());
+        List<String> keys = fileUrls.stream()
+                .filter(url -> url != null && !url.isBlank())
+                .map(this::extractKeyFromUrl)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (keys.isEmpty()) return;
 
-        for (String url : fileUrls) {
-            deleteFile(url);
+        List<String> deletable;
+        try {
+            deletable = mediaBlobService.releaseAll(keys);
+        } catch (Exception e) {
+            log.error("❌ Could not release blob references, {} object(s) kept", keys.size(), e);
+            return;
+        }
+
+        log.info("🗑️ Batch deleting {} files from S3", deletable.size());
+        for (int i = 0; i < deletable.size(); i += MAX_DELETE_BATCH) {
+            deleteObjects(deletable.subList(i, Math.min(deletable.size(), i + MAX_DELETE_BATCH)));
+        }
+    }
+
+    /**
+     * One DeleteObjects round-trip for up to {@value #MAX_DELETE_BATCH} keys.
+     * Does not touch blob references — callers release them first.
+     *
+     * @return the keys S3 did not delete (all of them when the call itself failed)
+     */
+    public List<String> deleteObjects(List<String> keys) {
+        if (keys == null || keys.isEmpty()) return List.of();
+        if (keys.size() > MAX_DELETE_BATCH) {
+            throw new IllegalArgumentException("DeleteObjects accepts at most " + MAX_DELETE_BATCH + " keys");
         }
+
+        try {
+            List<String> failed = storage.deleteBatch(keys);
+            log.info("🗑️ Deleted {} object(s) from storage", keys.size() - failed.size());
+            return failed;
+        } catch (StorageException e) {
+            log.error("❌ Batch delete failed: keys={}, error={}", keys.size(), e.getMessage());
+            return keys;
+        }
+    }
+
+    /**
+     * Visit every object under {@code base-folder}, one ListObjectsV2 page
+     * (up to 1000 keys) at a time — the listing is never held in memory.
+     */
+    public void forEachObject(Consumer<StoredObject> visitor) {
+        storage.list(baseFolder + "/", visitor);
+    }
+
+    public String getBaseFolder() {
+        return baseFolder;
     }
 
     // ============================================================
-    // URL & KEY HELPERS
+    // ASYNC VARIANTS
     // ============================================================
 
     /**
-     * Extract S3 key from various URL formats
+     * {@link #upload(byte[], String, String, ProjectMediaType)} without holding
+     * the caller's thread for the PUT. The blob index is updated on a
+     * virtual thread once the object is stored, never on the HTTP client's
+     * event loop. Completes exceptionally with {@link BadRequestException}.
      */
-    public String extractKeyFromUrl(String fileUrl) {
-        if (fileUrl == null || fileUrl.isBlank()) return null;
+    public CompletableFuture<String> uploadAsync(byte[] fileBytes, String originalFilename,
+                                                 String contentType, ProjectMediaType mediaType) {
+        if (fileBytes == null || fileBytes.length == 0) {
+            return CompletableFuture.failedFuture(new BadRequestException("media.invalid", "File is empty or null"));
+        }
+
+        String sha256 = sha256Hex(fileBytes);
+        Optional<String> reused = reuseExisting(sha256);
+        if (reused.isPresent()) return CompletableFuture.completedFuture(reused.get());
+
+        String folder = mediaType != null ? getFolderForMediaType(mediaType) : detectFolder(contentType);
+        String key = generateKey(folder, originalFilename);
+        log.info("⬆️ Uploading to storage (async): folder={}, key={}, contentType={}", folder, key, contentType);
+
+        return storage.putAsync(key, fileBytes, contentType)
+                .thenApplyAsync(v -> registerUploaded(sha256, key, fileBytes.length, contentType),
+                        StorageProvider.BLOCKING_EXECUTOR)
+                .exceptionallyCompose(error -> {
+                    log.error("❌ Async upload failed: key={}, error={}", key, unwrap(error).getMessage());
+                    return CompletableFuture.failedFuture(new BadRequestException("s3.upload.failed",
+                            "Failed to upload file to S3: " + unwrap(error).getMessage()));
+                });
+    }
+
+    /** {@link #download(String)} as a future; completes exceptionally with {@link BadRequestException}. */
+    public CompletableFuture<byte[]> downloadAsync(String fileUrl) {
+        String key = fileUrl == null || fileUrl.isBlank() ? null : extractKeyFromUrl(fileUrl);
+        if (key == null || key.isBlank()) {
+            return CompletableFuture.failedFuture(new BadRequestException("s3.download.invalid",
+                    "Could not extract S3 key from URL: " + fileUrl));
+        }
+
+        return storage.readAsync(key)
+                .exceptionallyCompose(error -> {
+                    log.error("❌ Async download failed: key={}, error={}", key, unwrap(error).getMessage());
+                    return CompletableFuture.failedFuture(new BadRequestException("s3.download.failed",
+                            "Failed to download file from S3: " + unwrap(error).getMessage()));
+                });
+    }
+
+    /**
+     * {@link #deleteObjects(List)} as a future. Never completes exceptionally:
+     * like the blocking version it yields the keys that were not deleted.
+     */
+    public CompletableFuture<List<String>> deleteObjectsAsync(List<String> keys) {
+        if (keys == null || keys.isEmpty()) return CompletableFuture.completedFuture(List.of());
+        if (keys.size() > MAX_DELETE_BATCH) {
+            throw new IllegalArgumentException("DeleteObjects accepts at most " + MAX_DELETE_BATCH + " keys");
+        }
+
+        return storage.deleteBatchAsync(keys)
+                .exceptionally(error -> {
+                    log.error("❌ Async batch delete failed: keys={}, error={}", keys.size(), unwrap(error).getMessage());
+                    return keys;
+                });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // ============================================================
+    // CONTENT-ADDRESSED DEDUPLICATION
+    // ============================================================
 
+    /**
+     * Return the URL of an already stored object with the same body, taking a
+     * reference on it. Dedup is best-effort: if the blob index is unavailable
+     * the upload simply proceeds.
+     */
+    private Optional<String> reuseExisting(String sha256) {
         try {
-            URI uri = new URI(fileUrl);
-            String path = uri.getPath();
+            return mediaBlobService.retainExisting(sha256)
+                    .map(MediaBlob::getS3Key)
+                    .map(this::getPublicUrl);
+        } catch (Exception e) {
+            log.warn("⚠️ Blob lookup failed, uploading without dedup: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
 
-            // Remove leading slash
-            if (path.startsWith("/")) {
-                path = path.substring(1);
+    /**
+     * Index a freshly written object. When a concurrent request stored the same
+     * body first, our copy is removed and the winner's URL returned instead.
+     */
+    private String registerUploaded(String sha256, String key, long size, String contentType) {
+        try {
+            mediaBlobService.register(sha256, key, size, contentType);
+            return getPublicUrl(key);
+        } catch (DataIntegrityViolationException race) {
+            Optional<String> winner = reuseExisting(sha256);
+            if (winner.isPresent()) {
+                try {
+                    storage.deleteBatch(List.of(key));
+                } catch (StorageException e) {
+                    log.warn("⚠️ Could not remove duplicate object {}: {}", key, e.getMessage());
+                }
+                return winner.get();
             }
+            return getPublicUrl(key);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not index uploaded blob {}: {}", key, e.getMessage());
+            return getPublicUrl(key);
+        }
+    }
 
-            // Handle virtual-hosted style: bucket.s3.region.amazonaws.com/key
-            // Handle path-style: s3.region.amazonaws.com/bucket/key
+    private static String sha256Hex(byte[] bytes) {
+        return HexFormat.of().formatHex(sha256().digest(bytes));
+    }
 
-            // If path starts with bucket name, remove it
-            if (path.startsWith(bucket + "/")) {
-                path = path.substring(bucket.length() + 1);
-            }
+    private static String sha256Hex(InputStreamProvider provider) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(provider.open(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
 
-            // If path starts with baseFolder, keep it (it's part of the key)
-            // Key format: khi-web-folders/images/uuid-filename.jpg
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 
-            log.debug("Extracted key from URL: {} -> {}", fileUrl, path);
-            return path;
+    // ============================================================
+    // URL & KEY HELPERS
+    // ============================================================
 
-        } catch (Exception e) {
-            log.warn("⚠️ Failed to parse S3 URL: {}", fileUrl, e);
+    /**
+     * Extract the storage key from a public URL (any URL format the backend
+     * produced), falling back to locating the base folder in the string.
+     */
+    public String extractKeyFromUrl(String fileUrl) {
+        if (fileUrl == null || fileUrl.isBlank()) return null;
 
-            // Fallback: try simple string manipulation
-            return extractKeyFallback(fileUrl);
+        String key = storage.keyFromUrl(fileUrl);
+        if (key != null) {
+            log.debug("Extracted key from URL: {} -> {}", fileUrl, key);
+            return key;
         }
+        return extractKeyFallback(fileUrl);
     }
 
     /**
@@ -378,15 +654,15 @@ public class S3Service {
      * Get public URL for a key
      */
     public String getPublicUrl(String key) {
-        return "https://" + bucket + ".s3." + region + ".amazonaws.com/" + key;
+        return storage.publicUrl(key);
     }
 
     /**
-     * Check if URL is from our S3 bucket
+     * Check if URL points into our storage (the S3 bucket, or the
+     * file-system public base URL)
      */
     public boolean isOurS3Url(String url) {
-        if (url == null) return false;
-        return url.contains(bucket) && url.contains(".s3.");
+        return storage.ownsUrl(url);
     }
 
     // ============================================================
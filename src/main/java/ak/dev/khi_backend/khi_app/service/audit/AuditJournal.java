@@ -0,0 +1,197 @@
+package ak.dev.khi_backend.khi_app.service.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * AuditJournal — the on-disk copy of the audit entries {@link AuditLogWriter}
+ * has accepted but not yet written.
+ *
+ * Every entry is appended as one JSON line (the entity name and its mapped
+ * properties, associations as the referenced id) before {@code record}
+ * returns, so a JVM that is killed with entries still buffered loses none
+ * of them. There is no fsync per entry: a crash of the whole host can still
+ * lose the last writes.
+ *
+ * Lines go into segment files of {@link #SEGMENT_ENTRIES} entries. A segment
+ * is deleted once a newer one has taken over and every entry in it was
+ * written (or dropped). Segments found on start-up were left by a previous
+ * run and are replayed; a batch that committed just before the crash is
+ * written a second time, so after a crash an entry may appear twice.
+ */
+@Slf4j
+final class AuditJournal {
+
+    static final int SEGMENT_ENTRIES = 10_000;
+
+    private static final String SUFFIX = ".journal";
+    private static final String ENTITY = "@entity";
+
+    /** One journal file and how many of its entries are still unwritten. */
+    static final class Segment {
+        private final Path file;
+        private final FileChannel channel;
+        private int appended;
+        private int outstanding;
+        private boolean sealed;
+
+        private Segment(Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+    }
+
+    private final Path dir;
+    private final ObjectMapper mapper;
+    private final SessionFactoryImplementor sessionFactory;
+    private final List<Path> leftovers;
+    private final AtomicLong segmentCounter = new AtomicLong();
+    private Segment current;    // guarded by this
+
+    AuditJournal(Path dir, ObjectMapper mapper, SessionFactoryImplementor sessionFactory) throws IOException {
+        this.dir = dir;
+        this.mapper = mapper;
+        this.sessionFactory = sessionFactory;
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            this.leftovers = files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    /** Segments a previous run left behind, oldest first. */
+    List<Path> leftovers() {
+        return leftovers;
+    }
+
+    // ============================================================
+    // APPEND / RELEASE
+    // ============================================================
+
+    Segment append(Object entity) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap(serialize(entity));
+        synchronized (this) {
+            if (current == null || current.appended >= SEGMENT_ENTRIES) roll();
+            while (line.hasRemaining()) current.channel.write(line);
+            current.appended++;
+            current.outstanding++;
+            return current;
+        }
+    }
+
+    /** An entry of {@code segment} was written or dropped. */
+    synchronized void release(Segment segment) {
+        if (segment == null) return;
+        segment.outstanding--;
+        if (segment.sealed && segment.outstanding == 0) delete(segment.file);
+    }
+
+    /** Closes the current segment; it stays on disk if it still holds unwritten entries. */
+    synchronized void close() {
+        if (current != null) seal(current);
+        current = null;
+    }
+
+    private void roll() throws IOException {
+        Segment previous = current;
+        current = new Segment(dir.resolve("audit-%013d-%06d%s".formatted(
+                System.currentTimeMillis(), segmentCounter.incrementAndGet(), SUFFIX)));
+        if (previous != null) seal(previous);
+    }
+
+    private void seal(Segment segment) {
+        segment.sealed = true;
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            log.warn("Could not close audit journal {}", segment.file, e);
+        }
+        if (segment.outstanding == 0) delete(segment.file);
+    }
+
+    void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete audit journal {}", file, e);
+        }
+    }
+
+    // ============================================================
+    // SERIALIZATION
+    // ============================================================
+
+    /** The entries of a leftover segment; a torn last line is skipped. */
+    List<JsonNode> read(Path segment) throws IOException {
+        List<JsonNode> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) continue;
+            try {
+                entries.add(mapper.readTree(line));
+            } catch (IOException e) {
+                log.warn("Skipping unreadable line in audit journal {}: {}", segment, e.getMessage());
+            }
+        }
+        return entries;
+    }
+
+    private byte[] serialize(Object entity) throws IOException {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entity.getClass());
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Object[] values = persister.getValues(entity);
+
+        ObjectNode node = mapper.createObjectNode();
+        node.put(ENTITY, persister.getEntityName());
+        for (int i = 0; i < names.length; i++) {
+            Object value = values[i];
+            if (value == null || types[i].isCollectionType()) continue;
+            if (types[i].isEntityType()) {
+                value = sessionFactory.getPersistenceUnitUtil().getIdentifier(value);
+            }
+            node.set(names[i], mapper.valueToTree(value));
+        }
+        return (mapper.writeValueAsString(node) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Rebuilds a journaled entry as a new entity; associations become references. */
+    Object restore(JsonNode node, SessionImplementor session) throws IOException {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(node.get(ENTITY).asText());
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Object[] values = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            JsonNode value = node.get(names[i]);
+            if (value == null || value.isNull()) continue;
+            if (types[i] instanceof EntityType association) {
+                String target = association.getAssociatedEntityName();
+                Class<?> idType = sessionFactory.getMappingMetamodel().getEntityDescriptor(target)
+                        .getIdentifierType().getReturnedClass();
+                values[i] = session.getReference(target, mapper.treeToValue(value, idType));
+            } else {
+                values[i] = mapper.treeToValue(value, types[i].getReturnedClass());
+            }
+        }
+        Object entity = persister.instantiate(null, session);
+        persister.setValues(entity, values);
+        return entity;
+    }
+}
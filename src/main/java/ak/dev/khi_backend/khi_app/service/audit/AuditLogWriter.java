@@ -0,0 +1,318 @@
+package ak.dev.khi_backend.khi_app.service.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AuditLogWriter — takes audit-log inserts (ProjectLog, NewsAuditLog,
+ * SoundTrackLog, …) off the editor's request path.
+ *
+ * Flow:
+ *   1. {@link #record} hands an unsaved log entity over. Inside a
+ *      transaction it is held until that transaction commits (a rolled-back
+ *      save leaves no audit row, as before); otherwise it goes right away.
+ *   2. It is appended to the {@link AuditJournal} on disk, then enters a
+ *      bounded ring buffer. If the buffer is full, the journal cannot be
+ *      written or the writer is shutting down, the entry is inserted by the
+ *      caller in its own transaction instead — slower, but not lost.
+ *   3. One writer thread drains up to {@code batch-size} entries at a time
+ *      and persists them in ONE transaction; with JDBC batching and pooled
+ *      ids that is a few multi-row INSERTs. If the batch fails, its entries
+ *      are retried one per transaction and only the failing ones are
+ *      dropped. Each drop is logged and counted in {@code khi.audit.dropped}
+ *      (tags: entity, reason); {@code reason=foreign_key} is an entry whose
+ *      parent — a project, say — was deleted before the entry was written.
+ *
+ * {@link #flush} waits until everything recorded before the call is written
+ * (tests, and code that must see the rows); shutdown drains the buffer.
+ * Entries still buffered when the JVM dies are replayed from the journal by
+ * the writer thread on the next start, before anything new.
+ */
+@Slf4j
+@Service
+public class AuditLogWriter {
+
+    /** A buffered entry: an entity, or a journal line being replayed, and its segment. */
+    private record Pending(Object entry, AuditJournal.Segment segment) {}
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AuditJournal journal;
+    private final BlockingQueue<Pending> buffer;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+
+    private final Thread writer;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong writtenInline = new AtomicLong();
+    private final Object progress = new Object();
+    private long processed;             // guarded by progress
+    private volatile boolean running = true;
+
+    public AuditLogWriter(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.audit.batch-size:200}") int batchSize,
+            @Value("${app.audit.shutdown-timeout:PT10S}") Duration shutdownTimeout,
+            @Value("${app.audit.journal-dir:${java.io.tmpdir}/khi-audit-journal}") String journalDir
+    ) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.shutdownTimeout = shutdownTimeout;
+        try {
+            this.journal = new AuditJournal(Path.of(journalDir), objectMapper,
+                    entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Audit journal directory " + journalDir + " is not usable", e);
+        }
+
+        this.writer = new Thread(this::drain, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // ============================================================
+    // RECORDING
+    // ============================================================
+
+    /** Queue one unsaved audit entity; written after the current transaction commits. */
+    public void record(Object entry) {
+        if (entry == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    public void recordAll(Collection<?> entries) {
+        if (entries != null) entries.forEach(this::record);
+    }
+
+    /**
+     * Block until every entry recorded (and committed) before this call has
+     * been written, or {@code timeout} passes.
+     *
+     * @return {@code false} on timeout
+     */
+    public boolean flush(Duration timeout) {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            while (processed < target) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) return false;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(progress, left);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Audit writer did not drain within {}; {} entries stay in the journal for the next start",
+                    shutdownTimeout, buffer.size());
+        }
+        journal.close();
+    }
+
+    private void enqueue(Object entry) {
+        AuditJournal.Segment segment = null;
+        if (running) {
+            try {
+                segment = journal.append(entry);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Audit journal append failed, writing the entry inline: {}", e.getMessage());
+            }
+        }
+        Pending pending = new Pending(entry, segment);
+        if (segment != null && buffer.offer(pending)) {
+            accepted.incrementAndGet();
+            return;
+        }
+        // Full, unjournaled or stopping: write it here rather than drop it
+        writtenInline.incrementAndGet();
+        write(List.of(pending));
+        if (segment != null) journal.release(segment);
+    }
+
+    // ============================================================
+    // WRITER THREAD
+    // ============================================================
+
+    private void drain() {
+        replayLeftovers();
+
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Pending first = buffer.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Audit writer failed on a batch of {}", batch.size(), e);
+            } finally {
+                batch.forEach(pending -> journal.release(pending.segment()));
+                if (!batch.isEmpty()) advance(batch.size());
+                batch.clear();
+            }
+
+            long inline = writtenInline.getAndSet(0);
+            if (inline > 0) {
+                log.warn("Audit buffer was full; {} entries were written on the request thread", inline);
+            }
+        }
+    }
+
+    /** Writes what a previous run journaled but never wrote; a segment is deleted once it is through. */
+    private void replayLeftovers() {
+        for (Path segment : journal.leftovers()) {
+            try {
+                List<Pending> entries = journal.read(segment).stream()
+                        .map(line -> new Pending(line, null))
+                        .toList();
+                for (int from = 0; from < entries.size(); from += batchSize) {
+                    write(entries.subList(from, Math.min(entries.size(), from + batchSize)));
+                }
+                journal.delete(segment);
+                log.info("Replayed {} audit entries from {}", entries.size(), segment.getFileName());
+            } catch (IOException | RuntimeException e) {
+                log.error("Audit journal {} could not be replayed and is kept", segment, e);
+            }
+        }
+    }
+
+    private void write(List<Pending> entries) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+                for (Pending pending : entries) {
+                    Object entry = entity(pending, session);
+                    // A failed batch already handed out ids; persist() would take them for detached rows
+                    session.getEntityPersister(null, entry).setIdentifier(entry, null, session);
+                    session.persist(entry);
+                }
+            });
+        } catch (RuntimeException batchFailure) {
+            if (entries.size() == 1) {
+                dropped(entries.getFirst(), batchFailure);
+                return;
+            }
+            log.warn("Audit batch of {} failed ({}), retrying one by one",
+                    entries.size(), batchFailure.getMessage());
+            for (Pending pending : entries) {
+                write(List.of(pending));
+            }
+        }
+    }
+
+    private Object entity(Pending pending, SessionImplementor session) {
+        if (!(pending.entry() instanceof JsonNode line)) return pending.entry();
+        try {
+            return journal.restore(line, session);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void dropped(Pending pending, RuntimeException failure) {
+        ConstraintViolationException violation = constraintViolation(failure);
+        String reason = violation == null ? "error"
+                : violation.getKind().name().toLowerCase(Locale.ROOT);
+        Counter.builder("khi.audit.dropped")
+                .description("Audit entries that could not be written")
+                .tag("entity", entityName(pending.entry()))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        if (violation != null && violation.getKind() == ConstraintViolationException.ConstraintKind.FOREIGN_KEY) {
+            log.warn("Audit entry dropped, the row it refers to is gone ({}): {}",
+                    violation.getConstraintName(), describe(pending.entry()));
+        } else {
+            log.error("Audit entry dropped: {}", describe(pending.entry()), failure);
+        }
+    }
+
+    private static ConstraintViolationException constraintViolation(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation) return violation;
+        }
+        return null;
+    }
+
+    private void advance(int count) {
+        synchronized (progress) {
+            processed += count;
+            progress.notifyAll();
+        }
+    }
+
+    private static String entityName(Object entry) {
+        if (!(entry instanceof JsonNode line)) return entry.getClass().getSimpleName();
+        String name = line.path("@entity").asText("unknown");
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    private static String describe(Object entry) {
+        return entityName(entry) + "@" + Integer.toHexString(System.identityHashCode(entry));
+    }
+}
@@ -0,0 +1,299 @@
+package ak.dev.khi_backend.khi_app.service.audit;
+
+import ak.dev.khi_backend.khi_app.service.storage.StorageProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * AuditPartitionManager — monthly range partitioning and retention for the
+ * content audit tables.
+ *
+ * The audit tables only ever grow, and {@code project_log} / {@code writing_logs}
+ * carry foreign keys that are checked (or cascaded) whenever a project or a
+ * writing is deleted. Partitioning them by month keeps each index small, and
+ * old months can be dropped as a whole instead of with a long {@code DELETE}.
+ *
+ * The tables are converted to partitioned tables by the
+ * {@code V4__audit_partitions} migration, which also creates the monthly
+ * partitions from the oldest row onwards and a {@code _default} partition as
+ * a catch-all. On start-up and in a nightly job this class keeps
+ * {@code premake-months} of partitions created ahead of time and, when
+ * {@code retention-months} is set, archives each expired partition to
+ * {@code <archive-prefix>/<table>/<yyyy-MM>.ndjson.gz} in storage (one
+ * {@code row_to_json} object per line) before detaching and dropping it.
+ * A partition is only dropped after its archive was uploaded.
+ *
+ * PostgreSQL only — the H2 test database keeps plain tables.
+ */
+@Slf4j
+@Component
+public class AuditPartitionManager implements SmartInitializingSingleton {
+
+    /** An audit table and the timestamp column it is partitioned on. */
+    record AuditTable(String name, String column) {}
+
+    static final List<AuditTable> TABLES = List.of(
+            new AuditTable("project_log", "created_at"),
+            new AuditTable("news_audit_logs", "created_at"),
+            new AuditTable("service_audit_logs", "timestamp"),
+            new AuditTable("sound_track_logs", "created_at"),
+            new AuditTable("image_collection_logs", "timestamp"),
+            new AuditTable("video_logs", "timestamp"),
+            new AuditTable("writing_logs", "created_at")
+    );
+
+    private static final Pattern PARTITION_SUFFIX = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+    private static final DateTimeFormatter ARCHIVE_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String LOCK_KEY = "khi_audit_partitions";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate exportJdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final StorageProvider storage;
+    private final boolean enabled;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final String archivePrefix;
+
+    private volatile boolean active;
+
+    public AuditPartitionManager(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            StorageProvider storage,
+            @Value("${app.audit.partitioning.enabled:true}") boolean enabled,
+            @Value("${app.audit.partitioning.premake-months:3}") int premakeMonths,
+            @Value("${app.audit.partitioning.retention-months:0}") int retentionMonths,
+            @Value("${app.audit.partitioning.archive-prefix:audit-archive}") String archivePrefix
+    ) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.exportJdbc = new JdbcTemplate(dataSource);
+        this.exportJdbc.setFetchSize(1000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.storage = storage;
+        this.enabled = enabled;
+        this.premakeMonths = Math.max(premakeMonths, 1);
+        this.retentionMonths = Math.max(retentionMonths, 0);
+        this.archivePrefix = archivePrefix;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || !isPostgres()) return;
+        active = true;
+
+        YearMonth now = currentMonth();
+        for (AuditTable table : TABLES) {
+            try {
+                premake(table, now);
+            } catch (RuntimeException e) {
+                log.error("Partitions could not be created ahead for {}", table.name(), e);
+            }
+        }
+    }
+
+    // ============================================================
+    // SCHEDULED MAINTENANCE
+    // ============================================================
+
+    @Scheduled(cron = "${app.audit.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!active) return;
+
+        YearMonth now = currentMonth();
+        for (AuditTable table : TABLES) {
+            try {
+                if (!isPartitioned(table.name())) continue;
+                premake(table, now);
+                if (retentionMonths > 0) applyRetention(table, now);
+            } catch (RuntimeException e) {
+                log.error("Audit partition maintenance failed for {}", table.name(), e);
+            }
+        }
+    }
+
+    // ============================================================
+    // PREMAKE
+    // ============================================================
+
+    private void premake(AuditTable table, YearMonth now) {
+        if (!isPartitioned(table.name())) return;
+        for (YearMonth month : months(now, now.plusMonths(premakeMonths))) {
+            try {
+                jdbc.execute(createPartitionSql(table, month));
+            } catch (RuntimeException e) {
+                // Rows for that month already sit in the default partition
+                log.warn("Partition {} could not be created: {}",
+                        partitionName(table.name(), month), e.getMessage());
+            }
+        }
+    }
+
+    // ============================================================
+    // RETENTION
+    // ============================================================
+
+    private void applyRetention(AuditTable table, YearMonth now) {
+        List<String> partitions = jdbc.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = ?::regclass
+                """, String.class, table.name());
+
+        partitions.stream()
+                .filter(partition -> {
+                    YearMonth month = monthOf(table.name(), partition);
+                    return month != null && expired(month, now, retentionMonths);
+                })
+                .sorted(Comparator.naturalOrder())
+                .forEach(partition -> archiveAndDrop(table, partition));
+    }
+
+    private void archiveAndDrop(AuditTable table, String partition) {
+        YearMonth month = monthOf(table.name(), partition);
+        String key = archiveKey(archivePrefix, table.name(), month);
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("audit-" + partition + "-", ".ndjson.gz");
+            long rows = export(partition, spool);
+            Path file = spool;
+            storage.put(key, () -> Files.newInputStream(file), Files.size(file), "application/gzip");
+
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbc.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))", Object.class, LOCK_KEY);
+                Integer attached = jdbc.queryForObject("""
+                        SELECT COUNT(*) FROM pg_inherits
+                        WHERE inhparent = ?::regclass AND inhrelid = to_regclass(?)
+                        """, Integer.class, table.name(), partition);
+                if (attached == null || attached == 0) return;   // another instance got there first
+
+                jdbc.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition);
+                jdbc.execute("DROP TABLE " + partition);
+            });
+            log.info("Audit partition {} archived to {} ({} rows) and dropped", partition, key, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive audit partition " + partition, e);
+        } finally {
+            if (spool != null) {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException e) {
+                    log.warn("Could not delete archive spool {}", spool, e);
+                }
+            }
+        }
+    }
+
+    /** Streams the partition into a gzipped NDJSON file; a cursor keeps memory flat. */
+    private long export(String partition, Path target) throws IOException {
+        AtomicLong rows = new AtomicLong();
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(target)), StandardCharsets.UTF_8))) {
+            transactionTemplate.executeWithoutResult(status -> exportJdbc.query(
+                    "SELECT row_to_json(p)::text FROM " + partition + " p ORDER BY p.id",
+                    rs -> {
+                        try {
+                            out.write(rs.getString(1));
+                            out.write('\n');
+                            rows.incrementAndGet();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows.get();
+    }
+
+    // ============================================================
+    // NAMING / RANGES
+    // ============================================================
+
+    static String partitionName(String table, YearMonth month) {
+        return "%s_p%04d_%02d".formatted(table, month.getYear(), month.getMonthValue());
+    }
+
+    /** Month encoded in a partition name of {@code table}, or {@code null} for the default / foreign ones. */
+    static YearMonth monthOf(String table, String partition) {
+        Matcher matcher = PARTITION_SUFFIX.matcher(partition);
+        if (!matcher.find() || matcher.start() != table.length()) return null;
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    static String createPartitionSql(AuditTable table, YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')".formatted(
+                partitionName(table.name(), month), table.name(),
+                month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    /** Every month from {@code from} to {@code to}, both included. */
+    static List<YearMonth> months(YearMonth from, YearMonth to) {
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /** With a retention of N months, the current month and the N before it are kept. */
+    static boolean expired(YearMonth month, YearMonth now, int retentionMonths) {
+        return retentionMonths > 0 && month.isBefore(now.minusMonths(retentionMonths));
+    }
+
+    static String archiveKey(String prefix, String table, YearMonth month) {
+        return prefix + "/" + table + "/" + month.format(ARCHIVE_MONTH) + ".ndjson.gz";
+    }
+
+    // ============================================================
+    // HELPERS
+    // ============================================================
+
+    private boolean isPartitioned(String table) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT COALESCE((SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass(?)), false)",
+                Boolean.class, table));
+    }
+
+    private static YearMonth currentMonth() {
+        return YearMonth.now(ZoneOffset.UTC);
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not determine database product, audit tables not partitioned", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ak.dev.khi_backend.khi_app.service.export;
+
+import ak.dev.khi_backend.khi_app.enums.ExportFormat;
+import ak.dev.khi_backend.khi_app.enums.ExportTarget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ArchiveExportRunner — the export as a one-off job, enabled only when
+ * {@code app.export.file} is set:
+ *
+ *   java -jar khi_backend.jar --spring.main.web-application-type=none \
+ *        --app.export.file=/backups/khi-archive.ndjson.gz \
+ *        [--app.export.format=JSONLD] [--app.export.types=NEWS,VIDEO]
+ *
+ * A {@code .gz} file name is gzip-compressed. The export is written to
+ * {@code <file>.part} and moved into place when complete, so a crashed run
+ * never leaves a truncated archive under the final name. The application
+ * exits afterwards unless {@code app.export.exit=false}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.export", name = "file")
+public class ArchiveExportRunner implements ApplicationRunner {
+
+    private final ArchiveExportService archiveExportService;
+    private final ConfigurableApplicationContext context;
+
+    private final Path file;
+    private final ExportFormat format;
+    private final List<ExportTarget> types;
+    private final boolean exit;
+
+    public ArchiveExportRunner(
+            ArchiveExportService archiveExportService,
+            ConfigurableApplicationContext context,
+            @Value("${app.export.file}") String file,
+            @Value("${app.export.format:NDJSON}") ExportFormat format,
+            @Value("${app.export.types:}") List<ExportTarget> types,
+            @Value("${app.export.exit:true}") boolean exit
+    ) {
+        this.archiveExportService = archiveExportService;
+        this.context = context;
+        this.file = Paths.get(file);
+        this.format = format;
+        this.types = types;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path part = file.resolveSibling(file.getFileName() + ".part");
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        log.info("Archive export to {} | format={} types={}", file, format, types.isEmpty() ? "ALL" : types);
+        Map<ExportTarget, Long> written;
+        try (OutputStream out = open(part)) {
+            written = archiveExportService.export(format, types, out);
+        }
+        Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Archive export to {} finished: {} ({} bytes)", file, written, Files.size(file));
+
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private OutputStream open(Path part) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPOutputStream(out, 64 * 1024) : out;
+    }
+}
@@ -0,0 +1,226 @@
+package ak.dev.khi_backend.khi_app.service.export;
+
+import ak.dev.khi_backend.khi_app.dto.publishment.video.VideoMapper;
+import ak.dev.khi_backend.khi_app.enums.ExportFormat;
+import ak.dev.khi_backend.khi_app.enums.ExportTarget;
+import ak.dev.khi_backend.khi_app.repository.news.NewsRepository;
+import ak.dev.khi_backend.khi_app.repository.project.ProjectRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.image.ImageCollectionRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.sound.SoundTrackRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.video.VideoRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingRepository;
+import ak.dev.khi_backend.khi_app.service.news.NewsService;
+import ak.dev.khi_backend.khi_app.service.project.ProjectService;
+import ak.dev.khi_backend.khi_app.service.publishment.image.ImageCollectionService;
+import ak.dev.khi_backend.khi_app.service.publishment.sound.SoundTrackService;
+import ak.dev.khi_backend.khi_app.service.publishment.writing.WritingService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * ArchiveExportService — writes every content item as NDJSON or JSON-LD in
+ * constant memory, for backups, partner feeds and search re-indexing.
+ *
+ * Per content type, inside one read-only transaction:
+ *   1. {@code streamAllForExport()} opens a database cursor (JDBC fetch size
+ *      100, read-only entities, so no dirty-check snapshots are kept).
+ *   2. Rows are taken {@code batchSize} at a time and mapped with the same
+ *      mapper the detail endpoint uses; lazy collections of a batch load
+ *      together through the entities' {@code @BatchSize}.
+ *   3. Each item is serialised straight onto the output stream, then the
+ *      persistence context is cleared and the generator flushed, so neither
+ *      the session nor the writer grows with the size of the archive.
+ *
+ * A stateless session would not do here: the mappers walk lazy collections,
+ * which a StatelessSession cannot initialise.
+ */
+@Slf4j
+@Service
+public class ArchiveExportService {
+
+    private static final String SCHEMA_ORG = "https://schema.org/";
+
+    /** Rows of one content type and how one row becomes its API shape. */
+    private record Source<E>(Supplier<Stream<E>> rows, Function<E, ?> mapper) {}
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<ExportTarget, Source<?>> sources = new EnumMap<>(ExportTarget.class);
+
+    private final int batchSize;
+    private final String siteUrl;
+
+    public ArchiveExportService(
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            NewsRepository newsRepository,
+            ProjectRepository projectRepository,
+            WritingRepository writingRepository,
+            SoundTrackRepository soundTrackRepository,
+            VideoRepository videoRepository,
+            ImageCollectionRepository imageCollectionRepository,
+            NewsService newsService,
+            ProjectService projectService,
+            WritingService writingService,
+            SoundTrackService soundTrackService,
+            ImageCollectionService imageCollectionService,
+            @Value("${app.export.batch-size:100}") int batchSize,
+            @Value("${app.export.site-url:https://khi-website-production.up.railway.app}") String siteUrl
+    ) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = Math.max(batchSize, 1);
+        this.siteUrl = siteUrl.endsWith("/") ? siteUrl.substring(0, siteUrl.length() - 1) : siteUrl;
+
+        sources.put(ExportTarget.NEWS,
+                new Source<>(newsRepository::streamAllForExport, newsService::toDto));
+        sources.put(ExportTarget.PROJECT,
+                new Source<>(projectRepository::streamAllForExport, projectService::toResponse));
+        sources.put(ExportTarget.WRITING,
+                new Source<>(writingRepository::streamAllForExport, writingService::mapToResponse));
+        sources.put(ExportTarget.SOUND_TRACK,
+                new Source<>(soundTrackRepository::streamAllForExport, soundTrackService::toResponse));
+        sources.put(ExportTarget.VIDEO,
+                new Source<>(videoRepository::streamAllForExport, VideoMapper::toDTO));
+        sources.put(ExportTarget.IMAGE_COLLECTION,
+                new Source<>(imageCollectionRepository::streamAllForExport, imageCollectionService::toResponse));
+    }
+
+    // ============================================================
+    // EXPORT
+    // ============================================================
+
+    /**
+     * Writes the selected content types (all when {@code targets} is empty)
+     * to {@code out}, which is flushed but not closed.
+     *
+     * @return items written per content type
+     */
+    public Map<ExportTarget, Long> export(ExportFormat format, Collection<ExportTarget> targets, OutputStream out)
+            throws IOException {
+        EnumSet<ExportTarget> selected = targets == null || targets.isEmpty()
+                ? EnumSet.allOf(ExportTarget.class)
+                : EnumSet.copyOf(targets);
+        Map<ExportTarget, Long> written = new EnumMap<>(ExportTarget.class);
+
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(new SerializedString("\n"));
+
+        if (format == ExportFormat.JSONLD) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("@context");
+            json.writeStringField("@vocab", siteUrl + "/vocab#");
+            json.writeStringField("schema", SCHEMA_ORG);
+            json.writeEndObject();
+            json.writeArrayFieldStart("@graph");
+        }
+
+        for (ExportTarget target : selected) {
+            long count = exportTarget(format, target, sources.get(target), json);
+            written.put(target, count);
+            log.info("Archive export: {} {} item(s) written", count, target);
+        }
+
+        if (format == ExportFormat.JSONLD) {
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        if (format == ExportFormat.JSONLD || written.values().stream().anyMatch(n -> n > 0)) {
+            json.writeRaw('\n');
+        }
+        json.close();
+        out.flush();
+        return written;
+    }
+
+    private <E> long exportTarget(ExportFormat format, ExportTarget target, Source<E> source, JsonGenerator json)
+            throws IOException {
+        try {
+            Long count = readOnlyTransaction.execute(status -> {
+                long n = 0;
+                List<E> batch = new ArrayList<>(batchSize);
+                try (Stream<E> rows = source.rows().get()) {
+                    Iterator<E> it = rows.iterator();
+                    while (it.hasNext()) {
+                        batch.add(it.next());
+                        if (batch.size() == batchSize || !it.hasNext()) {
+                            n += writeBatch(format, target, source, batch, json);
+                        }
+                    }
+                }
+                return n;
+            });
+            return count == null ? 0 : count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <E> int writeBatch(ExportFormat format, ExportTarget target, Source<E> source,
+                               List<E> batch, JsonGenerator json) {
+        try {
+            for (E row : batch) {
+                Object item = source.mapper().apply(row);
+                if (format == ExportFormat.JSONLD) {
+                    json.writeTree(toJsonLd(target, item));
+                } else {
+                    json.writeStartObject();
+                    json.writeStringField("type", target.name());
+                    json.writePOJOField("data", item);
+                    json.writeEndObject();
+                }
+            }
+            json.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int size = batch.size();
+        batch.clear();
+        entityManager.clear();
+        return size;
+    }
+
+    // ============================================================
+    // JSON-LD
+    // ============================================================
+
+    /** The item's own fields under {@code @vocab}, typed and identified for schema.org consumers. */
+    private ObjectNode toJsonLd(ExportTarget target, Object item) {
+        ObjectNode fields = objectMapper.valueToTree(item);
+        ObjectNode node = objectMapper.createObjectNode();
+        String id = fields.path("id").asText(null);
+        if (id != null) {
+            node.put("@id", siteUrl + "/ckb/" + target.getSitePath() + "/" + id);
+        }
+        node.put("@type", "schema:" + target.getSchemaType());
+        node.setAll(fields);
+        return node;
+    }
+}
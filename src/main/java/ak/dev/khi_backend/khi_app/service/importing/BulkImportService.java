@@ -0,0 +1,446 @@
+package ak.dev.khi_backend.khi_app.service.importing;
+
+import ak.dev.khi_backend.khi_app.dto.importing.ImportDtos.JobResponse;
+import ak.dev.khi_backend.khi_app.dto.importing.ImportDtos.RowErrorResponse;
+import ak.dev.khi_backend.khi_app.dto.news.NewsDto;
+import ak.dev.khi_backend.khi_app.dto.publishment.sound.SoundTrackDtos;
+import ak.dev.khi_backend.khi_app.dto.publishment.video.VideoDTO;
+import ak.dev.khi_backend.khi_app.dto.publishment.writing.WritingDtos;
+import ak.dev.khi_backend.khi_app.enums.ImportFormat;
+import ak.dev.khi_backend.khi_app.enums.ImportJobStatus;
+import ak.dev.khi_backend.khi_app.enums.ImportTarget;
+import ak.dev.khi_backend.khi_app.exceptions.AppException;
+import ak.dev.khi_backend.khi_app.exceptions.Errors;
+import ak.dev.khi_backend.khi_app.model.importing.ImportJob;
+import ak.dev.khi_backend.khi_app.model.importing.ImportRowError;
+import ak.dev.khi_backend.khi_app.repository.importing.ImportJobRepository;
+import ak.dev.khi_backend.khi_app.repository.importing.ImportRowErrorRepository;
+import ak.dev.khi_backend.khi_app.service.importing.ImportRowReader.Row;
+import ak.dev.khi_backend.khi_app.service.news.NewsService;
+import ak.dev.khi_backend.khi_app.service.publishment.sound.SoundTrackService;
+import ak.dev.khi_backend.khi_app.service.publishment.video.VideoService;
+import ak.dev.khi_backend.khi_app.service.publishment.writing.WritingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * BulkImportService — streaming import of archive content (News, Writing,
+ * SoundTrack, Video) from NDJSON or CSV files of any size.
+ *
+ * Pipeline per job:
+ *   1. The upload is spooled to local disk and an {@link ImportJob} is queued.
+ *   2. A single worker reads the spool record by record
+ *      ({@link ImportRowReader}); each row is mapped onto the target's create
+ *      DTO and bean-validated. Bad rows become {@link ImportRowError}s.
+ *   3. Every {@code chunkSize} rows are created through the regular service
+ *      create method in ONE transaction, together with the row errors and the
+ *      job's new resume point. If any row fails at write time, the chunk is
+ *      rolled back and replayed one row per transaction so only that row is
+ *      recorded as an error.
+ *   4. A restart, or {@code resume} after a FAILED run, skips
+ *      {@code committedRows} records and continues with the next chunk.
+ *
+ * Memory is bounded by one chunk of DTOs; the persistence context ends with
+ * each chunk transaction.
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+    private static final int MAX_MESSAGE = 1000;
+    private static final int MAX_RAW_ROW = 2000;
+
+    /** How a row of one target is turned into content. */
+    private record RowImporter<T>(Class<T> type, Consumer<T> create) {
+        void importRow(Object dto) {
+            create.accept(type.cast(dto));
+        }
+    }
+
+    /** A row after mapping and validation — either a DTO or an error. */
+    private record Prepared(Row row, Object dto, ImportRowError error) {}
+
+    private final ImportJobRepository jobRepository;
+    private final ImportRowErrorRepository rowErrorRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<ImportTarget, RowImporter<?>> importers = new EnumMap<>(ImportTarget.class);
+
+    private final Path spoolDir;
+    private final int defaultChunkSize;
+    private final int maxChunkSize;
+    private final int maxRowChars;
+
+    private final ExecutorService worker;
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    public BulkImportService(
+            ImportJobRepository jobRepository,
+            ImportRowErrorRepository rowErrorRepository,
+            ObjectMapper objectMapper,
+            Validator validator,
+            TransactionTemplate transactionTemplate,
+            NewsService newsService,
+            WritingService writingService,
+            SoundTrackService soundTrackService,
+            VideoService videoService,
+            @Value("${app.import.spool-dir:${java.io.tmpdir}/khi-import-spool}") String spoolDir,
+            @Value("${app.import.chunk-size:200}") int defaultChunkSize,
+            @Value("${app.import.max-chunk-size:1000}") int maxChunkSize,
+            @Value("${app.import.max-row-chars:1000000}") int maxRowChars
+    ) {
+        this.jobRepository = jobRepository;
+        this.rowErrorRepository = rowErrorRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.spoolDir = Paths.get(spoolDir);
+        this.defaultChunkSize = Math.max(1, defaultChunkSize);
+        this.maxChunkSize = Math.max(this.defaultChunkSize, maxChunkSize);
+        this.maxRowChars = Math.max(1024, maxRowChars);
+
+        importers.put(ImportTarget.NEWS, new RowImporter<>(NewsDto.class, newsService::addNews));
+        importers.put(ImportTarget.WRITING, new RowImporter<>(WritingDtos.CreateRequest.class,
+                dto -> writingService.addWriting(dto, null, null, null, null, null)));
+        importers.put(ImportTarget.SOUND_TRACK, new RowImporter<>(SoundTrackDtos.CreateRequest.class,
+                dto -> soundTrackService.create(dto, null, null, null, List.of(), List.of(), List.of())));
+        importers.put(ImportTarget.VIDEO, new RowImporter<>(VideoDTO.class,
+                dto -> videoService.addVideo(dto, null, null, null, List.of())));
+
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "bulk-import");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // ============================================================
+    // API
+    // ============================================================
+
+    /** Spool {@code file} and queue an import job for it. */
+    public JobResponse start(ImportTarget target, ImportFormat format, Integer chunkSize, MultipartFile file) {
+        if (target == null) {
+            throw Errors.badRequest("import.target_required", Map.of("field", "target"));
+        }
+        if (file == null || file.isEmpty()) {
+            throw Errors.badRequest("import.file_required", Map.of("field", "file"));
+        }
+        ImportFormat resolved = format != null ? format : formatOf(file.getOriginalFilename());
+        int chunk = chunkSize == null ? defaultChunkSize : Math.min(Math.max(chunkSize, 1), maxChunkSize);
+
+        Path spool = spoolDir.resolve(UUID.randomUUID() + "." + resolved.name().toLowerCase(Locale.ROOT));
+        try {
+            Files.createDirectories(spoolDir);
+            file.transferTo(spool);
+        } catch (IOException e) {
+            log.error("Failed to spool import file {}", file.getOriginalFilename(), e);
+            throw Errors.internal("import.spool_failed", Map.of("fileName", String.valueOf(file.getOriginalFilename())));
+        }
+
+        ImportJob job = jobRepository.save(ImportJob.builder()
+                .target(target)
+                .format(resolved)
+                .status(ImportJobStatus.QUEUED)
+                .fileName(file.getOriginalFilename())
+                .spoolPath(spool.toString())
+                .chunkSize(chunk)
+                .createdBy(currentUser())
+                .build());
+
+        log.info("Import job queued: id={}, target={}, format={}, size={}, chunkSize={}",
+                job.getId(), target, resolved, file.getSize(), chunk);
+        schedule(job.getId());
+        return toResponse(job);
+    }
+
+    public JobResponse status(Long jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    public Page<RowErrorResponse> errors(Long jobId, int page, int size) {
+        findJob(jobId);
+        return rowErrorRepository.findByJobIdOrderByRowNumberAsc(jobId,
+                        PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 200)))
+                .map(e -> RowErrorResponse.builder()
+                        .rowNumber(e.getRowNumber())
+                        .errorCode(e.getErrorCode())
+                        .message(e.getMessage())
+                        .rawRow(e.getRawRow())
+                        .build());
+    }
+
+    /** Continue a FAILED job from its last committed chunk. */
+    public JobResponse resume(Long jobId) {
+        ImportJob job = findJob(jobId);
+        if (job.getStatus() != ImportJobStatus.FAILED) {
+            throw Errors.conflict("import.not_resumable", Map.of("jobId", jobId, "status", job.getStatus()));
+        }
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setLastError(null);
+        job.setFinishedAt(null);
+        job = jobRepository.save(job);
+        schedule(jobId);
+        return toResponse(job);
+    }
+
+    /**
+     * Jobs that were queued or running when the instance stopped. The spool
+     * is node-local, so only jobs whose file is on this node are picked up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (ImportJob job : jobRepository.findByStatusIn(List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING))) {
+            if (!Files.exists(Paths.get(job.getSpoolPath()))) continue;
+            log.info("Resuming interrupted import job {} at row {}", job.getId(), job.getCommittedRows());
+            schedule(job.getId());
+        }
+    }
+
+    // ============================================================
+    // WORKER
+    // ============================================================
+
+    private void schedule(Long jobId) {
+        if (scheduled.add(jobId)) {
+            worker.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    scheduled.remove(jobId);
+                }
+            });
+        }
+    }
+
+    void run(Long jobId) {
+        ImportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == ImportJobStatus.COMPLETED) return;
+        RowImporter<?> importer = importers.get(job.getTarget());
+        Path spool = Paths.get(job.getSpoolPath());
+
+        job.setStatus(ImportJobStatus.RUNNING);
+        jobRepository.save(job);
+
+        try (ImportRowReader reader = ImportRowReader.open(spool, job.getFormat(), objectMapper, maxRowChars)) {
+            reader.skip(job.getCommittedRows());
+
+            List<Row> chunk = new ArrayList<>(job.getChunkSize());
+            Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == job.getChunkSize()) {
+                    commitChunk(jobId, importer, chunk);
+                    chunk.clear();
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Import worker interrupted");
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(jobId, importer, chunk);
+            }
+            finish(jobId, ImportJobStatus.COMPLETED, null);
+            Files.deleteIfExists(spool);
+        } catch (IOException | RuntimeException e) {
+            log.error("Import job {} failed", jobId, e);
+            finish(jobId, ImportJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void commitChunk(Long jobId, RowImporter<?> importer, List<Row> rows) {
+        List<Prepared> prepared = rows.stream().map(row -> prepare(jobId, importer, row)).toList();
+        long lastRow = rows.getLast().number();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long imported = 0;
+                List<ImportRowError> errors = new ArrayList<>();
+                for (Prepared p : prepared) {
+                    if (p.error() != null) {
+                        errors.add(p.error());
+                    } else {
+                        importer.importRow(p.dto());
+                        imported++;
+                    }
+                }
+                rowErrorRepository.saveAll(errors);
+                jobRepository.advance(jobId, lastRow, imported, errors.size(), LocalDateTime.now());
+            });
+        } catch (RuntimeException chunkFailure) {
+            // A row broke the shared transaction — replay the chunk one row at a time
+            log.info("Import job {}: chunk ending at row {} failed ({}), retrying row by row",
+                    jobId, lastRow, chunkFailure.getMessage());
+            for (Prepared p : prepared) {
+                commitRow(jobId, importer, p);
+            }
+        }
+    }
+
+    private void commitRow(Long jobId, RowImporter<?> importer, Prepared p) {
+        long number = p.row().number();
+        if (p.error() == null) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    importer.importRow(p.dto());
+                    jobRepository.advance(jobId, number, 1, 0, LocalDateTime.now());
+                });
+                return;
+            } catch (RuntimeException e) {
+                ImportRowError error = rowError(jobId, p.row(), errorCode(e), describe(e));
+                transactionTemplate.executeWithoutResult(status -> recordError(jobId, error));
+                return;
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> recordError(jobId, p.error()));
+    }
+
+    private void recordError(Long jobId, ImportRowError error) {
+        rowErrorRepository.save(error);
+        jobRepository.advance(jobId, error.getRowNumber(), 0, 1, LocalDateTime.now());
+    }
+
+    private void finish(Long jobId, ImportJobStatus status, String error) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setLastError(truncate(error, MAX_MESSAGE));
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            log.info("Import job {} {}: imported={}, failed={}",
+                    jobId, status, job.getImportedRows(), job.getFailedRows());
+        });
+    }
+
+    // ============================================================
+    // ROW MAPPING
+    // ============================================================
+
+    private Prepared prepare(Long jobId, RowImporter<?> importer, Row row) {
+        if (row.error() != null) {
+            return new Prepared(row, null, rowError(jobId, row, "PARSE_ERROR", row.error()));
+        }
+        Object dto;
+        try {
+            dto = objectMapper.treeToValue(row.node(), importer.type());
+        } catch (Exception e) {
+            return new Prepared(row, null, rowError(jobId, row, "MAPPING_ERROR", e.getMessage()));
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new Prepared(row, null, rowError(jobId, row, "VALIDATION_ERROR", message));
+        }
+        return new Prepared(row, dto, null);
+    }
+
+    private static ImportRowError rowError(Long jobId, Row row, String code, String message) {
+        return ImportRowError.builder()
+                .jobId(jobId)
+                .rowNumber(row.number())
+                .errorCode(code)
+                .message(truncate(message, MAX_MESSAGE))
+                .rawRow(truncate(row.raw(), MAX_RAW_ROW))
+                .build();
+    }
+
+    private static String errorCode(RuntimeException e) {
+        return e instanceof AppException app ? app.getCode().name() : "IMPORT_FAILED";
+    }
+
+    private static String describe(RuntimeException e) {
+        if (e instanceof AppException app) {
+            return app.getDetails() == null || app.getDetails().isEmpty()
+                    ? app.getMessageKey()
+                    : app.getMessageKey() + " " + app.getDetails();
+        }
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    // ============================================================
+    // HELPERS
+    // ============================================================
+
+    private ImportJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> Errors.notFound("import.job_not_found", Map.of("jobId", jobId)));
+    }
+
+    private static ImportFormat formatOf(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) return ImportFormat.CSV;
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) return ImportFormat.NDJSON;
+        throw Errors.badRequest("import.format_unknown", Map.of("fileName", String.valueOf(fileName)));
+    }
+
+    private static JobResponse toResponse(ImportJob job) {
+        return JobResponse.builder()
+                .id(job.getId())
+                .target(job.getTarget())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .fileName(job.getFileName())
+                .chunkSize(job.getChunkSize())
+                .committedRows(job.getCommittedRows())
+                .importedRows(job.getImportedRows())
+                .failedRows(job.getFailedRows())
+                .lastError(job.getLastError())
+                .createdBy(job.getCreatedBy())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private static String truncate(String value, int max) {
+        if (value == null || value.length() <= max) return value;
+        return value.substring(0, max);
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return "SYSTEM";
+        }
+        return auth.getName();
+    }
+}
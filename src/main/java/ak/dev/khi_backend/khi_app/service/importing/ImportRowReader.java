@@ -0,0 +1,236 @@
+package ak.dev.khi_backend.khi_app.service.importing;
+
+import ak.dev.khi_backend.khi_app.enums.ImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ImportRowReader — pulls one record at a time out of an NDJSON or CSV
+ * spool, so an import never holds more than the current chunk in memory.
+ *
+ * Records are numbered from 1; blank lines and the CSV header are not
+ * counted, so the numbering is stable between runs and a resumed job can
+ * {@link #skip} what it already committed. A record longer than
+ * {@code maxRowChars} is drained and returned as an error row instead of
+ * being buffered.
+ *
+ * CSV headers are JSON paths: {@code ckbContent.title} becomes
+ * {@code {"ckbContent":{"title":...}}}, and a {@code []} suffix
+ * ({@code tags.ckb[]}) turns the cell into an array split on {@code |}.
+ * Empty cells are left out of the object.
+ */
+final class ImportRowReader implements Closeable {
+
+    /** One record; exactly one of {@code node} / {@code error} is set. */
+    record Row(long number, JsonNode node, String raw, String error) {}
+
+    /** Fields of one record plus its text as read (without the line break). */
+    private record Record(List<String> fields, String raw) {}
+
+    private static final char LIST_SEPARATOR = '|';
+    private static final Record OVERSIZED = new Record(List.of(), null);
+
+    private final BufferedReader in;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private final int maxRowChars;
+
+    private List<String> header;
+    private long number;
+    private boolean eof;
+
+    private ImportRowReader(BufferedReader in, ImportFormat format, ObjectMapper objectMapper, int maxRowChars) {
+        this.in = in;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.maxRowChars = maxRowChars;
+    }
+
+    static ImportRowReader open(Path file, ImportFormat format, ObjectMapper objectMapper, int maxRowChars)
+            throws IOException {
+        return new ImportRowReader(Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                format, objectMapper, maxRowChars);
+    }
+
+    /** Skip {@code rows} records without parsing them; returns how many were skipped. */
+    long skip(long rows) throws IOException {
+        long skipped = 0;
+        while (skipped < rows && nextRecord() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /** Next record, or {@code null} at end of file. */
+    Row next() throws IOException {
+        Record record = nextRecord();
+        if (record == null) return null;
+        if (record == OVERSIZED) {
+            return new Row(number, null, null, "Row exceeds " + maxRowChars + " characters");
+        }
+
+        String raw = record.raw();
+        if (format == ImportFormat.NDJSON) {
+            try {
+                JsonNode node = objectMapper.readTree(raw);
+                if (node == null || !node.isObject()) {
+                    return new Row(number, null, raw, "Line is not a JSON object");
+                }
+                return new Row(number, node, raw, null);
+            } catch (JsonProcessingException e) {
+                return new Row(number, null, raw, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        if (record.fields().size() != header.size()) {
+            return new Row(number, null, raw,
+                    "Expected " + header.size() + " columns but found " + record.fields().size());
+        }
+        return new Row(number, toObject(record.fields()), raw, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ============================================================
+    // RECORD SPLITTING
+    // ============================================================
+
+    /**
+     * Reads the next non-blank record: a line for NDJSON, a list of fields
+     * for CSV. The CSV header is consumed on the first call.
+     */
+    private Record nextRecord() throws IOException {
+        while (!eof) {
+            Record record = format == ImportFormat.CSV ? readCsvRecord() : readLine();
+            if (record == null) return null;
+            if (record != OVERSIZED && record.raw().isBlank()) continue;
+            if (format == ImportFormat.CSV && header == null) {
+                if (record == OVERSIZED) throw new IOException("CSV header exceeds " + maxRowChars + " characters");
+                header = record.fields().stream().map(String::trim).toList();
+                continue;
+            }
+            number++;
+            return record;
+        }
+        return null;
+    }
+
+    private Record readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        boolean oversized = false;
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (line.length() < maxRowChars) line.append((char) c);
+            else oversized = true;
+        }
+        if (c == -1) {
+            eof = true;
+            if (line.isEmpty() && !oversized) return null;
+        }
+        if (oversized) return OVERSIZED;
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') line.setLength(end - 1);
+        return new Record(List.of(line.toString()), line.toString());
+    }
+
+    /** RFC 4180: quoted fields may contain commas, quotes ("") and line breaks. */
+    private Record readCsvRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        StringBuilder raw = new StringBuilder();
+        boolean quoted = false;
+        int c;
+        while ((c = in.read()) != -1) {
+            if (raw.length() >= maxRowChars) {
+                drainCsvRecord(quoted, c);
+                return OVERSIZED;
+            }
+            if (c == '\n' && !quoted) break;
+            raw.append((char) c);
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        raw.append('"');
+                        field.append('"');
+                    } else {
+                        in.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (c == -1) {
+            eof = true;
+            if (raw.isEmpty()) return null;
+        }
+        fields.add(field.toString());
+        int end = raw.length();
+        if (end > 0 && raw.charAt(end - 1) == '\r') raw.setLength(end - 1);
+        return new Record(fields, raw.toString());
+    }
+
+    private void drainCsvRecord(boolean quoted, int c) throws IOException {
+        for (; c != -1; c = in.read()) {
+            if (c == '"') quoted = !quoted;
+            else if (c == '\n' && !quoted) return;
+        }
+        eof = true;
+    }
+
+    // ============================================================
+    // CSV → JSON
+    // ============================================================
+
+    private ObjectNode toObject(List<String> record) {
+        ObjectNode root = objectMapper.createObjectNode();
+        for (int i = 0; i < header.size(); i++) {
+            String value = record.get(i).trim();
+            String path = header.get(i);
+            if (value.isEmpty() || path.isEmpty()) continue;
+
+            boolean list = path.endsWith("[]");
+            if (list) path = path.substring(0, path.length() - 2);
+
+            String[] parts = path.split("\\.");
+            ObjectNode parent = root;
+            for (int p = 0; p < parts.length - 1; p++) {
+                JsonNode child = parent.get(parts[p]);
+                parent = child instanceof ObjectNode object ? object : parent.putObject(parts[p]);
+            }
+            String leaf = parts[parts.length - 1];
+            if (list) {
+                ArrayNode array = parent.putArray(leaf);
+                for (String item : value.split("\\" + LIST_SEPARATOR)) {
+                    if (!item.isBlank()) array.add(item.trim());
+                }
+            } else {
+                parent.put(leaf, value);
+            }
+        }
+        return root;
+    }
+}
@@ -0,0 +1,499 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.UploadInitRequest;
+import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.UploadSessionResponse;
+import ak.dev.khi_backend.khi_app.enums.UploadStatus;
+import ak.dev.khi_backend.khi_app.enums.project.ProjectMediaType;
+import ak.dev.khi_backend.khi_app.exceptions.Errors;
+import ak.dev.khi_backend.khi_app.model.media.UploadSession;
+import ak.dev.khi_backend.khi_app.repository.media.UploadSessionRepository;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor.MediaFileMeta;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ChunkedUploadService — resumable uploads for large audio / video / book
+ * files that do not survive a single multipart request on a flaky link.
+ *
+ * Protocol:
+ *   1. init      → server allocates an uploadId and an empty spool file
+ *   2. chunk     → client PUTs raw bytes at {@code offset == receivedBytes}
+ *                  with the SHA-256 of the chunk; the bytes are appended to
+ *                  the spool through a {@link FileChannel} and rolled back
+ *                  if the checksum does not match
+ *   3. status    → after a disconnect the client asks for receivedBytes and
+ *                  continues from there
+ *   4. complete  → technical metadata (duration, bitrate, resolution …) is
+ *                  read from the spool's headers, the spool is streamed to S3
+ *                  (never loaded into heap) and the session becomes COMPLETED
+ *                  with a public fileUrl
+ *
+ * A completed uploadId can then be sent inside the Sound / Video create and
+ * update DTOs instead of a multipart file part — once: the content row it is
+ * attached to takes over the single blob reference {@code complete} took.
+ *
+ * The spool directory is node-local, so chunk writes for one session are
+ * serialised with an in-process lock rather than a database row lock — a
+ * DB transaction must not stay open while a chunk is streamed from the client.
+ * Complete and abort take the same lock, so a spool is never deleted under a
+ * chunk that is still being written.
+ *
+ * A session belongs to the user who opened it: status, chunks, complete,
+ * abort and attaching it to content from anyone else get the same 404 as an
+ * unknown uploadId.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final S3Service s3Service;
+    private final MediaMetadataExtractor mediaMetadataExtractor;
+    private final Path spoolDir;
+    private final long maxFileSize;
+    private final long maxChunkSize;
+    private final Duration sessionTtl;
+
+    private final Map<String, ReentrantLock> sessionLocks = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(
+            UploadSessionRepository uploadSessionRepository,
+            S3Service s3Service,
+            MediaMetadataExtractor mediaMetadataExtractor,
+            @Value("${app.upload.spool-dir:${java.io.tmpdir}/khi-upload-spool}") String spoolDir,
+            @Value("${app.upload.max-file-size:5368709120}") long maxFileSize,
+            @Value("${app.upload.max-chunk-size:16777216}") long maxChunkSize,
+            @Value("${app.upload.session-ttl:PT24H}") Duration sessionTtl
+    ) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.s3Service = s3Service;
+        this.mediaMetadataExtractor = mediaMetadataExtractor;
+        this.spoolDir = Paths.get(spoolDir);
+        this.maxFileSize = maxFileSize;
+        this.maxChunkSize = maxChunkSize;
+        this.sessionTtl = sessionTtl;
+    }
+
+    // ============================================================
+    // INIT / STATUS
+    // ============================================================
+
+    public UploadSessionResponse init(UploadInitRequest request) {
+        if (request == null || isBlank(request.getFileName())) {
+            throw Errors.badRequest("upload.file_name_required", Map.of("field", "fileName"));
+        }
+        Long total = request.getTotalSize();
+        if (total == null || total <= 0 || total > maxFileSize) {
+            throw Errors.badRequest("upload.size_invalid", Map.of(
+                    "field", "totalSize",
+                    "maxFileSize", maxFileSize));
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        Path spool = spoolDir.resolve(uploadId + ".part");
+        try {
+            Files.createDirectories(spoolDir);
+            Files.createFile(spool);
+        } catch (IOException e) {
+            log.error("Failed to create upload spool {}", spool, e);
+            throw Errors.internal("upload.spool_failed", Map.of("uploadId", uploadId));
+        }
+
+        UploadSession session = UploadSession.builder()
+                .uploadId(uploadId)
+                .fileName(request.getFileName().trim())
+                .contentType(trimOrNull(request.getContentType()))
+                .mediaHint(trimOrNull(request.getType()))
+                .totalSize(total)
+                .receivedBytes(0)
+                .status(UploadStatus.IN_PROGRESS)
+                .spoolPath(spool.toString())
+                .createdBy(currentUser())
+                .build();
+        session = uploadSessionRepository.save(session);
+
+        log.info("Upload session opened: uploadId={}, name={}, size={}",
+                uploadId, session.getFileName(), total);
+        return toResponse(session);
+    }
+
+    public UploadSessionResponse status(String uploadId) {
+        return toResponse(findOwnSession(uploadId));
+    }
+
+    // ============================================================
+    // CHUNK APPEND
+    // ============================================================
+
+    /**
+     * Append one chunk at {@code offset}. The offset must equal the number of
+     * bytes already received — anything else is a 409 carrying the expected
+     * offset so the client can resynchronise.
+     *
+     * @param sha256Hex hex SHA-256 of the chunk body; on mismatch the spool is
+     *                  truncated back to {@code offset} and nothing is recorded
+     */
+    public UploadSessionResponse appendChunk(String uploadId, long offset,
+                                             InputStream body, String sha256Hex) {
+        if (isBlank(sha256Hex)) {
+            throw Errors.badRequest("upload.checksum_required", Map.of("header", "X-Chunk-Sha256"));
+        }
+
+        ReentrantLock lock = sessionLocks.computeIfAbsent(uploadId, k -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw Errors.conflict("upload.busy", Map.of("uploadId", uploadId));
+        }
+        try {
+            UploadSession session = findOwnSession(uploadId);
+            requireInProgress(session);
+
+            if (offset != session.getReceivedBytes()) {
+                throw Errors.conflict("upload.offset_mismatch", Map.of(
+                        "uploadId", uploadId,
+                        "offset", offset,
+                        "expectedOffset", session.getReceivedBytes()));
+            }
+
+            long written = writeChunk(session, offset, body, sha256Hex);
+
+            session.setReceivedBytes(offset + written);
+            session = uploadSessionRepository.save(session);
+
+            log.debug("Upload chunk stored: uploadId={}, offset={}, bytes={}", uploadId, offset, written);
+            return toResponse(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long writeChunk(UploadSession session, long offset, InputStream body, String sha256Hex) {
+        long limit = Math.min(maxChunkSize, session.getTotalSize() - offset);
+        Path spool = Paths.get(session.getSpoolPath());
+        MessageDigest digest = sha256();
+
+        try (FileChannel channel = FileChannel.open(spool, StandardOpenOption.WRITE)) {
+            channel.position(offset);
+
+            byte[] buf = new byte[COPY_BUFFER_SIZE];
+            ByteBuffer wrapper = ByteBuffer.wrap(buf);
+            long written = 0;
+            int n;
+            while ((n = body.read(buf)) != -1) {
+                written += n;
+                if (written > limit) {
+                    channel.truncate(offset);
+                    throw Errors.badRequest("upload.chunk_too_large", Map.of(
+                            "uploadId", session.getUploadId(),
+                            "maxChunkBytes", limit));
+                }
+                digest.update(buf, 0, n);
+                wrapper.clear().limit(n);
+                while (wrapper.hasRemaining()) {
+                    channel.write(wrapper);
+                }
+            }
+
+            String actual = HexFormat.of().formatHex(digest.digest());
+            if (!actual.equalsIgnoreCase(sha256Hex.trim())) {
+                channel.truncate(offset);
+                throw Errors.badRequest("upload.checksum_mismatch", Map.of(
+                        "uploadId", session.getUploadId(),
+                        "offset", offset));
+            }
+
+            // Make the acknowledged offset durable before it is persisted
+            channel.force(false);
+            return written;
+        } catch (IOException e) {
+            log.error("Failed to write chunk for upload {} at offset {}", session.getUploadId(), offset, e);
+            truncateQuietly(spool, offset);
+            throw Errors.internal("upload.spool_failed", Map.of("uploadId", session.getUploadId()));
+        }
+    }
+
+    // ============================================================
+    // COMPLETE / ABORT
+    // ============================================================
+
+    public UploadSessionResponse complete(String uploadId) {
+        ReentrantLock lock = sessionLocks.computeIfAbsent(uploadId, k -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw Errors.conflict("upload.busy", Map.of("uploadId", uploadId));
+        }
+        try {
+            UploadSession session = findOwnSession(uploadId);
+            if (session.getStatus() == UploadStatus.COMPLETED) {
+                return toResponse(session);
+            }
+            requireInProgress(session);
+
+            if (session.getReceivedBytes() != session.getTotalSize()) {
+                throw Errors.conflict("upload.incomplete", Map.of(
+                        "uploadId", uploadId,
+                        "receivedBytes", session.getReceivedBytes(),
+                        "totalSize", session.getTotalSize()));
+            }
+
+            Path spool = Paths.get(session.getSpoolPath());
+            applyProbedMetadata(session, spool);
+
+            ProjectMediaType mediaType = MediaService.resolveMediaType(session.getMediaHint());
+            // Streamed straight from the spool; the provider is reopened on SDK retries
+            String fileUrl = s3Service.upload(() -> Files.newInputStream(spool), session.getTotalSize(),
+                    session.getFileName(), session.getContentType(), mediaType);
+
+            deleteSpoolQuietly(spool);
+
+            session.setFileUrl(fileUrl);
+            session.setSpoolPath(null);
+            session.setStatus(UploadStatus.COMPLETED);
+            session.setCompletedAt(LocalDateTime.now());
+            UploadSession saved = uploadSessionRepository.save(session);
+
+            log.info("Upload session completed: uploadId={}, url={}", uploadId, fileUrl);
+            return toResponse(saved);
+        } finally {
+            lock.unlock();
+            sessionLocks.remove(uploadId, lock);
+        }
+    }
+
+    public void abort(String uploadId) {
+        ReentrantLock lock = sessionLocks.computeIfAbsent(uploadId, k -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw Errors.conflict("upload.busy", Map.of("uploadId", uploadId));
+        }
+        try {
+            UploadSession session = findOwnSession(uploadId);
+            if (session.getStatus() != UploadStatus.IN_PROGRESS) return;
+
+            if (session.getSpoolPath() != null) {
+                deleteSpoolQuietly(Paths.get(session.getSpoolPath()));
+            }
+            session.setSpoolPath(null);
+            session.setStatus(UploadStatus.ABORTED);
+            uploadSessionRepository.save(session);
+            log.info("Upload session aborted: uploadId={}", uploadId);
+        } finally {
+            lock.unlock();
+            sessionLocks.remove(uploadId, lock);
+        }
+    }
+
+    // ============================================================
+    // LOOKUP FOR CREATE / UPDATE DTOs
+    // ============================================================
+
+    /**
+     * Resolve an uploadId referenced from a content DTO and mark it CONSUMED.
+     * Only the uploader's COMPLETED sessions are accepted — the caller gets
+     * the S3 URL and size exactly as if the file had arrived as a multipart
+     * part.
+     *
+     * The session took one blob reference on complete, and that reference
+     * now belongs to the content row; attaching the same uploadId twice would
+     * let deleting one row remove the object under the other. The status
+     * change joins the caller's transaction, so a rolled-back save leaves the
+     * upload usable, and two requests racing for it cannot both win.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UploadSession consumeCompleted(String uploadId) {
+        UploadSession session = findOwnSession(uploadId);
+        if (session.getStatus() == UploadStatus.CONSUMED) {
+            throw Errors.conflict("upload.already_attached", Map.of("uploadId", uploadId));
+        }
+        if (session.getStatus() != UploadStatus.COMPLETED || session.getFileUrl() == null) {
+            throw Errors.badRequest("upload.not_completed", Map.of(
+                    "uploadId", uploadId,
+                    "status", session.getStatus().name()));
+        }
+        if (uploadSessionRepository.transitionStatus(uploadId, UploadStatus.COMPLETED,
+                UploadStatus.CONSUMED, LocalDateTime.now()) == 0) {
+            throw Errors.conflict("upload.already_attached", Map.of("uploadId", uploadId));
+        }
+        session.setStatus(UploadStatus.CONSUMED);
+        return session;
+    }
+
+    /**
+     * The technical metadata probed off the spool on complete, in the same
+     * shape a direct multipart upload's probe has.
+     */
+    public static MediaFileMeta probedMetadata(UploadSession session) {
+        return MediaFileMeta.builder()
+                .fileFormat(session.getFileFormat())
+                .durationSeconds(session.getDurationSeconds())
+                .bitrateKbps(session.getBitrateKbps())
+                .sampleRateHz(session.getSampleRateHz())
+                .channels(session.getAudioChannels())
+                .widthPx(session.getWidthPx())
+                .heightPx(session.getHeightPx())
+                .sizeBytes(session.getTotalSize())
+                .build();
+    }
+
+    // ============================================================
+    // SPOOL CLEANUP
+    // ============================================================
+
+    /**
+     * Abandoned sessions keep a spool file on disk; reclaim anything that has
+     * not received a chunk within the session TTL.
+     */
+    @Scheduled(fixedDelayString = "${app.upload.cleanup-interval:PT1H}")
+    public void purgeExpiredSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(sessionTtl);
+        List<UploadSession> stale =
+                uploadSessionRepository.findByStatusAndUpdatedAtBefore(UploadStatus.IN_PROGRESS, cutoff);
+        if (stale.isEmpty()) return;
+
+        for (UploadSession session : stale) {
+            if (session.getSpoolPath() != null) {
+                deleteSpoolQuietly(Paths.get(session.getSpoolPath()));
+            }
+            session.setSpoolPath(null);
+            session.setStatus(UploadStatus.ABORTED);
+            sessionLocks.remove(session.getUploadId());
+        }
+        uploadSessionRepository.saveAll(stale);
+        log.info("Purged {} expired upload session(s)", stale.size());
+    }
+
+    // ============================================================
+    // HELPERS
+    // ============================================================
+
+    private UploadSession findSession(String uploadId) {
+        if (isBlank(uploadId)) {
+            throw Errors.badRequest("upload.id_required", Map.of("field", "uploadId"));
+        }
+        return uploadSessionRepository.findByUploadId(uploadId.trim())
+                .orElseThrow(() -> Errors.notFound("upload.not_found", Map.of("uploadId", uploadId)));
+    }
+
+    /** The session, if the current user opened it; anyone else is told it does not exist. */
+    private UploadSession findOwnSession(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        if (!currentUser().equals(session.getCreatedBy())) {
+            log.warn("Upload session {} of {} requested by {}", session.getUploadId(), session.getCreatedBy(), currentUser());
+            throw Errors.notFound("upload.not_found", Map.of("uploadId", uploadId));
+        }
+        return session;
+    }
+
+    private void requireInProgress(UploadSession session) {
+        if (session.getStatus() != UploadStatus.IN_PROGRESS) {
+            throw Errors.conflict("upload.not_in_progress", Map.of(
+                    "uploadId", session.getUploadId(),
+                    "status", session.getStatus().name()));
+        }
+    }
+
+    private UploadSessionResponse toResponse(UploadSession s) {
+        return UploadSessionResponse.builder()
+                .uploadId(s.getUploadId())
+                .fileName(s.getFileName())
+                .contentType(s.getContentType())
+                .totalSize(s.getTotalSize())
+                .receivedBytes(s.getReceivedBytes())
+                .status(s.getStatus().name())
+                .fileUrl(s.getFileUrl())
+                .maxChunkSize(maxChunkSize)
+                .fileFormat(s.getFileFormat())
+                .durationSeconds(s.getDurationSeconds())
+                .bitrateKbps(s.getBitrateKbps())
+                .sampleRateHz(s.getSampleRateHz())
+                .audioChannels(s.getAudioChannels())
+                .widthPx(s.getWidthPx())
+                .heightPx(s.getHeightPx())
+                .build();
+    }
+
+    /** Header-only probe of the local spool — cheap, and never fails the upload. */
+    private void applyProbedMetadata(UploadSession session, Path spool) {
+        if (isBlank(session.getContentType())) return;
+        MediaFileMeta meta = mediaMetadataExtractor.extract(
+                spool, session.getContentType(), session.getFileName());
+        if (meta == null || !meta.hasData()) return;
+
+        session.setFileFormat(meta.getFileFormat());
+        session.setDurationSeconds(meta.getDurationSeconds());
+        session.setBitrateKbps(meta.getBitrateKbps());
+        session.setSampleRateHz(meta.getSampleRateHz());
+        session.setAudioChannels(meta.getChannels());
+        session.setWidthPx(meta.getWidthPx());
+        session.setHeightPx(meta.getHeightPx());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void truncateQuietly(Path spool, long size) {
+        try (FileChannel channel = FileChannel.open(spool, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        } catch (IOException e) {
+            log.warn("Could not truncate spool {} back to {}", spool, size, e);
+        }
+    }
+
+    private static void deleteSpoolQuietly(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Could not delete upload spool {}", spool, e);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return "SYSTEM";
+        }
+        return auth.getName();
+    }
+
+    private static String trimOrNull(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        return t.isEmpty() ? null : t;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -0,0 +1,282 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaKind;
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import ak.dev.khi_backend.khi_app.enums.project.ProjectMediaType;
+import ak.dev.khi_backend.khi_app.model.media.ImageVariant;
+import ak.dev.khi_backend.khi_app.repository.media.ImageVariantRepository;
+import ak.dev.khi_backend.khi_app.repository.news.NewsRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.image.ImageAlbumItemRepository;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * ImageDerivativeService — background generation of downscaled copies for
+ * uploaded images so list pages stop shipping multi-megabyte originals.
+ *
+ * Flow:
+ *   1. A content service calls {@link #requestDerivatives} with the image
+ *      URLs it just saved. They are written to the media outbox in the same
+ *      transaction — the request thread never resizes.
+ *   2. The outbox worker hands the event back here: oversized sources are
+ *      rejected from a HEAD and a ranged header read, the original is decoded
+ *      off the object stream, and one variant is written per configured width
+ *      smaller than the original (pure Java2D; JPEG, or PNG when there is
+ *      alpha).
+ *   3. Variants are recorded in {@code image_variants}; the list-size one is
+ *      copied onto matching album items and News IMAGE covers, and a list
+ *      cache eviction is queued with that update.
+ *
+ * URLs that fail are retried by the outbox with backoff; generation is
+ * idempotent per source URL. Variants live as long as their source: when the
+ * source's last reference is released, {@link MediaDeletionService} removes
+ * their rows and releases their objects too.
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService implements MediaOutboxHandler {
+
+    private static final Set<String> SUPPORTED_EXTENSIONS =
+            Set.of("jpg", "jpeg", "png", "gif", "bmp");
+    private static final List<String> LIST_CACHES = List.of("imageCollections", "news");
+    /** Ranged read for the header probe; enough for large EXIF blocks before SOF. */
+    private static final long PROBE_BYTES = 256 * 1024;
+
+    private final S3Service                s3Service;
+    private final ImageVariantRepository   imageVariantRepository;
+    private final ImageAlbumItemRepository imageAlbumItemRepository;
+    private final NewsRepository           newsRepository;
+    private final MediaOutbox              mediaOutbox;
+    private final MediaDeletionService     mediaDeletionService;
+    private final TransactionTemplate      transactionTemplate;
+
+    private final List<Integer> widths;
+    private final int           listWidth;
+    private final long          maxSourceBytes;
+    private final long          maxSourcePixels;
+
+    public ImageDerivativeService(
+            S3Service s3Service,
+            ImageVariantRepository imageVariantRepository,
+            ImageAlbumItemRepository imageAlbumItemRepository,
+            NewsRepository newsRepository,
+            MediaOutbox mediaOutbox,
+            MediaDeletionService mediaDeletionService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.images.derivative-widths:320,640,1280}") List<Integer> widths,
+            @Value("${app.images.list-width:640}") int listWidth,
+            @Value("${app.images.max-source-bytes:52428800}") long maxSourceBytes,
+            @Value("${app.images.max-source-pixels:60000000}") long maxSourcePixels
+    ) {
+        this.s3Service = s3Service;
+        this.imageVariantRepository = imageVariantRepository;
+        this.imageAlbumItemRepository = imageAlbumItemRepository;
+        this.newsRepository = newsRepository;
+        this.mediaOutbox = mediaOutbox;
+        this.mediaDeletionService = mediaDeletionService;
+        this.transactionTemplate = transactionTemplate;
+        this.widths = widths.stream().filter(w -> w != null && w > 0).sorted().distinct().toList();
+        this.listWidth = listWidth;
+        this.maxSourceBytes = maxSourceBytes;
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    // ============================================================
+    // ENQUEUE
+    // ============================================================
+
+    /**
+     * Queue derivative generation for the given image URLs. Joins the
+     * caller's transaction, so a rolled-back save never triggers work.
+     */
+    public void requestDerivatives(Collection<String> imageUrls) {
+        if (imageUrls == null || imageUrls.isEmpty() || widths.isEmpty()) return;
+
+        List<String> candidates = imageUrls.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(this::isEligible)
+                .distinct()
+                .toList();
+        if (candidates.isEmpty()) return;
+
+        mediaOutbox.enqueue(MediaOutboxType.GENERATE_DERIVATIVES, candidates);
+    }
+
+    @Override
+    public Set<MediaOutboxType> types() {
+        return Set.of(MediaOutboxType.GENERATE_DERIVATIVES);
+    }
+
+    /** Outbox entry point; returns the source URLs to retry later. */
+    @Override
+    public List<String> handle(MediaOutboxType type, List<String> sourceUrls) {
+        List<String> retry = new ArrayList<>();
+        for (String sourceUrl : sourceUrls) {
+            try {
+                generate(sourceUrl);
+            } catch (Exception e) {
+                log.warn("Image derivative generation failed for {}: {}", sourceUrl, e.getMessage());
+                retry.add(sourceUrl);
+            }
+        }
+        return retry;
+    }
+
+    // ============================================================
+    // LOOKUP FOR LIST DTOs
+    // ============================================================
+
+    /**
+     * Best list-size variant per source URL, in one query. Sources without
+     * derivatives are simply absent from the map.
+     */
+    public Map<String, ImageVariant> listVariants(Collection<String> sourceUrls) {
+        Set<String> urls = sourceUrls == null ? Set.of() : sourceUrls.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (urls.isEmpty()) return Map.of();
+
+        Map<String, List<ImageVariant>> bySource = imageVariantRepository.findBySourceUrlIn(urls).stream()
+                .collect(Collectors.groupingBy(ImageVariant::getSourceUrl));
+
+        Map<String, ImageVariant> out = new HashMap<>(bySource.size());
+        bySource.forEach((src, variants) -> out.put(src, pickForWidth(variants, listWidth)));
+        return out;
+    }
+
+    /** Smallest variant at least {@code target} wide; else the largest one. */
+    static ImageVariant pickForWidth(List<ImageVariant> variants, int target) {
+        ImageVariant best = null;
+        ImageVariant largest = null;
+        for (ImageVariant v : variants) {
+            if (largest == null || v.getWidthPx() > largest.getWidthPx()) largest = v;
+            if (v.getWidthPx() >= target && (best == null || v.getWidthPx() < best.getWidthPx())) best = v;
+        }
+        return best != null ? best : largest;
+    }
+
+    // ============================================================
+    // GENERATION
+    // ============================================================
+
+    void generate(String sourceUrl) throws IOException {
+        List<ImageVariant> variants = imageVariantRepository.findBySourceUrlOrderByWidthPxAsc(sourceUrl);
+        if (variants.isEmpty()) {
+            variants = createVariants(sourceUrl);
+        }
+        if (variants.isEmpty()) return;
+
+        ImageVariant listVariant = pickForWidth(variants, listWidth);
+        transactionTemplate.executeWithoutResult(status -> {
+            imageAlbumItemRepository.applyThumbnail(sourceUrl, listVariant.getUrl(),
+                    listVariant.getWidthPx(), listVariant.getHeightPx());
+            newsRepository.fillCoverThumbnail(sourceUrl, listVariant.getUrl(), MediaKind.IMAGE);
+            mediaOutbox.enqueue(MediaOutboxType.EVICT_CACHE, LIST_CACHES);
+        });
+    }
+
+    private List<ImageVariant> createVariants(String sourceUrl) throws IOException {
+        OptionalLong size = s3Service.sizeOf(sourceUrl);
+        if (size.isEmpty()) {
+            log.info("Skipping derivatives for {}: source no longer exists", sourceUrl);
+            return List.of();
+        }
+        if (size.getAsLong() > maxSourceBytes) {
+            log.info("Skipping derivatives for {}: {} bytes exceeds limit", sourceUrl, size.getAsLong());
+            return List.of();
+        }
+
+        Dimension dim;
+        try (InputStream header = s3Service.openStream(sourceUrl, 0, PROBE_BYTES)) {
+            dim = ImageProbe.probe(header);
+        }
+        if (dim == null || (long) dim.width * dim.height > maxSourcePixels) {
+            log.info("Skipping derivatives for {}: unreadable or oversized ({})", sourceUrl, dim);
+            return List.of();
+        }
+        List<Integer> targets = widths.stream().filter(w -> w < dim.width).toList();
+        if (targets.isEmpty()) return List.of();
+
+        // Decoded straight off the object stream; the compressed bytes are never held whole
+        BufferedImage src;
+        try (InputStream in = s3Service.openStream(sourceUrl, 0, -1)) {
+            src = ImageIO.read(in);
+        }
+        if (src == null) return List.of();
+
+        boolean alpha = src.getColorModel().hasAlpha();
+        String contentType = alpha ? "image/png" : "image/jpeg";
+        String baseName = baseName(sourceUrl);
+
+        List<ImageVariant> created = new ArrayList<>(targets.size());
+        for (int width : targets) {
+            BufferedImage scaled = ImageResizer.resize(src, width);
+            byte[] encoded = ImageResizer.encode(scaled, alpha);
+            String name = baseName + "-w" + width + (alpha ? ".png" : ".jpg");
+            String url = s3Service.upload(encoded, name, contentType, ProjectMediaType.IMAGE);
+
+            created.add(ImageVariant.builder()
+                    .sourceUrl(sourceUrl)
+                    .url(url)
+                    .widthPx(scaled.getWidth())
+                    .heightPx(scaled.getHeight())
+                    .sizeBytes(encoded.length)
+                    .contentType(contentType)
+                    .build());
+        }
+
+        try {
+            List<ImageVariant> saved = imageVariantRepository.saveAll(created);
+            log.info("Generated {} derivative(s) for {}", saved.size(), sourceUrl);
+            return saved;
+        } catch (DataIntegrityViolationException race) {
+            // Another node finished first; its rows are authoritative. Each of
+            // our uploads took a blob reference that no row will ever release.
+            List<String> ours = created.stream().map(ImageVariant::getUrl).toList();
+            transactionTemplate.executeWithoutResult(status -> mediaDeletionService.deleteAfterCommit(ours));
+            return imageVariantRepository.findBySourceUrlOrderByWidthPxAsc(sourceUrl);
+        }
+    }
+
+    // ============================================================
+    // HELPERS
+    // ============================================================
+
+    private boolean isEligible(String url) {
+        if (url.isEmpty() || !s3Service.isOurS3Url(url)) return false;
+        String ext = extension(url);
+        return ext != null && SUPPORTED_EXTENSIONS.contains(ext);
+    }
+
+    private static String extension(String url) {
+        String path = url;
+        int q = path.indexOf('?');
+        if (q >= 0) path = path.substring(0, q);
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot <= slash || dot == path.length() - 1) return null;
+        return path.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String baseName(String url) {
+        String path = url;
+        int q = path.indexOf('?');
+        if (q >= 0) path = path.substring(0, q);
+        String file = path.substring(path.lastIndexOf('/') + 1);
+        int dot = file.lastIndexOf('.');
+        return dot > 0 ? file.substring(0, dot) : file;
+    }
+}
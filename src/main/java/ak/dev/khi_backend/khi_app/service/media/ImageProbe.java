@@ -0,0 +1,104 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.metadata.Directory;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.webp.WebpDirectory;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Dimension;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * ImageProbe — reads image width/height from the file header only.
+ *
+ * {@code ImageIO.read} decodes the whole raster (4 bytes per pixel) just to
+ * answer "how big is it?". Here an {@link ImageReader} is attached in
+ * forward-only, metadata-ignoring mode and asked for the size of image 0,
+ * which for JPEG/PNG/GIF/BMP stops at the SOF/IHDR/screen descriptor — a few
+ * kilobytes at most. Formats without a JDK reader (WebP) fall back to the
+ * metadata-extractor header directories.
+ *
+ * The caller owns the stream; it is read but never closed here.
+ */
+@Slf4j
+public final class ImageProbe {
+
+    /** Enough for any header we care about, incl. large EXIF blocks before SOF. */
+    private static final int MARK_LIMIT = 256 * 1024;
+
+    private ImageProbe() {}
+
+    /**
+     * @return the image dimensions, or {@code null} when the format is not
+     *         recognised or the header is unreadable
+     */
+    public static Dimension probe(InputStream source) {
+        if (source == null) return null;
+
+        InputStream in = source.markSupported() ? source : new BufferedInputStream(source, 8192);
+        in.mark(MARK_LIMIT);
+
+        Dimension dim = probeWithImageReader(in);
+        if (dim != null) return dim;
+
+        try {
+            in.reset();
+        } catch (IOException e) {
+            return null; // header was longer than the mark window — give up quietly
+        }
+        return probeWithMetadataExtractor(in);
+    }
+
+    private static Dimension probeWithImageReader(InputStream in) {
+        // MemoryCacheImageInputStream: never spills to a temp file, and with
+        // seekForwardOnly the cache is flushed as the reader advances
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(new NonClosingInputStream(in))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (Exception e) {
+            log.debug("ImageReader header probe failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Dimension probeWithMetadataExtractor(InputStream in) {
+        try {
+            Metadata metadata = ImageMetadataReader.readMetadata(in);
+            for (WebpDirectory dir : metadata.getDirectoriesOfType(WebpDirectory.class)) {
+                Dimension d = dimensionOf(dir, WebpDirectory.TAG_IMAGE_WIDTH, WebpDirectory.TAG_IMAGE_HEIGHT);
+                if (d != null) return d;
+            }
+        } catch (Exception e) {
+            log.debug("Metadata header probe failed: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private static Dimension dimensionOf(Directory dir, int widthTag, int heightTag) {
+        Integer w = dir.getInteger(widthTag);
+        Integer h = dir.getInteger(heightTag);
+        return (w != null && h != null && w > 0 && h > 0) ? new Dimension(w, h) : null;
+    }
+
+    /** Closing the ImageInputStream must not close the caller's stream. */
+    private static final class NonClosingInputStream extends FilterInputStream {
+        NonClosingInputStream(InputStream in) { super(in); }
+        @Override public void close() { /* caller owns the stream */ }
+    }
+}
@@ -0,0 +1,84 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * ImageResizer — pure-JDK (Java2D + ImageIO) downscaling used by the
+ * derivative pipeline. No native codecs: output is JPEG for opaque images
+ * and PNG when the source has an alpha channel.
+ */
+public final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private ImageResizer() {}
+
+    /**
+     * Scale to {@code targetWidth}, keeping the aspect ratio. Halves the image
+     * in bilinear steps until within 2x of the target — a single bilinear
+     * pass from a very large source aliases badly.
+     */
+    public static BufferedImage resize(BufferedImage src, int targetWidth) {
+        int targetHeight = Math.max(1, (int) Math.round(
+                (double) src.getHeight() * targetWidth / src.getWidth()));
+        boolean alpha = src.getColorModel().hasAlpha();
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+
+        do {
+            w = Math.max(targetWidth, w / 2);
+            h = Math.max(targetHeight, h / 2);
+            if (w < targetWidth * 2) {
+                w = targetWidth;
+                h = targetHeight;
+            }
+
+            BufferedImage step = new BufferedImage(w, h, type);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (w != targetWidth);
+
+        return current;
+    }
+
+    public static byte[] encode(BufferedImage image, boolean alpha) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (alpha) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
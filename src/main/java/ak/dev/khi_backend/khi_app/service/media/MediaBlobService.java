@@ -0,0 +1,169 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.model.media.MediaBlob;
+import ak.dev.khi_backend.khi_app.repository.media.MediaBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * MediaBlobService — reference bookkeeping for content-addressed uploads.
+ *
+ * Every method runs in its own transaction (REQUIRES_NEW): the S3 object is
+ * written or reused immediately, so its reference must be recorded whether
+ * or not the calling content transaction later commits. A rolled-back
+ * caller therefore leaves at most an over-counted blob (object kept), never
+ * an under-counted one (object deleted while still in use).
+ *
+ * The exception is {@link #releaseAllInTransaction}, which the media outbox
+ * uses to release references and hand the keys on in one commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaBlobService {
+
+    private final MediaBlobRepository mediaBlobRepository;
+
+    /**
+     * If a blob with this hash already exists, take a reference on it and
+     * return it — the caller can skip the PUT.
+     *
+     * The row is locked first: a release that got there earlier has either
+     * deleted it, so this is a miss and the caller uploads a fresh copy, or
+     * waits and sees the new reference.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<MediaBlob> retainExisting(String sha256) {
+        Optional<MediaBlob> existing = mediaBlobRepository.findBySha256ForUpdate(sha256);
+        existing.ifPresent(blob -> {
+            blob.setRefCount(blob.getRefCount() + 1);
+            blob.setLastReferencedAt(LocalDateTime.now());
+            log.info("♻️ Reusing stored blob: sha256={}, key={}", sha256, blob.getS3Key());
+        });
+        return existing;
+    }
+
+    /**
+     * Record a freshly uploaded object with one reference. Fails with a
+     * DataIntegrityViolationException if another request registered the same
+     * hash first; the caller then falls back to {@link #retainExisting}.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public MediaBlob register(String sha256, String s3Key, long sizeBytes, String contentType) {
+        return mediaBlobRepository.saveAndFlush(MediaBlob.builder()
+                .sha256(sha256)
+                .s3Key(s3Key)
+                .sizeBytes(sizeBytes)
+                .contentType(contentType)
+                .refCount(1)
+                .build());
+    }
+
+    /**
+     * Drop one reference to the object stored under {@code s3Key}.
+     *
+     * @return true when the object may be deleted from S3 — either the last
+     *         reference is gone or the key predates content addressing
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(String s3Key) {
+        Optional<MediaBlob> found = mediaBlobRepository.findByS3KeyForUpdate(s3Key);
+        if (found.isEmpty()) return true;
+
+        MediaBlob blob = found.get();
+        if (blob.getRefCount() <= 1) {
+            mediaBlobRepository.delete(blob);
+            return true;
+        }
+        blob.setRefCount(blob.getRefCount() - 1);
+        log.info("🔗 Blob still referenced: key={}, refCount={}", s3Key, blob.getRefCount());
+        return false;
+    }
+
+    /**
+     * Drop one reference on each of {@code s3Keys} in a single transaction.
+     *
+     * @return the keys whose objects may now be deleted from S3 (same rule as
+     *         {@link #release})
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<String> releaseAll(Collection<String> s3Keys) {
+        return releaseKeys(s3Keys);
+    }
+
+    /**
+     * {@link #releaseAll} in the caller's transaction, which must exist: the
+     * caller records what to do with the returned keys in the same commit,
+     * so a rollback undoes the release as well.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<String> releaseAllInTransaction(Collection<String> s3Keys) {
+        return releaseKeys(s3Keys);
+    }
+
+    private List<String> releaseKeys(Collection<String> s3Keys) {
+        Set<String> keys = new LinkedHashSet<>(s3Keys);
+        if (keys.isEmpty()) return List.of();
+
+        Map<String, MediaBlob> indexed = mediaBlobRepository.findByS3KeyInForUpdate(keys).stream()
+                .collect(Collectors.toMap(MediaBlob::getS3Key, Function.identity(), (a, b) -> a));
+
+        List<String> deletable = new ArrayList<>(keys.size());
+        List<MediaBlob> unreferenced = new ArrayList<>();
+        for (String key : keys) {
+            MediaBlob blob = indexed.get(key);
+            if (blob == null) {
+                deletable.add(key);
+            } else if (blob.getRefCount() <= 1) {
+                unreferenced.add(blob);
+                deletable.add(key);
+            } else {
+                blob.setRefCount(blob.getRefCount() - 1);
+            }
+        }
+        mediaBlobRepository.deleteAll(unreferenced);
+
+        if (deletable.size() < keys.size()) {
+            log.info("🔗 {} of {} blob(s) still referenced, kept", keys.size() - deletable.size(), keys.size());
+        }
+        return deletable;
+    }
+
+    /**
+     * Drop the index rows of objects found unreferenced by the orphan sweep.
+     * A blob reused after {@code referencedBefore} (a new upload deduplicated
+     * onto it while the sweep ran) is kept, and so is its object.
+     *
+     * @return the keys whose objects may be deleted
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<String> forgetUnreferenced(Collection<String> s3Keys, LocalDateTime referencedBefore) {
+        Set<String> keys = new LinkedHashSet<>(s3Keys);
+        if (keys.isEmpty()) return List.of();
+
+        List<MediaBlob> stale = new ArrayList<>();
+        for (MediaBlob blob : mediaBlobRepository.findByS3KeyInForUpdate(keys)) {
+            if (blob.getLastReferencedAt() != null && blob.getLastReferencedAt().isAfter(referencedBefore)) {
+                keys.remove(blob.getS3Key());
+            } else {
+                stale.add(blob);
+            }
+        }
+        mediaBlobRepository.deleteAll(stale);
+        return new ArrayList<>(keys);
+    }
+}
@@ -0,0 +1,38 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Clears the named Spring caches for {@link MediaOutboxType#EVICT_CACHE}
+ * events. A no-op while caching is not configured.
+ */
+@Component
+@RequiredArgsConstructor
+public class MediaCacheEvictor implements MediaOutboxHandler {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    @Override
+    public Set<MediaOutboxType> types() {
+        return Set.of(MediaOutboxType.EVICT_CACHE);
+    }
+
+    @Override
+    public List<String> handle(MediaOutboxType type, List<String> cacheNames) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        if (manager == null) return List.of();
+        for (String name : cacheNames) {
+            Cache cache = manager.getCache(name);
+            if (cache != null) cache.clear();
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,138 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import ak.dev.khi_backend.khi_app.model.media.ImageVariant;
+import ak.dev.khi_backend.khi_app.repository.media.ImageVariantRepository;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * MediaDeletionService — removes the S3 objects of deleted or replaced
+ * content without holding up the request.
+ *
+ * Flow:
+ *   1. A content service calls {@link #deleteAfterCommit} with the media URLs
+ *      it dropped. The keys are written to the media outbox in the caller's
+ *      transaction, so a rolled-back change never loses files.
+ *   2. The outbox worker hands the DELETE_MEDIA event back here, inside the
+ *      transaction that also removes the event row: one blob reference is
+ *      released per key, and the keys whose last reference is gone are
+ *      queued as a DELETE_OBJECTS event. Either all three commit or none
+ *      does, so a retried DELETE_MEDIA never releases a reference twice.
+ *      Image variants generated from an object that is gone are removed in
+ *      the same commit, and their own objects queued as DELETE_MEDIA.
+ *   3. DELETE_OBJECTS goes to S3 in DeleteObjects calls of up to 1000 keys.
+ *      Deleting a key twice is harmless, so keys S3 reports as failed are
+ *      simply retried with the outbox backoff.
+ */
+@Slf4j
+@Service
+public class MediaDeletionService implements MediaOutboxHandler {
+
+    private final S3Service              s3Service;
+    private final MediaBlobService       mediaBlobService;
+    private final ImageVariantRepository imageVariantRepository;
+    private final MediaOutbox            mediaOutbox;
+
+    private final int batchSize;
+
+    public MediaDeletionService(
+            S3Service s3Service,
+            MediaBlobService mediaBlobService,
+            ImageVariantRepository imageVariantRepository,
+            MediaOutbox mediaOutbox,
+            @Value("${app.media.delete.batch-size:1000}") int batchSize
+    ) {
+        this.s3Service = s3Service;
+        this.mediaBlobService = mediaBlobService;
+        this.imageVariantRepository = imageVariantRepository;
+        this.mediaOutbox = mediaOutbox;
+        this.batchSize = Math.clamp(batchSize, 1, S3Service.MAX_DELETE_BATCH);
+    }
+
+    // ============================================================
+    // ENQUEUE
+    // ============================================================
+
+    /**
+     * Queue the objects behind {@code urls} for deletion. The DELETE_MEDIA
+     * event joins the surrounding transaction, so nothing is released or
+     * deleted unless it commits; the outbox worker does the rest. Blank and
+     * foreign URLs are ignored; returns without waiting on S3.
+     */
+    public void deleteAfterCommit(Collection<String> urls) {
+        if (urls == null || urls.isEmpty()) return;
+
+        List<String> keys = urls.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(url -> !url.isEmpty() && s3Service.isOurS3Url(url))
+                .map(s3Service::extractKeyFromUrl)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (keys.isEmpty()) return;
+
+        mediaOutbox.enqueue(MediaOutboxType.DELETE_MEDIA, keys);
+    }
+
+    // ============================================================
+    // OUTBOX HANDLER
+    // ============================================================
+
+    @Override
+    public Set<MediaOutboxType> types() {
+        return Set.of(MediaOutboxType.DELETE_MEDIA, MediaOutboxType.DELETE_OBJECTS);
+    }
+
+    @Override
+    public boolean transactional(MediaOutboxType type) {
+        return type == MediaOutboxType.DELETE_MEDIA;
+    }
+
+    @Override
+    public List<String> handle(MediaOutboxType type, List<String> keys) {
+        if (type == MediaOutboxType.DELETE_OBJECTS) {
+            return deleteInBatches(keys);
+        }
+
+        // Worker transaction: throwing rolls back the release with the event
+        List<String> deletable = mediaBlobService.releaseAllInTransaction(keys);
+        mediaOutbox.enqueue(MediaOutboxType.DELETE_OBJECTS, deletable);
+        releaseVariants(deletable);
+        return List.of();
+    }
+
+    /**
+     * Variants are recorded against the public URL their source was saved
+     * under; each one holds the blob reference its upload took.
+     */
+    private void releaseVariants(List<String> sourceKeys) {
+        if (sourceKeys.isEmpty()) return;
+
+        List<ImageVariant> variants = imageVariantRepository.findBySourceUrlIn(
+                sourceKeys.stream().map(s3Service::getPublicUrl).toList());
+        if (variants.isEmpty()) return;
+
+        imageVariantRepository.deleteAllInBatch(variants);
+        deleteAfterCommit(variants.stream().map(ImageVariant::getUrl).toList());
+        log.info("Released {} image variant(s) of {} deleted source(s)", variants.size(), sourceKeys.size());
+    }
+
+    /** @return the keys S3 did not delete */
+    private List<String> deleteInBatches(List<String> keys) {
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += batchSize) {
+            failed.addAll(s3Service.deleteObjects(keys.subList(i, Math.min(keys.size(), i + batchSize))));
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,52 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import ak.dev.khi_backend.khi_app.model.media.MediaOutboxEvent;
+import ak.dev.khi_backend.khi_app.repository.media.MediaOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * MediaOutbox — write side of the media side-effect outbox.
+ *
+ * {@link #enqueue} joins the caller's transaction, so the event commits or
+ * rolls back together with the content change. {@link MediaOutboxWorker}
+ * is nudged after commit and drains the table in the background.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaOutbox {
+
+    /** Published on enqueue; delivered to the worker once the transaction commits. */
+    public record Enqueued(MediaOutboxType type) {}
+
+    private final MediaOutboxRepository     mediaOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void enqueue(MediaOutboxType type, Collection<String> items) {
+        if (items == null) return;
+        String payload = items.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .collect(Collectors.joining("\n"));
+        if (payload.isEmpty()) return;
+
+        mediaOutboxRepository.save(MediaOutboxEvent.builder()
+                .type(type)
+                .payload(payload)
+                .build());
+        log.debug("Media outbox event queued: type={}", type);
+        eventPublisher.publishEvent(new Enqueued(type));
+    }
+}
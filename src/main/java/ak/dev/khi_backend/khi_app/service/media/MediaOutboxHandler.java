@@ -0,0 +1,30 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Executes {@link MediaOutboxType} events for {@link MediaOutboxWorker}.
+ * Handlers must be idempotent: an event is retried until it succeeds.
+ */
+public interface MediaOutboxHandler {
+
+    Set<MediaOutboxType> types();
+
+    /**
+     * @return the items that still have to be retried; empty when done.
+     *         Throwing retries the whole event.
+     */
+    List<String> handle(MediaOutboxType type, List<String> items) throws Exception;
+
+    /**
+     * True when {@code handle} for this type only writes to the database. The
+     * worker then runs it in one transaction with the removal (or reschedule)
+     * of the event row, so a retry never repeats work that already committed.
+     */
+    default boolean transactional(MediaOutboxType type) {
+        return false;
+    }
+}
@@ -0,0 +1,243 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import ak.dev.khi_backend.khi_app.model.media.MediaOutboxEvent;
+import ak.dev.khi_backend.khi_app.repository.media.MediaOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * MediaOutboxWorker — drains {@code media_outbox} in the background.
+ *
+ * Flow:
+ *   1. Woken right after a transaction that enqueued something commits, and
+ *      by a fixed-delay poll (picks up retries and other instances' work).
+ *   2. Claims a batch of due rows under a row lock (skipping rows another
+ *      instance is claiming), leasing them by moving {@code availableAt}
+ *      forward — a crashed worker's rows come back when the lease expires.
+ *   3. Runs each event through its {@link MediaOutboxHandler}. Done events
+ *      are deleted; leftovers are rescheduled with exponential backoff and
+ *      marked failed after {@code max-attempts}. Handlers that only write
+ *      to the database run in the same transaction as that delete or
+ *      reschedule, against the re-locked row; a row that is gone or was
+ *      claimed again since is left to whoever holds it now.
+ *
+ * A single thread per instance; content requests never wait on it.
+ */
+@Slf4j
+@Service
+public class MediaOutboxWorker {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MediaOutboxRepository mediaOutboxRepository;
+    private final TransactionTemplate   transactionTemplate;
+    private final Map<MediaOutboxType, MediaOutboxHandler> handlers = new EnumMap<>(MediaOutboxType.class);
+
+    private final int      batchSize;
+    private final int      maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    private final ExecutorService executor;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    public MediaOutboxWorker(
+            MediaOutboxRepository mediaOutboxRepository,
+            TransactionTemplate transactionTemplate,
+            List<MediaOutboxHandler> handlers,
+            @Value("${app.media.outbox.batch-size:50}") int batchSize,
+            @Value("${app.media.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.media.outbox.retry-backoff:PT10S}") Duration retryBackoff,
+            @Value("${app.media.outbox.max-backoff:PT30M}") Duration maxBackoff,
+            @Value("${app.media.outbox.lease:PT5M}") Duration lease
+    ) {
+        this.mediaOutboxRepository = mediaOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        handlers.forEach(h -> h.types().forEach(type -> this.handlers.put(type, h)));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "media-outbox");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    // ============================================================
+    // TRIGGERS
+    // ============================================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnqueued(MediaOutbox.Enqueued event) {
+        wakeUp();
+    }
+
+    @Scheduled(fixedDelayString = "${app.media.outbox.poll-interval:PT5S}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /** Coalesces wake-ups: at most one drain queued behind the running one. */
+    private void wakeUp() {
+        if (!wakeUpPending.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                try {
+                    drain();
+                } catch (Exception e) {
+                    log.error("Media outbox drain failed: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            wakeUpPending.set(false); // shutting down
+        }
+    }
+
+    // ============================================================
+    // DRAIN
+    // ============================================================
+
+    /** @return number of events handled (successfully or not) */
+    int drain() {
+        int handled = 0;
+        while (true) {
+            List<MediaOutboxEvent> batch = claim();
+            for (MediaOutboxEvent event : batch) {
+                process(event);
+            }
+            handled += batch.size();
+            if (batch.size() < batchSize) return handled;
+        }
+    }
+
+    private List<MediaOutboxEvent> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<MediaOutboxEvent> due =
+                    mediaOutboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            for (MediaOutboxEvent event : due) {
+                event.setAvailableAt(now.plus(lease));
+                event.setAttempts(event.getAttempts() + 1);
+            }
+            return due;
+        });
+    }
+
+    private void process(MediaOutboxEvent event) {
+        List<String> items = event.getPayload().lines().toList();
+        MediaOutboxHandler handler = handlers.get(event.getType());
+        if (handler != null && handler.transactional(event.getType())) {
+            processInTransaction(event, handler, items);
+            return;
+        }
+
+        List<String> retry;
+        String error = null;
+        if (handler == null) {
+            retry = items;
+            error = "No handler for " + event.getType();
+        } else {
+            try {
+                retry = handler.handle(event.getType(), items);
+            } catch (Exception e) {
+                retry = items;
+                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+        }
+
+        if (retry.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> mediaOutboxRepository.deleteById(event.getId()));
+            return;
+        }
+        reschedule(event, retry, error != null ? error : retry.size() + " item(s) not completed");
+    }
+
+    private void processInTransaction(MediaOutboxEvent event, MediaOutboxHandler handler, List<String> items) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                MediaOutboxEvent locked = mediaOutboxRepository.findByIdForUpdate(event.getId())
+                        .filter(row -> row.getAttempts() == event.getAttempts())
+                        .orElse(null);
+                if (locked == null) return;
+
+                List<String> retry;
+                try {
+                    retry = handler.handle(event.getType(), items);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CheckedHandlerFailure(e);
+                }
+                if (retry.isEmpty()) {
+                    mediaOutboxRepository.delete(locked);
+                } else {
+                    markForRetry(locked, retry, retry.size() + " item(s) not completed");
+                }
+            });
+        } catch (RuntimeException e) {
+            // The handler's writes rolled back with it: retry the event as it was claimed
+            Throwable cause = e instanceof CheckedHandlerFailure ? e.getCause() : e;
+            reschedule(event, items, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+        }
+    }
+
+    private void reschedule(MediaOutboxEvent event, List<String> retry, String error) {
+        markForRetry(event, retry, error);
+        transactionTemplate.executeWithoutResult(status -> mediaOutboxRepository.save(event));
+    }
+
+    private void markForRetry(MediaOutboxEvent event, List<String> retry, String error) {
+        event.setPayload(String.join("\n", retry));
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (event.getAttempts() >= maxAttempts) {
+            event.setFailed(true);
+            log.error("Media outbox event {} ({}) failed permanently after {} attempts: {}",
+                    event.getId(), event.getType(), event.getAttempts(), error);
+        } else {
+            event.setAvailableAt(LocalDateTime.now().plus(backoff(event.getAttempts())));
+            log.warn("Media outbox event {} ({}) will be retried, attempt {}: {}",
+                    event.getId(), event.getType(), event.getAttempts(), error);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration d = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return d.compareTo(maxBackoff) > 0 ? maxBackoff : d;
+    }
+
+    /** Carries a checked handler exception out of the transaction callback. */
+    private static final class CheckedHandlerFailure extends RuntimeException {
+        CheckedHandlerFailure(Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * MediaReferenceTables — which schema columns can hold a reference to a
+ * stored object, i.e. what keeps a file alive in {@link OrphanedMediaCollector}.
+ *
+ * Any text column of a content table counts. Bookkeeping tables do not: the
+ * blob index names every key, the outbox and upload sessions hold keys that
+ * are being deleted or were never attached, image variants live as long as
+ * their source, and imports only echo the rows they created. Audit trails and
+ * their monthly partitions keep the URLs of replaced files, so they do not
+ * count either.
+ */
+final class MediaReferenceTables {
+
+    private static final Set<String> BOOKKEEPING_TABLES = Set.of(
+            "media_blobs", "media_outbox", "upload_sessions", "image_variants",
+            "import_jobs", "import_row_errors", "writing_book_texts");
+    /** {@code project_log}, {@code news_audit_logs}, {@code video_logs_p2026_01}, ... */
+    private static final Pattern AUDIT_TABLE = Pattern.compile(".*_logs?(_.*)?");
+    private static final Set<String> TEXT_TYPES =
+            Set.of("TEXT", "CHARACTER VARYING", "VARCHAR", "CHARACTER LARGE OBJECT", "CLOB");
+
+    private MediaReferenceTables() {}
+
+    static boolean isContentTable(String table) {
+        String name = table.toLowerCase(Locale.ROOT);
+        return !BOOKKEEPING_TABLES.contains(name) && !AUDIT_TABLE.matcher(name).matches();
+    }
+
+    /** {@code information_schema.columns.data_type} of a column that can hold a URL or HTML. */
+    static boolean isTextType(String dataType) {
+        return dataType != null && TEXT_TYPES.contains(dataType.toUpperCase(Locale.ROOT));
+    }
+}
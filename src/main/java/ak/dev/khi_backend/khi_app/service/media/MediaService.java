@@ -83,7 +83,7 @@ public class MediaService {
         }
     }
 
-    private ProjectMediaType resolveMediaType(String hint) {
+    static ProjectMediaType resolveMediaType(String hint) {
         if (hint == null || hint.isBlank()) return null;
         return switch (hint.toLowerCase().trim()) {
             case "image", "gallery" -> ProjectMediaType.IMAGE;
@@ -0,0 +1,167 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.exceptions.Errors;
+import ak.dev.khi_backend.khi_app.service.storage.StorageProvider;
+import ak.dev.khi_backend.khi_app.service.storage.StoredObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MediaStreamService — serves audio and video objects in byte ranges, so a
+ * player seeking in a long recording costs one small ranged read instead of
+ * a full download.
+ *
+ * Flow:
+ *   1. {@link #open} checks the key is a streamable audio/video object,
+ *      reads its size and modification time (HEAD, or a file stat) and,
+ *      unless staff is previewing an upload, that saved content refers to
+ *      it ({@link PublishedMediaIndex}).
+ *   2. {@link #select} applies {@code Range} / {@code If-Range} and returns
+ *      the span to send.
+ *   3. {@link #write} copies exactly that span from the storage backend to
+ *      the response through one fixed-size buffer ({@code transferTo} for
+ *      the file-system backend).
+ *
+ * Objects are never overwritten (keys carry a UUID), so the size and
+ * timestamp make a strong validator and responses are cacheable for good.
+ */
+@Slf4j
+@Service
+public class MediaStreamService {
+
+    /** Folders under {@code base-folder} that may be streamed. */
+    private static final List<String> STREAMABLE_FOLDERS = List.of("audio", "video");
+
+    /** {@code published} is false only for a staff preview of an object no content refers to yet. */
+    public record MediaStream(String key, long size, Instant lastModified, String eTag, MediaType contentType,
+                              boolean published) {}
+
+    /** Inclusive byte span; {@code partial} is false when the whole object is sent. */
+    public record Span(long start, long length, boolean partial) {
+        public long end() {
+            return start + length - 1;
+        }
+    }
+
+    private final StorageProvider     storage;
+    private final PublishedMediaIndex publishedMedia;
+    private final String              baseFolder;
+    private final int                 bufferSize;
+
+    public MediaStreamService(
+            StorageProvider storage,
+            PublishedMediaIndex publishedMedia,
+            @Value("${aws.s3.base-folder:khi-web-folders}") String baseFolder,
+            @Value("${app.media.stream.buffer-size:64KB}") DataSize bufferSize
+    ) {
+        this.storage = storage;
+        this.publishedMedia = publishedMedia;
+        this.baseFolder = baseFolder;
+        this.bufferSize = (int) Math.clamp(bufferSize.toBytes(), 4096L, 8L << 20);
+    }
+
+    // ============================================================
+    // LOOKUP
+    // ============================================================
+
+    /**
+     * @param preview whether the caller may stream uploads no content refers
+     *                to yet; anyone else gets 404 for them, as for a missing key
+     */
+    public MediaStream open(String key, boolean preview) {
+        if (!isStreamable(key)) {
+            throw Errors.notFound("media.stream.not_found");
+        }
+        StoredObject object = storage.stat(key)
+                .orElseThrow(() -> Errors.notFound("media.stream.not_found"));
+        boolean published = publishedMedia.isPublished(key);
+        if (!published && !preview) {
+            throw Errors.notFound("media.stream.not_found");
+        }
+
+        Instant lastModified = object.lastModified() != null ? object.lastModified() : Instant.EPOCH;
+        String eTag = "\"" + Long.toHexString(object.size()) + "-" + Long.toHexString(lastModified.toEpochMilli()) + "\"";
+        MediaType contentType = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return new MediaStream(key, object.size(), lastModified, eTag, contentType, published);
+    }
+
+    private boolean isStreamable(String key) {
+        if (key == null || key.isBlank() || key.contains("..") || key.contains("//")) return false;
+        return STREAMABLE_FOLDERS.stream().anyMatch(folder -> key.startsWith(baseFolder + "/" + folder + "/"));
+    }
+
+    // ============================================================
+    // RANGES
+    // ============================================================
+
+    /**
+     * Resolve the span to send. A missing, malformed or multi-range
+     * {@code Range}, or an {@code If-Range} that no longer matches, selects
+     * the whole object.
+     *
+     * @return empty when the range cannot be satisfied (416)
+     */
+    public Optional<Span> select(MediaStream media, String rangeHeader, String ifRange) {
+        Span whole = new Span(0, media.size(), false);
+        if (rangeHeader == null || rangeHeader.isBlank() || !ifRangeMatches(media, ifRange)) {
+            return Optional.of(whole);
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return Optional.of(whole);
+        }
+        if (ranges.size() != 1) return Optional.of(whole);
+
+        long start;
+        long end;
+        try {
+            start = ranges.getFirst().getRangeStart(media.size());
+            end = ranges.getFirst().getRangeEnd(media.size());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (start >= media.size() || start > end) return Optional.empty();
+        return Optional.of(new Span(start, end - start + 1, true));
+    }
+
+    private static boolean ifRangeMatches(MediaStream media, String ifRange) {
+        if (ifRange == null || ifRange.isBlank()) return true;
+        String value = ifRange.trim();
+        if (value.startsWith("\"")) return value.equals(media.eTag());
+        if (value.startsWith("W/")) return false; // weak validators never match If-Range
+        try {
+            Instant date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.getEpochSecond() == media.lastModified().getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    // ============================================================
+    // BODY
+    // ============================================================
+
+    public void write(MediaStream media, Span span, OutputStream out) throws IOException {
+        long written = storage.copyRange(media.key(), span.start(), span.length(), out, bufferSize);
+        if (written != span.length()) {
+            log.warn("⚠️ Short media stream: key={}, expected={}, written={}", media.key(), span.length(), written);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.OrphanSweepReport;
+import ak.dev.khi_backend.khi_app.exceptions.Errors;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * OrphanedMediaCollector — reconciles the S3 bucket against the database
+ * and removes objects nothing points at any more (replaced album files,
+ * deleted writings/projects, abandoned Tiptap uploads, ...).
+ *
+ * Flow:
+ *   1. Every text column of the content tables is streamed (only values
+ *      containing {@code <base-folder>/}) and every S3 key found in it —
+ *      plain URL columns and Tiptap HTML alike — goes into a
+ *      {@link ReferencedKeySet}. Scanning the schema instead of a hand-kept
+ *      list means a new content table can never have its media swept by
+ *      mistake. Bookkeeping and audit tables are skipped
+ *      ({@link MediaReferenceTables}): a file replaced or never attached is
+ *      still named there. An image variant is referenced while its source
+ *      is.
+ *   2. The bucket is listed under {@code <base-folder>/} page by page.
+ *      Objects that are unreferenced and older than the grace period are
+ *      orphans; the grace period covers uploads whose content row is not
+ *      saved yet.
+ *   3. Unless dry-run, orphans are deleted in DeleteObjects batches, after
+ *      dropping their blob index rows. A blob that was deduplicated onto
+ *      while the sweep ran is kept.
+ *
+ * The scheduled run is disabled unless {@code app.media.gc.cron} is set and
+ * reports only while {@code app.media.gc.dry-run} is true.
+ */
+@Slf4j
+@Service
+public class OrphanedMediaCollector {
+
+    private static final int FETCH_SIZE = 500;
+    private static final int SAMPLE_SIZE = 100;
+
+    private final S3Service           s3Service;
+    private final MediaBlobService    mediaBlobService;
+    private final JdbcTemplate        jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Duration gracePeriod;
+    private final boolean  scheduledDryRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OrphanedMediaCollector(
+            S3Service s3Service,
+            MediaBlobService mediaBlobService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.media.gc.grace-period:P7D}") Duration gracePeriod,
+            @Value("${app.media.gc.dry-run:true}") boolean scheduledDryRun
+    ) {
+        this.s3Service = s3Service;
+        this.mediaBlobService = mediaBlobService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.gracePeriod = gracePeriod;
+        this.scheduledDryRun = scheduledDryRun;
+
+        // PostgreSQL only honours the fetch size (cursor) inside a transaction
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${app.media.gc.cron:-}")
+    public void scheduledSweep() {
+        try {
+            sweep(scheduledDryRun);
+        } catch (Exception e) {
+            log.error("Scheduled orphan sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run one sweep. Only one sweep runs at a time per instance.
+     */
+    public OrphanSweepReport sweep(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw Errors.conflict("media.gc.running");
+        }
+        try {
+            return doSweep(dryRun);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private OrphanSweepReport doSweep(boolean dryRun) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long t0 = System.nanoTime();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+
+        References referenced = readOnlyTx.execute(status -> {
+            String needle = s3Service.getBaseFolder() + "/";
+            ReferencedKeySet content = collectReferences(needle);
+            return new References(content, collectVariantReferences(needle, content));
+        });
+
+        Sweep sweep = new Sweep(dryRun, startedAt);
+        s3Service.forEachObject(obj -> {
+            sweep.scanned++;
+            if (referenced.contains(obj.key())) return;
+            if (obj.lastModified() != null && obj.lastModified().isAfter(cutoff)) {
+                sweep.recent++;
+                return;
+            }
+            sweep.orphan(obj.key(), obj.size());
+        });
+        sweep.flush();
+
+        OrphanSweepReport report = OrphanSweepReport.builder()
+                .dryRun(dryRun)
+                .startedAt(startedAt)
+                .durationMs((System.nanoTime() - t0) / 1_000_000)
+                .referencedKeys(referenced.size())
+                .scannedObjects(sweep.scanned)
+                .skippedWithinGracePeriod(sweep.recent)
+                .orphanedObjects(sweep.orphaned)
+                .orphanedBytes(sweep.orphanedBytes)
+                .deletedObjects(sweep.deleted)
+                .keptReusedObjects(sweep.kept)
+                .failedObjects(sweep.failed)
+                .sampleKeys(sweep.sample)
+                .build();
+
+        log.info("🧹 Orphan sweep {}: scanned={}, referenced={}, orphaned={} ({} bytes), deleted={}, failed={}, {} ms",
+                dryRun ? "(dry run)" : "", report.getScannedObjects(), report.getReferencedKeys(),
+                report.getOrphanedObjects(), report.getOrphanedBytes(), report.getDeletedObjects(),
+                report.getFailedObjects(), report.getDurationMs());
+        return report;
+    }
+
+    // ============================================================
+    // REFERENCES
+    // ============================================================
+
+    private record References(ReferencedKeySet content, ReferencedKeySet variants) {
+        boolean contains(String key) {
+            return content.contains(key) || variants.contains(key);
+        }
+
+        int size() {
+            return content.size() + variants.size();
+        }
+    }
+
+    private ReferencedKeySet collectReferences(String needle) {
+        ReferencedKeySet keys = new ReferencedKeySet();
+
+        List<String[]> columns = jdbcTemplate.query(
+                "SELECT table_name, column_name, data_type FROM information_schema.columns "
+                        + "WHERE table_schema = current_schema()",
+                (rs, i) -> new String[]{rs.getString(1), rs.getString(2), rs.getString(3)});
+
+        for (String[] column : columns) {
+            String table = column[0];
+            String name = column[1];
+            if (!MediaReferenceTables.isTextType(column[2]) || !MediaReferenceTables.isContentTable(table)) continue;
+
+            String sql = "SELECT " + quote(name) + " FROM " + quote(table)
+                    + " WHERE " + quote(name) + " LIKE ?";
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setString(1, "%" + needle + "%");
+                return ps;
+            }, rs -> {
+                extractKeys(rs.getString(1), needle, keys::add);
+            });
+        }
+        return keys.seal();
+    }
+
+    /** Keys of the variants whose source is referenced by content. */
+    private ReferencedKeySet collectVariantReferences(String needle, ReferencedKeySet content) {
+        ReferencedKeySet keys = new ReferencedKeySet();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT source_url, url FROM image_variants");
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, rs -> {
+            AtomicBoolean sourceReferenced = new AtomicBoolean();
+            extractKeys(rs.getString(1), needle, k -> {
+                if (content.contains(k)) sourceReferenced.set(true);
+            });
+            if (sourceReferenced.get()) extractKeys(rs.getString(2), needle, keys::add);
+        });
+        return keys.seal();
+    }
+
+    /**
+     * Emit every {@code <needle>...} key embedded in {@code text}. Keys are
+     * built by {@code S3Service} from {@code [A-Za-z0-9._/-]} only, so the
+     * first other character (quote, {@code ?}, whitespace, {@code <}) ends it.
+     */
+    static void extractKeys(String text, String needle, Consumer<String> out) {
+        if (text == null) return;
+        int from = 0;
+        int hit;
+        while ((hit = text.indexOf(needle, from)) >= 0) {
+            int end = hit + needle.length();
+            while (end < text.length() && isKeyChar(text.charAt(end))) end++;
+            if (end > hit + needle.length()) out.accept(text.substring(hit, end));
+            from = end;
+        }
+    }
+
+    private static boolean isKeyChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '_' || c == '-' || c == '/';
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    // ============================================================
+    // DELETION
+    // ============================================================
+
+    /** Counters plus the pending delete batch for one run. */
+    private final class Sweep {
+        final boolean dryRun;
+        final LocalDateTime startedAt;
+        final List<String> sample = new ArrayList<>();
+        final List<String> batch = new ArrayList<>();
+        long scanned, recent, orphaned, orphanedBytes, deleted, kept, failed;
+
+        Sweep(boolean dryRun, LocalDateTime startedAt) {
+            this.dryRun = dryRun;
+            this.startedAt = startedAt;
+        }
+
+        void orphan(String key, long size) {
+            orphaned++;
+            orphanedBytes += size;
+            if (sample.size() < SAMPLE_SIZE) sample.add(key);
+            if (dryRun) return;
+
+            batch.add(key);
+            if (batch.size() >= S3Service.MAX_DELETE_BATCH) flush();
+        }
+
+        void flush() {
+            if (batch.isEmpty()) return;
+            List<String> deletable = mediaBlobService.forgetUnreferenced(batch, startedAt);
+            List<String> notDeleted = s3Service.deleteObjects(deletable);
+            kept += batch.size() - deletable.size();
+            failed += notDeleted.size();
+            deleted += deletable.size() - notDeleted.size();
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.service.storage.StorageProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * PublishedMediaIndex — answers whether a stored object belongs to saved
+ * content, so anonymous streaming only reaches media the site shows.
+ *
+ * An upload exists in storage before the content row that points at it is
+ * saved, and may never be saved at all (abandoned uploads, drafts that were
+ * discarded). Its key is only as private as every place it was shown, so the
+ * stream endpoint asks here before serving it anonymously.
+ *
+ * A key is published when one of the content columns an audio or video file
+ * is saved in holds exactly its public URL — the form every upload returns.
+ * A lookup is one statement of indexed equality matches (V8), so an unknown
+ * key costs a few index probes, never a table scan. Assets the Tiptap editor
+ * inlined into HTML are matched through their blob row instead: they are
+ * uploaded while the content is saved, and their keys are recognisable.
+ *
+ * Verdicts are cached per key for {@code published-ttl}, least recently used
+ * evicted first; a key of content saved a moment ago is streamable once its
+ * "not published" verdict expires.
+ */
+@Service
+public class PublishedMediaIndex {
+
+    /** {@code table.column} pairs that hold the URL of a streamable file. */
+    private static final List<String> MEDIA_URL_COLUMNS = List.of(
+            "sound_track_files.file_url",
+            "sound_reklam_videos.video_url",
+            "videos.source_url",
+            "video_source_files.url",
+            "video_clip_items.url",
+            "video_highlight_clips.clip_url");
+    /** Marker {@link TiptapHtmlProcessor} puts into the file name of every asset it uploads. */
+    private static final String INLINE_ASSET_MARKER = "-tiptap-";
+    private static final int MAX_CACHED_KEYS = 10_000;
+
+    private static final String URL_SQL = MEDIA_URL_COLUMNS.stream()
+            .map(c -> c.split("\\."))
+            .map(c -> "SELECT 1 FROM " + c[0] + " WHERE " + c[1] + " = ?")
+            .collect(Collectors.joining(" UNION ALL "));
+    private static final String INLINE_ASSET_SQL =
+            "SELECT 1 FROM media_blobs WHERE s3_key = ? AND ref_count > 0";
+
+    private record Verdict(boolean published, long expiresAt) {}
+
+    private final JdbcTemplate    jdbcTemplate;
+    private final StorageProvider storage;
+    private final long            publishedTtlNanos;
+    private final long            unpublishedTtlNanos;
+
+    private final Map<String, Verdict> verdicts = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Verdict> eldest) {
+                    return size() > MAX_CACHED_KEYS;
+                }
+            });
+
+    public PublishedMediaIndex(
+            JdbcTemplate jdbcTemplate,
+            StorageProvider storage,
+            @Value("${app.media.stream.published-ttl:PT10M}") Duration publishedTtl,
+            @Value("${app.media.stream.unpublished-ttl:PT30S}") Duration unpublishedTtl
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.storage = storage;
+        this.publishedTtlNanos = publishedTtl.toNanos();
+        this.unpublishedTtlNanos = unpublishedTtl.toNanos();
+    }
+
+    // ============================================================
+    // LOOKUP
+    // ============================================================
+
+    public boolean isPublished(String key) {
+        long now = System.nanoTime();
+        Verdict cached = verdicts.get(key);
+        if (cached != null && now - cached.expiresAt() < 0) return cached.published();
+
+        boolean published = lookup(key);
+        verdicts.put(key, new Verdict(published, now + (published ? publishedTtlNanos : unpublishedTtlNanos)));
+        return published;
+    }
+
+    private boolean lookup(String key) {
+        if (exists(URL_SQL, MEDIA_URL_COLUMNS.size(), storage.publicUrl(key))) return true;
+        return key.contains(INLINE_ASSET_MARKER) && exists(INLINE_ASSET_SQL, 1, key);
+    }
+
+    private boolean exists(String sql, int parameters, String value) {
+        Boolean found = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setMaxRows(1);
+            for (int i = 1; i <= parameters; i++) ps.setString(i, value);
+            return ps;
+        }, (ResultSetExtractor<Boolean>) ResultSet::next);
+        return Boolean.TRUE.equals(found);
+    }
+}
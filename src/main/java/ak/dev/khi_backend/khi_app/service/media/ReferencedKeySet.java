@@ -0,0 +1,59 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import java.util.Arrays;
+
+/**
+ * ReferencedKeySet — compact membership set for S3 keys seen in the
+ * database, used by the orphan sweep.
+ *
+ * Keys are stored as 64-bit fingerprints in one sorted {@code long[]}
+ * (8 bytes per key instead of a String plus a hash-table entry). A
+ * fingerprint collision can only make an orphan look referenced, i.e. keep
+ * an object that could have been deleted — never the reverse.
+ */
+final class ReferencedKeySet {
+
+    private long[] fingerprints = new long[1024];
+    private int size;
+    private boolean sealed;
+
+    void add(String key) {
+        if (sealed) throw new IllegalStateException("set is sealed");
+        if (size == fingerprints.length) fingerprints = Arrays.copyOf(fingerprints, size * 2);
+        fingerprints[size++] = fingerprint(key);
+    }
+
+    /** Sort and drop duplicates; the set is read-only afterwards. */
+    ReferencedKeySet seal() {
+        Arrays.sort(fingerprints, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || fingerprints[i] != fingerprints[unique - 1]) fingerprints[unique++] = fingerprints[i];
+        }
+        fingerprints = Arrays.copyOf(fingerprints, unique);
+        size = unique;
+        sealed = true;
+        return this;
+    }
+
+    boolean contains(String key) {
+        if (!sealed) throw new IllegalStateException("set is not sealed");
+        return Arrays.binarySearch(fingerprints, 0, size, fingerprint(key)) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Polynomial string hash finished with the MurmurHash3 64-bit mixer. */
+    private static long fingerprint(String key) {
+        long h = 1125899906842597L;
+        for (int i = 0; i < key.length(); i++) h = 31 * h + key.charAt(i);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
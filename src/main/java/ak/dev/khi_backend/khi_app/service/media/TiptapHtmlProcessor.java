@@ -2,13 +2,29 @@ package ak.dev.khi_backend.khi_app.service.media;
 
 import ak.dev.khi_backend.khi_app.enums.project.ProjectMediaType;
 import ak.dev.khi_backend.khi_app.service.S3Service;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * TiptapHtmlProcessor — the single entry-point for ALL media (image, video,
@@ -23,7 +39,7 @@ import java.util.regex.Pattern;
  *       other downloadable file).</li>
  * </ul>
  *
- * <p>For each match it base64-decodes the payload, uploads the bytes to S3
+ * <p>For each match it stream-decodes the payload, uploads the bytes to S3
  * using the MIME-derived folder ({@code images/}, {@code video/},
  * {@code audio/}, or {@code files/}), and rewrites the attribute to point
  * at the resulting public URL. The rewritten HTML is what gets persisted —
@@ -41,92 +57,362 @@ import java.util.regex.Pattern;
  *   <li>Resilient — a malformed base64 payload or a single failed S3 upload
  *       is logged and the original attribute is left in place; the save
  *       still succeeds for the rest of the document.</li>
+ *   <li>Deduplicated — the same asset pasted several times in a document is
+ *       uploaded once and every occurrence points at the one URL. Across
+ *       fields (CKB / KMR) the S3 blob index returns the existing object.</li>
  * </ul>
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class TiptapHtmlProcessor {
 
     private final S3Service s3Service;
 
-    /**
-     * Matches {@code src="data:<mime>;base64,<payload>"} (single or double
-     * quotes) on {@code <img>}, {@code <video>}, {@code <audio>}, or
-     * {@code <source>} — covers IMAGE / VIDEO / AUDIO (voice) inline assets.
-     */
-    private static final Pattern DATA_URI_SRC = Pattern.compile(
-            "src=([\"'])data:([a-zA-Z0-9.+/-]+);base64,([A-Za-z0-9+/=\\s]+?)\\1",
-            Pattern.CASE_INSENSITIVE
-    );
+    /** Shared upload pool; {@link #perDocument} bounds one document's share of it. */
+    private final ExecutorService executor;
+    private final int perDocument;
 
-    /**
-     * Matches {@code href="data:<mime>;base64,<payload>"} — covers PDFs and
-     * any "other file" embedded as a download link by the Tiptap editor.
-     */
-    private static final Pattern DATA_URI_HREF = Pattern.compile(
-            "href=([\"'])data:([a-zA-Z0-9.+/-]+);base64,([A-Za-z0-9+/=\\s]+?)\\1",
-            Pattern.CASE_INSENSITIVE
-    );
+    public TiptapHtmlProcessor(
+            S3Service s3Service,
+            @Value("${app.tiptap.upload-threads:8}") int uploadThreads,
+            @Value("${app.tiptap.per-document-concurrency:4}") int perDocument
+    ) {
+        this.s3Service = s3Service;
+        this.perDocument = Math.max(1, perDocument);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, uploadThreads), r -> {
+            Thread t = new Thread(r, "tiptap-upload-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /** {@code data:<mime>;base64,} — everything after the MIME type is fixed. */
+    private static final String DATA_PREFIX   = "data:";
+    private static final String BASE64_MARKER = ";base64,";
 
     /**
      * Process a Tiptap HTML blob. Returns the same string with every inline
      * base64 data URI on a {@code src} or {@code href} attribute replaced
      * by the S3 public URL of the uploaded asset.
+     *
+     * <p>One left-to-right scan collects every {@code src="data:…"} /
+     * {@code href="data:…"} attribute (no regex, no backtracking). Payloads
+     * are hashed through a streaming Base64 decoder and grouped by content, so
+     * a repeated asset is uploaded once; the unique ones go to S3 in parallel,
+     * at most {@code per-document-concurrency} at a time. Neither the
+     * whitespace-stripped payload nor the decoded bytes are ever materialised,
+     * and the rewritten HTML is assembled in a single buffer.</p>
      */
     public String process(String html) {
         if (html == null || html.isBlank()) return html;
-        if (!html.contains("data:")) return html;
+        if (!html.contains(DATA_PREFIX)) return html;
 
-        String afterSrc  = rewrite(html,     DATA_URI_SRC,  "src");
-        String afterHref = rewrite(afterSrc, DATA_URI_HREF, "href");
-        return afterHref;
-    }
+        List<DataUri> found = scan(html);
+        if (found.isEmpty()) return html;
+
+        Map<DataUri, String> urls = uploadAll(html, found);
 
-    private String rewrite(String html, Pattern pattern, String attr) {
-        Matcher m = pattern.matcher(html);
-        StringBuilder out = new StringBuilder(html.length());
-        int last = 0;
         int uploaded = 0;
         int failed = 0;
+        StringBuilder out = new StringBuilder(estimateOutputLength(html, found));
+        int last = 0;
 
-        while (m.find()) {
-            out.append(html, last, m.start());
-
-            String quote   = m.group(1);
-            String mime    = m.group(2).toLowerCase();
-            String payload = m.group(3).replaceAll("\\s+", "");
+        for (DataUri uri : found) {
+            out.append(html, last, uri.attrStart());
 
-            String replacement;
-            try {
-                byte[] bytes = Base64.getDecoder().decode(payload);
-                String filename  = "tiptap-" + System.nanoTime() + "." + extensionFor(mime);
-                ProjectMediaType type = mediaTypeFor(mime);
-                String url = s3Service.upload(bytes, filename, mime, type);
-                replacement = attr + "=" + quote + url + quote;
+            String url = urls.get(uri);
+            if (url != null) {
+                out.append(uri.attr()).append('=').append(uri.quote()).append(url).append(uri.quote());
                 uploaded++;
-            } catch (IllegalArgumentException e) {
-                log.warn("Tiptap: skipping malformed base64 payload (attr={}, mime={})", attr, mime);
-                replacement = m.group(0);
-                failed++;
-            } catch (Exception e) {
-                log.error("Tiptap: failed to upload inline asset (attr={}, mime={})", attr, mime, e);
-                replacement = m.group(0);
+            } else {
+                out.append(html, uri.attrStart(), uri.end());
                 failed++;
             }
+            last = uri.end();
+        }
+        out.append(html, last, html.length());
+
+        log.info("Tiptap HTML processed: rewritten={}, unique={}, failed={}",
+                uploaded, urls.values().stream().distinct().count(), failed);
+        return out.toString();
+    }
+
+    // =========================================================================
+    // SCANNER
+    // =========================================================================
+
+    /**
+     * One inline asset: {@code attrStart..end} spans {@code src="data:…"}
+     * including the closing quote; {@code payloadStart..payloadEnd} is the raw
+     * base64 (whitespace included).
+     */
+    record DataUri(String attr, char quote, String mime,
+                   int attrStart, int payloadStart, int payloadEnd, int end,
+                   long decodedLength) {}
+
+    /**
+     * Linear scan for {@code src=QdataURI Q} / {@code href=QdataURI Q}
+     * attributes (Q = ' or "; whitespace allowed around {@code =}, the name
+     * must start after whitespace or {@code <}). Every {@code data:}
+     * occurrence is checked backwards for the attribute and then walked
+     * forward once; the scan resumes after the payload, so no character is
+     * examined more than a constant number of times.
+     */
+    static List<DataUri> scan(String html) {
+        List<DataUri> found = new ArrayList<>();
+        int from = 0;
+        int hit;
+        while ((hit = html.indexOf(DATA_PREFIX, from)) >= 0) {
+            DataUri uri = matchAt(html, hit);
+            if (uri != null) {
+                found.add(uri);
+                from = uri.end();
+            } else {
+                from = hit + DATA_PREFIX.length();
+            }
+        }
+        return found;
+    }
+
+    private static DataUri matchAt(String html, int dataStart) {
+        // ── attribute:  src=" / href = ' … before "data:" ─────────────────
+        if (dataStart < 1) return null;
+        char quote = html.charAt(dataStart - 1);
+        if (quote != '"' && quote != '\'') return null;
+        int q = skipWhitespaceBack(html, dataStart - 2);
+        if (q < 0 || html.charAt(q) != '=') return null;
+        int nameEnd = skipWhitespaceBack(html, q - 1) + 1;
 
-            out.append(replacement);
-            last = m.end();
+        String attr;
+        if (endsWithAttribute(html, nameEnd, "src")) {
+            attr = "src";
+        } else if (endsWithAttribute(html, nameEnd, "href")) {
+            attr = "href";
+        } else {
+            return null;
         }
+        int attrStart = nameEnd - attr.length();
 
-        if (last == 0) return html;
-        out.append(html, last, html.length());
+        // ── MIME type ──────────────────────────────────────────────────────
+        int p = dataStart + DATA_PREFIX.length();
+        int mimeStart = p;
+        while (p < html.length() && isMimeChar(html.charAt(p))) p++;
+        if (p == mimeStart || !html.regionMatches(true, p, BASE64_MARKER, 0, BASE64_MARKER.length())) {
+            return null;
+        }
+        String mime = html.substring(mimeStart, p).toLowerCase(Locale.ROOT);
+        p += BASE64_MARKER.length();
 
-        if (uploaded > 0 || failed > 0) {
-            log.info("Tiptap HTML processed: attr={}, uploaded={}, failed={}",
-                    attr, uploaded, failed);
+        // ── payload up to the closing quote; count bytes as we go ─────────
+        int payloadStart = p;
+        long dataChars = 0;
+        int padding = 0;
+        boolean malformed = false;
+        for (; p < html.length(); p++) {
+            char c = html.charAt(p);
+            if (c == quote) break;
+            if (isBase64Char(c)) {
+                if (padding > 0) malformed = true;     // data after '=' padding
+                dataChars++;
+            } else if (c == '=') {
+                padding++;
+            } else if (!Character.isWhitespace(c)) {
+                return null;                           // not a base64 attribute value
+            }
+        }
+        if (p >= html.length() || p == payloadStart) return null;
+
+        long rem = dataChars % 4;
+        if (padding > 2 || rem == 1 || (padding > 0 && (dataChars + padding) % 4 != 0)) malformed = true;
+        long decodedLength = malformed ? -1 : dataChars / 4 * 3 + (rem == 0 ? 0 : rem - 1);
+
+        return new DataUri(attr, quote, mime, attrStart, payloadStart, p, p + 1, decodedLength);
+    }
+
+    /** Index of the last non-whitespace character at or before {@code i}, or -1. */
+    private static int skipWhitespaceBack(String html, int i) {
+        while (i >= 0 && Character.isWhitespace(html.charAt(i))) i--;
+        return i;
+    }
+
+    /**
+     * Whether {@code name} ends at {@code end} as a whole attribute name, i.e.
+     * preceded by whitespace or the tag's {@code <} — not {@code data-src}.
+     */
+    private static boolean endsWithAttribute(String html, int end, String name) {
+        int start = end - name.length();
+        if (start < 1 || !html.regionMatches(true, start, name, 0, name.length())) return false;
+        char before = html.charAt(start - 1);
+        return before == '<' || Character.isWhitespace(before);
+    }
+
+    private static boolean isMimeChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '+' || c == '/' || c == '-';
+    }
+
+    private static boolean isBase64Char(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                || c == '+' || c == '/';
+    }
+
+    private static int estimateOutputLength(String html, List<DataUri> found) {
+        long payload = 0;
+        for (DataUri uri : found) payload += uri.payloadEnd() - uri.payloadStart();
+        // every payload shrinks to a ~150-char URL
+        return (int) Math.max(16, html.length() - payload + 256L * found.size());
+    }
+
+    // =========================================================================
+    // UPLOAD
+    // =========================================================================
+
+    /**
+     * Hash every well-formed payload, upload one copy per distinct
+     * (MIME, SHA-256) and map each occurrence to its URL. Occurrences that
+     * must stay inline are absent from the result.
+     */
+    private Map<DataUri, String> uploadAll(String html, List<DataUri> found) {
+        List<DataUri> valid = new ArrayList<>(found.size());
+        for (DataUri uri : found) {
+            if (uri.decodedLength() > 0) {
+                valid.add(uri);
+            } else {
+                log.warn("Tiptap: skipping malformed base64 payload (attr={}, mime={})", uri.attr(), uri.mime());
+            }
+        }
+        if (valid.isEmpty()) return Map.of();
+
+        Map<DataUri, String> hashes = runBounded(valid, uri -> sha256(html, uri));
+
+        Map<String, List<DataUri>> groups = new LinkedHashMap<>();
+        for (DataUri uri : valid) {
+            String hash = hashes.get(uri);
+            if (hash != null) groups.computeIfAbsent(uri.mime() + ':' + hash, k -> new ArrayList<>()).add(uri);
+        }
+
+        Map<String, String> urlByContent = runBounded(new ArrayList<>(groups.keySet()), key -> {
+            DataUri first = groups.get(key).get(0);
+            return upload(html, first, hashes.get(first));
+        });
+
+        Map<DataUri, String> urls = new HashMap<>(valid.size() * 2);
+        groups.forEach((key, uris) -> {
+            String url = urlByContent.get(key);
+            if (url != null) uris.forEach(uri -> urls.put(uri, url));
+        });
+        return urls;
+    }
+
+    /**
+     * Apply {@code task} to every item on the shared pool with at most
+     * {@link #perDocument} in flight; a single item runs on the caller.
+     * Tasks report failure by returning null, which is left out of the map.
+     */
+    private <T, R> Map<T, R> runBounded(List<T> items, Function<T, R> task) {
+        Map<T, R> results = new HashMap<>(items.size() * 2);
+        if (items.size() == 1) {
+            R r = task.apply(items.get(0));
+            if (r != null) results.put(items.get(0), r);
+            return results;
+        }
+
+        Semaphore permits = new Semaphore(perDocument);
+        List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+        try {
+            for (T item : items) {
+                permits.acquire();
+                futures.add(CompletableFuture
+                        .supplyAsync(() -> task.apply(item), executor)
+                        .whenComplete((r, e) -> permits.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            R r = futures.get(i).exceptionally(e -> null).join();
+            if (r != null) results.put(items.get(i), r);
+        }
+        return results;
+    }
+
+    /** @return hex SHA-256 of the decoded payload, or null when it cannot be decoded */
+    private static String sha256(String html, DataUri uri) {
+        try (InputStream in = decode(html, uri)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buf = new byte[16 * 1024];
+            int n;
+            while ((n = in.read(buf)) > 0) digest.update(buf, 0, n);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Tiptap: skipping undecodable payload (attr={}, mime={}): {}",
+                    uri.attr(), uri.mime(), e.getMessage());
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** @return the S3 URL, or null when the asset must stay inline */
+    private String upload(String html, DataUri uri, String sha256) {
+        try {
+            // The "tiptap-" prefix is how PublishedMediaIndex recognises inline assets
+            String filename = "tiptap-" + System.nanoTime() + "." + extensionFor(uri.mime());
+            // Re-openable: the hash is already known, S3Service only reads it to PUT
+            return s3Service.uploadHashed(() -> decode(html, uri), uri.decodedLength(), sha256,
+                    filename, uri.mime(), mediaTypeFor(uri.mime()));
+        } catch (Exception e) {
+            log.error("Tiptap: failed to upload inline asset (attr={}, mime={})", uri.attr(), uri.mime(), e);
+            return null;
+        }
+    }
+
+    private static InputStream decode(String html, DataUri uri) {
+        return Base64.getMimeDecoder().wrap(new AsciiRangeInputStream(html, uri.payloadStart(), uri.payloadEnd()));
+    }
+
+    /**
+     * Presents {@code s[start, end)} as bytes without copying it. The scanner
+     * has already guaranteed the range is base64 alphabet + whitespace, i.e.
+     * pure ASCII; the MIME decoder skips the whitespace.
+     */
+    static final class AsciiRangeInputStream extends InputStream {
+        private final String s;
+        private final int end;
+        private int pos;
+
+        AsciiRangeInputStream(String s, int start, int end) {
+            this.s = s;
+            this.pos = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() {
+            return pos < end ? s.charAt(pos++) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (pos >= end) return -1;
+            int n = Math.min(len, end - pos);
+            for (int i = 0; i < n; i++) b[off + i] = (byte) s.charAt(pos++);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return end - pos;
         }
-        return out.toString();
     }
 
     private static ProjectMediaType mediaTypeFor(String mime) {
@@ -0,0 +1,186 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.exceptions.Errors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UploadAdmissionService — bounds how much upload traffic the instance
+ * takes on at once, so a few editors uploading large files cannot fill the
+ * temp disk or the S3 uplink while public traffic suffers.
+ *
+ * Admission, in order:
+ *   1. Per-user byte budget — over it, the request is rejected at once
+ *      with 429 (the user's own uploads are what is in the way).
+ *   2. Concurrency slot — waits up to {@code queue-timeout} for one of
+ *      {@code max-concurrent} slots, else 503.
+ *   3. Global byte budget — waits for the rest of the timeout, else 503.
+ *
+ * The request's declared size (Content-Length, or the multipart request
+ * limit when unknown) is charged up front; a single request larger than a
+ * budget is charged the whole budget so it can still run alone.
+ */
+@Slf4j
+@Service
+public class UploadAdmissionService {
+
+    /** Byte budget is held in KiB so multi-GB budgets fit int permits. */
+    private static final long UNIT = 1024;
+
+    private final long     maxInFlightBytes;
+    private final long     perUserMaxBytes;
+    private final Duration queueTimeout;
+    private final Duration retryAfter;
+
+    private final Semaphore slots;
+    private final Semaphore byteBudget;
+    private final Map<String, AtomicLong> perUser = new ConcurrentHashMap<>();
+
+    private final AtomicLong    inFlightBytes    = new AtomicLong();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger waiting          = new AtomicInteger();
+    private final Counter rejectedUser;
+    private final Counter rejectedSaturated;
+
+    public UploadAdmissionService(
+            @Value("${app.upload.admission.max-concurrent:8}") int maxConcurrent,
+            @Value("${app.upload.admission.max-in-flight-bytes:4GB}") DataSize maxInFlightBytes,
+            @Value("${app.upload.admission.per-user-max-bytes:2GB}") DataSize perUserMaxBytes,
+            @Value("${app.upload.admission.queue-timeout:PT10S}") Duration queueTimeout,
+            @Value("${app.upload.admission.retry-after:PT30S}") Duration retryAfter,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this.maxInFlightBytes = Math.max(UNIT, maxInFlightBytes.toBytes());
+        this.perUserMaxBytes = Math.max(UNIT, perUserMaxBytes.toBytes());
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = retryAfter;
+        this.slots = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.byteBudget = new Semaphore(units(this.maxInFlightBytes), true);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("khi.upload.inflight.bytes", inFlightBytes, AtomicLong::get)
+                    .baseUnit("bytes")
+                    .description("Declared bytes of uploads currently admitted")
+                    .register(registry);
+            Gauge.builder("khi.upload.inflight.requests", inFlightRequests, AtomicInteger::get)
+                    .description("Uploads currently admitted")
+                    .register(registry);
+            Gauge.builder("khi.upload.waiting", waiting, AtomicInteger::get)
+                    .description("Uploads waiting for a slot or byte budget")
+                    .register(registry);
+            rejectedUser = registry.counter("khi.upload.rejected", "reason", "user_budget");
+            rejectedSaturated = registry.counter("khi.upload.rejected", "reason", "saturated");
+        } else {
+            rejectedUser = null;
+            rejectedSaturated = null;
+        }
+    }
+
+    /** Released exactly once by {@link #close()}. */
+    public final class Permit implements AutoCloseable {
+        private final String user;
+        private final long   userBytes;
+        private final int    budgetUnits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(String user, long userBytes, int budgetUnits) {
+            this.user = user;
+            this.userBytes = userBytes;
+            this.budgetUnits = budgetUnits;
+        }
+
+        @Override
+        public void close() {
+            if (!released.compareAndSet(false, true)) return;
+            byteBudget.release(budgetUnits);
+            slots.release();
+            inFlightBytes.addAndGet(-(long) budgetUnits * UNIT);
+            inFlightRequests.decrementAndGet();
+            releaseUser(user, userBytes);
+        }
+    }
+
+    // ============================================================
+    // ADMISSION
+    // ============================================================
+
+    /**
+     * Admit an upload of {@code declaredBytes} for {@code user}, waiting up
+     * to the queue timeout. Throws 429 / 503 with {@code Retry-After}.
+     */
+    public Permit admit(String user, long declaredBytes) {
+        long userBytes = Math.min(Math.max(declaredBytes, 0), perUserMaxBytes);
+        if (!reserveUser(user, userBytes)) {
+            if (rejectedUser != null) rejectedUser.increment();
+            log.warn("Upload rejected, per-user budget exhausted: user={}, bytes={}", user, declaredBytes);
+            throw Errors.uploadThrottled("upload.admission.user_busy", retryAfter,
+                    Map.of("perUserMaxBytes", perUserMaxBytes));
+        }
+
+        int budgetUnits = Math.min(units(Math.max(declaredBytes, 0)), units(maxInFlightBytes));
+        long deadline = System.nanoTime() + queueTimeout.toNanos();
+        boolean slot = false;
+        waiting.incrementAndGet();
+        try {
+            slot = slots.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (slot && byteBudget.tryAcquire(budgetUnits, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                inFlightBytes.addAndGet((long) budgetUnits * UNIT);
+                inFlightRequests.incrementAndGet();
+                return new Permit(user, userBytes, budgetUnits);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        if (slot) slots.release();
+        releaseUser(user, userBytes);
+        if (rejectedSaturated != null) rejectedSaturated.increment();
+        log.warn("Upload rejected, capacity saturated: user={}, bytes={}, inFlightBytes={}, inFlight={}",
+                user, declaredBytes, inFlightBytes.get(), inFlightRequests.get());
+        throw Errors.uploadSaturated("upload.admission.saturated", retryAfter, Map.of());
+    }
+
+    public long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    // ============================================================
+    // PER-USER BUDGET
+    // ============================================================
+
+    private boolean reserveUser(String user, long bytes) {
+        AtomicLong used = perUser.computeIfAbsent(user, u -> new AtomicLong());
+        while (true) {
+            long current = used.get();
+            // A user with nothing in flight is always let through to the queue
+            if (current > 0 && current + bytes > perUserMaxBytes) return false;
+            if (used.compareAndSet(current, current + bytes)) return true;
+        }
+    }
+
+    private void releaseUser(String user, long bytes) {
+        perUser.computeIfPresent(user, (u, used) -> used.addAndGet(-bytes) <= 0 ? null : used);
+    }
+
+    private static int units(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, (bytes + UNIT - 1) / UNIT);
+    }
+}
@@ -7,11 +7,13 @@ import ak.dev.khi_backend.khi_app.exceptions.BadRequestException;
 import ak.dev.khi_backend.khi_app.exceptions.Errors;
 import ak.dev.khi_backend.khi_app.model.media.MediaItem;
 import ak.dev.khi_backend.khi_app.model.news.*;
-import ak.dev.khi_backend.khi_app.repository.news.NewsAuditLogRepository;
 import ak.dev.khi_backend.khi_app.repository.news.NewsCategoryRepository;
 import ak.dev.khi_backend.khi_app.repository.news.NewsRepository;
 import ak.dev.khi_backend.khi_app.repository.news.NewsSubCategoryRepository;
+import ak.dev.khi_backend.khi_app.service.media.ImageDerivativeService;
+import ak.dev.khi_backend.khi_app.service.media.MediaDeletionService;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -44,9 +46,11 @@ public class NewsService {
     private final NewsRepository            newsRepository;
     private final NewsCategoryRepository    newsCategoryRepository;
     private final NewsSubCategoryRepository newsSubCategoryRepository;
-    private final NewsAuditLogRepository    newsAuditLogRepository;
+    private final AuditLogWriter            auditLogWriter;
     private final TransactionTemplate       transactionTemplate;
     private final TiptapHtmlProcessor       tiptapHtmlProcessor;
+    private final ImageDerivativeService    imageDerivativeService;
+    private final MediaDeletionService      mediaDeletionService;
 
 
     // ============================================================
@@ -72,6 +76,7 @@ public class NewsService {
             return persisted;
         });
 
+        requestCoverDerivatives(List.of(saved));
         return toDto(saved);
     }
 
@@ -99,7 +104,7 @@ public class NewsService {
                 entities.add(news);
             }
             List<News> out = newsRepository.saveAll(entities);
-            newsAuditLogRepository.saveAll(
+            auditLogWriter.recordAll(
                     out.stream()
                             .map(n -> buildAuditLog(n, "CREATE", "News bulk created"))
                             .toList()
@@ -107,6 +112,7 @@ public class NewsService {
             return out;
         });
 
+        requestCoverDerivatives(saved);
         return saved.stream().map(this::toDto).toList();
     }
 
@@ -309,6 +315,7 @@ public class NewsService {
             return persisted;
         });
 
+        requestCoverDerivatives(List.of(updated));
         return toDto(updated);
     }
 
@@ -327,7 +334,9 @@ public class NewsService {
                 return;
             }
             createAuditLog(news, "DELETE", "News deleted");
+            List<String> media = mediaUrls(news);
             newsRepository.delete(news);
+            mediaDeletionService.deleteAfterCommit(media);
         });
     }
 
@@ -338,12 +347,14 @@ public class NewsService {
         transactionTemplate.executeWithoutResult(status -> {
             List<News> list = newsRepository.findAllById(newsIds);
             if (list.isEmpty()) return;
-            newsAuditLogRepository.saveAll(
+            auditLogWriter.recordAll(
                     list.stream()
                             .map(n -> buildAuditLog(n, "DELETE", "News bulk deleted"))
                             .toList()
             );
+            List<String> media = list.stream().flatMap(n -> mediaUrls(n).stream()).toList();
             newsRepository.deleteAll(list);
+            mediaDeletionService.deleteAfterCommit(media);
         });
     }
 
@@ -351,6 +362,34 @@ public class NewsService {
     // PRIVATE — hydration / mapping
     // ============================================================
 
+    /**
+     * Queue list-size derivatives for IMAGE covers. Called after the
+     * transaction template has committed; the worker fills
+     * coverThumbnailUrl unless an editor supplied one.
+     */
+    private void requestCoverDerivatives(List<News> saved) {
+        imageDerivativeService.requestDerivatives(saved.stream()
+                .filter(n -> n.getCoverMediaType() == null || n.getCoverMediaType() == MediaKind.IMAGE)
+                .map(News::getCoverUrl)
+                .toList());
+    }
+
+    /**
+     * Cover and gallery objects a News row owns. The cover thumbnail is left
+     * out: it may be a generated derivative shared with other rows.
+     */
+    private List<String> mediaUrls(News news) {
+        List<String> urls = new ArrayList<>();
+        urls.add(news.getCoverUrl());
+        if (news.getMediaGallery() != null) {
+            for (MediaItem item : news.getMediaGallery()) {
+                urls.add(item.getUrl());
+                urls.add(item.getThumbnailUrl());
+            }
+        }
+        return urls;
+    }
+
     private List<News> hydrateAndSort(List<Long> ids) {
         List<News> rows = newsRepository.findAllByIds(ids);
 
@@ -532,7 +571,8 @@ public class NewsService {
         }
     }
 
-    private NewsDto toDto(News news) {
+    /** Detail-endpoint shape of a loaded News; public for ArchiveExportService. */
+    public NewsDto toDto(News news) {
         NewsDto dto = NewsDto.builder()
                 .id(news.getId())
                 .coverUrl(news.getCoverUrl())
@@ -601,7 +641,7 @@ public class NewsService {
     }
 
     private void createAuditLog(News news, String action, String note) {
-        newsAuditLogRepository.save(buildAuditLog(news, action, note));
+        auditLogWriter.record(buildAuditLog(news, action, note));
     }
 
     private NewsAuditLog buildAuditLog(News news, String action, String note) {
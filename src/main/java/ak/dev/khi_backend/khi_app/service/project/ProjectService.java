@@ -1,5 +1,6 @@
 package ak.dev.khi_backend.khi_app.service.project;
 
+import ak.dev.khi_backend.khi_app.dto.project.ProjectCard;
 import ak.dev.khi_backend.khi_app.dto.project.ProjectCreateRequest;
 import ak.dev.khi_backend.khi_app.dto.project.ProjectResponse;
 import ak.dev.khi_backend.khi_app.enums.Language;
@@ -11,6 +12,7 @@ import ak.dev.khi_backend.khi_app.model.media.MediaItem;
 import ak.dev.khi_backend.khi_app.model.project.*;
 import ak.dev.khi_backend.khi_app.repository.project.*;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -48,6 +50,7 @@ public class ProjectService {
     private final ProjectTagRepository       projectTagRepository;
     private final ProjectKeywordRepository   projectKeywordRepository;
     private final ProjectLogRepository       projectLogRepository;
+    private final AuditLogWriter             auditLogWriter;
     private final PlatformTransactionManager transactionManager;
     private final TiptapHtmlProcessor        tiptapHtmlProcessor;
 
@@ -186,6 +189,16 @@ public class ProjectService {
         );
     }
 
+    /**
+     * List-page cards — a single projection query plus the count; detail
+     * views keep using {@link #getByIdResponse}.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProjectCard> getCards(int page, int size) {
+        return projectRepository.findCards(
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
+    }
+
     @Transactional(readOnly = true)
     public Page<ProjectResponse> getFeatured(int page, int size) {
         Pageable pageable = featuredPageable(page, size);
@@ -454,7 +467,7 @@ public class ProjectService {
     // ============================================================
     // toResponse
     // ============================================================
-    private ProjectResponse toResponse(Project project) {
+    public ProjectResponse toResponse(Project project) {
         ProjectResponse.ProjectContentBlockDto ckb = null;
         if (project.getCkbContent() != null) {
             ckb = ProjectResponse.ProjectContentBlockDto.builder()
@@ -524,7 +537,7 @@ public class ProjectService {
     // ============================================================
     private void auditLog(Project project, String action, String message) {
         try {
-            projectLogRepository.save(ProjectLog.builder()
+            auditLogWriter.record(ProjectLog.builder()
                     .project(project)
                     .action(action)
                     .fieldName("SUMMARY")
@@ -0,0 +1,92 @@
+package ak.dev.khi_backend.khi_app.service.publishment;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * CollectionSync — brings a managed collection to the state an update asks
+ * for by touching only the elements that differ.
+ *
+ * The update paths used to {@code clear()} and {@code addAll()}, or swap in
+ * a new set. A swapped-in set is deleted and re-inserted in full, and a
+ * cleared one is dirty even when the request repeats what is stored, which
+ * leaves the row count to Hibernate's flush-time diff. Here an unchanged
+ * collection is never written to, so it stays clean; otherwise only the
+ * removed elements are removed and the new ones added.
+ *
+ *   - {@link #sync} — tags, keywords, languages: membership by {@code equals}
+ *   - {@link #syncList} — ordered value lists, compared slot by slot
+ *   - {@link #syncChildren} — child entities the caller already matched by id
+ *     and updated in place: membership by identity, so orphan removal only
+ *     deletes the children the request dropped
+ *
+ * Each method returns whether the target changed.
+ */
+public final class CollectionSync {
+
+    private CollectionSync() {}
+
+    /** Makes {@code target} hold exactly the elements of {@code desired}; survivors keep their place. */
+    public static <E> boolean sync(Collection<E> target, Collection<? extends E> desired) {
+        Set<E> wanted = new HashSet<>(desired);
+        boolean changed = target.removeIf(e -> !wanted.contains(e));
+        for (E e : desired) {
+            if (!target.contains(e)) changed |= target.add(e);
+        }
+        return changed;
+    }
+
+    /** Makes {@code target} equal to {@code desired}, replacing only the slots that differ. */
+    public static <E> boolean syncList(List<E> target, List<? extends E> desired) {
+        return positional(target, desired, Objects::equals);
+    }
+
+    /**
+     * Makes {@code target} hold exactly the child entities in {@code desired}.
+     * Lists follow the order of {@code desired}; sets keep the survivors where
+     * they are and append the new children.
+     */
+    public static <E> boolean syncChildren(Collection<E> target, Collection<? extends E> desired) {
+        if (target instanceof List<E> list && desired instanceof List<? extends E> ordered) {
+            return positional(list, ordered, (a, b) -> a == b);
+        }
+        Set<E> wanted = identitySet(desired);
+        Set<E> present = identitySet(target);
+        boolean changed = target.removeIf(e -> !wanted.contains(e));
+        for (E e : desired) {
+            if (present.add(e)) changed |= target.add(e);
+        }
+        return changed;
+    }
+
+    private static <E> boolean positional(List<E> target, List<? extends E> desired, BiPredicate<E, E> same) {
+        boolean changed = false;
+        for (int i = 0; i < desired.size(); i++) {
+            E e = desired.get(i);
+            if (i >= target.size()) {
+                target.add(e);
+                changed = true;
+            } else if (!same.test(target.get(i), e)) {
+                target.set(i, e);
+                changed = true;
+            }
+        }
+        while (target.size() > desired.size()) {
+            target.remove(target.size() - 1);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static <E> Set<E> identitySet(Collection<? extends E> elements) {
+        Set<E> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(elements);
+        return set;
+    }
+}
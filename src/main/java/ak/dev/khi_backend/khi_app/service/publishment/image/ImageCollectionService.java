@@ -7,11 +7,15 @@ import ak.dev.khi_backend.khi_app.exceptions.NotFoundException;
 import ak.dev.khi_backend.khi_app.exceptions.Errors;
 import ak.dev.khi_backend.khi_app.model.publishment.image.*;
 import ak.dev.khi_backend.khi_app.model.publishment.topic.PublishmentTopic;
-import ak.dev.khi_backend.khi_app.repository.publishment.image.ImageCollectionLogRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.image.ImageCollectionRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.topic.PublishmentTopicRepository;
 import ak.dev.khi_backend.khi_app.service.S3Service;
+import ak.dev.khi_backend.khi_app.model.media.ImageVariant;
+import ak.dev.khi_backend.khi_app.service.media.ImageDerivativeService;
+import ak.dev.khi_backend.khi_app.service.media.ImageProbe;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
+import ak.dev.khi_backend.khi_app.service.publishment.CollectionSync;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -21,15 +25,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
+import java.awt.Dimension;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import javax.imageio.ImageIO;
 
 @Slf4j
 @Service
@@ -39,10 +41,11 @@ public class ImageCollectionService {
     private static final String TOPIC_ENTITY_TYPE = "IMAGE";
 
     private final ImageCollectionRepository    imageCollectionRepository;
-    private final ImageCollectionLogRepository imageCollectionLogRepository;
+    private final AuditLogWriter               auditLogWriter;
     private final PublishmentTopicRepository   topicRepository;
     private final S3Service                    s3Service;
     private final TiptapHtmlProcessor          tiptapHtmlProcessor;
+    private final ImageDerivativeService       imageDerivativeService;
 
     // =========================================================================
     // دروستکردن (CREATE)
@@ -98,6 +101,7 @@ public class ImageCollectionService {
                     "کۆمەڵەی وێنە دروستکرا — جۆر=" + saved.getCollectionType()
                             + (topic != null ? " بابەتid=" + topic.getId() : ""));
 
+            imageDerivativeService.requestDerivatives(imageUrlsOf(saved));
             return toResponse(saved);
 
         } catch (IOException e) {
@@ -185,8 +189,7 @@ public class ImageCollectionService {
             }
 
             if (dto.getContentLanguages() != null) {
-                entity.getContentLanguages().clear();
-                entity.getContentLanguages().addAll(safeLangs(dto.getContentLanguages()));
+                CollectionSync.sync(entity.getContentLanguages(), safeLangs(dto.getContentLanguages()));
             }
 
             applyContentForUpdate(entity, entity.getContentLanguages(),
@@ -194,37 +197,33 @@ public class ImageCollectionService {
 
             if (dto.getTags() != null) {
                 if (dto.getTags().getCkb() != null) {
-                    entity.getTagsCkb().clear();
-                    entity.getTagsCkb().addAll(cleanStrings(dto.getTags().getCkb()));
+                    CollectionSync.sync(entity.getTagsCkb(), cleanStrings(dto.getTags().getCkb()));
                 }
                 if (dto.getTags().getKmr() != null) {
-                    entity.getTagsKmr().clear();
-                    entity.getTagsKmr().addAll(cleanStrings(dto.getTags().getKmr()));
+                    CollectionSync.sync(entity.getTagsKmr(), cleanStrings(dto.getTags().getKmr()));
                 }
             }
 
             if (dto.getKeywords() != null) {
                 if (dto.getKeywords().getCkb() != null) {
-                    entity.getKeywordsCkb().clear();
-                    entity.getKeywordsCkb().addAll(cleanStrings(dto.getKeywords().getCkb()));
+                    CollectionSync.sync(entity.getKeywordsCkb(), cleanStrings(dto.getKeywords().getCkb()));
                 }
                 if (dto.getKeywords().getKmr() != null) {
-                    entity.getKeywordsKmr().clear();
-                    entity.getKeywordsKmr().addAll(cleanStrings(dto.getKeywords().getKmr()));
+                    CollectionSync.sync(entity.getKeywordsKmr(), cleanStrings(dto.getKeywords().getKmr()));
                 }
             }
 
             if (updatesAlbum) {
                 List<ImageAlbumItem> mergedItems = mergeAlbumItems(
                         entity, targetType, dto.getImageAlbum(), images);
-                entity.getImageAlbum().clear();
-                entity.getImageAlbum().addAll(mergedItems);
+                CollectionSync.syncChildren(entity.getImageAlbum(), mergedItems);
             }
 
             ImageCollection saved = imageCollectionRepository.save(entity);
             createLog(saved.getId(), titleOf(saved), "UPDATE",
                     "کۆمەڵەی وێنە نوێکرایەوە — جۆر=" + saved.getCollectionType());
 
+            imageDerivativeService.requestDerivatives(imageUrlsOf(saved));
             return toResponse(saved);
 
         } catch (IOException e) {
@@ -248,8 +247,7 @@ public class ImageCollectionService {
         }
 
         return new PageImpl<>(
-                hydrateAndSort(idPage.getContent()).stream()
-                        .map(this::toResponse).collect(Collectors.toList()),
+                toResponses(hydrateAndSort(idPage.getContent())),
                 idPage.getPageable(),
                 idPage.getTotalElements()
         );
@@ -258,7 +256,8 @@ public class ImageCollectionService {
     @Transactional(readOnly = true)
     public Page<Response> getFeatured(int page, int size) {
         Pageable pageable = featuredPageable(page, size);
-        return imageCollectionRepository.findByFeaturedTrue(pageable).map(this::toResponse);
+        Page<ImageCollection> rows = imageCollectionRepository.findByFeaturedTrue(pageable);
+        return new PageImpl<>(toResponses(rows.getContent()), rows.getPageable(), rows.getTotalElements());
     }
 
     // =========================================================================
@@ -283,8 +282,7 @@ public class ImageCollectionService {
         }
 
         return new PageImpl<>(
-                hydrateAndSort(idPage.getContent()).stream()
-                        .map(this::toResponse).collect(Collectors.toList()),
+                toResponses(hydrateAndSort(idPage.getContent())),
                 idPage.getPageable(),
                 idPage.getTotalElements()
         );
@@ -311,8 +309,7 @@ public class ImageCollectionService {
         }
 
         return new PageImpl<>(
-                hydrateAndSort(idPage.getContent()).stream()
-                        .map(this::toResponse).collect(Collectors.toList()),
+                toResponses(hydrateAndSort(idPage.getContent())),
                 idPage.getPageable(),
                 idPage.getTotalElements()
         );
@@ -339,8 +336,7 @@ public class ImageCollectionService {
         }
 
         return new PageImpl<>(
-                hydrateAndSort(idPage.getContent()).stream()
-                        .map(this::toResponse).collect(Collectors.toList()),
+                toResponses(hydrateAndSort(idPage.getContent())),
                 idPage.getPageable(),
                 idPage.getTotalElements()
         );
@@ -367,8 +363,7 @@ public class ImageCollectionService {
         }
 
         return new PageImpl<>(
-                hydrateAndSort(idPage.getContent()).stream()
-                        .map(this::toResponse).collect(Collectors.toList()),
+                toResponses(hydrateAndSort(idPage.getContent())),
                 idPage.getPageable(),
                 idPage.getTotalElements()
         );
@@ -395,8 +390,7 @@ public class ImageCollectionService {
         }
 
         return new PageImpl<>(
-                hydrateAndSort(idPage.getContent()).stream()
-                        .map(this::toResponse).collect(Collectors.toList()),
+                toResponses(hydrateAndSort(idPage.getContent())),
                 idPage.getPageable(),
                 idPage.getTotalElements()
         );
@@ -517,21 +511,22 @@ public class ImageCollectionService {
 
     /**
      * Automatically extracts image metadata (dimensions, file size, mime type).
-     * Reads bytes once and extracts metadata before upload.
+     * Dimensions come from the image header only ({@link ImageProbe}) — the
+     * raster is never decoded, so a 50 MP scan costs a few KB instead of ~200 MB.
      * Gracefully handles errors - upload continues even if extraction fails.
      */
-    private void extractAndSetImageMetadata(ImageAlbumItem item, MultipartFile file, byte[] fileBytes) {
+    private void extractAndSetImageMetadata(ImageAlbumItem item, MultipartFile file) {
         try {
             // 1. Basic metadata from MultipartFile (always available)
             item.setFileSizeBytes(file.getSize());
             item.setMimeType(file.getContentType());
 
-            // 2. Image dimensions using ImageIO
-            try (InputStream is = new ByteArrayInputStream(fileBytes)) {
-                BufferedImage img = ImageIO.read(is);
-                if (img != null) {
-                    item.setWidthPx(img.getWidth());
-                    item.setHeightPx(img.getHeight());
+            // 2. Image dimensions from the header
+            try (InputStream is = file.getInputStream()) {
+                Dimension dim = ImageProbe.probe(is);
+                if (dim != null) {
+                    item.setWidthPx(dim.width);
+                    item.setHeightPx(dim.height);
 
                     log.debug("Metadata extracted: {}x{} ({} bytes) - {}",
                             item.getWidthPx(), item.getHeightPx(),
@@ -784,6 +779,13 @@ public class ImageCollectionService {
         item.setWidthPx(null);
         item.setHeightPx(null);
         item.setMimeType(null);
+        clearThumbnail(item);
+    }
+
+    private void clearThumbnail(ImageAlbumItem item) {
+        item.setThumbnailUrl(null);
+        item.setThumbnailWidthPx(null);
+        item.setThumbnailHeightPx(null);
     }
 
     /**
@@ -793,14 +795,11 @@ public class ImageCollectionService {
             throws IOException {
 
         if (hasFile(file)) {
-            // Read bytes once ( reused for metadata extraction + upload)
-            byte[] fileBytes = file.getBytes();
+            // ─── AUTO EXTRACT METADATA HERE (header only) ─────────────────
+            extractAndSetImageMetadata(item, file);
+            clearThumbnail(item);
 
-            // ─── AUTO EXTRACT METADATA HERE ───────────────────────────────
-            extractAndSetImageMetadata(item, file, fileBytes);
-
-            // Upload using same bytes (avoid reading stream twice)
-            item.setImageUrl(s3Service.upload(fileBytes, file.getOriginalFilename(), file.getContentType()));
+            item.setImageUrl(s3Service.upload(file.getBytes(), file.getOriginalFilename(), file.getContentType()));
             item.setExternalUrl(null);
             item.setEmbedUrl(null);
             return;
@@ -946,7 +945,7 @@ public class ImageCollectionService {
     // گۆڕین بۆ Response (Entity to DTO)
     // =========================================================================
 
-    private Response toResponse(ImageCollection entity) {
+    public Response toResponse(ImageCollection entity) {
         Response.ResponseBuilder b = Response.builder()
                 .id(entity.getId())
                 .slugCkb(entity.getSlugCkb())
@@ -1016,6 +1015,9 @@ public class ImageCollectionService {
                         .mimeType(i.getMimeType())
                         .aspectRatio(i.getAspectRatio())        // transient calculated
                         .humanReadableSize(i.getHumanReadableSize()) // transient formatted
+                        .thumbnailUrl(i.getThumbnailUrl())
+                        .thumbnailWidthPx(i.getThumbnailWidthPx())
+                        .thumbnailHeightPx(i.getThumbnailHeightPx())
                         .build())
                 .collect(Collectors.toList());
         b.imageAlbum(items);
@@ -1023,6 +1025,49 @@ public class ImageCollectionService {
         return b.build();
     }
 
+    /**
+     * List-page mapping: same as {@link #toResponse} plus the list-size cover
+     * derivatives, resolved for the whole page in a single query.
+     */
+    private List<Response> toResponses(List<ImageCollection> rows) {
+        Set<String> coverUrls = new HashSet<>();
+        for (ImageCollection c : rows) {
+            if (c.getCkbCoverUrl() != null)   coverUrls.add(c.getCkbCoverUrl());
+            if (c.getKmrCoverUrl() != null)   coverUrls.add(c.getKmrCoverUrl());
+            if (c.getHoverCoverUrl() != null) coverUrls.add(c.getHoverCoverUrl());
+        }
+        Map<String, ImageVariant> variants = imageDerivativeService.listVariants(coverUrls);
+
+        List<Response> out = new ArrayList<>(rows.size());
+        for (ImageCollection c : rows) {
+            Response r = toResponse(c);
+            r.setCkbCoverThumbnailUrl(variantUrl(variants, c.getCkbCoverUrl()));
+            r.setKmrCoverThumbnailUrl(variantUrl(variants, c.getKmrCoverUrl()));
+            r.setHoverCoverThumbnailUrl(variantUrl(variants, c.getHoverCoverUrl()));
+            out.add(r);
+        }
+        return out;
+    }
+
+    private String variantUrl(Map<String, ImageVariant> variants, String sourceUrl) {
+        ImageVariant v = sourceUrl != null ? variants.get(sourceUrl) : null;
+        return v != null ? v.getUrl() : null;
+    }
+
+    /** Covers plus uploaded album images — the inputs for derivative generation. */
+    private List<String> imageUrlsOf(ImageCollection c) {
+        List<String> urls = new ArrayList<>();
+        urls.add(c.getCkbCoverUrl());
+        urls.add(c.getKmrCoverUrl());
+        urls.add(c.getHoverCoverUrl());
+        if (c.getImageAlbum() != null) {
+            for (ImageAlbumItem item : c.getImageAlbum()) {
+                if (item.getThumbnailUrl() == null) urls.add(item.getImageUrl());
+            }
+        }
+        return urls;
+    }
+
     private Pageable featuredPageable(int page, int size) {
         return PageRequest.of(
                 Math.max(page, 0),
@@ -1038,7 +1083,7 @@ public class ImageCollectionService {
 
     private void createLog(Long id, String title, String action, String details) {
         try {
-            imageCollectionLogRepository.save(ImageCollectionLog.builder()
+            auditLogWriter.record(ImageCollectionLog.builder()
                     .imageCollectionId(id)
                     .collectionTitle(title)
                     .action(action)
@@ -1,18 +1,26 @@
 package ak.dev.khi_backend.khi_app.service.publishment.sound;
 
+import ak.dev.khi_backend.khi_app.dto.publishment.sound.SoundTrackCard;
 import ak.dev.khi_backend.khi_app.dto.publishment.sound.SoundTrackDtos.*;
 import ak.dev.khi_backend.khi_app.enums.Language;
 import ak.dev.khi_backend.khi_app.enums.publishment.AttachmentType;
+import ak.dev.khi_backend.khi_app.enums.publishment.AudioChannel;
 import ak.dev.khi_backend.khi_app.enums.publishment.TrackState;
 import ak.dev.khi_backend.khi_app.exceptions.Errors;
+import ak.dev.khi_backend.khi_app.model.media.UploadSession;
 import ak.dev.khi_backend.khi_app.model.publishment.sound.*;
 import ak.dev.khi_backend.khi_app.repository.publishment.sound.SoundReklamVideoRepository;
 import ak.dev.khi_backend.khi_app.model.publishment.topic.PublishmentTopic;
-import ak.dev.khi_backend.khi_app.repository.publishment.sound.SoundTrackLogRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.sound.SoundTrackRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.topic.PublishmentTopicRepository;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor.MediaFileMeta;
 import ak.dev.khi_backend.khi_app.service.S3Service;
+import ak.dev.khi_backend.khi_app.service.media.ChunkedUploadService;
+import ak.dev.khi_backend.khi_app.service.media.MediaDeletionService;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
+import ak.dev.khi_backend.khi_app.service.publishment.CollectionSync;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -39,10 +47,13 @@ public class SoundTrackService {
 
     private final SoundTrackRepository       soundTrackRepository;
     private final SoundReklamVideoRepository soundReklamVideoRepository;
-    private final SoundTrackLogRepository    soundTrackLogRepository;
+    private final AuditLogWriter             auditLogWriter;
     private final PublishmentTopicRepository topicRepository;
     private final S3Service                  s3Service;
     private final TiptapHtmlProcessor        tiptapHtmlProcessor;
+    private final ChunkedUploadService       chunkedUploadService;
+    private final MediaMetadataExtractor     mediaMetadataExtractor;
+    private final MediaDeletionService       mediaDeletionService;
 
     // =========================================================================
     // دروستکردن (CREATE)
@@ -60,6 +71,7 @@ public class SoundTrackService {
             List<MultipartFile>  attachmentFiles
     ) {
         validateCreate(dto);
+        resolveChunkedUploads(dto.getFiles(), dto.getAttachments());
 
         try {
             String ckbCoverUrl   = resolveCoverUrl(dto.getCkbCoverUrl(), ckbCoverImage);
@@ -140,6 +152,8 @@ public class SoundTrackService {
         SoundTrack entity = soundTrackRepository.findByIdWithGraph(id)
                 .orElseThrow(() -> Errors.soundNotFound(id));
 
+        resolveChunkedUploads(dto.getFiles(), dto.getAttachments());
+
         boolean updatesFiles = dto.getFiles() != null || hasUploads(audioFiles);
         if (updatesFiles) {
             validateFileUpdate(entity, dto.getFiles(), audioFiles);
@@ -180,16 +194,14 @@ public class SoundTrackService {
 
             // ── Languages ─────────────────────────────────────────────────
             if (dto.getContentLanguages() != null) {
-                entity.getContentLanguages().clear();
-                entity.getContentLanguages().addAll(safeLangs(dto.getContentLanguages()));
+                CollectionSync.sync(entity.getContentLanguages(), safeLangs(dto.getContentLanguages()));
             }
             applyContentForUpdate(entity,
                     entity.getContentLanguages(), dto.getCkbContent(), dto.getKmrContent());
 
             // ── Locations ─────────────────────────────────────────────────
             if (dto.getLocations() != null) {
-                entity.getLocations().clear();
-                entity.getLocations().addAll(cleanStrings(dto.getLocations()));
+                CollectionSync.sync(entity.getLocations(), cleanStrings(dto.getLocations()));
             }
 
             // ── Reader (single field) ─────────────────────────────────────
@@ -199,8 +211,7 @@ public class SoundTrackService {
 
             // ── Directors ─────────────────────────────────────────────────
             if (dto.getDirectors() != null) {
-                entity.getDirectors().clear();
-                entity.getDirectors().addAll(cleanStrings(dto.getDirectors()));
+                CollectionSync.sync(entity.getDirectors(), cleanStrings(dto.getDirectors()));
             }
 
             // ── Terms ─────────────────────────────────────────────────────
@@ -213,27 +224,23 @@ public class SoundTrackService {
             // ── Tags & Keywords ───────────────────────────────────────────
             if (dto.getTags() != null) {
                 if (dto.getTags().getCkb() != null) {
-                    entity.getTagsCkb().clear();
-                    entity.getTagsCkb().addAll(cleanStrings(dto.getTags().getCkb()));
+                    CollectionSync.sync(entity.getTagsCkb(), cleanStrings(dto.getTags().getCkb()));
                 }
                 if (dto.getTags().getKmr() != null) {
-                    entity.getTagsKmr().clear();
-                    entity.getTagsKmr().addAll(cleanStrings(dto.getTags().getKmr()));
+                    CollectionSync.sync(entity.getTagsKmr(), cleanStrings(dto.getTags().getKmr()));
                 }
             }
             if (dto.getKeywords() != null) {
                 if (dto.getKeywords().getCkb() != null) {
-                    entity.getKeywordsCkb().clear();
-                    entity.getKeywordsCkb().addAll(cleanStrings(dto.getKeywords().getCkb()));
+                    CollectionSync.sync(entity.getKeywordsCkb(), cleanStrings(dto.getKeywords().getCkb()));
                 }
                 if (dto.getKeywords().getKmr() != null) {
-                    entity.getKeywordsKmr().clear();
-                    entity.getKeywordsKmr().addAll(cleanStrings(dto.getKeywords().getKmr()));
+                    CollectionSync.sync(entity.getKeywordsKmr(), cleanStrings(dto.getKeywords().getKmr()));
                 }
             }
 
             // ── Audio Files ───────────────────────────────────────────────
-            // FIX: Guard against null collection before calling .clear().
+            // FIX: Guard against null collection before syncing into it.
             // The frontend always sends a files array, so hasFileDtos is always
             // true. If the entity was persisted without any files the collection
             // may be null depending on fetch graph / lazy init state.
@@ -247,8 +254,7 @@ public class SoundTrackService {
                 }
                 Set<SoundTrackFile> mergedFiles = mergeFiles(
                         entity, dto.getFiles(), audioFiles, brochureFiles);
-                entity.getFiles().clear();
-                entity.getFiles().addAll(mergedFiles);
+                CollectionSync.syncChildren(entity.getFiles(), mergedFiles);
             }
 
             // ── Multi-Album Fields ────────────────────────────────────────
@@ -269,8 +275,7 @@ public class SoundTrackService {
                 }
                 Set<SoundTrackAttachment> mergedAttachments = mergeAttachments(
                         entity, dto.getAttachments(), attachmentFiles);
-                entity.getAttachments().clear();
-                entity.getAttachments().addAll(mergedAttachments);
+                CollectionSync.syncChildren(entity.getAttachments(), mergedAttachments);
             }
 
             SoundTrack saved = soundTrackRepository.save(entity);
@@ -297,6 +302,16 @@ public class SoundTrackService {
         return hydratePage(soundTrackRepository.findAllIds(PageRequest.of(page, size)));
     }
 
+    /**
+     * List-page cards — a single projection query plus the count; use
+     * {@link #getAll} / {@link #getById} where the full graph is needed.
+     */
+    @Transactional(readOnly = true)
+    public Page<SoundTrackCard> getCards(int page, int size) {
+        return soundTrackRepository.findCards(
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
+    }
+
     @Transactional(readOnly = true)
     public Page<Response> getFeatured(int page, int size) {
         Pageable pageable = featuredPageable(page, size);
@@ -419,7 +434,7 @@ public class SoundTrackService {
 
             SoundReklamVideo saved = soundReklamVideoRepository.save(reklamVideo);
             if (!isBlank(previousVideoUrl)) {
-                s3Service.deleteFile(previousVideoUrl);
+                mediaDeletionService.deleteAfterCommit(List.of(previousVideoUrl));
             }
 
             return toSoundReklamVideoResponse(saved);
@@ -437,7 +452,7 @@ public class SoundTrackService {
 
         soundReklamVideoRepository.delete(reklamVideo);
         if (!isBlank(videoUrl)) {
-            s3Service.deleteFile(videoUrl);
+            mediaDeletionService.deleteAfterCommit(List.of(videoUrl));
         }
     }
 
@@ -486,6 +501,50 @@ public class SoundTrackService {
         return ordered;
     }
 
+    // =========================================================================
+    // CHUNKED UPLOAD REFERENCES
+    // =========================================================================
+
+    /**
+     * Files uploaded through the resumable endpoint arrive as an uploadId in
+     * the JSON part. Resolve each one to its S3 URL and size up-front so the
+     * builders / mergers below treat it exactly like a pre-uploaded fileUrl.
+     * Technical fields the admin left blank are filled from the metadata the
+     * session probed off the spool.
+     */
+    private void resolveChunkedUploads(
+            List<FileCreateRequest> fileDtos,
+            List<AttachmentRequest> attachmentDtos
+    ) {
+        if (fileDtos != null) {
+            for (FileCreateRequest f : fileDtos) {
+                if (f == null || isBlank(f.getUploadId())) continue;
+                UploadSession upload = chunkedUploadService.consumeCompleted(f.getUploadId());
+                f.setFileUrl(upload.getFileUrl());
+                f.setExternalUrl(null);
+                f.setEmbedUrl(null);
+                f.setSizeBytes(upload.getTotalSize());
+
+                MediaFileMeta probed = ChunkedUploadService.probedMetadata(upload);
+                if (f.getDurationSeconds() == 0 && probed.getDurationSeconds() != null) {
+                    f.setDurationSeconds(probed.getDurationSeconds());
+                }
+                if (isBlank(f.getBitRate())) f.setBitRate(probed.bitrateLabel());
+                if (isBlank(f.getSampleRate())) f.setSampleRate(probed.sampleRateLabel());
+                if (f.getAudioChannel() == null) f.setAudioChannel(audioChannelOf(probed.getChannels()));
+            }
+        }
+        if (attachmentDtos != null) {
+            for (AttachmentRequest a : attachmentDtos) {
+                if (a == null || isBlank(a.getUploadId())) continue;
+                UploadSession upload = chunkedUploadService.consumeCompleted(a.getUploadId());
+                a.setFileUrl(upload.getFileUrl());
+                a.setSizeBytes(upload.getTotalSize());
+                if (isBlank(a.getMimeType())) a.setMimeType(upload.getContentType());
+            }
+        }
+    }
+
     // =========================================================================
     // FILE BUILDER
     // =========================================================================
@@ -549,6 +608,8 @@ public class SoundTrackService {
                     .recordingVenue(fDto != null ? trimOrNull(fDto.getRecordingVenue()) : null)
                     .build();
 
+            if (audioFile != null) fillFromProbe(file, probe(audioFile));
+
             owner.addFile(file);
 
             List<BrochureRequest> brochureDtos = (fDto != null && fDto.getBrochures() != null)
@@ -641,7 +702,10 @@ public class SoundTrackService {
                 file.setSoundTrack(owner);
             }
 
+            MediaFileMeta probed = null;
             if (hasFile(upload)) {
+                probed = probe(upload);
+                clearTechnicalMetadata(file);
                 file.setFileUrl(uploadFile(upload));
                 file.setExternalUrl(null);
                 file.setEmbedUrl(null);
@@ -653,11 +717,11 @@ public class SoundTrackService {
             }
 
             applyFileMetadata(file, dto, isNew, hasFile(upload));
+            if (probed != null) fillFromProbe(file, probed);
             if (dto != null && dto.getBrochures() != null) {
                 List<SoundTrackBrochure> brochures = mergeBrochures(
                         file, dto.getBrochures(), brochureFiles, brochureIndex);
-                file.getBrochures().clear();
-                file.getBrochures().addAll(brochures);
+                CollectionSync.syncChildren(file.getBrochures(), brochures);
             }
             merged.add(file);
         }
@@ -678,7 +742,7 @@ public class SoundTrackService {
         if (!hasUpload && (isNew || dto.getSizeBytes() != 0)) {
             file.setSizeBytes(dto.getSizeBytes());
         }
-        if (isNew || dto.getDurationSeconds() != 0) {
+        if (dto.getDurationSeconds() != 0) {
             file.setDurationSeconds(dto.getDurationSeconds());
         }
         if (dto.getBitRate() != null) file.setBitRate(trimOrNull(dto.getBitRate()));
@@ -691,6 +755,45 @@ public class SoundTrackService {
         }
     }
 
+    // =========================================================================
+    // TECHNICAL METADATA (probed from the uploaded audio headers)
+    // =========================================================================
+
+    private MediaFileMeta probe(MultipartFile f) {
+        MediaFileMeta meta = mediaMetadataExtractor.extract(
+                f, f.getSize(), f.getContentType(), f.getOriginalFilename());
+        return meta != null ? meta : MediaFileMeta.empty();
+    }
+
+    /** A replaced audio file must not keep the previous file's duration / rates. */
+    private void clearTechnicalMetadata(SoundTrackFile file) {
+        file.setFileFormat(null);
+        file.setDurationSeconds(0);
+        file.setBitRate(null);
+        file.setSampleRate(null);
+        file.setAudioChannel(null);
+    }
+
+    /** Fill only what the admin left blank — a value typed in the DTO wins. */
+    private void fillFromProbe(SoundTrackFile file, MediaFileMeta meta) {
+        if (file.getFileFormat() == null) file.setFileFormat(meta.getFileFormat());
+        if (file.getDurationSeconds() == 0 && meta.getDurationSeconds() != null) {
+            file.setDurationSeconds(meta.getDurationSeconds());
+        }
+        if (isBlank(file.getBitRate())) file.setBitRate(meta.bitrateLabel());
+        if (isBlank(file.getSampleRate())) file.setSampleRate(meta.sampleRateLabel());
+        if (file.getAudioChannel() == null) file.setAudioChannel(audioChannelOf(meta.getChannels()));
+    }
+
+    private AudioChannel audioChannelOf(Integer channels) {
+        if (channels == null) return null;
+        return switch (channels) {
+            case 1  -> AudioChannel.MONO;
+            case 2  -> AudioChannel.STEREO;
+            default -> null;
+        };
+    }
+
     private List<SoundTrackBrochure> mergeBrochures(
             SoundTrackFile owner,
             List<BrochureRequest> dtos,
@@ -1148,7 +1251,7 @@ public class SoundTrackService {
     // ENTITY → DTO
     // =========================================================================
 
-    private Response toResponse(SoundTrack s) {
+    public Response toResponse(SoundTrack s) {
         List<FileResponse> fileResponses = s.getFiles() == null ? List.of()
                 : new ArrayList<>(s.getFiles()).stream()
                 .map(this::toFileResponse).collect(Collectors.toList());
@@ -1255,7 +1358,7 @@ public class SoundTrackService {
 
     private void createLog(Long id, String title, String action, String details) {
         try {
-            soundTrackLogRepository.save(SoundTrackLog.builder()
+            auditLogWriter.record(SoundTrackLog.builder()
                     .soundTrackRefId(id).soundTrackTitle(title)
                     .action(action).details(details).actorName("system").build());
         } catch (Exception e) {
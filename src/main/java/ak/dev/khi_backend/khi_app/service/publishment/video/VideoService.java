@@ -1,9 +1,11 @@
 package ak.dev.khi_backend.khi_app.service.publishment.video;
 
+import ak.dev.khi_backend.khi_app.dto.publishment.video.VideoCard;
 import ak.dev.khi_backend.khi_app.dto.publishment.video.VideoDTO;
 import ak.dev.khi_backend.khi_app.dto.publishment.video.VideoMapper;
 import ak.dev.khi_backend.khi_app.exceptions.BadRequestException;
 import ak.dev.khi_backend.khi_app.exceptions.Errors;
+import ak.dev.khi_backend.khi_app.model.media.UploadSession;
 import ak.dev.khi_backend.khi_app.model.publishment.topic.PublishmentTopic;
 import ak.dev.khi_backend.khi_app.model.publishment.video.Video;
 import ak.dev.khi_backend.khi_app.model.publishment.video.VideoClipItem;
@@ -11,10 +13,14 @@ import ak.dev.khi_backend.khi_app.model.publishment.video.VideoLog;
 import ak.dev.khi_backend.khi_app.model.publishment.video.VideoSourceFile;
 import ak.dev.khi_backend.khi_app.model.publishment.video.VideoType;
 import ak.dev.khi_backend.khi_app.repository.publishment.topic.PublishmentTopicRepository;
-import ak.dev.khi_backend.khi_app.repository.publishment.video.VideoLogRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.video.VideoRepository;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor.MediaFileMeta;
 import ak.dev.khi_backend.khi_app.service.S3Service;
+import ak.dev.khi_backend.khi_app.service.media.ChunkedUploadService;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
+import ak.dev.khi_backend.khi_app.service.publishment.CollectionSync;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.*;
@@ -24,6 +30,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -66,10 +73,12 @@ public class VideoService {
     private static final String TOPIC_ENTITY_TYPE = "VIDEO";
     private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "createdAt");
     private final VideoRepository            videoRepository;
-    private final VideoLogRepository         videoLogRepository;
+    private final AuditLogWriter             auditLogWriter;
     private final PublishmentTopicRepository topicRepository;
     private final S3Service                  s3Service;
     private final TiptapHtmlProcessor        tiptapHtmlProcessor;
+    private final ChunkedUploadService       chunkedUploadService;
+    private final MediaMetadataExtractor     mediaMetadataExtractor;
 
     // ═══════════════════════════════════════════════════════════════════════════
     // بابەت - دروستکردن، خوێندنەوە، سڕینەوە
@@ -160,6 +169,7 @@ public class VideoService {
             List<MultipartFile> videoFiles
     ) {
         requireDto(dto);
+        Map<String, MediaFileMeta> probed = resolveChunkedUploads(dto);
 
         // Optional covers
         String ckbUrl = resolveCoverUrl(dto.getCkbCoverUrl(), ckbCoverImage);
@@ -187,14 +197,14 @@ public class VideoService {
         enforceAlbumRule(video, dto);
 
         if (video.getVideoType() == VideoType.FILM) {
-            applyVideoSource(video, dto, videoFiles);
+            applyVideoSource(video, dto, videoFiles, probed);
 
             if (video.getVideoClipItems() != null) {
                 video.getVideoClipItems().clear();
             }
         } else {
             clearFilmSourceFields(video);
-            buildAndAttachClipItems(video, dto, videoFiles);
+            buildAndAttachClipItems(video, dto, videoFiles, probed);
         }
 
         processTiptapHtml(video);
@@ -221,6 +231,16 @@ public class VideoService {
         return videoRepository.findAll(buildPageable(page, size)).map(VideoMapper::toDTO);
     }
 
+    /**
+     * List-page cards — a single projection query plus the count; the
+     * ordering is fixed by the query, so the pageable carries no sort.
+     */
+    @Transactional(readOnly = true)
+    public Page<VideoCard> getCards(int page, int size) {
+        return videoRepository.findCards(
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
+    }
+
     @Transactional(readOnly = true)
     public Page<VideoDTO> getFeatured(int page, int size) {
         return videoRepository.findFeaturedWithTopic(buildFeaturedPageable(page, size))
@@ -314,6 +334,7 @@ public class VideoService {
             List<MultipartFile> videoFiles
     ) {
         requireDto(dto);
+        Map<String, MediaFileMeta> probed = resolveChunkedUploads(dto);
 
         Video video = findOrThrow(id);
         VideoType targetType = dto.getVideoType() != null
@@ -348,14 +369,13 @@ public class VideoService {
 
         if (video.getVideoType() == VideoType.FILM) {
             clearClipItems(video);
-            applyVideoSourceForUpdate(video, dto, videoFiles);
+            applyVideoSourceForUpdate(video, dto, videoFiles, probed);
         } else {
             clearFilmSourceFields(video);
             if (dto.getVideoClipItems() != null) {
                 List<VideoClipItem> mergedClips = mergeClipItems(
-                        video, dto.getVideoClipItems(), videoFiles);
-                clearClipItems(video);
-                video.getVideoClipItems().addAll(mergedClips);
+                        video, dto.getVideoClipItems(), videoFiles, probed);
+                CollectionSync.syncChildren(video.getVideoClipItems(), mergedClips);
             }
         }
 
@@ -480,7 +500,8 @@ public class VideoService {
      *
      * @throws BadRequestException video.clip.source.required — کلیپ بێ سەرچاوەیە
      */
-    private void buildAndAttachClipItems(Video video, VideoDTO dto, List<MultipartFile> videoFiles) {
+    private void buildAndAttachClipItems(Video video, VideoDTO dto, List<MultipartFile> videoFiles,
+                                         Map<String, MediaFileMeta> probed) {
         if (dto == null || dto.getVideoClipItems() == null || dto.getVideoClipItems().isEmpty()) return;
 
         List<VideoDTO.VideoClipItemDTO> clipDtos = dto.getVideoClipItems();
@@ -490,7 +511,7 @@ public class VideoService {
 
             // If a file was uploaded for this index, use it; otherwise fall back to URL fields.
             MultipartFile file = (videoFiles != null && i < videoFiles.size()) ? videoFiles.get(i) : null;
-            String resolvedUrl = (file != null && !file.isEmpty()) ? uploadToS3(file) : null;
+            String resolvedUrl = (file != null && !file.isEmpty()) ? uploadProbed(file, probed) : null;
 
             boolean hasUploadedFile = resolvedUrl != null;
             if (!hasUploadedFile
@@ -516,6 +537,7 @@ public class VideoService {
                     .descriptionCkb(trimOrNull(clipDto.getDescriptionCkb()))
                     .descriptionKmr(trimOrNull(clipDto.getDescriptionKmr()))
                     .build();
+            fillClipFromProbe(item, probed.get(item.getUrl()));
 
             video.addClipItem(item);
         }
@@ -563,7 +585,8 @@ public class VideoService {
     private List<VideoClipItem> mergeClipItems(
             Video video,
             List<VideoDTO.VideoClipItemDTO> clipDtos,
-            List<MultipartFile> videoFiles
+            List<MultipartFile> videoFiles,
+            Map<String, MediaFileMeta> probed
     ) {
         Map<Long, VideoClipItem> existingById = video.getVideoClipItems().stream()
                 .filter(Objects::nonNull)
@@ -591,7 +614,7 @@ public class VideoService {
             // If a video file was uploaded for this index, it takes priority over URL fields.
             MultipartFile file = (videoFiles != null && i < videoFiles.size()) ? videoFiles.get(i) : null;
             if (file != null && !file.isEmpty()) {
-                item.setUrl(uploadToS3(file));
+                item.setUrl(uploadProbed(file, probed));
                 item.setExternalUrl(null);
                 item.setEmbedUrl(null);
             } else if (hasClipSource(dto)) {
@@ -600,6 +623,10 @@ public class VideoService {
                 item.setEmbedUrl(trimOrNull(dto.getEmbedUrl()));
             }
 
+            // A freshly uploaded file must not inherit the old file's duration / size
+            MediaFileMeta meta = probed.get(item.getUrl());
+            if (meta != null) clearClipTechnicalMetadata(item);
+
             if (dto.getClipNumber() != null) item.setClipNumber(dto.getClipNumber());
             if (dto.getDurationSeconds() != null) item.setDurationSeconds(dto.getDurationSeconds());
             if (dto.getResolution() != null) item.setResolution(trimOrNull(dto.getResolution()));
@@ -613,6 +640,7 @@ public class VideoService {
             if (dto.getDescriptionKmr() != null) {
                 item.setDescriptionKmr(trimOrNull(dto.getDescriptionKmr()));
             }
+            fillClipFromProbe(item, meta);
             merged.add(item);
         }
 
@@ -670,9 +698,11 @@ public class VideoService {
      * (the first added by default, or whichever the DTO marks). The main source
      * is mirrored onto the legacy sourceUrl/External/Embed columns.
      */
-    private void applyVideoSource(Video video, VideoDTO dto, List<MultipartFile> videoFiles) {
-        List<VideoSourceFile> sources = buildFilmSources(dto, videoFiles);
+    private void applyVideoSource(Video video, VideoDTO dto, List<MultipartFile> videoFiles,
+                                  Map<String, MediaFileMeta> probed) {
+        List<VideoSourceFile> sources = buildFilmSources(dto, videoFiles, probed);
         replaceVideoSources(video, sources);
+        applyFilmMetadata(video, dto, probed);
     }
 
     /**
@@ -681,7 +711,8 @@ public class VideoService {
      * was supplied, or a legacy source field was provided. Otherwise the existing
      * sources (and the mirror) are left untouched.
      */
-    private void applyVideoSourceForUpdate(Video video, VideoDTO dto, List<MultipartFile> videoFiles) {
+    private void applyVideoSourceForUpdate(Video video, VideoDTO dto, List<MultipartFile> videoFiles,
+                                           Map<String, MediaFileMeta> probed) {
         boolean hasUploadedFile = videoFiles != null
                 && videoFiles.stream().anyMatch(f -> f != null && !f.isEmpty());
         boolean suppliesSources = dto != null && dto.getVideoSources() != null;
@@ -691,16 +722,16 @@ public class VideoService {
 
         if (!hasUploadedFile && !suppliesSources && !touchesLegacy) return;
 
-        List<VideoSourceFile> sources = buildFilmSources(dto, videoFiles);
+        List<VideoSourceFile> sources = buildFilmSources(dto, videoFiles, probed);
         replaceVideoSources(video, sources);
+        applyFilmMetadata(video, dto, probed);
     }
 
     private void replaceVideoSources(Video video, List<VideoSourceFile> sources) {
         if (video.getVideoSources() == null) {
             video.setVideoSources(new ArrayList<>());
         }
-        video.getVideoSources().clear();
-        video.getVideoSources().addAll(sources);
+        CollectionSync.syncList(video.getVideoSources(), sources);
         syncMainSourceMirror(video);
     }
 
@@ -713,8 +744,10 @@ public class VideoService {
      *     (clearing its external/embed), or are appended when there are more files.
      *  3. Blank sources (no url + no external + no embed) are dropped.
      *  4. Exactly one source is flagged main — the DTO's chosen one, else the first.
+     *  5. Sources without a runtime take it from the probed file headers.
      */
-    private List<VideoSourceFile> buildFilmSources(VideoDTO dto, List<MultipartFile> videoFiles) {
+    private List<VideoSourceFile> buildFilmSources(VideoDTO dto, List<MultipartFile> videoFiles,
+                                                   Map<String, MediaFileMeta> probed) {
         List<VideoSourceFile> sources = new ArrayList<>();
 
         if (dto != null && dto.getVideoSources() != null && !dto.getVideoSources().isEmpty()) {
@@ -745,7 +778,7 @@ public class VideoService {
             for (int i = 0; i < videoFiles.size(); i++) {
                 MultipartFile file = videoFiles.get(i);
                 if (file == null || file.isEmpty()) continue;
-                String url = uploadToS3(file);
+                String url = uploadProbed(file, probed);
                 if (i < sources.size()) {
                     VideoSourceFile s = sources.get(i);
                     s.setUrl(url);
@@ -761,6 +794,11 @@ public class VideoService {
                 && isBlank(s.getExternalUrl())
                 && isBlank(s.getEmbedUrl()));
 
+        for (VideoSourceFile s : sources) {
+            MediaFileMeta meta = probed.get(s.getUrl());
+            if (s.getDurationSeconds() == null && meta != null) s.setDurationSeconds(meta.getDurationSeconds());
+        }
+
         normalizeMainFlag(sources);
         return sources;
     }
@@ -838,6 +876,94 @@ public class VideoService {
                 .orElseThrow(() -> Errors.videoNotFound(id));
     }
 
+    /**
+     * Clips / sources uploaded through the resumable endpoint arrive as an
+     * uploadId; swap in the stored S3 URL so the rest of the pipeline sees a
+     * plain pre-uploaded url.
+     *
+     * @return the metadata probed for each resolved URL; multipart uploads
+     *         later in the request are added to the same map
+     */
+    private Map<String, MediaFileMeta> resolveChunkedUploads(VideoDTO dto) {
+        Map<String, MediaFileMeta> probed = new HashMap<>();
+        if (dto.getVideoClipItems() != null) {
+            for (VideoDTO.VideoClipItemDTO clip : dto.getVideoClipItems()) {
+                if (clip == null || isBlank(clip.getUploadId())) continue;
+                UploadSession upload = chunkedUploadService.consumeCompleted(clip.getUploadId());
+                clip.setUrl(upload.getFileUrl());
+                clip.setExternalUrl(null);
+                clip.setEmbedUrl(null);
+                if (clip.getFileSizeMb() == null) {
+                    clip.setFileSizeMb(upload.getTotalSize() / (1024.0 * 1024.0));
+                }
+                probed.put(upload.getFileUrl(), ChunkedUploadService.probedMetadata(upload));
+            }
+        }
+        if (dto.getVideoSources() != null) {
+            for (VideoDTO.VideoSourceDTO source : dto.getVideoSources()) {
+                if (source == null || isBlank(source.getUploadId())) continue;
+                UploadSession upload = chunkedUploadService.consumeCompleted(source.getUploadId());
+                source.setUrl(upload.getFileUrl());
+                source.setExternalUrl(null);
+                source.setEmbedUrl(null);
+                probed.put(upload.getFileUrl(), ChunkedUploadService.probedMetadata(upload));
+            }
+        }
+        return probed;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // زانیاریی تەکنیکی (probed from the uploaded video headers)
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /** Upload a video file and remember what its headers say, keyed by the new URL. */
+    private String uploadProbed(MultipartFile file, Map<String, MediaFileMeta> probed) {
+        MediaFileMeta meta = mediaMetadataExtractor.extract(
+                file, file.getSize(), file.getContentType(), file.getOriginalFilename());
+        String url = uploadToS3(file);
+        probed.put(url, meta != null ? meta : MediaFileMeta.empty());
+        return url;
+    }
+
+    private void clearClipTechnicalMetadata(VideoClipItem item) {
+        item.setDurationSeconds(null);
+        item.setResolution(null);
+        item.setFileFormat(null);
+        item.setFileSizeMb(null);
+    }
+
+    /** Fill only what is still empty — a value typed in the DTO wins. */
+    private void fillClipFromProbe(VideoClipItem item, MediaFileMeta meta) {
+        if (meta == null) return;
+        if (item.getDurationSeconds() == null) item.setDurationSeconds(meta.getDurationSeconds());
+        if (item.getResolution() == null) item.setResolution(meta.resolutionLabel());
+        if (item.getFileFormat() == null) item.setFileFormat(meta.getFileFormat());
+        if (item.getFileSizeMb() == null) item.setFileSizeMb(meta.fileSizeMb());
+    }
+
+    /**
+     * The film-level technical fields describe the main source. They follow a
+     * newly uploaded main file unless the DTO sets them explicitly.
+     */
+    private void applyFilmMetadata(Video video, VideoDTO dto, Map<String, MediaFileMeta> probed) {
+        VideoSourceFile main = video.getMainSource();
+        MediaFileMeta meta = main != null ? probed.get(main.getUrl()) : null;
+        if (meta == null) return;
+
+        if (dto.getDurationSeconds() == null && meta.getDurationSeconds() != null) {
+            video.setDurationSeconds(meta.getDurationSeconds());
+        }
+        if (dto.getResolution() == null && meta.resolutionLabel() != null) {
+            video.setResolution(meta.resolutionLabel());
+        }
+        if (dto.getFileFormat() == null && meta.getFileFormat() != null) {
+            video.setFileFormat(meta.getFileFormat());
+        }
+        if (dto.getFileSizeMb() == null && meta.fileSizeMb() != null) {
+            video.setFileSizeMb(meta.fileSizeMb());
+        }
+    }
+
     /**
      * ناردنی فایل بۆ S3
      *
@@ -854,7 +980,7 @@ public class VideoService {
     }
 
     private void logAction(Long videoId, String videoTitle, String action, String details) {
-        videoLogRepository.save(VideoLog.builder()
+        auditLogWriter.record(VideoLog.builder()
                 .videoId(videoId)
                 .videoTitle(videoTitle)
                 .action(action)
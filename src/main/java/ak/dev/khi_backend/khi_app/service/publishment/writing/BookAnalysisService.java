@@ -0,0 +1,277 @@
+package ak.dev.khi_backend.khi_app.service.publishment.writing;
+
+import ak.dev.khi_backend.khi_app.enums.Language;
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import ak.dev.khi_backend.khi_app.enums.project.ProjectMediaType;
+import ak.dev.khi_backend.khi_app.exceptions.BadRequestException;
+import ak.dev.khi_backend.khi_app.model.publishment.writing.Writing;
+import ak.dev.khi_backend.khi_app.model.publishment.writing.WritingBookText;
+import ak.dev.khi_backend.khi_app.model.publishment.writing.WritingContent;
+import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingBookTextRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingRepository;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import ak.dev.khi_backend.khi_app.service.media.ImageResizer;
+import ak.dev.khi_backend.khi_app.service.media.MediaOutbox;
+import ak.dev.khi_backend.khi_app.service.media.MediaOutboxHandler;
+import ak.dev.khi_backend.khi_app.service.publishment.writing.BookFileAnalyzer.BookAnalysis;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * BookAnalysisService — fills in a book file's format, size, page count,
+ * cover and searchable text after the upload has committed, so editors no
+ * longer type them in and the upload request does not wait for parsing.
+ *
+ * Flow:
+ *   1. {@code WritingService} queues {@link MediaOutboxType#ANALYZE_BOOK}
+ *      in the transaction that stores a new book file. Item format:
+ *      {@code <writingId>|<CKB|KMR>|<attempt>|<fileUrl>}.
+ *   2. The outbox worker hands items here and each one is analyzed on the
+ *      worker's thread before {@link #handle} returns, so the event stays
+ *      leased until its analysis has been applied (or re-queued); a crash
+ *      mid-analysis leaves the event to be retried when the lease expires.
+ *   3. The file is spooled from storage to a temp file,
+ *      {@link BookFileAnalyzer} runs on it and, in one transaction, the
+ *      language block is updated, an empty cover slot gets a thumbnail of
+ *      the book's cover, and the extracted text is upserted
+ *      ({@code writing_book_texts}).
+ *
+ * Stale items (the file was replaced or the writing deleted) are dropped.
+ * Storage failures are re-queued up to {@code max-attempts}; unparseable
+ * files still get their size and format.
+ */
+@Slf4j
+@Service
+public class BookAnalysisService implements MediaOutboxHandler {
+
+    private final WritingRepository         writingRepository;
+    private final WritingBookTextRepository bookTextRepository;
+    private final S3Service                 s3Service;
+    private final MediaOutbox               mediaOutbox;
+    private final TransactionTemplate       transactionTemplate;
+
+    private final int  maxTextChars;
+    private final long maxFileBytes;
+    private final int  thumbnailWidth;
+    private final int  maxAttempts;
+
+    public BookAnalysisService(
+            WritingRepository writingRepository,
+            WritingBookTextRepository bookTextRepository,
+            S3Service s3Service,
+            MediaOutbox mediaOutbox,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.writing.analysis.max-text-chars:2000000}") int maxTextChars,
+            @Value("${app.writing.analysis.max-file-size:1GB}") DataSize maxFileSize,
+            @Value("${app.writing.analysis.thumbnail-width:480}") int thumbnailWidth,
+            @Value("${app.writing.analysis.max-attempts:5}") int maxAttempts
+    ) {
+        this.writingRepository = writingRepository;
+        this.bookTextRepository = bookTextRepository;
+        this.s3Service = s3Service;
+        this.mediaOutbox = mediaOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.maxTextChars = Math.max(0, maxTextChars);
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.thumbnailWidth = Math.max(64, thumbnailWidth);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /** Queue analysis of a freshly stored book file; joins the caller's transaction. */
+    public void requestAnalysis(Long writingId, Language language, String fileUrl) {
+        if (writingId == null || language == null || fileUrl == null || fileUrl.isBlank()) return;
+        if (!s3Service.isOurS3Url(fileUrl)) return;
+        mediaOutbox.enqueue(MediaOutboxType.ANALYZE_BOOK, List.of(item(writingId, language, 1, fileUrl)));
+    }
+
+    // ============================================================
+    // OUTBOX HANDLER
+    // ============================================================
+
+    @Override
+    public Set<MediaOutboxType> types() {
+        return Set.of(MediaOutboxType.ANALYZE_BOOK);
+    }
+
+    /**
+     * Analyzes each item before returning. Failures that are worth another
+     * try are re-queued as a new event by {@link #run}, so nothing is handed
+     * back to this one.
+     */
+    @Override
+    public List<String> handle(MediaOutboxType type, List<String> items) {
+        for (String raw : items) {
+            Item item = Item.parse(raw);
+            if (item == null) {
+                log.warn("Dropping malformed book analysis item: {}", raw);
+                continue;
+            }
+            run(item);
+        }
+        return List.of();
+    }
+
+    // ============================================================
+    // ANALYSIS
+    // ============================================================
+
+    private void run(Item item) {
+        if (!isCurrent(item)) {
+            log.debug("Skipping stale book analysis: {}", item);
+            return;
+        }
+
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile("book-", suffix(item.fileUrl()));
+            long size = s3Service.downloadTo(item.fileUrl(), spooled);
+
+            BookAnalysis analysis = size > maxFileBytes
+                    ? new BookAnalysis(BookFileAnalyzer.detectFormat(spooled, item.fileUrl()), size, null, null, null, false)
+                    : BookFileAnalyzer.analyze(spooled, item.fileUrl(), maxTextChars);
+            String coverUrl = needsCover(item) ? uploadThumbnail(analysis.coverImage(), item) : null;
+
+            boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> apply(item, analysis, coverUrl)));
+            if (!applied && coverUrl != null) {
+                s3Service.deleteFile(coverUrl);
+            }
+            log.info("Analyzed book file: writingId={}, language={}, format={}, pages={}, textChars={}",
+                    item.writingId(), item.language(), analysis.format(), analysis.pageCount(),
+                    analysis.text() != null ? analysis.text().length() : 0);
+        } catch (BadRequestException | IOException e) {
+            retryLater(item, e);
+        } catch (RuntimeException e) {
+            log.error("Book analysis failed: {}", item, e);
+        } finally {
+            if (spooled != null) {
+                try {
+                    Files.deleteIfExists(spooled);
+                } catch (IOException e) {
+                    log.warn("Could not delete spooled book file {}", spooled);
+                }
+            }
+        }
+    }
+
+    private boolean isCurrent(Item item) {
+        Boolean current = transactionTemplate.execute(status -> writingRepository.findById(item.writingId())
+                .map(w -> content(w, item.language()))
+                .map(c -> item.fileUrl().equals(c.getFileUrl()))
+                .orElse(false));
+        return Boolean.TRUE.equals(current);
+    }
+
+    private boolean needsCover(Item item) {
+        Boolean missing = transactionTemplate.execute(status -> writingRepository.findById(item.writingId())
+                .map(w -> isBlank(coverOf(w, item.language())))
+                .orElse(false));
+        return Boolean.TRUE.equals(missing);
+    }
+
+    /** @return false when the item went stale while it was being analyzed */
+    private boolean apply(Item item, BookAnalysis analysis, String coverUrl) {
+        Writing writing = writingRepository.findById(item.writingId()).orElse(null);
+        WritingContent content = writing != null ? content(writing, item.language()) : null;
+        if (content == null || !item.fileUrl().equals(content.getFileUrl())) return false;
+
+        if (analysis.format() != null) content.setFileFormat(analysis.format());
+        content.setFileSizeBytes(analysis.sizeBytes());
+        if (analysis.pageCount() != null) content.setPageCount(analysis.pageCount());
+
+        boolean coverUsed = false;
+        if (coverUrl != null && isBlank(coverOf(writing, item.language()))) {
+            if (item.language() == Language.CKB) writing.setCkbCoverUrl(coverUrl);
+            else writing.setKmrCoverUrl(coverUrl);
+            coverUsed = true;
+        }
+        writingRepository.save(writing);
+
+        WritingBookText text = bookTextRepository.findByWritingIdAndLanguage(item.writingId(), item.language())
+                .orElse(null);
+        if (analysis.text() != null) {
+            if (text == null) {
+                text = WritingBookText.builder().writingId(item.writingId()).language(item.language()).build();
+            }
+            text.setFileUrl(item.fileUrl());
+            text.setContent(analysis.text());
+            text.setTruncated(analysis.truncated());
+            bookTextRepository.save(text);
+        } else if (text != null) {
+            bookTextRepository.delete(text); // text of the previous file
+        }
+        return coverUrl == null || coverUsed;
+    }
+
+    private String uploadThumbnail(byte[] image, Item item) throws IOException {
+        if (image == null) return null;
+        BufferedImage src = ImageIO.read(new ByteArrayInputStream(image));
+        if (src == null) return null;
+        BufferedImage scaled = src.getWidth() > thumbnailWidth ? ImageResizer.resize(src, thumbnailWidth) : src;
+        boolean alpha = scaled.getColorModel().hasAlpha();
+        byte[] encoded = ImageResizer.encode(scaled, alpha);
+        String name = "book-" + item.writingId() + "-" + item.language().name().toLowerCase()
+                + "-cover" + (alpha ? ".png" : ".jpg");
+        return s3Service.upload(encoded, name, alpha ? "image/png" : "image/jpeg", ProjectMediaType.IMAGE);
+    }
+
+    private void retryLater(Item item, Exception e) {
+        if (item.attempt() >= maxAttempts) {
+            log.error("Book analysis gave up after {} attempts: {} — {}", item.attempt(), item, e.getMessage());
+            return;
+        }
+        log.warn("Book analysis will be retried (attempt {}): {} — {}", item.attempt(), item, e.getMessage());
+        transactionTemplate.executeWithoutResult(status -> mediaOutbox.enqueue(MediaOutboxType.ANALYZE_BOOK,
+                List.of(item(item.writingId(), item.language(), item.attempt() + 1, item.fileUrl()))));
+    }
+
+    // ============================================================
+    // HELPERS
+    // ============================================================
+
+    private record Item(Long writingId, Language language, int attempt, String fileUrl) {
+        static Item parse(String raw) {
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) return null;
+            try {
+                return new Item(Long.parseLong(parts[0]), Language.valueOf(parts[1]),
+                        Integer.parseInt(parts[2]), parts[3]);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static String item(Long writingId, Language language, int attempt, String fileUrl) {
+        return writingId + "|" + language.name() + "|" + attempt + "|" + fileUrl;
+    }
+
+    private static WritingContent content(Writing writing, Language language) {
+        return language == Language.CKB ? writing.getCkbContent() : writing.getKmrContent();
+    }
+
+    private static String coverOf(Writing writing, Language language) {
+        return language == Language.CKB ? writing.getCkbCoverUrl() : writing.getKmrCoverUrl();
+    }
+
+    private static String suffix(String url) {
+        int slash = url.lastIndexOf('/');
+        int dot = url.lastIndexOf('.');
+        return dot > slash && url.length() - dot <= 6 ? url.substring(dot) : ".bin";
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -0,0 +1,550 @@
+package ak.dev.khi_backend.khi_app.service.publishment.writing;
+
+import ak.dev.khi_backend.khi_app.enums.publishment.WritingFileFormat;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.ImageIO;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * BookFileAnalyzer — inspection of an uploaded book file on local disk:
+ * format (from the magic bytes, then the extension), page count, cover image
+ * and plain text.
+ *
+ *   PDF        → page count from the page tree ({@code /Type /Pages /Count}),
+ *                including compressed object streams, else from PDFBox;
+ *                text via PDFBox, read a few pages at a time so the
+ *                character limit stops it early; the first page rendered
+ *                as the cover
+ *   EPUB       → spine text in reading order, the manifest cover image and
+ *                a page estimate from the text length
+ *   DOCX / ODT → body text and the page count stored by the editor
+ *   TXT / HTML → text and a page estimate
+ *
+ * Never throws for malformed content — whatever could be read is returned.
+ */
+final class BookFileAnalyzer {
+
+    /** Characters per printed page used for estimates (≈ 300 words). */
+    static final int CHARS_PER_PAGE = 1800;
+
+    private static final int  MAX_ENTRY_BYTES = 32 << 20;
+    private static final int  MAX_COVER_BYTES = 20 << 20;
+    private static final long MAX_INFLATED_STREAM = 64L << 20;
+
+    private static final int   PDF_TEXT_PAGES_PER_PASS = 16;
+    private static final int   PDF_COVER_WIDTH_PX = 960;
+    private static final float PDF_COVER_MAX_DPI = 300;
+
+    private static final Pattern PAGES_TYPE  = Pattern.compile("/Type\\s*/Pages(?![A-Za-z])");
+    private static final Pattern PAGE_TYPE   = Pattern.compile("/Type\\s*/Page(?![A-Za-z])");
+    private static final Pattern COUNT       = Pattern.compile("/Count\\s+(\\d+)");
+    private static final Pattern OBJ_STM     = Pattern.compile("/Type\\s*/ObjStm(?![A-Za-z])");
+    private static final Pattern DIRECT_LEN  = Pattern.compile("/Length\\s+(\\d+)(?!\\s+\\d+\\s+R)");
+    private static final Pattern DOCX_PAGES  = Pattern.compile("<Pages>(\\d+)</Pages>");
+    private static final Pattern ODT_PAGES   = Pattern.compile("meta:page-count=\"(\\d+)\"");
+    private static final Pattern DROP_BLOCKS = Pattern.compile("(?is)<(head|script|style)\\b.*?</\\1\\s*>");
+    private static final Pattern BREAKS      =
+            Pattern.compile("(?i)<br\\s*/?>|</(p|div|h[1-6]|li|tr|blockquote|section|w:p|text:p|text:h)\\s*>");
+    private static final Pattern TAG         = Pattern.compile("<[^>]*>");
+    private static final Pattern ENTITY      = Pattern.compile("&(#x[0-9a-fA-F]+|#\\d+|[a-zA-Z]+);");
+    private static final Pattern SPACES      = Pattern.compile("[ \\t\\x0B\\f\\r\\u00A0]+");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n\\s*\\n+");
+
+    private BookFileAnalyzer() {}
+
+    /**
+     * @param text     extracted plain text, or {@code null} when the format has none
+     * @param truncated whether {@code text} was cut at the character limit
+     */
+    record BookAnalysis(WritingFileFormat format, long sizeBytes, Integer pageCount,
+                        byte[] coverImage, String text, boolean truncated) {}
+
+    static BookAnalysis analyze(Path file, String fileName, int maxTextChars) throws IOException {
+        long size = Files.size(file);
+        WritingFileFormat format = detectFormat(file, fileName);
+        TextSink text = new TextSink(maxTextChars);
+
+        try {
+            return switch (format) {
+                case PDF -> pdf(file, size, text);
+                case EPUB -> epub(file, size, text);
+                case DOCX -> zipDocument(file, size, format, "word/document.xml", "docProps/app.xml", DOCX_PAGES, text);
+                case ODT -> zipDocument(file, size, format, "content.xml", "meta.xml", ODT_PAGES, text);
+                case TXT, HTML -> {
+                    try (InputStream in = Files.newInputStream(file)) {
+                        String raw = new String(in.readNBytes(maxTextChars * 4 + 4), StandardCharsets.UTF_8);
+                        text.append(format == WritingFileFormat.HTML ? stripMarkup(raw) : raw);
+                    }
+                    yield new BookAnalysis(format, size, estimatePages(text), null, text.value(), text.truncated());
+                }
+                default -> new BookAnalysis(format, size, null, null, null, false);
+            };
+        } catch (IOException | RuntimeException malformed) {
+            return new BookAnalysis(format, size, null, null, text.value(), text.truncated());
+        }
+    }
+
+    // ============================================================
+    // FORMAT
+    // ============================================================
+
+    static WritingFileFormat detectFormat(Path file, String fileName) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(file)) {
+            head = in.readNBytes(8);
+        }
+        String magic = new String(head, StandardCharsets.ISO_8859_1);
+        if (magic.startsWith("%PDF-")) return WritingFileFormat.PDF;
+        if (magic.startsWith("{\\rtf")) return WritingFileFormat.RTF;
+        if (head.length >= 8 && (head[0] & 0xff) == 0xD0 && (head[1] & 0xff) == 0xCF) return WritingFileFormat.DOC;
+        if (magic.startsWith("PK\u0003\u0004")) {
+            try (ZipFile zip = new ZipFile(file.toFile())) {
+                String mimetype = zip.getEntry("mimetype") != null ? readEntry(zip, "mimetype", 256).trim() : "";
+                if (mimetype.equals("application/epub+zip") || zip.getEntry("META-INF/container.xml") != null) {
+                    return WritingFileFormat.EPUB;
+                }
+                if (zip.getEntry("word/document.xml") != null) return WritingFileFormat.DOCX;
+                if (mimetype.startsWith("application/vnd.oasis.opendocument.text")) return WritingFileFormat.ODT;
+            } catch (IOException notAZip) {
+                // fall through to the extension
+            }
+        }
+
+        String ext = fileName == null || fileName.lastIndexOf('.') < 0 ? ""
+                : fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return switch (ext) {
+            case "pdf" -> WritingFileFormat.PDF;
+            case "epub" -> WritingFileFormat.EPUB;
+            case "docx" -> WritingFileFormat.DOCX;
+            case "doc" -> WritingFileFormat.DOC;
+            case "odt" -> WritingFileFormat.ODT;
+            case "rtf" -> WritingFileFormat.RTF;
+            case "txt", "text", "md" -> WritingFileFormat.TXT;
+            case "html", "htm", "xhtml" -> WritingFileFormat.HTML;
+            default -> WritingFileFormat.OTHER;
+        };
+    }
+
+    // ============================================================
+    // PDF
+    // ============================================================
+
+    private static BookAnalysis pdf(Path file, long size, TextSink text) throws IOException {
+        Integer pageCount = pdfPageCount(file, size);
+        PDDocument document;
+        try {
+            document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache());
+        } catch (IOException unreadable) {
+            // Broken or password-protected: the page tree scan is all there is
+            return new BookAnalysis(WritingFileFormat.PDF, size, pageCount, null, null, false);
+        }
+        try (document) {
+            int pages = document.getNumberOfPages();
+            if (pageCount == null && pages > 0) pageCount = pages;
+            try {
+                PDFTextStripper stripper = new PDFTextStripper();
+                for (int first = 1; first <= pages && !text.full(); first += PDF_TEXT_PAGES_PER_PASS) {
+                    stripper.setStartPage(first);
+                    stripper.setEndPage(Math.min(pages, first + PDF_TEXT_PAGES_PER_PASS - 1));
+                    text.append(stripper.getText(document));
+                }
+            } catch (IOException | RuntimeException e) {
+                // keep the text read so far
+            }
+            byte[] cover;
+            try {
+                cover = pages > 0 ? renderFirstPage(document) : null;
+            } catch (IOException | RuntimeException e) {
+                cover = null;
+            }
+            return new BookAnalysis(WritingFileFormat.PDF, size, pageCount, cover, text.value(), text.truncated());
+        }
+    }
+
+    /** Page 1 as a PNG about {@link #PDF_COVER_WIDTH_PX} wide; the caller scales it to the thumbnail. */
+    private static byte[] renderFirstPage(PDDocument document) throws IOException {
+        PDRectangle box = document.getPage(0).getCropBox();
+        float dpi = box.getWidth() > 0
+                ? Math.min(PDF_COVER_MAX_DPI, PDF_COVER_WIDTH_PX * 72f / box.getWidth())
+                : 72;
+        BufferedImage image = new PDFRenderer(document).renderImageWithDPI(0, dpi, ImageType.RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * The root of the page tree carries the total in {@code /Count}, and
+     * every intermediate node carries a smaller one — so the largest
+     * {@code /Count} of any {@code /Type /Pages} dictionary is the page
+     * count. PDF 1.5+ files may keep those dictionaries inside Flate
+     * compressed object streams, which are inflated and scanned too.
+     * Falls back to counting {@code /Type /Page} leaves.
+     */
+    static Integer pdfPageCount(Path file, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) return null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CharSequence pdf = new Latin1(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+
+            List<CharSequence> sources = new ArrayList<>();
+            sources.add(pdf);
+            Matcher objStm = OBJ_STM.matcher(pdf);
+            while (objStm.find()) {
+                CharSequence inflated = inflateStreamOf(pdf, objStm.start());
+                if (inflated != null) sources.add(inflated);
+            }
+
+            int max = 0;
+            for (CharSequence source : sources) {
+                Matcher pages = PAGES_TYPE.matcher(source);
+                while (pages.find()) {
+                    CharSequence dict = enclosingDict(source, pages.start());
+                    if (dict == null) continue;
+                    Matcher count = COUNT.matcher(dict);
+                    if (count.find()) max = Math.max(max, parseInt(count.group(1)));
+                }
+            }
+            if (max > 0) return max;
+
+            int leaves = 0;
+            for (CharSequence source : sources) {
+                Matcher page = PAGE_TYPE.matcher(source);
+                while (page.find()) leaves++;
+            }
+            return leaves > 0 ? leaves : null;
+        }
+    }
+
+    /** The {@code << ... >>} dictionary around {@code pos}, nesting-aware. */
+    private static CharSequence enclosingDict(CharSequence s, int pos) {
+        int[] bounds = dictBounds(s, pos);
+        return bounds == null ? null : s.subSequence(bounds[0], bounds[1]);
+    }
+
+    /** @return {@code [start, end)} of the enclosing dictionary, or null */
+    private static int[] dictBounds(CharSequence s, int pos) {
+        int depth = 0;
+        int start = -1;
+        for (int i = pos - 1; i > 0; i--) {
+            if (s.charAt(i) == '>' && s.charAt(i - 1) == '>') { depth++; i--; }
+            else if (s.charAt(i) == '<' && s.charAt(i - 1) == '<') {
+                if (depth == 0) { start = i - 1; break; }
+                depth--; i--;
+            }
+        }
+        if (start < 0) return null;
+
+        depth = 0;
+        for (int i = start; i < s.length() - 1; i++) {
+            if (s.charAt(i) == '<' && s.charAt(i + 1) == '<') { depth++; i++; }
+            else if (s.charAt(i) == '>' && s.charAt(i + 1) == '>') {
+                if (--depth == 0) return new int[] {start, i + 2};
+                i++;
+            }
+        }
+        return null;
+    }
+
+    /** Inflate the stream following the dictionary at {@code pos}; null if it is not plain Flate. */
+    private static CharSequence inflateStreamOf(CharSequence pdf, int pos) {
+        int[] bounds = dictBounds(pdf, pos);
+        if (bounds == null) return null;
+        String dict = pdf.subSequence(bounds[0], bounds[1]).toString();
+        if (!dict.contains("/FlateDecode") || dict.contains("/DecodeParms")) return null;
+
+        int dataStart = bounds[1];
+        while (dataStart < pdf.length() && Character.isWhitespace(pdf.charAt(dataStart))) dataStart++;
+        if (indexOf(pdf, "stream", dataStart) != dataStart) return null;
+        dataStart += "stream".length();
+        if (dataStart < pdf.length() && pdf.charAt(dataStart) == '\r') dataStart++;
+        if (dataStart < pdf.length() && pdf.charAt(dataStart) == '\n') dataStart++;
+
+        Matcher length = DIRECT_LEN.matcher(dict);
+        int dataEnd = length.find()
+                ? dataStart + parseInt(length.group(1))
+                : indexOf(pdf, "endstream", dataStart);
+        if (dataEnd <= dataStart || dataEnd > pdf.length()) return null;
+
+        byte[] compressed = new byte[dataEnd - dataStart];
+        for (int i = 0; i < compressed.length; i++) compressed[i] = (byte) pdf.charAt(dataStart + i);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[64 * 1024];
+            while (!inflater.finished() && out.size() < MAX_INFLATED_STREAM) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int indexOf(CharSequence s, String needle, int from) {
+        outer:
+        for (int i = Math.max(0, from); i <= s.length() - needle.length(); i++) {
+            for (int j = 0; j < needle.length(); j++) {
+                if (s.charAt(i + j) != needle.charAt(j)) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /** A mapped file seen as ISO-8859-1 characters, for regex scanning without copying. */
+    private record Latin1(ByteBuffer bytes) implements CharSequence {
+        @Override public int length() { return bytes.limit(); }
+        @Override public char charAt(int index) { return (char) (bytes.get(index) & 0xff); }
+        @Override public CharSequence subSequence(int start, int end) { return new Latin1(bytes.slice(start, end - start)); }
+        @Override public String toString() {
+            byte[] copy = new byte[bytes.limit()];
+            bytes.get(0, copy);
+            return new String(copy, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    // ============================================================
+    // EPUB
+    // ============================================================
+
+    private static BookAnalysis epub(Path file, long size, TextSink text) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            Document container = parseXml(readEntry(zip, "META-INF/container.xml", MAX_ENTRY_BYTES));
+            String opfPath = firstAttribute(container, "rootfile", "full-path");
+            if (opfPath == null) return new BookAnalysis(WritingFileFormat.EPUB, size, null, null, null, false);
+            String base = opfPath.contains("/") ? opfPath.substring(0, opfPath.lastIndexOf('/') + 1) : "";
+
+            Document opf = parseXml(readEntry(zip, opfPath, MAX_ENTRY_BYTES));
+            Map<String, Element> manifest = new HashMap<>();
+            NodeList items = opf.getElementsByTagNameNS("*", "item");
+            for (int i = 0; i < items.getLength(); i++) {
+                Element item = (Element) items.item(i);
+                manifest.put(item.getAttribute("id"), item);
+            }
+
+            NodeList spine = opf.getElementsByTagNameNS("*", "itemref");
+            for (int i = 0; i < spine.getLength() && !text.full(); i++) {
+                Element item = manifest.get(((Element) spine.item(i)).getAttribute("idref"));
+                if (item == null || !item.getAttribute("media-type").contains("html")) continue;
+                String entry = resolve(base, item.getAttribute("href"));
+                if (zip.getEntry(entry) != null) {
+                    text.append(stripMarkup(readEntry(zip, entry, MAX_ENTRY_BYTES)));
+                    text.append("\n\n");
+                }
+            }
+
+            byte[] cover = null;
+            Element coverItem = coverItem(opf, manifest);
+            if (coverItem != null) {
+                ZipEntry entry = zip.getEntry(resolve(base, coverItem.getAttribute("href")));
+                if (entry != null && entry.getSize() <= MAX_COVER_BYTES) {
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        cover = in.readNBytes(MAX_COVER_BYTES);
+                    }
+                }
+            }
+            return new BookAnalysis(WritingFileFormat.EPUB, size, estimatePages(text), cover,
+                    text.value(), text.truncated());
+        }
+    }
+
+    /** EPUB 3 {@code properties="cover-image"}, else the EPUB 2 {@code <meta name="cover">}. */
+    private static Element coverItem(Document opf, Map<String, Element> manifest) {
+        for (Element item : manifest.values()) {
+            if (List.of(item.getAttribute("properties").split("\\s+")).contains("cover-image")) return item;
+        }
+        NodeList metas = opf.getElementsByTagNameNS("*", "meta");
+        for (int i = 0; i < metas.getLength(); i++) {
+            Element meta = (Element) metas.item(i);
+            if ("cover".equals(meta.getAttribute("name"))) {
+                Element item = manifest.get(meta.getAttribute("content"));
+                if (item != null && item.getAttribute("media-type").startsWith("image/")) return item;
+            }
+        }
+        return null;
+    }
+
+    /** Resolve an OPF-relative, URL-encoded href to a zip entry name. */
+    static String resolve(String base, String href) {
+        String path = URLDecoder.decode(href.replace("+", "%2B"), StandardCharsets.UTF_8);
+        int fragment = path.indexOf('#');
+        if (fragment >= 0) path = path.substring(0, fragment);
+
+        Deque<String> parts = new ArrayDeque<>();
+        for (String part : (base + path).split("/")) {
+            if (part.isEmpty() || part.equals(".")) continue;
+            if (part.equals("..")) parts.pollLast();
+            else parts.addLast(part);
+        }
+        return String.join("/", parts);
+    }
+
+    // ============================================================
+    // DOCX / ODT
+    // ============================================================
+
+    private static BookAnalysis zipDocument(Path file, long size, WritingFileFormat format,
+                                            String bodyEntry, String metaEntry, Pattern pageCount,
+                                            TextSink text) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            if (zip.getEntry(bodyEntry) != null) {
+                text.append(stripMarkup(readEntry(zip, bodyEntry, MAX_ENTRY_BYTES)));
+            }
+            Integer pages = null;
+            if (zip.getEntry(metaEntry) != null) {
+                Matcher m = pageCount.matcher(readEntry(zip, metaEntry, MAX_ENTRY_BYTES));
+                if (m.find()) pages = parseInt(m.group(1));
+            }
+            if (pages == null || pages <= 0) pages = estimatePages(text);
+            return new BookAnalysis(format, size, pages, null, text.value(), text.truncated());
+        }
+    }
+
+    // ============================================================
+    // HELPERS
+    // ============================================================
+
+    private static String readEntry(ZipFile zip, String name, int limit) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        if (entry == null) throw new IOException("Missing entry " + name);
+        try (InputStream in = zip.getInputStream(entry)) {
+            return new String(in.readNBytes(limit), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Document parseXml(String xml) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setExpandEntityReferences(false);
+            return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IOException("Unreadable XML: " + e.getMessage(), e);
+        }
+    }
+
+    private static String firstAttribute(Document doc, String element, String attribute) {
+        NodeList nodes = doc.getElementsByTagNameNS("*", element);
+        if (nodes.getLength() == 0) return null;
+        String value = ((Element) nodes.item(0)).getAttribute(attribute);
+        return value.isBlank() ? null : value;
+    }
+
+    /** Markup to plain text: block ends become line breaks, entities are decoded. */
+    static String stripMarkup(String markup) {
+        String s = DROP_BLOCKS.matcher(markup).replaceAll(" ");
+        s = BREAKS.matcher(s).replaceAll("\n");
+        s = TAG.matcher(s).replaceAll("");
+        s = ENTITY.matcher(s).replaceAll(m -> Matcher.quoteReplacement(decodeEntity(m.group(1))));
+        s = SPACES.matcher(s).replaceAll(" ");
+        s = BLANK_LINES.matcher(s).replaceAll("\n\n");
+        return s.strip();
+    }
+
+    private static String decodeEntity(String entity) {
+        try {
+            if (entity.startsWith("#x")) return Character.toString(Integer.parseInt(entity.substring(2), 16));
+            if (entity.startsWith("#")) return Character.toString(Integer.parseInt(entity.substring(1)));
+        } catch (IllegalArgumentException e) {
+            return " ";
+        }
+        return switch (entity) {
+            case "amp" -> "&";
+            case "lt" -> "<";
+            case "gt" -> ">";
+            case "quot" -> "\"";
+            case "apos" -> "'";
+            case "nbsp" -> " ";
+            default -> " ";
+        };
+    }
+
+    private static Integer estimatePages(TextSink text) {
+        int chars = text.length();
+        return chars == 0 ? null : Math.max(1, (chars + CHARS_PER_PAGE - 1) / CHARS_PER_PAGE);
+    }
+
+    private static int parseInt(String digits) {
+        try {
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /** Text accumulator capped at {@code max} characters. */
+    private static final class TextSink {
+        private final StringBuilder sb = new StringBuilder();
+        private final int max;
+        private boolean truncated;
+
+        TextSink(int max) {
+            this.max = Math.max(0, max);
+        }
+
+        void append(String s) {
+            if (s == null || s.isEmpty()) return;
+            int room = max - sb.length();
+            if (s.length() > room) {
+                sb.append(s, 0, Math.max(0, room));
+                truncated = true;
+            } else {
+                sb.append(s);
+            }
+        }
+
+        boolean full()      { return sb.length() >= max; }
+        boolean truncated() { return truncated; }
+        int length()        { return sb.toString().strip().length(); }
+
+        String value() {
+            String v = sb.toString().strip();
+            return v.isEmpty() ? null : v;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ak.dev.khi_backend.khi_app.service.publishment.writing;
 
+import ak.dev.khi_backend.khi_app.dto.publishment.writing.WritingCard;
 import ak.dev.khi_backend.khi_app.dto.publishment.writing.WritingDtos.*;
 import ak.dev.khi_backend.khi_app.enums.Language;
 import ak.dev.khi_backend.khi_app.enums.publishment.BookGenre;
@@ -11,10 +12,13 @@ import ak.dev.khi_backend.khi_app.model.publishment.writing.Writing;
 import ak.dev.khi_backend.khi_app.model.publishment.writing.WritingContent;
 import ak.dev.khi_backend.khi_app.model.publishment.writing.WritingLog;
 import ak.dev.khi_backend.khi_app.repository.publishment.topic.PublishmentTopicRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingBookTextRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingLogRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingRepository;
 import ak.dev.khi_backend.khi_app.service.S3Service;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
+import ak.dev.khi_backend.khi_app.service.publishment.CollectionSync;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -34,13 +39,17 @@ import java.util.stream.Collectors;
 public class WritingService {
 
     private static final String ENTITY_TYPE = "WRITING";
+    private static final Duration AUDIT_FLUSH_TIMEOUT = Duration.ofSeconds(5);
 
     private final WritingRepository          writingRepository;
     private final WritingLogRepository       writingLogRepository;
+    private final AuditLogWriter             auditLogWriter;
     private final PublishmentTopicRepository topicRepository;
     private final S3Service                  s3Service;
     private final ObjectMapper               objectMapper;
     private final TiptapHtmlProcessor        tiptapHtmlProcessor;
+    private final BookAnalysisService        bookAnalysisService;
+    private final WritingBookTextRepository  bookTextRepository;
 
     // =========================================================================
     // دروستکردن
@@ -62,8 +71,8 @@ public class WritingService {
         String kmrCoverUrl   = uploadOrFallback(kmrCoverImage,   request.getKmrCoverUrl(),   "وێنەی بەرگی KMR");
         String hoverCoverUrl = uploadOrFallback(hoverCoverImage, request.getHoverCoverUrl(), "وێنەی هاڤەر");
 
-        String ckbFileUrl = uploadFile(ckbBookFile, "فایلی کتێبی CKB");
-        String kmrFileUrl = uploadFile(kmrBookFile, "فایلی کتێبی KMR");
+        String ckbFileUrl = uploadBookFile(ckbBookFile, "فایلی کتێبی CKB");
+        String kmrFileUrl = uploadBookFile(kmrBookFile, "فایلی کتێبی KMR");
 
         PublishmentTopic topic = resolveTopic(request.getTopicId(), request.getNewTopic());
 
@@ -102,6 +111,7 @@ public class WritingService {
 
         Writing saved = writingRepository.save(writing);
         updateSeriesCount(saved.getSeriesId());
+        requestBookAnalysis(saved, ckbFileUrl, kmrFileUrl);
 
         logAction(saved, "CREATED", "نووسراو '" + getCombinedTitle(saved) + "' دروستکرا");
         log.info("نووسراو دروستکرا — id={}, زنجیرە={}", saved.getId(), saved.getSeriesId());
@@ -142,8 +152,8 @@ public class WritingService {
         writing.setKmrCoverUrl(resolveUpdate(kmrCoverImage,   request.getKmrCoverUrl(),   writing.getKmrCoverUrl()));
         writing.setHoverCoverUrl(resolveUpdate(hoverCoverImage, request.getHoverCoverUrl(), writing.getHoverCoverUrl()));
 
-        String ckbFileUrl = uploadFile(ckbBookFile, "فایلی کتێبی CKB");
-        String kmrFileUrl = uploadFile(kmrBookFile, "فایلی کتێبی KMR");
+        String ckbFileUrl = uploadBookFile(ckbBookFile, "فایلی کتێبی CKB");
+        String kmrFileUrl = uploadBookFile(kmrBookFile, "فایلی کتێبی KMR");
 
         if (Boolean.TRUE.equals(request.getClearTopic())) {
             writing.setTopic(null);
@@ -153,18 +163,17 @@ public class WritingService {
 
         // ─── Book Genres ─────────────────────────────────────────────────────
         if (request.getBookGenres() != null && !request.getBookGenres().isEmpty()) {
-            writing.getBookGenres().clear();
-            writing.getBookGenres().addAll(request.getBookGenres());
+            CollectionSync.sync(writing.getBookGenres(), request.getBookGenres());
         }
 
         if (request.getPublishedByInstitute() != null) writing.setPublishedByInstitute(request.getPublishedByInstitute());
 
         if (request.getContentLanguages() != null && !request.getContentLanguages().isEmpty()) {
-            writing.setContentLanguages(new LinkedHashSet<>(request.getContentLanguages()));
+            CollectionSync.sync(writing.getContentLanguages(), request.getContentLanguages());
         }
         applyContent(writing, request, ckbFileUrl, kmrFileUrl);
 
-        replaceBilingualSets(writing, request);
+        syncBilingualSets(writing, request);
 
         String oldSeriesId = writing.getSeriesId();
         if (request.getSeriesName()  != null) writing.setSeriesName(request.getSeriesName());
@@ -180,6 +189,7 @@ public class WritingService {
             updateSeriesCount(oldSeriesId);
         }
         updateSeriesCount(updated.getSeriesId());
+        requestBookAnalysis(updated, ckbFileUrl, kmrFileUrl);
 
         logAction(updated, "UPDATED", "نووسراو '" + getCombinedTitle(updated) + "' نوێکرایەوە");
         return mapToResponse(updated);
@@ -214,7 +224,10 @@ public class WritingService {
             writingRepository.saveAll(childBooks);
             writingRepository.flush();
         }
+        // Earlier logs of this writing may still be buffered; write them so they get detached too
+        auditLogWriter.flush(AUDIT_FLUSH_TIMEOUT);
         writingLogRepository.detachFromWriting(writingId);
+        bookTextRepository.deleteByWritingId(writingId);
 
         WritingLog deletionLog = WritingLog.builder()
                 .writing(null)
@@ -242,6 +255,16 @@ public class WritingService {
         return writingRepository.findAllWithTopic(pageable).map(this::mapToResponse);
     }
 
+    /**
+     * List-page cards — a single projection query plus the count; the
+     * ordering is fixed by the query, so the pageable carries no sort.
+     */
+    @Transactional(readOnly = true)
+    public Page<WritingCard> getCards(int page, int size) {
+        return writingRepository.findCards(
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
+    }
+
     @Transactional(readOnly = true)
     public Page<Response> getFeatured(int page, int size) {
         Pageable pageable = PageRequest.of(
@@ -466,14 +489,14 @@ public class WritingService {
         return existing;
     }
 
-    private void replaceBilingualSets(Writing writing, UpdateRequest request) {
+    private void syncBilingualSets(Writing writing, UpdateRequest request) {
         if (request.getTags() != null) {
-            if (request.getTags().getCkb() != null) { writing.getTagsCkb().clear(); writing.getTagsCkb().addAll(cleanStrings(request.getTags().getCkb())); }
-            if (request.getTags().getKmr() != null) { writing.getTagsKmr().clear(); writing.getTagsKmr().addAll(cleanStrings(request.getTags().getKmr())); }
+            if (request.getTags().getCkb() != null) CollectionSync.sync(writing.getTagsCkb(), cleanStrings(request.getTags().getCkb()));
+            if (request.getTags().getKmr() != null) CollectionSync.sync(writing.getTagsKmr(), cleanStrings(request.getTags().getKmr()));
         }
         if (request.getKeywords() != null) {
-            if (request.getKeywords().getCkb() != null) { writing.getKeywordsCkb().clear(); writing.getKeywordsCkb().addAll(cleanStrings(request.getKeywords().getCkb())); }
-            if (request.getKeywords().getKmr() != null) { writing.getKeywordsKmr().clear(); writing.getKeywordsKmr().addAll(cleanStrings(request.getKeywords().getKmr())); }
+            if (request.getKeywords().getCkb() != null) CollectionSync.sync(writing.getKeywordsCkb(), cleanStrings(request.getKeywords().getCkb()));
+            if (request.getKeywords().getKmr() != null) CollectionSync.sync(writing.getKeywordsKmr(), cleanStrings(request.getKeywords().getKmr()));
         }
     }
 
@@ -481,7 +504,7 @@ public class WritingService {
     // گۆڕین بۆ Response
     // =========================================================================
 
-    private Response mapToResponse(Writing w) {
+    public Response mapToResponse(Writing w) {
         Response r = Response.builder()
                 .id(w.getId())
                 .contentLanguages(w.getContentLanguages() != null
@@ -561,6 +584,23 @@ public class WritingService {
         }
     }
 
+    /**
+     * Book files are streamed from the multipart spool file rather than read
+     * into memory; their metadata is filled in later by {@link BookAnalysisService}.
+     */
+    private String uploadBookFile(MultipartFile file, String description) {
+        if (file == null || file.isEmpty()) return null;
+        String url = s3Service.upload(file::getInputStream, file.getSize(),
+                file.getOriginalFilename(), file.getContentType());
+        log.info("{} نێردرا → {}", description, url);
+        return url;
+    }
+
+    private void requestBookAnalysis(Writing writing, String ckbFileUrl, String kmrFileUrl) {
+        if (ckbFileUrl != null) bookAnalysisService.requestAnalysis(writing.getId(), Language.CKB, ckbFileUrl);
+        if (kmrFileUrl != null) bookAnalysisService.requestAnalysis(writing.getId(), Language.KMR, kmrFileUrl);
+    }
+
     private String uploadOrFallback(MultipartFile file, String urlFallback, String description) {
         String uploaded = uploadFile(file, description);
         return uploaded != null ? uploaded : trimOrNull(urlFallback);
@@ -578,7 +618,7 @@ public class WritingService {
     // =========================================================================
 
     private void logAction(Writing writing, String action, String details) {
-        writingLogRepository.save(WritingLog.builder()
+        auditLogWriter.record(WritingLog.builder()
                 .writing(writing)
                 .writingId(writing.getId())
                 .action(action)
@@ -6,9 +6,10 @@ import ak.dev.khi_backend.khi_app.exceptions.NotFoundException;
 import ak.dev.khi_backend.khi_app.model.service.ServiceAuditLog;
 import ak.dev.khi_backend.khi_app.model.service.ServiceContent;
 import ak.dev.khi_backend.khi_app.model.service.ServiceMedia;
-import ak.dev.khi_backend.khi_app.repository.service.ServiceAuditLogRepository;
 import ak.dev.khi_backend.khi_app.repository.service.ServiceRepository;
+import ak.dev.khi_backend.khi_app.service.media.MediaDeletionService;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -61,8 +62,9 @@ public class ServiceService {
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     private final ServiceRepository         serviceRepository;
-    private final ServiceAuditLogRepository auditLogRepository;
+    private final AuditLogWriter            auditLogWriter;
     private final TiptapHtmlProcessor       tiptapHtmlProcessor;
+    private final MediaDeletionService      mediaDeletionService;
 
     // =========================================================================
     // READ — Paginated + Cached (Two-Phase Hydration)
@@ -351,7 +353,9 @@ public class ServiceService {
         auditLog(service, "DELETE",
                 "Service deleted: " + service.getServiceType(), traceId);
 
+        List<String> media = mediaUrls(service);
         serviceRepository.delete(service);
+        mediaDeletionService.deleteAfterCommit(media);
 
         log.info("Service deleted | id={} | traceId={}", id, traceId);
     }
@@ -376,19 +380,39 @@ public class ServiceService {
                     Map.of("ids", ids));
         }
 
-        auditLogRepository.saveAll(
+        auditLogWriter.recordAll(
                 services.stream()
                         .map(s -> buildAuditLog(s, "DELETE",
                                 "Service bulk-deleted: " + s.getServiceType(), traceId))
                         .toList()
         );
 
+        List<String> media = services.stream()
+                .flatMap(s -> mediaUrls(s).stream())
+                .toList();
         serviceRepository.deleteAll(services);
+        mediaDeletionService.deleteAfterCommit(media);
 
         log.info("Bulk delete complete | deleted={} | traceId={}",
                 services.size(), traceId);
     }
 
+    /** Every S3 URL owned by the service row (Tiptap assets live in the HTML). */
+    private List<String> mediaUrls(ak.dev.khi_backend.khi_app.model.service.Service service) {
+        List<String> urls = new ArrayList<>();
+        urls.add(service.getHeroVideoUrl());
+        urls.add(service.getHeroPosterUrl());
+        if (service.getGalleryMedia() != null) {
+            for (ServiceMedia m : service.getGalleryMedia()) {
+                urls.add(m.getUrl());
+                urls.add(m.getPosterUrl());
+            }
+        }
+        if (service.getFeatureImageUrls() != null) urls.addAll(service.getFeatureImageUrls());
+        if (service.getThumbnailUrls() != null) urls.addAll(service.getThumbnailUrls());
+        return urls;
+    }
+
     // =========================================================================
     // PRIVATE — Hydration (Phase-2)
     // =========================================================================
@@ -582,7 +606,7 @@ public class ServiceService {
 
     private void auditLog(ak.dev.khi_backend.khi_app.model.service.Service service,
                           String action, String details, String traceId) {
-        auditLogRepository.save(buildAuditLog(service, action, details, traceId));
+        auditLogWriter.record(buildAuditLog(service, action, details, traceId));
     }
 
     private ServiceAuditLog buildAuditLog(ak.dev.khi_backend.khi_app.model.service.Service service,
@@ -0,0 +1,383 @@
+package ak.dev.khi_backend.khi_app.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * FileSystemStorageProvider — keeps objects as files under a root directory,
+ * for local development, upload benchmarks and the on-prem mirror.
+ *
+ * Writes go to {@code <root>/.staging} through a {@link FileChannel} and are
+ * moved into place atomically, so a reader never sees a half-written file
+ * and a crash leaves only staging debris. Multipart parts are staged as
+ * separate files and concatenated with {@code transferTo} on completion.
+ *
+ * Public URLs are {@code <public-base-url>/<key>}; serving the root (nginx,
+ * CDN origin) is outside the application.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.storage", name = "provider", havingValue = "filesystem")
+public class FileSystemStorageProvider implements StorageProvider {
+
+    static final String STAGING_DIR = ".staging";
+
+    private final Path   root;
+    private final Path   staging;
+    private final String publicBaseUrl;
+    private final boolean fsync;
+
+    public FileSystemStorageProvider(
+            @Value("${app.storage.filesystem.root}") Path root,
+            @Value("${app.storage.filesystem.public-base-url}") String publicBaseUrl,
+            @Value("${app.storage.filesystem.fsync:true}") boolean fsync
+    ) {
+        this.root = root.toAbsolutePath().normalize();
+        this.staging = this.root.resolve(STAGING_DIR);
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                : publicBaseUrl;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(staging);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create storage root " + this.root, e);
+        }
+        log.info("📁 File-system storage at {} served from {}", this.root, this.publicBaseUrl);
+    }
+
+    // ============================================================
+    // WRITE
+    // ============================================================
+
+    @Override
+    public void put(String key, Source body, long contentLength, String contentType) {
+        Path target = resolve(key);
+        Path tmp = staging.resolve(UUID.randomUUID().toString());
+        try {
+            try (InputStream in = body.open()) {
+                write(tmp, in, contentLength);
+            }
+            publish(tmp, target);
+        } catch (IOException e) {
+            deleteQuietly(tmp);
+            throw new StorageException("File put failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public MultipartUpload startMultipart(String key, String contentType) {
+        Path target = resolve(key);
+        Path partsDir = staging.resolve(UUID.randomUUID().toString());
+        try {
+            Files.createDirectories(partsDir);
+        } catch (IOException e) {
+            throw new StorageException("File multipart start failed for " + key + ": " + e.getMessage(), e);
+        }
+
+        return new MultipartUpload() {
+            @Override
+            public void uploadPart(int partNumber, Source body, long length) {
+                try (InputStream in = body.open()) {
+                    write(partsDir.resolve(partName(partNumber)), in, length);
+                } catch (IOException e) {
+                    throw new StorageException("File part " + partNumber + " failed for " + key + ": " + e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public void complete() {
+                Path tmp = partsDir.resolve("assembled");
+                try {
+                    List<Path> parts;
+                    try (Stream<Path> s = Files.list(partsDir)) {
+                        parts = s.filter(p -> p.getFileName().toString().startsWith("part-")).sorted().toList();
+                    }
+                    try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                        for (Path part : parts) {
+                            try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                                long size = in.size();
+                                for (long pos = 0; pos < size; ) {
+                                    pos += in.transferTo(pos, size - pos, out);
+                                }
+                            }
+                        }
+                        if (fsync) out.force(true);
+                    }
+                    publish(tmp, target);
+                } catch (IOException e) {
+                    throw new StorageException("File multipart complete failed for " + key + ": " + e.getMessage(), e);
+                } finally {
+                    deleteTree(partsDir);
+                }
+            }
+
+            @Override
+            public void abort() {
+                deleteTree(partsDir);
+            }
+        };
+    }
+
+    /** Part files sort by name in part order. */
+    private static String partName(int partNumber) {
+        return "part-%05d".formatted(partNumber);
+    }
+
+    private void write(Path file, InputStream in, long expectedLength) throws IOException {
+        long written = 0;
+        try (FileChannel out = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             ReadableByteChannel src = Channels.newChannel(in)) {
+            long n;
+            while ((n = out.transferFrom(src, written, 1 << 20)) > 0) {
+                written += n;
+            }
+            if (fsync) out.force(true);
+        }
+        if (expectedLength >= 0 && written != expectedLength) {
+            deleteQuietly(file);
+            throw new IOException("Expected " + expectedLength + " bytes but read " + written);
+        }
+    }
+
+    private void publish(Path tmp, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ============================================================
+    // READ
+    // ============================================================
+
+    @Override
+    public byte[] read(String key) {
+        try {
+            return Files.readAllBytes(resolve(key));
+        } catch (IOException e) {
+            throw new StorageException("File read failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream readRange(String key, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ);
+            channel.position(offset);
+            InputStream in = Channels.newInputStream(channel);
+            return length < 0 ? in : new BoundedInputStream(in, length);
+        } catch (IOException e) {
+            throw new StorageException("File ranged read failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@code FileChannel.transferTo} into a channel over {@code out}. The
+     * servlet stream is not a socket channel, so this is not sendfile: the
+     * JDK copies through its own 8 KB buffers ({@code bufferSize} is not
+     * used), about as many copies as the default loop.
+     */
+    @Override
+    public long copyRange(String key, long offset, long length, OutputStream out, int bufferSize) throws IOException {
+        try (FileChannel in = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long end = Math.min(in.size(), offset + length);
+            long pos = offset;
+            while (pos < end) {
+                long n = in.transferTo(pos, end - pos, target);
+                if (n <= 0) break;
+                pos += n;
+            }
+            return pos - offset;
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(resolve(key), BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) return Optional.empty();
+            return Optional.of(new StoredObject(key, attrs.size(), attrs.lastModifiedTime().toInstant()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new StorageException("File stat failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void list(String prefix, Consumer<StoredObject> visitor) {
+        Path start = resolve(prefix.isEmpty() ? "." : prefix);
+        if (!Files.isDirectory(start)) return;
+        try {
+            Files.walkFileTree(start, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return dir.equals(staging)
+                            ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        visitor.accept(new StoredObject(keyOf(file), attrs.size(), attrs.lastModifiedTime().toInstant()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new StorageException("File list failed for " + prefix + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ============================================================
+    // DELETE
+    // ============================================================
+
+    @Override
+    public List<String> deleteBatch(List<String> keys) {
+        List<String> failed = new ArrayList<>();
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(resolve(key));
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("⚠️ File delete failed: key={}, error={}", key, e.getMessage());
+                failed.add(key);
+            }
+        }
+        return failed;
+    }
+
+    // ============================================================
+    // URLS
+    // ============================================================
+
+    @Override
+    public String publicUrl(String key) {
+        return publicBaseUrl + "/" + key;
+    }
+
+    @Override
+    public String keyFromUrl(String url) {
+        if (!ownsUrl(url)) return null;
+        String key = url.substring(publicBaseUrl.length() + 1);
+        int cut = indexOfAny(key, '?', '#');
+        return cut >= 0 ? key.substring(0, cut) : key;
+    }
+
+    @Override
+    public boolean ownsUrl(String url) {
+        return url != null && url.startsWith(publicBaseUrl + "/");
+    }
+
+    // ============================================================
+    // PATHS
+    // ============================================================
+
+    /** Map a key to a file under the root; keys escaping it are rejected. */
+    Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.startsWith(staging)) {
+            throw new IllegalArgumentException("Key outside storage root: " + key);
+        }
+        return path;
+    }
+
+    private String keyOf(Path file) {
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    private static int indexOfAny(String s, char a, char b) {
+        int i = s.indexOf(a);
+        int j = s.indexOf(b);
+        return i < 0 ? j : (j < 0 ? i : Math.min(i, j));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not remove staging file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void deleteTree(Path dir) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) deleteQuietly(file);
+        } catch (IOException e) {
+            log.debug("Could not list staging dir {}: {}", dir, e.getMessage());
+        }
+        deleteQuietly(dir);
+    }
+
+    /** Caps a stream at {@code remaining} bytes; closing it closes the file. */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long remaining) {
+            super(in);
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = super.read(buf, off, (int) Math.min(len, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
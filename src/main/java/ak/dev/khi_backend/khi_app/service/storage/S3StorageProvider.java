@@ -0,0 +1,333 @@
+package ak.dev.khi_backend.khi_app.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * S3StorageProvider — the default backend: one bucket, virtual-hosted
+ * public URLs ({@code https://<bucket>.s3.<region>.amazonaws.com/<key>}).
+ * The {@code *Async} methods go through {@link S3AsyncClient} and never
+ * block the calling thread.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.storage", name = "provider", havingValue = "s3", matchIfMissing = true)
+public class S3StorageProvider implements StorageProvider {
+
+    private final S3Client      s3Client;
+    private final S3AsyncClient s3AsyncClient;
+    private final String        bucket;
+    private final String        region;
+
+    public S3StorageProvider(
+            S3Client s3Client,
+            S3AsyncClient s3AsyncClient,
+            @Value("${aws.s3.bucket}") String bucket,
+            @Value("${aws.s3.region}") String region
+    ) {
+        this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucket = bucket;
+        this.region = region;
+    }
+
+    // ============================================================
+    // WRITE
+    // ============================================================
+
+    @Override
+    public void put(String key, Source body, long contentLength, String contentType) {
+        try {
+            s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .contentType(contentType)
+                            .contentLength(contentLength)
+                            .build(),
+                    requestBody(body, contentLength, contentType));
+        } catch (SdkException e) {
+            throw new StorageException("S3 put failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public MultipartUpload startMultipart(String key, String contentType) {
+        String uploadId;
+        try {
+            uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .build()).uploadId();
+        } catch (SdkException e) {
+            throw new StorageException("S3 multipart start failed for " + key + ": " + e.getMessage(), e);
+        }
+
+        ConcurrentSkipListMap<Integer, CompletedPart> parts = new ConcurrentSkipListMap<>();
+        return new MultipartUpload() {
+            @Override
+            public void uploadPart(int partNumber, Source body, long length) {
+                try {
+                    String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                                    .bucket(bucket)
+                                    .key(key)
+                                    .uploadId(uploadId)
+                                    .partNumber(partNumber)
+                                    .contentLength(length)
+                                    .build(),
+                            requestBody(body, length, "application/octet-stream")).eTag();
+                    parts.put(partNumber, CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                } catch (SdkException e) {
+                    throw new StorageException("S3 part " + partNumber + " failed for " + key + ": " + e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public void complete() {
+                try {
+                    s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .multipartUpload(CompletedMultipartUpload.builder()
+                                    .parts(List.copyOf(parts.values()))
+                                    .build())
+                            .build());
+                } catch (SdkException e) {
+                    throw new StorageException("S3 multipart complete failed for " + key + ": " + e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public void abort() {
+                try {
+                    s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .build());
+                } catch (SdkException e) {
+                    // The bucket lifecycle rule cleans up incomplete uploads
+                    log.warn("⚠️ Could not abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+                }
+            }
+        };
+    }
+
+    private static RequestBody requestBody(Source body, long length, String contentType) {
+        return RequestBody.fromContentProvider(() -> {
+            try {
+                return body.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open upload stream", e);
+            }
+        }, length, contentType);
+    }
+
+    // ============================================================
+    // READ
+    // ============================================================
+
+    @Override
+    public byte[] read(String key) {
+        try {
+            return s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build()).asByteArray();
+        } catch (SdkException e) {
+            throw new StorageException("S3 get failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream readRange(String key, long offset, long length) {
+        String range = length < 0
+                ? "bytes=" + offset + "-"
+                : "bytes=" + offset + "-" + (offset + length - 1);
+        try {
+            return s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range(range)
+                    .build());
+        } catch (SdkException e) {
+            throw new StorageException("S3 ranged get failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        try {
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build());
+            return Optional.of(new StoredObject(key, head.contentLength(), head.lastModified()));
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return Optional.empty();
+            throw new StorageException("S3 head failed for " + key + ": " + e.getMessage(), e);
+        } catch (SdkException e) {
+            throw new StorageException("S3 head failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void list(String prefix, Consumer<StoredObject> visitor) {
+        try {
+            s3Client.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                            .bucket(bucket)
+                            .prefix(prefix)
+                            .build())
+                    .contents()
+                    .forEach(obj -> visitor.accept(new StoredObject(
+                            obj.key(), obj.size() != null ? obj.size() : 0L, obj.lastModified())));
+        } catch (SdkException e) {
+            throw new StorageException("S3 list failed for " + prefix + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ============================================================
+    // DELETE
+    // ============================================================
+
+    @Override
+    public List<String> deleteBatch(List<String> keys) {
+        try {
+            return failedKeys(s3Client.deleteObjects(deleteRequest(keys)));
+        } catch (SdkException e) {
+            throw new StorageException("S3 batch delete failed: " + e.getMessage(), e);
+        }
+    }
+
+    private DeleteObjectsRequest deleteRequest(List<String> keys) {
+        return DeleteObjectsRequest.builder()
+                .bucket(bucket)
+                .delete(Delete.builder()
+                        .objects(keys.stream().map(k -> ObjectIdentifier.builder().key(k).build()).toList())
+                        .quiet(true)
+                        .build())
+                .build();
+    }
+
+    private static List<String> failedKeys(DeleteObjectsResponse response) {
+        if (!response.hasErrors() || response.errors().isEmpty()) return List.of();
+        response.errors().forEach(err -> log.warn("⚠️ S3 delete failed: key={}, code={}, message={}",
+                err.key(), err.code(), err.message()));
+        return response.errors().stream().map(S3Error::key).toList();
+    }
+
+    // ============================================================
+    // ASYNC
+    // ============================================================
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, byte[] body, String contentType) {
+        return s3AsyncClient.putObject(PutObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .contentType(contentType)
+                                .contentLength((long) body.length)
+                                .build(),
+                        AsyncRequestBody.fromBytes(body))
+                .handle((response, error) -> {
+                    if (error != null) throw storageFailure("S3 async put failed for " + key, error);
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<byte[]> readAsync(String key) {
+        return s3AsyncClient.getObject(GetObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .build(),
+                        AsyncResponseTransformer.toBytes())
+                .handle((bytes, error) -> {
+                    if (error != null) throw storageFailure("S3 async get failed for " + key, error);
+                    return bytes.asByteArray();
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> deleteBatchAsync(List<String> keys) {
+        return s3AsyncClient.deleteObjects(deleteRequest(keys))
+                .handle((response, error) -> {
+                    if (error != null) throw storageFailure("S3 async batch delete failed", error);
+                    return failedKeys(response);
+                });
+    }
+
+    private static CompletionException storageFailure(String message, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return new CompletionException(new StorageException(message + ": " + cause.getMessage(), cause));
+    }
+
+    // ============================================================
+    // URLS
+    // ============================================================
+
+    @Override
+    public String publicUrl(String key) {
+        return "https://" + bucket + ".s3." + region + ".amazonaws.com/" + key;
+    }
+
+    /**
+     * Handles virtual-hosted style ({@code bucket.s3.region.amazonaws.com/key})
+     * and path style ({@code s3.region.amazonaws.com/bucket/key}).
+     */
+    @Override
+    public String keyFromUrl(String url) {
+        try {
+            String path = new URI(url).getPath();
+            if (path == null) return null;
+            if (path.startsWith("/")) path = path.substring(1);
+            if (path.startsWith(bucket + "/")) path = path.substring(bucket.length() + 1);
+            return path;
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to parse S3 URL: {}", url);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean ownsUrl(String url) {
+        return url != null && url.contains(bucket) && url.contains(".s3.");
+    }
+}
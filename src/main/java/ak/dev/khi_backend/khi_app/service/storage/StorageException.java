@@ -0,0 +1,12 @@
+package ak.dev.khi_backend.khi_app.service.storage;
+
+/**
+ * Thrown by a {@link StorageProvider} when the backend call fails (network,
+ * permissions, disk). {@code S3Service} maps it to the API error codes.
+ */
+public class StorageException extends RuntimeException {
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,131 @@
+package ak.dev.khi_backend.khi_app.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * StorageProvider — the object store behind {@code S3Service}.
+ *
+ * Keys are {@code /}-separated paths such as
+ * {@code khi-web-folders/images/<uuid>-photo.jpg}; the backend decides how
+ * they map to objects or files and to public URLs. Selected with
+ * {@code app.storage.provider} ({@code s3} by default, or {@code filesystem}).
+ *
+ * Failures of the backend itself surface as {@link StorageException}; the
+ * {@code *Async} variants complete exceptionally with it instead.
+ */
+public interface StorageProvider {
+
+    /** Runs the blocking default {@code *Async} methods, one virtual thread per call. */
+    Executor BLOCKING_EXECUTOR = command -> Thread.ofVirtual().name("storage-async").start(command);
+
+    /** Re-openable request body; opened again when a write is retried. */
+    @FunctionalInterface
+    interface Source {
+        InputStream open() throws IOException;
+    }
+
+    /** An upload assembled from numbered parts; nothing is visible before {@link #complete()}. */
+    interface MultipartUpload {
+        void uploadPart(int partNumber, Source body, long length);
+
+        void complete();
+
+        void abort();
+    }
+
+    // ============================================================
+    // WRITE
+    // ============================================================
+
+    void put(String key, Source body, long contentLength, String contentType);
+
+    MultipartUpload startMultipart(String key, String contentType);
+
+    // ============================================================
+    // READ
+    // ============================================================
+
+    byte[] read(String key);
+
+    /**
+     * Stream {@code length} bytes starting at {@code offset}; a negative
+     * length reads to the end. The caller closes the stream.
+     */
+    InputStream readRange(String key, long offset, long length);
+
+    /**
+     * Copy {@code length} bytes starting at {@code offset} to {@code out}
+     * through one {@code bufferSize} buffer; returns the bytes written.
+     * Backends with a local file override this with {@code transferTo}.
+     */
+    default long copyRange(String key, long offset, long length, OutputStream out, int bufferSize) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        long copied = 0;
+        try (InputStream in = readRange(key, offset, length)) {
+            int n;
+            while (copied < length && (n = in.read(buffer, 0, (int) Math.min(buffer.length, length - copied))) > 0) {
+                out.write(buffer, 0, n);
+                copied += n;
+            }
+        }
+        return copied;
+    }
+
+    Optional<StoredObject> stat(String key);
+
+    /** Visit every object under {@code prefix}, without holding the listing in memory. */
+    void list(String prefix, Consumer<StoredObject> visitor);
+
+    // ============================================================
+    // DELETE
+    // ============================================================
+
+    /**
+     * Delete up to {@code S3Service.MAX_DELETE_BATCH} keys in one call.
+     *
+     * @return the keys that could not be deleted; missing keys count as deleted
+     */
+    List<String> deleteBatch(List<String> keys);
+
+    // ============================================================
+    // ASYNC
+    // ============================================================
+
+    /**
+     * Non-blocking variants for callers that fan out or must not hold a
+     * request thread. Backends with a native async client override these;
+     * the defaults run the blocking call on {@link #BLOCKING_EXECUTOR}.
+     */
+    default CompletableFuture<Void> putAsync(String key, byte[] body, String contentType) {
+        return CompletableFuture.runAsync(
+                () -> put(key, () -> new ByteArrayInputStream(body), body.length, contentType),
+                BLOCKING_EXECUTOR);
+    }
+
+    default CompletableFuture<byte[]> readAsync(String key) {
+        return CompletableFuture.supplyAsync(() -> read(key), BLOCKING_EXECUTOR);
+    }
+
+    default CompletableFuture<List<String>> deleteBatchAsync(List<String> keys) {
+        return CompletableFuture.supplyAsync(() -> deleteBatch(keys), BLOCKING_EXECUTOR);
+    }
+
+    // ============================================================
+    // URLS
+    // ============================================================
+
+    String publicUrl(String key);
+
+    /** @return the key behind a URL of this store, or {@code null} when it cannot be parsed */
+    String keyFromUrl(String url);
+
+    boolean ownsUrl(String url);
+}
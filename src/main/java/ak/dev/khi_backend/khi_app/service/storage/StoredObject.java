@@ -0,0 +1,6 @@
+package ak.dev.khi_backend.khi_app.service.storage;
+
+import java.time.Instant;
+
+/** One listed object; {@code lastModified} may be null when the backend does not report it. */
+public record StoredObject(String key, long size, Instant lastModified) {}
@@ -141,6 +141,8 @@ public class SecurityConfig {
 
                         // ── Content: public reads ─────────────────────────────────
                         .requestMatchers(HttpMethod.GET, "/api/v1/**").permitAll()
+                        // Stream keys of unsaved uploads are refused per key in MediaStreamService
+                        .requestMatchers(HttpMethod.HEAD, "/api/v1/stream/**").permitAll()
 
                         // ── Content: writes require EMPLOYEE+ ────────────────────
                         .requestMatchers(HttpMethod.POST,
@@ -17,7 +17,7 @@ import java.time.Instant;
 public class TokenBlacklist {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(name = "token", nullable = false, unique = true , length = 512)
@@ -28,7 +28,7 @@ import java.util.Collection;
 public class User implements Serializable, UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long userId;
 
     @Column(name = "name", nullable = false, length = 120)
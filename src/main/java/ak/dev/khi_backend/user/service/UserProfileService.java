@@ -1,6 +1,7 @@
 package ak.dev.khi_backend.user.service;
 
 import ak.dev.khi_backend.khi_app.service.S3Service;
+import ak.dev.khi_backend.khi_app.service.media.MediaDeletionService;
 import ak.dev.khi_backend.user.dto.ChangePasswordRequestDTO;
 import ak.dev.khi_backend.user.dto.UpdateProfileRequestDTO;
 import ak.dev.khi_backend.user.dto.UserResponseDTO;
@@ -57,6 +58,7 @@ public class UserProfileService {
     private final SessionRepository sessionRepository;
     private final PasswordEncoder   passwordEncoder;
     private final S3Service         s3Service;          // ← injected; replaces local-disk logic
+    private final MediaDeletionService mediaDeletionService;
     private final UserValidator     userValidator;
 
     // ── helpers ──────────────────────────────────────────────────────────────
@@ -221,14 +223,15 @@ public class UserProfileService {
     }
 
     /**
-     * Deletes an image from S3 only if the path is a full S3 URL belonging to
-     * our bucket.  Local filesystem paths (legacy data) are silently skipped.
+     * Queues the S3 delete of an image once the transaction commits, only if
+     * the path is a full S3 URL belonging to our bucket.  Local filesystem
+     * paths (legacy data) are silently skipped.
      */
     private void deleteS3Image(String imageUrl) {
         if (imageUrl == null || imageUrl.isBlank()) return;
 
         if (imageUrl.startsWith("http") && s3Service.isOurS3Url(imageUrl)) {
-            s3Service.deleteFile(imageUrl);
+            mediaDeletionService.deleteAfterCommit(List.of(imageUrl));
         } else {
             // Legacy local path — nothing to do; file may no longer exist
             log.debug("Skipping delete for non-S3 profile image path: {}", imageUrl);
@@ -0,0 +1,1464 @@
+-- Baseline: the schema as ddl-auto produced it before versioned migrations.
+--
+-- Generated from the entity mappings of that release with Hibernate's
+-- PostgreSQL dialect. Databases that already have these tables are
+-- baselined at version 1 without running this file (Flyway's
+-- baseline-on-migrate); everything added since lives in V2 and later, so
+-- baselined and fresh databases end up identical.
+
+create sequence sessions_seq start with 1 increment by 50;
+
+create table about_pages (
+    active boolean not null,
+    display_order integer,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    slug_ckb varchar(200) not null unique,
+    slug_kmr varchar(200) unique,
+    founder_name_ckb varchar(300),
+    founder_name_kmr varchar(300),
+    title_ckb varchar(300),
+    title_kmr varchar(300),
+    subtitle_ckb varchar(500),
+    subtitle_kmr varchar(500),
+    meta_description_ckb varchar(2500),
+    meta_description_kmr varchar(2500),
+    body_ckb TEXT,
+    body_kmr TEXT,
+    founder_bio_ckb TEXT,
+    founder_bio_kmr TEXT,
+    founder_image_url TEXT,
+    hero_poster_url TEXT,
+    hero_video_url TEXT,
+    stats jsonb,
+    primary key (id)
+);
+
+create table archive_donations (
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    status varchar(30) not null,
+    phone varchar(60),
+    estimated_date varchar(80),
+    material_type varchar(120) not null,
+    donor_name varchar(200) not null,
+    email varchar(254) not null,
+    title varchar(500) not null,
+    attachment_url TEXT,
+    description TEXT not null,
+    primary key (id)
+);
+
+create table contact_messages (
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    locale varchar(10),
+    status varchar(30) not null,
+    phone varchar(60),
+    name varchar(200) not null,
+    email varchar(254) not null,
+    subject varchar(300) not null,
+    message TEXT not null,
+    primary key (id)
+);
+
+create table contact_pages (
+    active boolean not null,
+    display_order integer,
+    latitude float(53),
+    longitude float(53),
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    office_type varchar(40),
+    phone varchar(60),
+    secondary_phone varchar(60),
+    badge_ckb varchar(200),
+    badge_kmr varchar(200),
+    email varchar(200),
+    slug_ckb varchar(200) not null unique,
+    slug_kmr varchar(200) unique,
+    title_ckb varchar(300),
+    title_kmr varchar(300),
+    working_hours_ckb varchar(300),
+    working_hours_kmr varchar(300),
+    address_ckb varchar(500),
+    address_kmr varchar(500),
+    subtitle_ckb varchar(500),
+    subtitle_kmr varchar(500),
+    description_ckb TEXT,
+    description_kmr TEXT,
+    hero_image_url TEXT,
+    map_embed_url TEXT,
+    primary key (id)
+);
+
+create table donation_settings (
+    archive_enabled boolean,
+    financial_enabled boolean,
+    id bigint generated by default as identity,
+    swift_code varchar(60),
+    account_number varchar(120),
+    iban varchar(120),
+    account_name varchar(300),
+    bank_name varchar(300),
+    title_ckb varchar(500),
+    title_kmr varchar(500),
+    description_ckb TEXT,
+    description_kmr TEXT,
+    hero_image_url TEXT,
+    payment_instructions_ckb TEXT,
+    payment_instructions_kmr TEXT,
+    primary key (id)
+);
+
+create table featured_items (
+    active boolean not null,
+    display_order integer,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    locale varchar(10),
+    type varchar(30) not null,
+    slug varchar(300) not null,
+    image_alt varchar(500),
+    title varchar(500) not null,
+    description TEXT not null,
+    image_url TEXT not null,
+    primary key (id)
+);
+
+create table financial_donations (
+    amount numeric(19,2) not null,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    currency varchar(10) not null,
+    status varchar(30) not null,
+    phone varchar(60),
+    payment_method varchar(80) not null,
+    donor_name varchar(200) not null,
+    transaction_reference varchar(200),
+    email varchar(254) not null,
+    message TEXT,
+    primary key (id)
+);
+
+create table image_album_items (
+    height_px integer,
+    sort_order integer,
+    width_px integer,
+    file_size_bytes bigint,
+    id bigint generated by default as identity,
+    image_collection_id bigint not null,
+    mime_type varchar(50),
+    caption_ckb varchar(500),
+    caption_kmr varchar(500),
+    description_ckb TEXT,
+    description_kmr TEXT,
+    embed_url TEXT,
+    external_url TEXT,
+    image_url TEXT,
+    primary key (id)
+);
+
+create table image_collection_languages (
+    image_collection_id bigint not null,
+    language varchar(10) not null check ((language in ('CKB','KMR'))),
+    primary key (image_collection_id, language)
+);
+
+create table image_collection_logs (
+    id bigint generated by default as identity,
+    image_collection_id bigint,
+    timestamp timestamp(6) not null,
+    action varchar(30) not null,
+    performed_by varchar(150),
+    collection_title varchar(300),
+    details TEXT,
+    primary key (id)
+);
+
+create table image_collections (
+    featured boolean not null,
+    featured_order integer,
+    publishment_date date,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    topic_id bigint,
+    updated_at timestamp(6) not null,
+    collection_type varchar(20) not null check ((collection_type in ('SINGLE','GALLERY','PHOTO_STORY'))),
+    slug_ckb varchar(240) unique,
+    slug_kmr varchar(240) unique,
+    collected_by_ckb varchar(250),
+    collected_by_kmr varchar(250),
+    location_ckb varchar(250),
+    location_kmr varchar(250),
+    title_ckb varchar(300),
+    title_kmr varchar(300),
+    ckb_cover_url TEXT,
+    description_ckb TEXT,
+    description_kmr TEXT,
+    hover_cover_url TEXT,
+    kmr_cover_url TEXT,
+    primary key (id)
+);
+
+create table image_keywords_ckb (
+    image_collection_id bigint not null,
+    keyword_ckb varchar(150) not null,
+    primary key (image_collection_id, keyword_ckb)
+);
+
+create table image_keywords_kmr (
+    image_collection_id bigint not null,
+    keyword_kmr varchar(150) not null,
+    primary key (image_collection_id, keyword_kmr)
+);
+
+create table image_tags_ckb (
+    image_collection_id bigint not null,
+    tag_ckb varchar(100) not null,
+    primary key (image_collection_id, tag_ckb)
+);
+
+create table image_tags_kmr (
+    image_collection_id bigint not null,
+    tag_kmr varchar(100) not null,
+    primary key (image_collection_id, tag_kmr)
+);
+
+create table news (
+    date_published date,
+    featured boolean not null,
+    featured_order integer,
+    category_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    sub_category_id bigint not null,
+    updated_at timestamp(6) not null,
+    cover_media_type varchar(16) check ((cover_media_type in ('IMAGE','VIDEO','AUDIO'))),
+    title_ckb varchar(250),
+    title_kmr varchar(250),
+    cover_thumbnail_url varchar(1024),
+    cover_url varchar(1024),
+    description_ckb TEXT,
+    description_kmr TEXT,
+    media_gallery jsonb,
+    primary key (id)
+);
+
+create table news_audit_logs (
+    action_time timestamp(6),
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    news_id bigint not null,
+    updated_at timestamp(6) not null,
+    action varchar(20) not null,
+    performed_by varchar(150),
+    note TEXT,
+    primary key (id)
+);
+
+create table news_categories (
+    id bigint generated by default as identity,
+    name_ckb varchar(120) not null unique,
+    name_kmr varchar(120) not null,
+    primary key (id)
+);
+
+create table news_content_languages (
+    news_id bigint not null,
+    language varchar(10) not null check ((language in ('CKB','KMR'))),
+    primary key (news_id, language)
+);
+
+create table news_keywords_ckb (
+    news_id bigint not null,
+    keyword_ckb varchar(120) not null,
+    primary key (news_id, keyword_ckb)
+);
+
+create table news_keywords_kmr (
+    news_id bigint not null,
+    keyword_kmr varchar(120) not null,
+    primary key (news_id, keyword_kmr)
+);
+
+create table news_sub_categories (
+    category_id bigint not null,
+    id bigint generated by default as identity,
+    name_ckb varchar(120) not null,
+    name_kmr varchar(120) not null,
+    primary key (id),
+    unique (category_id, name_ckb)
+);
+
+create table news_tags_ckb (
+    news_id bigint not null,
+    tag_ckb varchar(80) not null,
+    primary key (news_id, tag_ckb)
+);
+
+create table news_tags_kmr (
+    news_id bigint not null,
+    tag_kmr varchar(80) not null,
+    primary key (news_id, tag_kmr)
+);
+
+create table partners (
+    active boolean not null,
+    display_order integer,
+    id bigint generated by default as identity,
+    name_ckb varchar(300) not null,
+    name_kmr varchar(300),
+    description_ckb TEXT,
+    description_kmr TEXT,
+    logo_url TEXT,
+    website_url TEXT,
+    primary key (id)
+);
+
+create table project_content_languages (
+    project_id bigint not null,
+    language varchar(10) not null check ((language in ('CKB','KMR'))),
+    primary key (project_id, language)
+);
+
+create table project_keyword_map_ckb (
+    keyword_id bigint not null,
+    project_id bigint not null,
+    primary key (keyword_id, project_id)
+);
+
+create table project_keyword_map_kmr (
+    keyword_id bigint not null,
+    project_id bigint not null,
+    primary key (keyword_id, project_id)
+);
+
+create table project_keywords (
+    id bigint generated by default as identity,
+    name varchar(191) not null,
+    primary key (id),
+    constraint uq_project_keywords_name unique (name)
+);
+
+create table project_log (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    project_id bigint not null,
+    action varchar(50) not null,
+    field_name varchar(50),
+    new_value text,
+    old_value text,
+    primary key (id)
+);
+
+create table project_tag_map_ckb (
+    project_id bigint not null,
+    tag_id bigint not null,
+    primary key (project_id, tag_id)
+);
+
+create table project_tag_map_kmr (
+    project_id bigint not null,
+    tag_id bigint not null,
+    primary key (project_id, tag_id)
+);
+
+create table project_tags (
+    id bigint generated by default as identity,
+    name varchar(128) not null,
+    primary key (id),
+    constraint uq_project_tags_name unique (name)
+);
+
+create table projects (
+    featured boolean not null,
+    featured_order integer,
+    project_date date,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    cover_media_type varchar(16) check ((cover_media_type in ('IMAGE','VIDEO','AUDIO'))),
+    status varchar(32) not null check ((status in ('ACTIVE','ONGOING','COMPLETED','ARCHIVED'))),
+    created_by varchar(120),
+    updated_by varchar(120),
+    project_type_ckb varchar(128),
+    project_type_kmr varchar(128),
+    cover_thumbnail_url varchar(1024),
+    cover_url varchar(1024),
+    description_ckb TEXT,
+    description_kmr TEXT,
+    location_ckb varchar(255),
+    location_kmr varchar(255),
+    title_ckb varchar(255),
+    title_kmr varchar(255),
+    media_gallery jsonb,
+    primary key (id)
+);
+
+create table publishment_topics (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    entity_type varchar(20) not null,
+    name_ckb varchar(300),
+    name_kmr varchar(300),
+    primary key (id)
+);
+
+create table service_audit_logs (
+    id bigint generated by default as identity,
+    service_id bigint not null,
+    timestamp timestamp(6) not null,
+    action varchar(30) not null,
+    service_type varchar(100),
+    request_id varchar(120),
+    performed_by varchar(150),
+    details TEXT,
+    primary key (id)
+);
+
+create table service_contents (
+    id bigint generated by default as identity,
+    service_id bigint not null,
+    language_code varchar(10) not null,
+    title varchar(300) not null,
+    description TEXT,
+    primary key (id),
+    constraint uq_service_content_lang unique (service_id, language_code)
+);
+
+create table service_feature_images (
+    display_order integer not null,
+    service_id bigint not null,
+    image_url TEXT,
+    primary key (display_order, service_id)
+);
+
+create table service_gallery_media (
+    display_order integer not null,
+    service_id bigint not null,
+    media_type varchar(10),
+    alt varchar(500),
+    poster_url TEXT,
+    url TEXT,
+    primary key (display_order, service_id)
+);
+
+create table service_partners (
+    display_order integer not null,
+    partner_id bigint,
+    service_id bigint not null,
+    primary key (display_order, service_id)
+);
+
+create table service_thumbnail_images (
+    display_order integer not null,
+    service_id bigint not null,
+    image_url TEXT,
+    primary key (display_order, service_id)
+);
+
+create table services (
+    active boolean,
+    sort_order integer,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    published_at timestamp(6),
+    updated_at timestamp(6),
+    layout_type varchar(80),
+    service_type varchar(100) not null,
+    nav_anchor_id varchar(160),
+    location varchar(200),
+    hero_poster_url TEXT,
+    hero_video_url TEXT,
+    primary key (id)
+);
+
+create table sessions (
+    is_active boolean not null,
+    expires_at timestamp(6) with time zone not null,
+    id bigint not null,
+    login_timestamp timestamp(6) with time zone not null,
+    logout_timestamp timestamp(6) with time zone,
+    user_id bigint not null,
+    device_info varchar(255),
+    ip_address varchar(255),
+    session_id varchar(255) not null unique,
+    primary key (id)
+);
+
+create table site_settings (
+    max_featured_slides integer not null,
+    id bigint generated by default as identity,
+    primary key (id)
+);
+
+create table social_links (
+    active boolean not null,
+    display_order integer,
+    id bigint generated by default as identity,
+    platform varchar(60) not null,
+    label_ckb varchar(200),
+    label_kmr varchar(200),
+    url TEXT not null,
+    primary key (id),
+    constraint uk_social_platform unique (platform)
+);
+
+create table sound_reklam_videos (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    size_bytes bigint not null,
+    updated_at timestamp(6) not null,
+    mime_type varchar(100),
+    video_url varchar(1200) not null,
+    primary key (id)
+);
+
+create table sound_track_attachments (
+    attachment_order integer,
+    id bigint generated by default as identity,
+    size_bytes bigint not null,
+    sound_track_id bigint not null,
+    attachment_type varchar(20) not null check ((attachment_type in ('PDF','VIDEO','IMAGE','AUDIO','OTHER'))),
+    mime_type varchar(100),
+    title varchar(300),
+    file_url varchar(1200) not null,
+    primary key (id)
+);
+
+create table sound_track_brochures (
+    brochure_order integer,
+    id bigint generated by default as identity,
+    sound_track_file_id bigint not null,
+    caption varchar(300),
+    image_url varchar(1200) not null,
+    primary key (id)
+);
+
+create table sound_track_content_languages (
+    sound_track_id bigint not null,
+    language varchar(10) not null check ((language in ('CKB','KMR'))),
+    primary key (sound_track_id, language)
+);
+
+create table sound_track_directors (
+    sound_track_id bigint not null,
+    director_name varchar(255) not null,
+    primary key (sound_track_id, director_name)
+);
+
+create table sound_track_files (
+    publishment_year integer,
+    duration_seconds bigint not null,
+    id bigint generated by default as identity,
+    size_bytes bigint not null,
+    sound_track_id bigint not null,
+    audio_channel varchar(10) check ((audio_channel in ('MONO','STEREO'))),
+    file_type varchar(10) not null check ((file_type in ('AUDIO','VIDEO','MP3','WAV','OGG','AAC','FLAC','OTHER'))),
+    bit_rate varchar(50),
+    file_format varchar(50),
+    sample_rate varchar(50),
+    genre varchar(100),
+    form varchar(150),
+    title varchar(300),
+    recording_venue varchar(500),
+    file_url varchar(1200),
+    embed_url TEXT,
+    external_url TEXT,
+    primary key (id)
+);
+
+create table sound_track_keywords_ckb (
+    sound_track_id bigint not null,
+    keyword_ckb varchar(100) not null,
+    primary key (sound_track_id, keyword_ckb)
+);
+
+create table sound_track_keywords_kmr (
+    sound_track_id bigint not null,
+    keyword_kmr varchar(100) not null,
+    primary key (sound_track_id, keyword_kmr)
+);
+
+create table sound_track_locations (
+    sound_track_id bigint not null,
+    location varchar(255) not null,
+    primary key (sound_track_id, location)
+);
+
+create table sound_track_logs (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    sound_track_id bigint,
+    sound_track_ref_id bigint,
+    action varchar(40) not null,
+    actor_id varchar(120),
+    request_id varchar(120),
+    actor_name varchar(200),
+    sound_track_title varchar(300),
+    meta varchar(1000),
+    details varchar(8000),
+    primary key (id)
+);
+
+create table sound_track_tags_ckb (
+    sound_track_id bigint not null,
+    tag_ckb varchar(60) not null,
+    primary key (sound_track_id, tag_ckb)
+);
+
+create table sound_track_tags_kmr (
+    sound_track_id bigint not null,
+    tag_kmr varchar(60) not null,
+    primary key (sound_track_id, tag_kmr)
+);
+
+create table sound_tracks (
+    cd_number integer,
+    featured boolean not null,
+    featured_order integer,
+    is_album_of_memories boolean not null,
+    is_institute_project boolean not null,
+    publishment_year integer,
+    total_tracks integer,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    topic_id bigint,
+    updated_at timestamp(6) not null,
+    track_state varchar(10) not null check ((track_state in ('SINGLE','MULTI'))),
+    sound_type varchar(100) not null,
+    terms varchar(200),
+    title_ckb varchar(200),
+    title_kmr varchar(200),
+    album_name varchar(300),
+    ckb_cover_url varchar(1000),
+    hover_cover_url varchar(1000),
+    kmr_cover_url varchar(1000),
+    description_ckb TEXT,
+    description_kmr TEXT,
+    reader_name varchar(255),
+    primary key (id)
+);
+
+create table team_members (
+    active boolean not null,
+    display_order integer,
+    id bigint generated by default as identity,
+    office varchar(200),
+    name_ckb varchar(300) not null,
+    name_kmr varchar(300),
+    role_ckb varchar(300) not null,
+    role_kmr varchar(300),
+    bio_ckb TEXT,
+    bio_kmr TEXT,
+    image_url TEXT,
+    primary key (id)
+);
+
+create table token_blacklist (
+    blacklisted_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    id bigint generated by default as identity,
+    token varchar(512) not null unique,
+    primary key (id)
+);
+
+create table users_tbl (
+    failed_attempts integer not null,
+    is_activated boolean not null,
+    is_locked boolean not null,
+    created_at timestamp(6) with time zone,
+    lock_time timestamp(6) with time zone,
+    password_expiry_date timestamp(6) with time zone,
+    pincode bigint,
+    reset_token_expiration timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    user_id bigint generated by default as identity,
+    role varchar(30) not null check ((role in ('GUEST','EMPLOYEE','ADMIN','SUPER_ADMIN'))),
+    username varchar(80) not null unique,
+    name varchar(120) not null,
+    reset_token varchar(120),
+    email varchar(160) not null unique,
+    profile_image varchar(500),
+    password varchar(255) not null,
+    primary key (user_id)
+);
+
+create table video_cast_members (
+    display_order integer not null,
+    video_id bigint not null,
+    name_ckb varchar(300),
+    name_kmr varchar(300),
+    role_ckb varchar(300),
+    role_kmr varchar(300),
+    image_url TEXT,
+    primary key (display_order, video_id)
+);
+
+create table video_clip_items (
+    clip_number integer,
+    duration_seconds integer,
+    file_size_mb float(53),
+    id bigint generated by default as identity,
+    video_id bigint not null,
+    file_format varchar(20),
+    resolution varchar(20),
+    title_ckb varchar(300),
+    title_kmr varchar(300),
+    description_ckb TEXT,
+    description_kmr TEXT,
+    embed_url TEXT,
+    external_url TEXT,
+    url TEXT,
+    primary key (id)
+);
+
+create table video_content_languages (
+    video_id bigint not null,
+    language varchar(10) not null check ((language in ('CKB','KMR'))),
+    primary key (video_id, language)
+);
+
+create table video_highlight_clips (
+    display_order integer not null,
+    duration_seconds integer,
+    video_id bigint not null,
+    title_ckb varchar(300),
+    title_kmr varchar(300),
+    clip_url TEXT,
+    embed_url TEXT,
+    primary key (display_order, video_id)
+);
+
+create table video_keywords_ckb (
+    video_id bigint not null,
+    keyword_ckb varchar(150) not null,
+    primary key (video_id, keyword_ckb)
+);
+
+create table video_keywords_kmr (
+    video_id bigint not null,
+    keyword_kmr varchar(150) not null,
+    primary key (video_id, keyword_kmr)
+);
+
+create table video_logs (
+    id bigint generated by default as identity,
+    timestamp timestamp(6) not null,
+    video_id bigint,
+    action varchar(30) not null,
+    performed_by varchar(150),
+    video_title varchar(300),
+    details TEXT,
+    primary key (id)
+);
+
+create table video_source_files (
+    display_order integer not null,
+    duration_seconds integer,
+    is_main boolean not null,
+    video_id bigint not null,
+    label varchar(300),
+    embed_url TEXT,
+    external_url TEXT,
+    url TEXT,
+    primary key (display_order, video_id)
+);
+
+create table video_tags_ckb (
+    video_id bigint not null,
+    tag_ckb varchar(100) not null,
+    primary key (video_id, tag_ckb)
+);
+
+create table video_tags_kmr (
+    video_id bigint not null,
+    tag_kmr varchar(100) not null,
+    primary key (video_id, tag_kmr)
+);
+
+create table videos (
+    duration_seconds integer,
+    featured boolean not null,
+    featured_order integer,
+    file_size_mb float(53),
+    is_album_of_memories boolean not null,
+    publishment_date date,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    topic_id bigint,
+    updated_at timestamp(6) not null,
+    file_format varchar(20),
+    resolution varchar(20),
+    video_type varchar(20) not null check ((video_type in ('FILM','VIDEO_CLIP'))),
+    director_ckb varchar(250),
+    director_kmr varchar(250),
+    location_ckb varchar(250),
+    location_kmr varchar(250),
+    producer_ckb varchar(250),
+    producer_kmr varchar(250),
+    title_ckb varchar(300),
+    title_kmr varchar(300),
+    ckb_cover_url varchar(1000),
+    hover_cover_url varchar(1000),
+    kmr_cover_url varchar(1000),
+    description_ckb TEXT,
+    description_kmr TEXT,
+    source_embed_url TEXT,
+    source_external_url TEXT,
+    source_url TEXT,
+    primary key (id)
+);
+
+create table writing_book_genres (
+    writing_id bigint not null,
+    book_genre varchar(30) not null check ((book_genre in ('POETRY','NOVEL','SHORT_STORY','DRAMA','HISTORY','BIOGRAPHY','PHILOSOPHY','RELIGION','FOLKLORE','POLITICS','SOCIOLOGY','ECONOMICS','LAW','LINGUISTICS','ARTS','CULTURAL','SCIENCE','MEDICINE','EDUCATIONAL','CHILDREN','TRAVEL','OTHER','ESSAY','POLITICAL','ACADEMIC'))),
+    primary key (writing_id, book_genre)
+);
+
+create table writing_content_languages (
+    writing_id bigint not null,
+    language varchar(10) not null check ((language in ('CKB','KMR'))),
+    primary key (writing_id, language)
+);
+
+create table writing_keywords_ckb (
+    writing_id bigint not null,
+    keyword_ckb varchar(120) not null,
+    primary key (writing_id, keyword_ckb)
+);
+
+create table writing_keywords_kmr (
+    writing_id bigint not null,
+    keyword_kmr varchar(120) not null,
+    primary key (writing_id, keyword_kmr)
+);
+
+create table writing_logs (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    writing_id bigint,
+    writing_id_ref bigint not null,
+    action varchar(40) not null,
+    actor_id varchar(120),
+    request_id varchar(120),
+    actor_name varchar(200),
+    meta varchar(1000),
+    details TEXT,
+    primary key (id)
+);
+
+create table writing_tags_ckb (
+    writing_id bigint not null,
+    tag_ckb varchar(80) not null,
+    primary key (writing_id, tag_ckb)
+);
+
+create table writing_tags_kmr (
+    writing_id bigint not null,
+    tag_kmr varchar(80) not null,
+    primary key (writing_id, tag_kmr)
+);
+
+create table writings (
+    featured boolean not null,
+    featured_order integer,
+    page_count_ckb integer,
+    page_count_kmr integer,
+    published_by_institute boolean not null,
+    series_order float(53),
+    series_total_books integer,
+    created_at timestamp(6) not null,
+    file_size_bytes_ckb bigint,
+    file_size_bytes_kmr bigint,
+    id bigint generated by default as identity,
+    parent_book_id bigint,
+    topic_id bigint,
+    updated_at timestamp(6) not null,
+    file_format_ckb varchar(20) check ((file_format_ckb in ('PDF','DOCX','DOC','TXT','EPUB','ODT','RTF','HTML','OTHER'))),
+    file_format_kmr varchar(20) check ((file_format_kmr in ('PDF','DOCX','DOC','TXT','EPUB','ODT','RTF','HTML','OTHER'))),
+    series_id varchar(100),
+    genre_ckb varchar(150),
+    genre_kmr varchar(150),
+    writer_ckb varchar(200),
+    writer_kmr varchar(200),
+    series_name varchar(300),
+    title_ckb varchar(300),
+    title_kmr varchar(300),
+    file_url_ckb varchar(1000),
+    file_url_kmr varchar(1000),
+    ckb_cover_url TEXT,
+    description_ckb TEXT,
+    description_kmr TEXT,
+    hover_cover_url TEXT,
+    kmr_cover_url TEXT,
+    primary key (id)
+);
+
+create index idx_about_slug_ckb
+   on about_pages (slug_ckb);
+
+create index idx_about_slug_kmr
+   on about_pages (slug_kmr);
+
+create index idx_about_active
+   on about_pages (active);
+
+create index idx_archive_donation_status_created
+   on archive_donations (status, created_at);
+
+create index idx_contact_message_status_created
+   on contact_messages (status, created_at);
+
+create index idx_contact_slug_ckb
+   on contact_pages (slug_ckb);
+
+create index idx_contact_slug_kmr
+   on contact_pages (slug_kmr);
+
+create index idx_contact_active
+   on contact_pages (active);
+
+create index idx_featured_locale_active_order
+   on featured_items (locale, active, display_order);
+
+create index idx_financial_donation_status_created
+   on financial_donations (status, created_at);
+
+create index idx_album_item_collection_id
+   on image_album_items (image_collection_id);
+
+create index idx_img_log_collection_id
+   on image_collection_logs (image_collection_id);
+
+create index idx_img_log_action
+   on image_collection_logs (action);
+
+create index idx_img_log_timestamp
+   on image_collection_logs (timestamp);
+
+create index idx_img_collection_type
+   on image_collections (collection_type);
+
+create index idx_img_topic
+   on image_collections (topic_id);
+
+create index idx_img_title_ckb
+   on image_collections (title_ckb);
+
+create index idx_img_title_kmr
+   on image_collections (title_kmr);
+
+create index idx_img_publishment_date
+   on image_collections (publishment_date);
+
+create index idx_img_created_at
+   on image_collections (created_at);
+
+create index idx_img_updated_at
+   on image_collections (updated_at);
+
+create index idx_news_date_published
+   on news (date_published desc);
+
+create index idx_news_created_at
+   on news (created_at desc);
+
+create index idx_news_category_name_ckb
+   on news_categories (name_ckb);
+
+create index idx_news_sub_category_name_ckb
+   on news_sub_categories (name_ckb);
+
+create index idx_partner_active_order
+   on partners (active, display_order);
+
+create index idx_project_log_project_id
+   on project_log (project_id);
+
+create index idx_project_log_action
+   on project_log (action);
+
+create index idx_project_log_created_at
+   on project_log (created_at);
+
+create index idx_projects_type_ckb
+   on projects (project_type_ckb);
+
+create index idx_projects_type_kmr
+   on projects (project_type_kmr);
+
+create index idx_projects_status
+   on projects (status);
+
+create index idx_projects_date
+   on projects (project_date);
+
+create index idx_topic_entity_type
+   on publishment_topics (entity_type);
+
+create index idx_topic_name_ckb
+   on publishment_topics (entity_type, name_ckb);
+
+create index idx_topic_name_kmr
+   on publishment_topics (entity_type, name_kmr);
+
+create index idx_sal_service_id
+   on service_audit_logs (service_id);
+
+create index idx_sal_action
+   on service_audit_logs (action);
+
+create index idx_sal_timestamp
+   on service_audit_logs (timestamp);
+
+create index idx_service_content_service_id
+   on service_contents (service_id);
+
+create index idx_service_content_lang
+   on service_contents (language_code);
+
+create index idx_service_type
+   on services (service_type);
+
+create index idx_service_active
+   on services (active);
+
+create index idx_service_published_at
+   on services (published_at);
+
+create index idx_service_sort_order
+   on services (sort_order);
+
+create index idx_attachment_track
+   on sound_track_attachments (sound_track_id);
+
+create index idx_attachment_type
+   on sound_track_attachments (attachment_type);
+
+create index idx_brochure_file
+   on sound_track_brochures (sound_track_file_id);
+
+create index idx_sound_file_type
+   on sound_track_files (file_type);
+
+create index idx_sound_file_track
+   on sound_track_files (sound_track_id);
+
+create index idx_stlog_soundtrack
+   on sound_track_logs (sound_track_id);
+
+create index idx_stlog_action
+   on sound_track_logs (action);
+
+create index idx_stlog_created_at
+   on sound_track_logs (created_at);
+
+create index idx_soundtrack_type
+   on sound_tracks (sound_type);
+
+create index idx_soundtrack_state
+   on sound_tracks (track_state);
+
+create index idx_soundtrack_album
+   on sound_tracks (is_album_of_memories);
+
+create index idx_soundtrack_topic
+   on sound_tracks (topic_id);
+
+create index idx_soundtrack_created_at
+   on sound_tracks (created_at);
+
+create index idx_soundtrack_updated_at
+   on sound_tracks (updated_at);
+
+create index idx_team_active_order
+   on team_members (active, display_order);
+
+create index idx_clip_video_id
+   on video_clip_items (video_id);
+
+create index idx_clip_clip_number
+   on video_clip_items (clip_number);
+
+create index idx_vlog_video_id
+   on video_logs (video_id);
+
+create index idx_vlog_action
+   on video_logs (action);
+
+create index idx_vlog_timestamp
+   on video_logs (timestamp);
+
+create index idx_video_type
+   on videos (video_type);
+
+create index idx_video_album
+   on videos (is_album_of_memories);
+
+create index idx_video_pub_date
+   on videos (publishment_date);
+
+create index idx_video_topic
+   on videos (topic_id);
+
+create index idx_video_title_ckb
+   on videos (title_ckb);
+
+create index idx_video_title_kmr
+   on videos (title_kmr);
+
+create index idx_wlog_writing
+   on writing_logs (writing_id);
+
+create index idx_wlog_writing_ref
+   on writing_logs (writing_id_ref);
+
+create index idx_wlog_action
+   on writing_logs (action);
+
+create index idx_wlog_created_at
+   on writing_logs (created_at);
+
+create index idx_writing_topic_id
+   on writings (topic_id);
+
+create index idx_writing_institute
+   on writings (published_by_institute);
+
+create index idx_writing_created_at
+   on writings (created_at);
+
+create index idx_writing_updated_at
+   on writings (updated_at);
+
+create index idx_writer_ckb
+   on writings (writer_ckb);
+
+create index idx_writer_kmr
+   on writings (writer_kmr);
+
+create index idx_series_id
+   on writings (series_id);
+
+create index idx_series_composite
+   on writings (series_id, series_order);
+
+create index idx_parent_book
+   on writings (parent_book_id);
+
+alter table if exists image_album_items
+   add constraint FK4ggc6orehjh9f48oahen5rnb0
+   foreign key (image_collection_id)
+   references image_collections;
+
+alter table if exists image_collection_languages
+   add constraint FKacppj7uinqyn113j6refcwjag
+   foreign key (image_collection_id)
+   references image_collections;
+
+alter table if exists image_collections
+   add constraint FKhrd9p3e61hqs26p4oyqfkloau
+   foreign key (topic_id)
+   references publishment_topics;
+
+alter table if exists image_keywords_ckb
+   add constraint FKm8l7ifco7xqlqidxps0u36hnj
+   foreign key (image_collection_id)
+   references image_collections;
+
+alter table if exists image_keywords_kmr
+   add constraint FKtib08nvhevrei6y67wdpy3y4k
+   foreign key (image_collection_id)
+   references image_collections;
+
+alter table if exists image_tags_ckb
+   add constraint FKmdnkpu29vys10ypw9cvkdaec5
+   foreign key (image_collection_id)
+   references image_collections;
+
+alter table if exists image_tags_kmr
+   add constraint FKsl4dri7ji57mqf4a9fqt2vlq9
+   foreign key (image_collection_id)
+   references image_collections;
+
+alter table if exists news
+   add constraint FKc4wejd2hk38ntj64b4w9bk1bh
+   foreign key (category_id)
+   references news_categories;
+
+alter table if exists news
+   add constraint FKnnta97ju8f8ewmxaqsyvbuehe
+   foreign key (sub_category_id)
+   references news_sub_categories;
+
+alter table if exists news_content_languages
+   add constraint FK4xv6k4yo1dt0w0lhgoviv5iwc
+   foreign key (news_id)
+   references news;
+
+alter table if exists news_keywords_ckb
+   add constraint FKcqo90hqybb8xnr65xixf6lgdg
+   foreign key (news_id)
+   references news;
+
+alter table if exists news_keywords_kmr
+   add constraint FKkp11okgswecyrsd7yc7raqamt
+   foreign key (news_id)
+   references news;
+
+alter table if exists news_sub_categories
+   add constraint FK5iqced7gsrk8icqsvxmgb2085
+   foreign key (category_id)
+   references news_categories;
+
+alter table if exists news_tags_ckb
+   add constraint FK7ttfygca65xb1ylf8e478lx77
+   foreign key (news_id)
+   references news;
+
+alter table if exists news_tags_kmr
+   add constraint FKo8sxon0dylvks5ak1qr1dv7j1
+   foreign key (news_id)
+   references news;
+
+alter table if exists project_content_languages
+   add constraint FKp6epno5f1wplvqi733btpqhq
+   foreign key (project_id)
+   references projects;
+
+alter table if exists project_keyword_map_ckb
+   add constraint FKa6toxrhhfgdvp068frr37lwck
+   foreign key (keyword_id)
+   references project_keywords;
+
+alter table if exists project_keyword_map_ckb
+   add constraint FKnmpbapk0osf1g9ogtexvvns4p
+   foreign key (project_id)
+   references projects;
+
+alter table if exists project_keyword_map_kmr
+   add constraint FKk7fbcylehr3y0d3k5or9lah4o
+   foreign key (keyword_id)
+   references project_keywords;
+
+alter table if exists project_keyword_map_kmr
+   add constraint FKk0ho65tnvgctud6b8yww8p5x0
+   foreign key (project_id)
+   references projects;
+
+alter table if exists project_log
+   add constraint fk_project_log_project
+   foreign key (project_id)
+   references projects
+   on delete cascade;
+
+alter table if exists project_tag_map_ckb
+   add constraint FK6tfn8yh66slp4ewphxj0vv9pl
+   foreign key (tag_id)
+   references project_tags;
+
+alter table if exists project_tag_map_ckb
+   add constraint FKb5gya6ctcexvds1srcg7eyhkn
+   foreign key (project_id)
+   references projects;
+
+alter table if exists project_tag_map_kmr
+   add constraint FKt57ac4y9ko80phk6e7nupq9ci
+   foreign key (tag_id)
+   references project_tags;
+
+alter table if exists project_tag_map_kmr
+   add constraint FK5wchqmkd31cys8vkjiqnot3k0
+   foreign key (project_id)
+   references projects;
+
+alter table if exists service_contents
+   add constraint FKbdip9fv9v0ycvbhlirff2guvw
+   foreign key (service_id)
+   references services;
+
+alter table if exists service_feature_images
+   add constraint FK8a1sk090lfepqes2m16kxpuc6
+   foreign key (service_id)
+   references services;
+
+alter table if exists service_gallery_media
+   add constraint FK5kgfgljox9yfy8fwudfhgg07s
+   foreign key (service_id)
+   references services;
+
+alter table if exists service_partners
+   add constraint FK8xw79143k48hjpqo6kttlop32
+   foreign key (service_id)
+   references services;
+
+alter table if exists service_thumbnail_images
+   add constraint FKongumjw661jtu6uw9h569xmu7
+   foreign key (service_id)
+   references services;
+
+alter table if exists sessions
+   add constraint FK4roog0oq6cb0essbkvmo0b8vl
+   foreign key (user_id)
+   references users_tbl;
+
+alter table if exists sound_track_attachments
+   add constraint FK14x7p52gv8o66jypq3m2ffj4f
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_track_brochures
+   add constraint FKmxed3elyqi3naxoxfrcu25bku
+   foreign key (sound_track_file_id)
+   references sound_track_files;
+
+alter table if exists sound_track_content_languages
+   add constraint FKlmcpar60c7vrhuds9xjo6c0ey
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_track_directors
+   add constraint FK6yi7o7lpuyckhxg5krw7vtbuf
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_track_files
+   add constraint FK9os0yue7wt3m7btowql8ui6d9
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_track_keywords_ckb
+   add constraint FKh47400jiedqrc23lhy6ge01di
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_track_keywords_kmr
+   add constraint FKl5i625b80um6vqnh3jld5iakp
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_track_locations
+   add constraint FKprwpdd3pl3d49oh2ywyxinsub
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_track_logs
+   add constraint FK902vhlmp348o151liql4bby2p
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_track_tags_ckb
+   add constraint FKdhhahfx0nvhu1126h2wcmvtvs
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_track_tags_kmr
+   add constraint FKil5261k5dr3dcd2lr1k4p76lp
+   foreign key (sound_track_id)
+   references sound_tracks;
+
+alter table if exists sound_tracks
+   add constraint FKlmi6arke075scjoh86f6718my
+   foreign key (topic_id)
+   references publishment_topics;
+
+alter table if exists video_cast_members
+   add constraint FKpxu0r9pkoo55fvv48cwcvqt9j
+   foreign key (video_id)
+   references videos;
+
+alter table if exists video_clip_items
+   add constraint FKgl9o0a6shqwatgcmrpx1fhnsd
+   foreign key (video_id)
+   references videos;
+
+alter table if exists video_content_languages
+   add constraint FK9rd69aga70r3v4yt81agxic5s
+   foreign key (video_id)
+   references videos;
+
+alter table if exists video_highlight_clips
+   add constraint FKsuqsj8hiqwn1ue6vgtyhw22s0
+   foreign key (video_id)
+   references videos;
+
+alter table if exists video_keywords_ckb
+   add constraint FKfaj1wa67xlyt7ofanxnaaoi54
+   foreign key (video_id)
+   references videos;
+
+alter table if exists video_keywords_kmr
+   add constraint FKa86b4936ptsam2sdni8x6ijh0
+   foreign key (video_id)
+   references videos;
+
+alter table if exists video_source_files
+   add constraint FKb1ma0052g6qxscbb34sxcqcow
+   foreign key (video_id)
+   references videos;
+
+alter table if exists video_tags_ckb
+   add constraint FK9nu5td64ji0ougld26ti6hm5q
+   foreign key (video_id)
+   references videos;
+
+alter table if exists video_tags_kmr
+   add constraint FKjy0023m2gmtkq72o7o2483fut
+   foreign key (video_id)
+   references videos;
+
+alter table if exists videos
+   add constraint FKth0fd8i64p3widkq96nd4vwv1
+   foreign key (topic_id)
+   references publishment_topics;
+
+alter table if exists writing_book_genres
+   add constraint FKptbfo5djq8yql1c7tgjsxtmd1
+   foreign key (writing_id)
+   references writings;
+
+alter table if exists writing_content_languages
+   add constraint FK8hryyaiw8vt6fdsqwooio2pem
+   foreign key (writing_id)
+   references writings;
+
+alter table if exists writing_keywords_ckb
+   add constraint FKefydnwaqgb0ok1jxpeloyk9j7
+   foreign key (writing_id)
+   references writings;
+
+alter table if exists writing_keywords_kmr
+   add constraint FK3vuifuhi1yqlceb09tv918myh
+   foreign key (writing_id)
+   references writings;
+
+alter table if exists writing_logs
+   add constraint FKo2xkjdh2dh1ajfju881ohgjmy
+   foreign key (writing_id)
+   references writings;
+
+alter table if exists writing_tags_ckb
+   add constraint FKkeqcnxc23m1b3eujyu78u2igl
+   foreign key (writing_id)
+   references writings;
+
+alter table if exists writing_tags_kmr
+   add constraint FKfjj4t1j9076jmbj4kb8na00p0
+   foreign key (writing_id)
+   references writings;
+
+alter table if exists writings
+   add constraint FK2dgv656nyh6525dk8imasq807
+   foreign key (parent_book_id)
+   references writings;
+
+alter table if exists writings
+   add constraint FK27bp8ns3rfef3g1dita2ldeka
+   foreign key (topic_id)
+   references publishment_topics;
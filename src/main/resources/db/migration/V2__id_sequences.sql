@@ -0,0 +1,163 @@
+-- Entity ids move from IDENTITY columns to pooled-lo sequences
+-- (allocation size 50), so Hibernate can JDBC-batch inserts.
+--
+-- Each sequence starts past the table's highest id: with pooled-lo the
+-- value nextval returns is the low end of the next block, so it must not
+-- be an id already in use. The identity is dropped afterwards so the
+-- column no longer has a default of its own.
+
+create sequence about_pages_seq start with 1 increment by 50;
+select setval('about_pages_seq', coalesce((select max(id) from about_pages), 0) + 1, false);
+alter table about_pages alter column id drop identity if exists;
+
+create sequence archive_donations_seq start with 1 increment by 50;
+select setval('archive_donations_seq', coalesce((select max(id) from archive_donations), 0) + 1, false);
+alter table archive_donations alter column id drop identity if exists;
+
+create sequence contact_messages_seq start with 1 increment by 50;
+select setval('contact_messages_seq', coalesce((select max(id) from contact_messages), 0) + 1, false);
+alter table contact_messages alter column id drop identity if exists;
+
+create sequence contact_pages_seq start with 1 increment by 50;
+select setval('contact_pages_seq', coalesce((select max(id) from contact_pages), 0) + 1, false);
+alter table contact_pages alter column id drop identity if exists;
+
+create sequence donation_settings_seq start with 1 increment by 50;
+select setval('donation_settings_seq', coalesce((select max(id) from donation_settings), 0) + 1, false);
+alter table donation_settings alter column id drop identity if exists;
+
+create sequence featured_items_seq start with 1 increment by 50;
+select setval('featured_items_seq', coalesce((select max(id) from featured_items), 0) + 1, false);
+alter table featured_items alter column id drop identity if exists;
+
+create sequence financial_donations_seq start with 1 increment by 50;
+select setval('financial_donations_seq', coalesce((select max(id) from financial_donations), 0) + 1, false);
+alter table financial_donations alter column id drop identity if exists;
+
+create sequence image_album_items_seq start with 1 increment by 50;
+select setval('image_album_items_seq', coalesce((select max(id) from image_album_items), 0) + 1, false);
+alter table image_album_items alter column id drop identity if exists;
+
+create sequence image_collection_logs_seq start with 1 increment by 50;
+select setval('image_collection_logs_seq', coalesce((select max(id) from image_collection_logs), 0) + 1, false);
+alter table image_collection_logs alter column id drop identity if exists;
+
+create sequence image_collections_seq start with 1 increment by 50;
+select setval('image_collections_seq', coalesce((select max(id) from image_collections), 0) + 1, false);
+alter table image_collections alter column id drop identity if exists;
+
+create sequence news_seq start with 1 increment by 50;
+select setval('news_seq', coalesce((select max(id) from news), 0) + 1, false);
+alter table news alter column id drop identity if exists;
+
+create sequence news_audit_logs_seq start with 1 increment by 50;
+select setval('news_audit_logs_seq', coalesce((select max(id) from news_audit_logs), 0) + 1, false);
+alter table news_audit_logs alter column id drop identity if exists;
+
+create sequence news_categories_seq start with 1 increment by 50;
+select setval('news_categories_seq', coalesce((select max(id) from news_categories), 0) + 1, false);
+alter table news_categories alter column id drop identity if exists;
+
+create sequence news_sub_categories_seq start with 1 increment by 50;
+select setval('news_sub_categories_seq', coalesce((select max(id) from news_sub_categories), 0) + 1, false);
+alter table news_sub_categories alter column id drop identity if exists;
+
+create sequence partners_seq start with 1 increment by 50;
+select setval('partners_seq', coalesce((select max(id) from partners), 0) + 1, false);
+alter table partners alter column id drop identity if exists;
+
+create sequence project_keywords_seq start with 1 increment by 50;
+select setval('project_keywords_seq', coalesce((select max(id) from project_keywords), 0) + 1, false);
+alter table project_keywords alter column id drop identity if exists;
+
+create sequence project_log_seq start with 1 increment by 50;
+select setval('project_log_seq', coalesce((select max(id) from project_log), 0) + 1, false);
+alter table project_log alter column id drop identity if exists;
+
+create sequence project_tags_seq start with 1 increment by 50;
+select setval('project_tags_seq', coalesce((select max(id) from project_tags), 0) + 1, false);
+alter table project_tags alter column id drop identity if exists;
+
+create sequence projects_seq start with 1 increment by 50;
+select setval('projects_seq', coalesce((select max(id) from projects), 0) + 1, false);
+alter table projects alter column id drop identity if exists;
+
+create sequence publishment_topics_seq start with 1 increment by 50;
+select setval('publishment_topics_seq', coalesce((select max(id) from publishment_topics), 0) + 1, false);
+alter table publishment_topics alter column id drop identity if exists;
+
+create sequence service_audit_logs_seq start with 1 increment by 50;
+select setval('service_audit_logs_seq', coalesce((select max(id) from service_audit_logs), 0) + 1, false);
+alter table service_audit_logs alter column id drop identity if exists;
+
+create sequence service_contents_seq start with 1 increment by 50;
+select setval('service_contents_seq', coalesce((select max(id) from service_contents), 0) + 1, false);
+alter table service_contents alter column id drop identity if exists;
+
+create sequence services_seq start with 1 increment by 50;
+select setval('services_seq', coalesce((select max(id) from services), 0) + 1, false);
+alter table services alter column id drop identity if exists;
+
+create sequence site_settings_seq start with 1 increment by 50;
+select setval('site_settings_seq', coalesce((select max(id) from site_settings), 0) + 1, false);
+alter table site_settings alter column id drop identity if exists;
+
+create sequence social_links_seq start with 1 increment by 50;
+select setval('social_links_seq', coalesce((select max(id) from social_links), 0) + 1, false);
+alter table social_links alter column id drop identity if exists;
+
+create sequence sound_reklam_videos_seq start with 1 increment by 50;
+select setval('sound_reklam_videos_seq', coalesce((select max(id) from sound_reklam_videos), 0) + 1, false);
+alter table sound_reklam_videos alter column id drop identity if exists;
+
+create sequence sound_track_attachments_seq start with 1 increment by 50;
+select setval('sound_track_attachments_seq', coalesce((select max(id) from sound_track_attachments), 0) + 1, false);
+alter table sound_track_attachments alter column id drop identity if exists;
+
+create sequence sound_track_brochures_seq start with 1 increment by 50;
+select setval('sound_track_brochures_seq', coalesce((select max(id) from sound_track_brochures), 0) + 1, false);
+alter table sound_track_brochures alter column id drop identity if exists;
+
+create sequence sound_track_files_seq start with 1 increment by 50;
+select setval('sound_track_files_seq', coalesce((select max(id) from sound_track_files), 0) + 1, false);
+alter table sound_track_files alter column id drop identity if exists;
+
+create sequence sound_track_logs_seq start with 1 increment by 50;
+select setval('sound_track_logs_seq', coalesce((select max(id) from sound_track_logs), 0) + 1, false);
+alter table sound_track_logs alter column id drop identity if exists;
+
+create sequence sound_tracks_seq start with 1 increment by 50;
+select setval('sound_tracks_seq', coalesce((select max(id) from sound_tracks), 0) + 1, false);
+alter table sound_tracks alter column id drop identity if exists;
+
+create sequence team_members_seq start with 1 increment by 50;
+select setval('team_members_seq', coalesce((select max(id) from team_members), 0) + 1, false);
+alter table team_members alter column id drop identity if exists;
+
+create sequence token_blacklist_seq start with 1 increment by 50;
+select setval('token_blacklist_seq', coalesce((select max(id) from token_blacklist), 0) + 1, false);
+alter table token_blacklist alter column id drop identity if exists;
+
+create sequence users_tbl_seq start with 1 increment by 50;
+select setval('users_tbl_seq', coalesce((select max(user_id) from users_tbl), 0) + 1, false);
+alter table users_tbl alter column user_id drop identity if exists;
+
+create sequence video_clip_items_seq start with 1 increment by 50;
+select setval('video_clip_items_seq', coalesce((select max(id) from video_clip_items), 0) + 1, false);
+alter table video_clip_items alter column id drop identity if exists;
+
+create sequence video_logs_seq start with 1 increment by 50;
+select setval('video_logs_seq', coalesce((select max(id) from video_logs), 0) + 1, false);
+alter table video_logs alter column id drop identity if exists;
+
+create sequence videos_seq start with 1 increment by 50;
+select setval('videos_seq', coalesce((select max(id) from videos), 0) + 1, false);
+alter table videos alter column id drop identity if exists;
+
+create sequence writing_logs_seq start with 1 increment by 50;
+select setval('writing_logs_seq', coalesce((select max(id) from writing_logs), 0) + 1, false);
+alter table writing_logs alter column id drop identity if exists;
+
+create sequence writings_seq start with 1 increment by 50;
+select setval('writings_seq', coalesce((select max(id) from writings), 0) + 1, false);
+alter table writings alter column id drop identity if exists;
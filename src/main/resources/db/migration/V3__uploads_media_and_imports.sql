@@ -0,0 +1,168 @@
+-- Tables added for chunked uploads, content-addressed media with its
+-- deletion outbox, image variants, bulk imports and extracted book text,
+-- the thumbnail columns of album items and the news audit log indexes.
+
+-- ── Album thumbnails ─────────────────────────────────────────────────────────
+
+alter table image_album_items
+    add column thumbnail_height_px integer,
+    add column thumbnail_width_px integer,
+    add column thumbnail_url TEXT;
+
+-- ── image_variants ───────────────────────────────────────────────────────────
+
+create sequence image_variants_seq start with 1 increment by 50;
+
+create table image_variants (
+    height_px integer not null,
+    width_px integer not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    size_bytes bigint not null,
+    content_type varchar(50),
+    source_url varchar(1200) not null,
+    url varchar(1200) not null,
+    primary key (id),
+    constraint uk_image_variant_source_width unique (source_url, width_px)
+);
+
+create index idx_image_variant_source_url
+   on image_variants (source_url);
+
+-- ── import_jobs ──────────────────────────────────────────────────────────────
+
+create sequence import_jobs_seq start with 1 increment by 50;
+
+create table import_jobs (
+    chunk_size integer not null,
+    committed_rows bigint not null,
+    created_at timestamp(6) not null,
+    failed_rows bigint not null,
+    finished_at timestamp(6),
+    id bigint not null,
+    imported_rows bigint not null,
+    updated_at timestamp(6) not null,
+    format varchar(10) not null check ((format in ('NDJSON','CSV'))),
+    status varchar(20) not null check ((status in ('QUEUED','RUNNING','COMPLETED','FAILED'))),
+    target varchar(20) not null check ((target in ('NEWS','WRITING','SOUND_TRACK','VIDEO'))),
+    created_by varchar(150),
+    file_name varchar(500),
+    last_error varchar(1000),
+    spool_path varchar(1000) not null,
+    primary key (id)
+);
+
+create index idx_import_job_status
+   on import_jobs (status);
+
+-- ── import_row_errors ────────────────────────────────────────────────────────
+
+create sequence import_row_errors_seq start with 1 increment by 50;
+
+create table import_row_errors (
+    created_at timestamp(6) not null,
+    id bigint not null,
+    job_id bigint not null,
+    record_number bigint not null,
+    error_code varchar(50) not null,
+    message varchar(1000),
+    raw_row TEXT,
+    primary key (id)
+);
+
+create index idx_import_row_error_job_row
+   on import_row_errors (job_id, record_number);
+
+-- ── media_blobs ──────────────────────────────────────────────────────────────
+
+create sequence media_blobs_seq start with 1 increment by 50;
+
+create table media_blobs (
+    ref_count integer not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    last_referenced_at timestamp(6) not null,
+    size_bytes bigint not null,
+    sha256 varchar(64) not null unique,
+    content_type varchar(150),
+    s3_key varchar(1000) not null unique,
+    primary key (id)
+);
+
+-- ── media_outbox ─────────────────────────────────────────────────────────────
+
+create sequence media_outbox_seq start with 1 increment by 50;
+
+create table media_outbox (
+    attempts integer not null,
+    failed boolean not null,
+    available_at timestamp(6) not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    type varchar(40) not null check ((type in ('DELETE_MEDIA','DELETE_OBJECTS','GENERATE_DERIVATIVES','EVICT_CACHE','ANALYZE_BOOK'))),
+    last_error varchar(1000),
+    payload TEXT not null,
+    primary key (id)
+);
+
+create index idx_media_outbox_due
+   on media_outbox (failed, available_at);
+
+-- ── upload_sessions ──────────────────────────────────────────────────────────
+
+create sequence upload_sessions_seq start with 1 increment by 50;
+
+create table upload_sessions (
+    audio_channels integer,
+    bitrate_kbps integer,
+    duration_seconds integer,
+    height_px integer,
+    sample_rate_hz integer,
+    width_px integer,
+    completed_at timestamp(6),
+    created_at timestamp(6) not null,
+    id bigint not null,
+    received_bytes bigint not null,
+    total_size bigint not null,
+    updated_at timestamp(6) not null,
+    status varchar(20) not null check ((status in ('IN_PROGRESS','COMPLETED','ABORTED'))),
+    media_hint varchar(30),
+    upload_id varchar(36) not null unique,
+    file_format varchar(50),
+    content_type varchar(150),
+    created_by varchar(150),
+    file_name varchar(500) not null,
+    spool_path varchar(1000),
+    file_url varchar(1200),
+    primary key (id)
+);
+
+create index idx_upload_session_status_updated
+   on upload_sessions (status, updated_at);
+
+-- ── writing_book_texts ───────────────────────────────────────────────────────
+
+create sequence writing_book_texts_seq start with 1 increment by 50;
+
+create table writing_book_texts (
+    truncated boolean not null,
+    extracted_at timestamp(6) not null,
+    id bigint not null,
+    writing_id bigint not null,
+    language varchar(10) not null check ((language in ('CKB','KMR'))),
+    file_url varchar(1000) not null,
+    content TEXT not null,
+    primary key (id),
+    constraint uk_writing_book_text_lang unique (writing_id, language)
+);
+
+create index idx_writing_book_text_extracted_at
+   on writing_book_texts (extracted_at);
+
+-- ── news_audit_logs ─────────────────────────────────────────────────────────
+
+create index idx_nal_news_id
+   on news_audit_logs (news_id);
+
+create index idx_nal_created_at
+   on news_audit_logs (created_at);
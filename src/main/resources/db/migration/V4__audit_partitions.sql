@@ -0,0 +1,75 @@
+-- Monthly range partitioning for the content audit tables.
+--
+-- Each table is renamed, a partitioned table with the same columns takes
+-- its name, monthly partitions are created from the oldest row up to three
+-- months ahead (plus a _default partition as a catch-all), the rows are
+-- copied over and the old table is dropped. The primary key becomes
+-- (id, <time column>) as PostgreSQL requires; foreign keys and secondary
+-- indexes are recreated on the parent so every partition gets its own copy.
+--
+-- Later months are created ahead of time, and expired ones archived, by
+-- AuditPartitionManager. Migrations that touch an audit table from here on
+-- target the partitioned parent.
+
+do $$
+declare
+    audit      record;
+    legacy     text;
+    oldest     timestamp;
+    month      date;
+    last_month date := (date_trunc('month', now() at time zone 'utc') + interval '3 months')::date;
+    fks        text[];
+    indexes    text[];
+    ddl        text;
+begin
+    for audit in
+        select * from (values
+            ('project_log',           'created_at'),
+            ('news_audit_logs',       'created_at'),
+            ('service_audit_logs',    'timestamp'),
+            ('sound_track_logs',      'created_at'),
+            ('image_collection_logs', 'timestamp'),
+            ('video_logs',            'timestamp'),
+            ('writing_logs',          'created_at')
+        ) as t(name, col)
+    loop
+        legacy := audit.name || '_legacy';
+
+        -- Captured before the rename so the definitions still point at the original name
+        select coalesce(array_agg(format('alter table %I add constraint %I %s',
+                       audit.name, conname, pg_get_constraintdef(oid))), '{}')
+          into fks
+          from pg_constraint
+         where conrelid = audit.name::regclass and contype = 'f';
+        select coalesce(array_agg(pg_get_indexdef(indexrelid)), '{}')
+          into indexes
+          from pg_index
+         where indrelid = audit.name::regclass and not indisprimary and not indisunique;
+        execute format('select min(%I) from %I', audit.col, audit.name) into oldest;
+
+        execute format('alter table %I rename to %I', audit.name, legacy);
+        execute format('create table %I (like %I including defaults including constraints) partition by range (%I)',
+                       audit.name, legacy, audit.col);
+
+        month := date_trunc('month', least(coalesce(oldest, now() at time zone 'utc'), now() at time zone 'utc'))::date;
+        while month <= last_month loop
+            execute format('create table %I partition of %I for values from (%L) to (%L)',
+                           audit.name || to_char(month, '"_p"YYYY"_"MM'), audit.name,
+                           month, (month + interval '1 month')::date);
+            month := (month + interval '1 month')::date;
+        end loop;
+        execute format('create table %I partition of %I default', audit.name || '_default', audit.name);
+
+        execute format('insert into %I select * from %I', audit.name, legacy);
+        execute format('drop table %I', legacy);
+
+        execute format('alter table %I add primary key (id, %I)', audit.name, audit.col);
+        foreach ddl in array fks loop
+            execute ddl;
+        end loop;
+        foreach ddl in array indexes loop
+            execute ddl;
+        end loop;
+    end loop;
+end
+$$;
@@ -0,0 +1,130 @@
+-- Indexes for the repository queries that ddl-auto could not express:
+-- composites matching the listing ORDER BY, partial indexes for the
+-- featured carousels, expression indexes for case-insensitive equality,
+-- and the owner columns of collection tables whose primary key starts
+-- with the order column.
+--
+-- IF NOT EXISTS keeps this safe on databases that were baselined.
+
+-- ── Listings: filter + ORDER BY in one index ─────────────────────────────────
+
+-- NewsRepository.findAllIds / findIdsBy*: ORDER BY date_published DESC, created_at DESC
+create index if not exists idx_news_published_created
+    on news (date_published desc, created_at desc);
+
+-- ImageCollectionRepository.findAllIds / findIdsByType / findIdsByTopic
+create index if not exists idx_img_published_created
+    on image_collections (publishment_date desc, created_at desc);
+create index if not exists idx_img_type_published_created
+    on image_collections (collection_type, publishment_date desc, created_at desc);
+create index if not exists idx_img_topic_published_created
+    on image_collections (topic_id, publishment_date desc, created_at desc);
+
+-- SoundTrackRepository.findCards / findIdsByState / findIdsByTopic / findIdsAlbumOfMemories
+create index if not exists idx_soundtrack_created_id
+    on sound_tracks (created_at desc, id desc);
+create index if not exists idx_soundtrack_state_created
+    on sound_tracks (track_state, created_at desc);
+create index if not exists idx_soundtrack_topic_created
+    on sound_tracks (topic_id, created_at desc);
+create index if not exists idx_soundtrack_album_created
+    on sound_tracks (created_at desc) where is_album_of_memories = true;
+
+-- VideoRepository.findCards / WritingRepository.findCards: ORDER BY created_at DESC, id DESC
+create index if not exists idx_video_created_id
+    on videos (created_at desc, id desc);
+create index if not exists idx_writing_created_id
+    on writings (created_at desc, id desc);
+
+-- WritingRepository.findSeriesParents
+create index if not exists idx_writing_series_parents
+    on writings (created_at desc) where parent_book_id is null and series_id is not null;
+
+-- ServiceRepository.findAllIds / findActiveIds
+create index if not exists idx_service_listing
+    on services ((coalesce(sort_order, 2147483647)), published_at desc, created_at desc);
+
+-- ── Featured carousels: findByFeaturedTrueOrderByFeaturedOrderAscIdDesc ──────
+
+create index if not exists idx_news_featured
+    on news (featured_order, id desc) where featured = true;
+create index if not exists idx_projects_featured
+    on projects (featured_order, id desc) where featured = true;
+create index if not exists idx_soundtrack_featured
+    on sound_tracks (featured_order, id desc) where featured = true;
+create index if not exists idx_img_featured
+    on image_collections (featured_order, id desc) where featured = true;
+create index if not exists idx_video_featured
+    on videos (featured_order, id desc) where featured = true;
+create index if not exists idx_writing_featured
+    on writings (featured_order, id desc) where featured = true;
+
+-- ── Case-insensitive equality ────────────────────────────────────────────────
+
+-- JPQL lower(...) = lower(:x)
+create index if not exists idx_soundtrack_sound_type_lower
+    on sound_tracks (lower(sound_type), created_at desc);
+create index if not exists idx_service_type_lower
+    on services (lower(service_type));
+create index if not exists idx_users_username_lower
+    on users_tbl (lower(username));
+create index if not exists idx_users_email_lower
+    on users_tbl (lower(email));
+
+-- Spring Data *IgnoreCase derives upper(...) = upper(:x)
+create index if not exists idx_project_tags_name_upper
+    on project_tags (upper(name));
+create index if not exists idx_project_keywords_name_upper
+    on project_keywords (upper(name));
+create index if not exists idx_service_nav_anchor_upper
+    on services (upper(nav_anchor_id));
+
+-- ── Foreign keys and collection owners ───────────────────────────────────────
+
+-- Category pages and category deletes
+create index if not exists idx_news_category
+    on news (category_id);
+create index if not exists idx_news_sub_category
+    on news (sub_category_id);
+
+-- Keyword maps are keyed (keyword_id, project_id); hydration looks up by project
+create index if not exists idx_project_keyword_map_ckb_project
+    on project_keyword_map_ckb (project_id);
+create index if not exists idx_project_keyword_map_kmr_project
+    on project_keyword_map_kmr (project_id);
+create index if not exists idx_project_tag_map_ckb_tag
+    on project_tag_map_ckb (tag_id);
+create index if not exists idx_project_tag_map_kmr_tag
+    on project_tag_map_kmr (tag_id);
+
+-- @OrderColumn lists are keyed (display_order, owner); hydration looks up by owner
+create index if not exists idx_service_feature_images_service
+    on service_feature_images (service_id);
+create index if not exists idx_service_gallery_media_service
+    on service_gallery_media (service_id);
+create index if not exists idx_service_partners_service
+    on service_partners (service_id);
+create index if not exists idx_service_thumbnail_images_service
+    on service_thumbnail_images (service_id);
+create index if not exists idx_video_cast_members_video
+    on video_cast_members (video_id);
+create index if not exists idx_video_highlight_clips_video
+    on video_highlight_clips (video_id);
+create index if not exists idx_video_source_files_video
+    on video_source_files (video_id);
+
+-- WritingRepository.findAllByGenre: MEMBER OF w.bookGenres
+create index if not exists idx_writing_book_genres_genre
+    on writing_book_genres (book_genre);
+
+-- SessionRepository.findByUserAndIsActive
+create index if not exists idx_sessions_user_active
+    on sessions (user_id, is_active);
+
+-- ── Derivative write-back ────────────────────────────────────────────────────
+
+-- NewsRepository.fillCoverThumbnail / ImageAlbumItemRepository.applyThumbnail
+create index if not exists idx_news_cover_url
+    on news (cover_url);
+create index if not exists idx_album_item_image_url
+    on image_album_items using hash (image_url);
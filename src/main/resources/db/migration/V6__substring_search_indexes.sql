@@ -0,0 +1,90 @@
+-- Trigram indexes for the substring searches (lower(x) LIKE '%q%').
+--
+-- A b-tree on lower(title_ckb) only serves prefix matches; the search and
+-- tag/keyword filters wrap the term in '%' on both sides, which a GIN
+-- trigram index on the same expression can answer. pg_trgm is a trusted
+-- extension, so the database owner can create it.
+
+create extension if not exists pg_trgm;
+
+-- ── Titles (global search) ───────────────────────────────────────────────────
+
+create index if not exists idx_news_title_ckb_trgm
+    on news using gin (lower(title_ckb) gin_trgm_ops);
+create index if not exists idx_news_title_kmr_trgm
+    on news using gin (lower(title_kmr) gin_trgm_ops);
+create index if not exists idx_projects_title_ckb_trgm
+    on projects using gin (lower(title_ckb) gin_trgm_ops);
+create index if not exists idx_projects_title_kmr_trgm
+    on projects using gin (lower(title_kmr) gin_trgm_ops);
+create index if not exists idx_soundtrack_title_ckb_trgm
+    on sound_tracks using gin (lower(title_ckb) gin_trgm_ops);
+create index if not exists idx_soundtrack_title_kmr_trgm
+    on sound_tracks using gin (lower(title_kmr) gin_trgm_ops);
+create index if not exists idx_img_title_ckb_trgm
+    on image_collections using gin (lower(title_ckb) gin_trgm_ops);
+create index if not exists idx_img_title_kmr_trgm
+    on image_collections using gin (lower(title_kmr) gin_trgm_ops);
+create index if not exists idx_video_title_ckb_trgm
+    on videos using gin (lower(title_ckb) gin_trgm_ops);
+create index if not exists idx_video_title_kmr_trgm
+    on videos using gin (lower(title_kmr) gin_trgm_ops);
+create index if not exists idx_writing_title_ckb_trgm
+    on writings using gin (lower(title_ckb) gin_trgm_ops);
+create index if not exists idx_writing_title_kmr_trgm
+    on writings using gin (lower(title_kmr) gin_trgm_ops);
+
+-- WritingRepository.findByWriter*
+create index if not exists idx_writing_writer_ckb_trgm
+    on writings using gin (lower(writer_ckb) gin_trgm_ops);
+create index if not exists idx_writing_writer_kmr_trgm
+    on writings using gin (lower(writer_kmr) gin_trgm_ops);
+
+-- ── Tags and keywords (findIdsByTag / findIdsByKeyword) ──────────────────────
+
+create index if not exists idx_news_tags_ckb_trgm
+    on news_tags_ckb using gin (lower(tag_ckb) gin_trgm_ops);
+create index if not exists idx_news_tags_kmr_trgm
+    on news_tags_kmr using gin (lower(tag_kmr) gin_trgm_ops);
+create index if not exists idx_news_keywords_ckb_trgm
+    on news_keywords_ckb using gin (lower(keyword_ckb) gin_trgm_ops);
+create index if not exists idx_news_keywords_kmr_trgm
+    on news_keywords_kmr using gin (lower(keyword_kmr) gin_trgm_ops);
+create index if not exists idx_sound_track_tags_ckb_trgm
+    on sound_track_tags_ckb using gin (lower(tag_ckb) gin_trgm_ops);
+create index if not exists idx_sound_track_tags_kmr_trgm
+    on sound_track_tags_kmr using gin (lower(tag_kmr) gin_trgm_ops);
+create index if not exists idx_sound_track_keywords_ckb_trgm
+    on sound_track_keywords_ckb using gin (lower(keyword_ckb) gin_trgm_ops);
+create index if not exists idx_sound_track_keywords_kmr_trgm
+    on sound_track_keywords_kmr using gin (lower(keyword_kmr) gin_trgm_ops);
+create index if not exists idx_image_tags_ckb_trgm
+    on image_tags_ckb using gin (lower(tag_ckb) gin_trgm_ops);
+create index if not exists idx_image_tags_kmr_trgm
+    on image_tags_kmr using gin (lower(tag_kmr) gin_trgm_ops);
+create index if not exists idx_image_keywords_ckb_trgm
+    on image_keywords_ckb using gin (lower(keyword_ckb) gin_trgm_ops);
+create index if not exists idx_image_keywords_kmr_trgm
+    on image_keywords_kmr using gin (lower(keyword_kmr) gin_trgm_ops);
+create index if not exists idx_video_tags_ckb_trgm
+    on video_tags_ckb using gin (lower(tag_ckb) gin_trgm_ops);
+create index if not exists idx_video_tags_kmr_trgm
+    on video_tags_kmr using gin (lower(tag_kmr) gin_trgm_ops);
+create index if not exists idx_video_keywords_ckb_trgm
+    on video_keywords_ckb using gin (lower(keyword_ckb) gin_trgm_ops);
+create index if not exists idx_video_keywords_kmr_trgm
+    on video_keywords_kmr using gin (lower(keyword_kmr) gin_trgm_ops);
+create index if not exists idx_writing_tags_ckb_trgm
+    on writing_tags_ckb using gin (lower(tag_ckb) gin_trgm_ops);
+create index if not exists idx_writing_tags_kmr_trgm
+    on writing_tags_kmr using gin (lower(tag_kmr) gin_trgm_ops);
+create index if not exists idx_writing_keywords_ckb_trgm
+    on writing_keywords_ckb using gin (lower(keyword_ckb) gin_trgm_ops);
+create index if not exists idx_writing_keywords_kmr_trgm
+    on writing_keywords_kmr using gin (lower(keyword_kmr) gin_trgm_ops);
+
+-- Project tags and keywords are entities shared through map tables
+create index if not exists idx_project_tags_name_trgm
+    on project_tags using gin (lower(name) gin_trgm_ops);
+create index if not exists idx_project_keywords_name_trgm
+    on project_keywords using gin (lower(name) gin_trgm_ops);
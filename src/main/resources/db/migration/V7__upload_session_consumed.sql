@@ -0,0 +1,6 @@
+-- A completed upload is attached to content at most once; the session moves
+-- to CONSUMED in the same transaction that saves the content row.
+
+alter table upload_sessions drop constraint if exists upload_sessions_status_check;
+alter table upload_sessions add constraint upload_sessions_status_check
+    check ((status in ('IN_PROGRESS','COMPLETED','CONSUMED','ABORTED')));
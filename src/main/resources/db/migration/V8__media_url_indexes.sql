@@ -0,0 +1,18 @@
+-- b-tree indexes for PublishedMediaIndex: the public stream endpoint asks
+-- whether an object's URL is saved in one of these columns, by equality,
+-- on every cache miss.
+--
+-- IF NOT EXISTS keeps this safe on databases that were baselined.
+
+create index if not exists idx_sound_file_url
+    on sound_track_files (file_url);
+create index if not exists idx_reklam_video_url
+    on sound_reklam_videos (video_url);
+create index if not exists idx_video_source_url
+    on videos (source_url);
+create index if not exists idx_video_source_file_url
+    on video_source_files (url);
+create index if not exists idx_clip_url
+    on video_clip_items (url);
+create index if not exists idx_video_highlight_clip_url
+    on video_highlight_clips (clip_url);
@@ -0,0 +1,103 @@
+package ak.dev.khi_backend.khi_app.api;
+
+import ak.dev.khi_backend.khi_app.enums.publishment.TrackState;
+import ak.dev.khi_backend.khi_app.model.project.Project;
+import ak.dev.khi_backend.khi_app.model.publishment.sound.SoundTrack;
+import ak.dev.khi_backend.khi_app.model.publishment.sound.SoundTrackContent;
+import ak.dev.khi_backend.khi_app.model.publishment.video.Video;
+import ak.dev.khi_backend.khi_app.model.publishment.video.VideoType;
+import ak.dev.khi_backend.khi_app.model.publishment.writing.Writing;
+import ak.dev.khi_backend.khi_app.repository.project.ProjectRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.sound.SoundTrackRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.video.VideoRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingRepository;
+import ak.dev.khi_backend.khi_app.support.QueryBudget;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@QueryBudget(value = 2, maxRepeats = 1)   // the card query, plus a count once a page fills up
+class ListCardsIntegrationTests {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private SoundTrackRepository soundTrackRepository;
+    @Autowired private WritingRepository writingRepository;
+    @Autowired private VideoRepository videoRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private EntityManager entityManager;
+
+    @Test
+    void soundTrackCardsCarryAggregatedTagsWithoutLoadingEntities() throws Exception {
+        SoundTrack track = SoundTrack.builder()
+                .soundType("poem")
+                .trackState(TrackState.SINGLE)
+                .ckbContent(SoundTrackContent.builder().title("هاوار").build())
+                .build();
+        track.setTagsCkb(new LinkedHashSet<>(List.of("شیعر", "کلاسیک")));
+        track.setTagsKmr(new LinkedHashSet<>());
+        Long id = soundTrackRepository.saveAndFlush(track).getId();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/v1/sound-tracks/cards").param("page", "0").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(id))
+                .andExpect(jsonPath("$.data.content[0].titleCkb").value("هاوار"))
+                .andExpect(jsonPath("$.data.content[0].fileCount").value(0))
+                .andExpect(jsonPath("$.data.content[0].tagsCkb", contains("شیعر", "کلاسیک")))
+                .andExpect(jsonPath("$.data.content[0].tagsKmr").isEmpty());
+
+        // projections only — nothing was attached to the (shared) persistence context
+        assertThat(entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities()).isZero();
+    }
+
+    @Test
+    void writingVideoAndProjectCardsAreServed() throws Exception {
+        Writing writing = Writing.builder().seriesId("cards-series").build();
+        writing.setTagsCkb(new LinkedHashSet<>(List.of("مێژوو")));
+        writingRepository.saveAndFlush(writing);
+
+        Video video = Video.builder().videoType(VideoType.FILM).build();
+        video.setTagsKmr(new LinkedHashSet<>(List.of("dîrok", "çand")));
+        videoRepository.saveAndFlush(video);
+
+        projectRepository.saveAndFlush(Project.builder().projectTypeCkb("فێستیڤاڵ").build());
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/v1/writings/cards"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].seriesId").value("cards-series"))
+                .andExpect(jsonPath("$.data.content[0].tagsCkb", contains("مێژوو")));
+
+        mockMvc.perform(get("/api/v1/videos/cards"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].videoType").value("FILM"))
+                .andExpect(jsonPath("$.content[0].tagsKmr", containsInAnyOrder("dîrok", "çand")));
+
+        mockMvc.perform(get("/api/v1/projects/cards"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].projectTypeCkb").value("فێستیڤاڵ"))
+                .andExpect(jsonPath("$.data.content[0].status").value("ONGOING"))
+                .andExpect(jsonPath("$.data.content[0].tagsCkb").isEmpty());
+    }
+}
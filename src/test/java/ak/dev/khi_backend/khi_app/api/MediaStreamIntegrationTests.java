@@ -0,0 +1,183 @@
+package ak.dev.khi_backend.khi_app.api;
+
+import ak.dev.khi_backend.khi_app.model.media.MediaBlob;
+import ak.dev.khi_backend.khi_app.model.publishment.video.Video;
+import ak.dev.khi_backend.khi_app.model.publishment.video.VideoType;
+import ak.dev.khi_backend.khi_app.repository.media.MediaBlobRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.video.VideoRepository;
+import ak.dev.khi_backend.khi_app.service.storage.StorageProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.storage.provider=filesystem")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MediaStreamIntegrationTests {
+
+    private static final String KEY = "test/audio/1-track.mp3";
+    private static final byte[] BODY = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    static Path storageRoot;
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("app.storage.filesystem.root", storageRoot::toString);
+        registry.add("app.storage.filesystem.public-base-url", () -> "http://localhost/media-files");
+        registry.add("app.storage.filesystem.fsync", () -> "false");
+    }
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private StorageProvider storage;
+    @Autowired private VideoRepository videoRepository;
+    @Autowired private MediaBlobRepository mediaBlobRepository;
+
+    @BeforeEach
+    void setUp() {
+        storage.put(KEY, () -> new ByteArrayInputStream(BODY), BODY.length, "audio/mpeg");
+        videoRepository.saveAndFlush(Video.builder()
+                .videoType(VideoType.FILM)
+                .sourceUrl(storage.publicUrl(KEY))
+                .build());
+    }
+
+    @Test
+    void singleRangeIsServedAsPartialContent() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/stream/" + KEY).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "audio/mpeg"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void wholeObjectIsCacheableAndRevalidates() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/stream/" + KEY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult full = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().bytes(BODY))
+                .andReturn();
+        assertThat(full.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("public", "immutable");
+        String eTag = full.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+
+        mockMvc.perform(get("/api/v1/stream/" + KEY).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        // a stale If-Range turns the range request into a full response
+        MvcResult stale = mockMvc.perform(get("/api/v1/stream/" + KEY)
+                        .header(HttpHeaders.RANGE, "bytes=0-1")
+                        .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(stale))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(BODY));
+    }
+
+    @Test
+    void unsatisfiableRangeReportsTheSize() throws Exception {
+        mockMvc.perform(get("/api/v1/stream/" + KEY).header(HttpHeaders.RANGE, "bytes=50-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    void headIsPublicAndHasNoBody() throws Exception {
+        mockMvc.perform(head("/api/v1/stream/" + KEY))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void onlyAudioAndVideoFoldersAreStreamable() throws Exception {
+        storage.put("test/images/1-photo.jpg", () -> new ByteArrayInputStream(BODY), BODY.length, "image/jpeg");
+
+        mockMvc.perform(get("/api/v1/stream/test/images/1-photo.jpg"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/stream/test/audio/missing.mp3"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void inlineEditorAssetsArePublishedThroughTheirBlobRow() throws Exception {
+        String inline = "test/video/3-tiptap-17.mp4";
+        String unsaved = "test/video/4-tiptap-18.mp4";
+        storage.put(inline, () -> new ByteArrayInputStream(BODY), BODY.length, "video/mp4");
+        storage.put(unsaved, () -> new ByteArrayInputStream(BODY), BODY.length, "video/mp4");
+        mediaBlobRepository.saveAndFlush(MediaBlob.builder()
+                .sha256("b".repeat(64)).s3Key(inline).sizeBytes(BODY.length).refCount(1).build());
+        try {
+            MvcResult started = mockMvc.perform(get("/api/v1/stream/" + inline))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().bytes(BODY));
+            mockMvc.perform(get("/api/v1/stream/" + unsaved))
+                    .andExpect(status().isNotFound());
+        } finally {
+            mediaBlobRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void uploadsNoContentRefersToAreOnlyStreamedToStaff() throws Exception {
+        String draft = "test/audio/2-draft.mp3";
+        storage.put(draft, () -> new ByteArrayInputStream(BODY), BODY.length, "audio/mpeg");
+        // a saved key that merely starts with the draft's does not publish it
+        storage.put(draft + "x", () -> new ByteArrayInputStream(BODY), BODY.length, "audio/mpeg");
+        videoRepository.saveAndFlush(Video.builder()
+                .videoType(VideoType.FILM)
+                .sourceUrl(storage.publicUrl(draft + "x"))
+                .build());
+
+        mockMvc.perform(get("/api/v1/stream/" + draft))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(head("/api/v1/stream/" + draft))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/stream/" + draft).with(user("reader").roles("USER")))
+                .andExpect(status().isNotFound());
+
+        MvcResult started = mockMvc.perform(get("/api/v1/stream/" + draft).with(user("editor").roles("EMPLOYEE")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult preview = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(BODY))
+                .andReturn();
+        assertThat(preview.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-store", "private");
+    }
+}
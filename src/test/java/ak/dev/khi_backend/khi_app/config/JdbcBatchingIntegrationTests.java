@@ -0,0 +1,75 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import ak.dev.khi_backend.khi_app.model.project.ProjectTag;
+import ak.dev.khi_backend.khi_app.repository.project.ProjectTagRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class JdbcBatchingIntegrationTests {
+
+    @Autowired private ProjectTagRepository projectTagRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void bulkSaveUsesPooledIdsAndBatchedInserts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ProjectTag> saved = projectTagRepository.saveAllAndFlush(IntStream.range(0, 120)
+                .mapToObj(i -> ProjectTag.builder().name("batch-tag-" + i).build())
+                .toList());
+
+        assertThat(saved).extracting(ProjectTag::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // 3 sequence calls (allocation 50) + 3 insert batches (batch_size 50), not 120 round-trips
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void everyMappedSequenceIsCreatedByAMigration() throws Exception {
+        // The H2 schema comes from create-drop, so a misnamed sequence would only show up on PostgreSQL
+        Set<String> created = new HashSet<>();
+        Pattern createSequence = Pattern.compile("create sequence (\\w+)", Pattern.CASE_INSENSITIVE);
+        for (Resource script : new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/V*__*.sql")) {
+            Matcher matcher = createSequence.matcher(script.getContentAsString(StandardCharsets.UTF_8));
+            while (matcher.find()) created.add(matcher.group(1));
+        }
+
+        Set<String> mapped = new TreeSet<>();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .forEachEntityDescriptor(persister -> {
+                    if (persister.getGenerator() instanceof SequenceStyleGenerator generator) {
+                        mapped.add(generator.getDatabaseStructure().getPhysicalName().render());
+                    }
+                });
+
+        assertThat(mapped).contains("sound_tracks_seq");
+        assertThat(created).containsAll(mapped);
+    }
+}
@@ -0,0 +1,42 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.datasource.replicas.urls=jdbc:h2:mem:khi_replica_test;DB_CLOSE_DELAY=-1",
+        "app.datasource.replicas.health-check-interval=PT1H"
+})
+@ActiveProfiles("test")
+class ReadReplicaIntegrationTests {
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ReplicaHealthMonitor replicaHealthMonitor;
+
+    @Test
+    void jpaReadOnlyTransactionsRunOnTheReplica() {
+        // H2 has no pg_is_in_recovery(), so the probe keeps it out until told otherwise
+        assertThat(database(true)).isEqualToIgnoringCase("khi_backend_test");
+
+        replicaHealthMonitor.update("replica-0", Duration.ZERO);
+        assertThat(database(true)).isEqualToIgnoringCase("khi_replica_test");
+        assertThat(database(false)).isEqualToIgnoringCase("khi_backend_test");
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                (String) entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult());
+    }
+}
@@ -0,0 +1,125 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+    private ReplicaHealthMonitor health;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("routing_primary");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", database("routing_replica_0"));
+        replicas.put("replica-1", database("routing_replica_1"));
+
+        health = new ReplicaHealthMonitor(replicas, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        health.update("replica-0", Duration.ZERO);
+        health.update("replica-1", Duration.ofMillis(200));
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas, health));
+
+        jdbc = new JdbcTemplate(proxy);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    void readOnlyTransactionsAreSpreadOverHealthyReplicas() {
+        assertThat(read()).isEqualTo("routing_replica_0");
+        assertThat(read()).isEqualTo("routing_replica_1");
+        assertThat(write()).isEqualTo("routing_primary");
+        assertThat(whoAmI()).isEqualTo("routing_primary");
+    }
+
+    @Test
+    void laggingOrUnreachableReplicasFallBackToThePrimary() {
+        health.update("replica-0", Duration.ofSeconds(30));
+        assertThat(read()).isEqualTo("routing_replica_1");
+        assertThat(read()).isEqualTo("routing_replica_1");
+
+        health.update("replica-1", null);
+        assertThat(read()).isEqualTo("routing_primary");
+
+        health.update("replica-0", Duration.ZERO);
+        assertThat(read()).isEqualTo("routing_replica_0");
+    }
+
+    @Test
+    void writingRequestsAndTheirFollowUpsReadFromThePrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(10), true, "Lax");
+        AtomicReference<String> servedBy = new AtomicReference<>();
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/news"), writeResponse,
+                (req, res) -> servedBy.set(read()));
+        assertThat(servedBy.get()).isEqualTo("routing_primary");
+        String setCookie = writeResponse.getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(setCookie).startsWith(ReadYourWritesFilter.COOKIE_NAME + "=").contains("Max-Age=10");
+
+        MockHttpServletRequest followUp = new MockHttpServletRequest("GET", "/api/v1/news/1");
+        followUp.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                setCookie.substring(setCookie.indexOf('=') + 1, setCookie.indexOf(';'))));
+        filter.doFilter(followUp, new MockHttpServletResponse(),
+                (req, res) -> servedBy.set(read()));
+        assertThat(servedBy.get()).isEqualTo("routing_primary");
+
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/api/v1/news/1");
+        forged.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(Long.MAX_VALUE)));
+        filter.doFilter(forged, new MockHttpServletResponse(),
+                (req, res) -> servedBy.set(read()));
+        assertThat(servedBy.get()).startsWith("routing_replica_");
+    }
+
+    private String read() {
+        return readOnly.execute(status -> whoAmI());
+    }
+
+    private String write() {
+        return readWrite.execute(status -> whoAmI());
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(64))");
+        jdbc.update("DELETE FROM whoami");
+        jdbc.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,103 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs db/migration on a real PostgreSQL, which the H2 test profile cannot:
+ * the application starts on a freshly migrated database with Hibernate
+ * validating it, and a database created by ddl-auto before V1 is baselined.
+ *
+ * PostgreSQL comes from embedded-postgres rather than Testcontainers, so
+ * the suite needs no Docker daemon.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+class SchemaMigrationPostgresIntegrationTests {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Test
+    void freshDatabaseIsMigratedToTheSchemaTheEntitiesExpect() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        assertThat(versions).startsWith("1", "2", "3", "4", "5", "6", "7", "8");
+
+        // V4: every audit table is range-partitioned, with a catch-all partition
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid", String.class))
+                .contains("project_log", "news_audit_logs", "service_audit_logs", "sound_track_logs",
+                        "image_collection_logs", "video_logs", "writing_logs");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('video_logs_default') IS NOT NULL", Boolean.class)).isTrue();
+    }
+
+    @Test
+    void databaseFromBeforeTheBaselineIsAdoptedAndItsSequencesStartPastItsIds() throws Exception {
+        jdbcTemplate.execute("CREATE DATABASE legacy");
+        DataSource legacy = POSTGRES.getDatabase("postgres", "legacy");
+        try (Connection connection = legacy.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline.sql"));
+        }
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        legacyJdbc.update("INSERT INTO about_pages (id, active, slug_ckb) VALUES (120, true, 'about')");
+
+        Flyway.configure()
+                .dataSource(legacy)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertThat(legacyJdbc.queryForObject(
+                "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class)).isEqualTo("BASELINE");
+        // V2: the pooled-lo sequence hands out blocks above the ids already in use
+        assertThat(legacyJdbc.queryForObject("SELECT nextval('about_pages_seq')", Long.class)).isGreaterThan(120L);
+        assertThat(legacyJdbc.queryForObject(
+                "SELECT count(*) FROM pg_partitioned_table", Integer.class)).isGreaterThanOrEqualTo(7);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Embedded PostgreSQL did not start", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ak.dev.khi_backend.khi_app.config;
+
+import ak.dev.khi_backend.khi_app.model.project.Project;
+import ak.dev.khi_backend.khi_app.repository.project.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SqlMetricsIntegrationTests {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private EntityManager entityManager;
+
+    @Test
+    void requestReportsItsStatementsInServerTiming() throws Exception {
+        projectRepository.saveAndFlush(Project.builder().projectTypeCkb("پیشانگا").build());
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/v1/projects/cards"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlMetricsFilter.HEADER_SERVER_TIMING,
+                        matchesPattern("db;dur=\\d+\\.\\d;desc=\"[1-9]\\d* queries, [1-9]\\d* rows\"")));
+    }
+
+    @Test
+    void requestScopesRollUpIntoTheEnclosingScope() throws Exception {
+        List<SqlStats.Summary> requests;
+        SqlStats.Summary total;
+        try (SqlStats.Scope test = SqlStats.open("test")) {
+            projectRepository.saveAndFlush(Project.builder().projectTypeCkb("کۆڕ").build());
+            mockMvc.perform(get("/api/v1/projects/cards")).andExpect(status().isOk());
+            mockMvc.perform(get("/api/v1/projects/cards")).andExpect(status().isOk());
+            requests = test.children();
+            total = test.summary();
+        }
+
+        assertThat(requests).extracting(SqlStats.Summary::name)
+                .containsExactly("GET /api/v1/projects/cards", "GET /api/v1/projects/cards");
+        assertThat(requests.get(0).statements()).isPositive();
+        // the fixture insert is counted in the test scope, not in either request
+        assertThat(total.statements())
+                .isGreaterThan(requests.get(0).statements() + requests.get(1).statements());
+    }
+}
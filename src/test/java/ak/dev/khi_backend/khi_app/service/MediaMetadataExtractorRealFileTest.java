@@ -26,9 +26,7 @@ class MediaMetadataExtractorRealFileTest {
     @EnabledIf("fileExists")
     void extractsRealJpegMetadata() throws Exception {
         MediaMetadataExtractor extractor = new MediaMetadataExtractor();
-        byte[] bytes = Files.readAllBytes(REAL_JPEG);
-
-        MediaFileMeta meta = extractor.extract(bytes, "image/jpeg", "akar.jpg");
+        MediaFileMeta meta = extractor.extract(REAL_JPEG, "image/jpeg", "akar.jpg");
 
         System.out.println("=== Real JPEG extraction result ===");
         System.out.println("  format     = " + meta.getFileFormat());
@@ -3,9 +3,15 @@ package ak.dev.khi_backend.khi_app.service;
 import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor.MediaFileMeta;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
 
 import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,7 +31,7 @@ class MediaMetadataExtractorTests {
     void extractsPngDimensionsAndFormat() throws Exception {
         byte[] png = createPng(640, 480);
 
-        MediaFileMeta meta = extractor.extract(png, "image/png", "test.png");
+        MediaFileMeta meta = extractor.extract(new ByteArrayResource(png), png.length, "image/png", "test.png");
 
         assertThat(meta.hasData()).isTrue();
         assertThat(meta.getWidthPx()).isEqualTo(640);
@@ -40,7 +46,7 @@ class MediaMetadataExtractorTests {
     void extractsJpegDimensionsAndFormat() throws Exception {
         byte[] jpeg = createJpeg(1920, 1080);
 
-        MediaFileMeta meta = extractor.extract(jpeg, "image/jpeg", "photo.jpg");
+        MediaFileMeta meta = extractor.extract(new ByteArrayResource(jpeg), jpeg.length, "image/jpeg", "photo.jpg");
 
         assertThat(meta.hasData()).isTrue();
         assertThat(meta.getWidthPx()).isEqualTo(1920);
@@ -48,24 +54,40 @@ class MediaMetadataExtractorTests {
         assertThat(meta.getFileFormat()).isEqualTo("JPEG");
     }
 
+    // ── Audio Tests ──────────────────────────────────────────────────────────
+
+    @Test
+    void extractsWavDurationSampleRateAndChannelsFromTheHeader() throws Exception {
+        byte[] wav = createWav(44100, 2, 3);
+
+        MediaFileMeta meta = extractor.extract(new ByteArrayResource(wav), wav.length, "audio/wav", "take.wav");
+
+        assertThat(meta.getFileFormat()).isEqualTo("WAV");
+        assertThat(meta.getCodec()).isEqualTo("PCM");
+        assertThat(meta.getDurationSeconds()).isEqualTo(3);
+        assertThat(meta.sampleRateLabel()).isEqualTo("44100 Hz");
+        assertThat(meta.getChannels()).isEqualTo(2);
+        assertThat(meta.bitrateLabel()).isEqualTo("1411 kbps");
+    }
+
     // ── Edge Cases ───────────────────────────────────────────────────────────
 
     @Test
-    void returnsEmptyForNullBytes() {
-        MediaFileMeta meta = extractor.extract(null, "image/png", "test.png");
+    void returnsEmptyForNullSource() {
+        MediaFileMeta meta = extractor.extract(null, 0, "image/png", "test.png");
         assertThat(meta.hasData()).isFalse();
     }
 
     @Test
     void returnsEmptyForBlankContentType() {
-        MediaFileMeta meta = extractor.extract(new byte[]{1, 2, 3}, "  ", "test.bin");
+        MediaFileMeta meta = extractor.extract(new ByteArrayResource(new byte[]{1, 2, 3}), 3, "  ", "test.bin");
         assertThat(meta.hasData()).isFalse();
     }
 
     @Test
     void returnsFormatFromMimeForUnknownBinaryContent() {
         // Random bytes with a video MIME → should at least get the format from MIME
-        MediaFileMeta meta = extractor.extract(new byte[]{0, 0, 0, 1}, "video/mp4", "clip.mp4");
+        MediaFileMeta meta = extractor.extract(new ByteArrayResource(new byte[]{0, 0, 0, 1}), 4, "video/mp4", "clip.mp4");
         // May or may not detect format depending on magic bytes, but should not throw
         assertThat(meta).isNotNull();
     }
@@ -73,7 +95,7 @@ class MediaMetadataExtractorTests {
     @Test
     void returnsFormatFromMimeForUnsupportedAudioFormat() {
         // FLAC is not natively supported by metadata-extractor — should degrade gracefully
-        MediaFileMeta meta = extractor.extract(new byte[]{0x66, 0x4C, 0x61, 0x43}, "audio/flac", "song.flac");
+        MediaFileMeta meta = extractor.extract(new ByteArrayResource(new byte[]{0x66, 0x4C, 0x61, 0x43}), 4, "audio/flac", "song.flac");
         assertThat(meta).isNotNull();
         // At minimum, MIME-based format should be returned
         if (meta.getFileFormat() != null) {
@@ -90,6 +112,15 @@ class MediaMetadataExtractorTests {
         return out.toByteArray();
     }
 
+    private byte[] createWav(int sampleRate, int channels, int seconds) throws Exception {
+        AudioFormat format = new AudioFormat(sampleRate, 16, channels, true, false);
+        byte[] pcm = new byte[sampleRate * channels * 2 * seconds];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(pcm), format, sampleRate * seconds),
+                AudioFileFormat.Type.WAVE, out);
+        return out.toByteArray();
+    }
+
     private byte[] createJpeg(int width, int height) throws Exception {
         BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -1,27 +1,54 @@
 package ak.dev.khi_backend.khi_app.service;
 
 import ak.dev.khi_backend.khi_app.exceptions.BadRequestException;
+import ak.dev.khi_backend.khi_app.model.media.MediaBlob;
+import ak.dev.khi_backend.khi_app.service.media.MediaBlobService;
+import ak.dev.khi_backend.khi_app.service.storage.S3StorageProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 import java.io.ByteArrayInputStream;
 import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,14 +58,18 @@ class S3ServiceTests {
     @Mock
     private S3Client s3Client;
 
+    @Mock
+    private S3AsyncClient s3AsyncClient;
+
+    @Mock
+    private MediaBlobService mediaBlobService;
+
     private S3Service s3Service;
 
     @BeforeEach
     void setUp() throws Exception {
-        s3Service = new S3Service(s3Client);
-        setField("bucket", "my-bucket");
+        s3Service = new S3Service(new S3StorageProvider(s3Client, s3AsyncClient, "my-bucket", "eu-central-1"), mediaBlobService);
         setField("baseFolder", "khi-web-folders");
-        setField("region", "eu-central-1");
     }
 
     @Test
@@ -102,6 +133,108 @@ class S3ServiceTests {
         assertThat(url).endsWith(".mp4");
     }
 
+    @Test
+    void uploadOfKnownContentReusesStoredObjectWithoutPut() {
+        when(mediaBlobService.retainExisting(anyString())).thenReturn(Optional.of(
+                MediaBlob.builder().s3Key("khi-web-folders/images/abc-cover.jpg").refCount(2).build()));
+
+        String url = s3Service.upload("same-bytes".getBytes(), "cover-copy.jpg", "image/jpeg");
+
+        assertThat(url).isEqualTo(
+                "https://my-bucket.s3.eu-central-1.amazonaws.com/khi-web-folders/images/abc-cover.jpg");
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(mediaBlobService, never()).register(anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void uploadOfNewContentRegistersBlobUnderItsHash() {
+        when(mediaBlobService.retainExisting(anyString())).thenReturn(Optional.empty());
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+
+        s3Service.upload("abc".getBytes(), "a.txt", "text/plain");
+
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        verify(mediaBlobService).register(
+                eq("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"),
+                key.capture(), eq(3L), eq("text/plain"));
+        assertThat(key.getValue()).startsWith("khi-web-folders/files/");
+    }
+
+    @Test
+    void deleteKeepsObjectWhileOtherReferencesRemain() {
+        when(mediaBlobService.release("khi-web-folders/images/shared.jpg")).thenReturn(false);
+
+        s3Service.deleteFile("https://my-bucket.s3.eu-central-1.amazonaws.com/khi-web-folders/images/shared.jpg");
+
+        verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    void deleteObjectsReturnsOnlyTheKeysS3ReportedAsFailed() {
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder()
+                .errors(S3Error.builder().key("k2").code("SlowDown").message("retry").build())
+                .build());
+
+        List<String> failed = s3Service.deleteObjects(List.of("k1", "k2"));
+
+        assertThat(failed).containsExactly("k2");
+        ArgumentCaptor<DeleteObjectsRequest> captor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client).deleteObjects(captor.capture());
+        assertThat(captor.getValue().delete().objects())
+                .extracting(ObjectIdentifier::key)
+                .containsExactly("k1", "k2");
+    }
+
+    @Test
+    void asyncUploadIndexesTheBlobAfterThePutCompletes() {
+        when(mediaBlobService.retainExisting(anyString())).thenReturn(Optional.empty());
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+        String url = s3Service.uploadAsync("img".getBytes(), "a.jpg", "image/jpeg", null).join();
+
+        assertThat(url).startsWith("https://my-bucket.s3.eu-central-1.amazonaws.com/khi-web-folders/images/");
+        verify(mediaBlobService).register(anyString(), anyString(), eq(3L), eq("image/jpeg"));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void asyncDownloadFailureSurfacesAsBadRequest() {
+        when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+                .thenReturn(CompletableFuture.failedFuture(SdkClientException.create("timeout")));
+
+        CompletableFuture<byte[]> download =
+                s3Service.downloadAsync("https://my-bucket.s3.eu-central-1.amazonaws.com/khi-web-folders/a.bin");
+
+        assertThatThrownBy(download::join).hasCauseInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void streamAboveTheThresholdIsUploadedInParts() throws Exception {
+        setField("multipartThreshold", DataSize.ofMegabytes(1));
+        setField("multipartPartSize", DataSize.ofMegabytes(5));
+        byte[] content = new byte[11 << 20];
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("e").build());
+
+        s3Service.upload(() -> new ByteArrayInputStream(content), content.length, "film.mp4", "video/mp4");
+
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(3)).uploadPart(parts.capture(), any(RequestBody.class));
+        assertThat(parts.getAllValues())
+                .extracting(UploadPartRequest::partNumber, UploadPartRequest::contentLength)
+                .containsExactly(
+                        tuple(1, 5L << 20),
+                        tuple(2, 5L << 20),
+                        tuple(3, 1L << 20));
+        verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
     private void setField(String name, Object value) throws Exception {
         Field field = S3Service.class.getDeclaredField(name);
         field.setAccessible(true);
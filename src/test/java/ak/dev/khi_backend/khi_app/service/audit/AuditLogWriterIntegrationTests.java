@@ -0,0 +1,155 @@
+package ak.dev.khi_backend.khi_app.service.audit;
+
+import ak.dev.khi_backend.khi_app.model.news.NewsAuditLog;
+import ak.dev.khi_backend.khi_app.model.project.Project;
+import ak.dev.khi_backend.khi_app.model.project.ProjectLog;
+import ak.dev.khi_backend.khi_app.repository.news.NewsAuditLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditLogWriterIntegrationTests {
+
+    private static final Duration FLUSH = Duration.ofSeconds(10);
+
+    @Autowired private AuditLogWriter auditLogWriter;
+    @Autowired private NewsAuditLogRepository newsAuditLogRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ObjectMapper objectMapper;
+
+    @TempDir
+    Path journalDir;
+
+    @AfterEach
+    void tearDown() {
+        newsAuditLogRepository.deleteAll();
+    }
+
+    @Test
+    void entriesAreWrittenAfterCommitAndDroppedOnRollback() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            auditLogWriter.recordAll(entries("committed", 250));
+            // Nothing is queued before the transaction commits
+            assertThat(auditLogWriter.flush(FLUSH)).isTrue();
+            assertThat(count("committed")).isZero();
+        });
+        transaction.executeWithoutResult(status -> {
+            auditLogWriter.recordAll(entries("rolled-back", 3));
+            status.setRollbackOnly();
+        });
+
+        assertThat(auditLogWriter.flush(FLUSH)).isTrue();
+        assertThat(count("committed")).isEqualTo(250);
+        assertThat(count("rolled-back")).isZero();
+    }
+
+    @Test
+    void fullBufferFallsBackToInlineWritesAndShutdownDrains() throws Exception {
+        AuditLogWriter tiny = writer(2, new SimpleMeterRegistry());
+
+        tiny.recordAll(entries("tiny", 40));
+        tiny.shutdown();
+        tiny.record(entries("after-shutdown", 1).getFirst());
+
+        assertThat(count("tiny")).isEqualTo(40);
+        assertThat(count("after-shutdown")).isEqualTo(1);
+        // Everything was written, so no journal is left for the next start
+        assertThat(Files.list(journalDir)).isEmpty();
+    }
+
+    @Test
+    void entriesJournaledByARunThatDiedAreReplayedOnStart() throws Exception {
+        AuditJournal crashed = new AuditJournal(journalDir, objectMapper,
+                entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class));
+        for (NewsAuditLog entry : entries("journaled", 3)) {
+            crashed.append(entry);
+        }
+        // never released or closed: the JVM died with these still buffered
+
+        AuditLogWriter restarted = writer(100, new SimpleMeterRegistry());
+        restarted.record(entries("after-restart", 1).getFirst());
+
+        assertThat(restarted.flush(FLUSH)).isTrue();
+        assertThat(count("journaled")).isEqualTo(3);
+        assertThat(count("after-restart")).isEqualTo(1);
+        restarted.shutdown();
+        assertThat(Files.list(journalDir)).isEmpty();
+    }
+
+    @Test
+    void entriesForADeletedParentAreCountedWhenDropped() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        AuditLogWriter writer = writer(100, meters);
+
+        Project gone = new Project();
+        gone.setId(987_654L);
+        writer.record(ProjectLog.builder()
+                .project(gone)
+                .action("UPDATE")
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        assertThat(writer.flush(FLUSH)).isTrue();
+        writer.shutdown();
+        assertThat(meters.get("khi.audit.dropped")
+                .tag("entity", "ProjectLog")
+                .tag("reason", "foreign_key")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void oneBadEntryDoesNotSinkItsBatch() {
+        List<NewsAuditLog> entries = entries("mixed", 5);
+        entries.get(2).setAction(null);  // action is NOT NULL
+
+        auditLogWriter.recordAll(entries);
+
+        assertThat(auditLogWriter.flush(FLUSH)).isTrue();
+        assertThat(count("mixed")).isEqualTo(4);
+    }
+
+    private AuditLogWriter writer(int bufferCapacity, SimpleMeterRegistry meters) {
+        return new AuditLogWriter(entityManager, transactionManager, objectMapper, meters,
+                bufferCapacity, 5, Duration.ofSeconds(10), journalDir.toString());
+    }
+
+    private static List<NewsAuditLog> entries(String note, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> NewsAuditLog.builder()
+                        .newsId((long) i + 1)
+                        .action("CREATE")
+                        .performedBy("test")
+                        .note(note)
+                        .build())
+                .toList();
+    }
+
+    private long count(String note) {
+        return newsAuditLogRepository.findAll().stream()
+                .filter(log -> note.equals(log.getNote()))
+                .count();
+    }
+}
@@ -0,0 +1,45 @@
+package ak.dev.khi_backend.khi_app.service.audit;
+
+import ak.dev.khi_backend.khi_app.service.audit.AuditPartitionManager.AuditTable;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditPartitionManagerTests {
+
+    @Test
+    void partitionNamesRoundTripToTheirMonth() {
+        String name = AuditPartitionManager.partitionName("project_log", YearMonth.of(2026, 3));
+
+        assertThat(name).isEqualTo("project_log_p2026_03");
+        assertThat(AuditPartitionManager.monthOf("project_log", name)).isEqualTo(YearMonth.of(2026, 3));
+        assertThat(AuditPartitionManager.monthOf("project_log", "project_log_default")).isNull();
+        // A table whose name extends another one must not claim its partitions
+        assertThat(AuditPartitionManager.monthOf("video", "video_logs_p2026_03")).isNull();
+    }
+
+    @Test
+    void partitionCoversOneCalendarMonth() {
+        String sql = AuditPartitionManager.createPartitionSql(
+                new AuditTable("video_logs", "timestamp"), YearMonth.of(2025, 12));
+
+        assertThat(sql).isEqualTo("CREATE TABLE IF NOT EXISTS video_logs_p2025_12 PARTITION OF video_logs"
+                + " FOR VALUES FROM ('2025-12-01') TO ('2026-01-01')");
+    }
+
+    @Test
+    void retentionKeepsTheCurrentMonthAndTheConfiguredHistory() {
+        YearMonth now = YearMonth.of(2026, 10);
+
+        assertThat(AuditPartitionManager.months(YearMonth.of(2026, 11), YearMonth.of(2027, 2)))
+                .containsExactly(YearMonth.of(2026, 11), YearMonth.of(2026, 12),
+                        YearMonth.of(2027, 1), YearMonth.of(2027, 2));
+        assertThat(AuditPartitionManager.expired(YearMonth.of(2025, 10), now, 12)).isFalse();
+        assertThat(AuditPartitionManager.expired(YearMonth.of(2025, 9), now, 12)).isTrue();
+        assertThat(AuditPartitionManager.expired(YearMonth.of(2000, 1), now, 0)).isFalse();
+        assertThat(AuditPartitionManager.archiveKey("audit-archive", "writing_logs", YearMonth.of(2025, 9)))
+                .isEqualTo("audit-archive/writing_logs/2025-09.ndjson.gz");
+    }
+}
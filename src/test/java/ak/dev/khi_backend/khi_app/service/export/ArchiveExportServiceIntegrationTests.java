@@ -0,0 +1,89 @@
+package ak.dev.khi_backend.khi_app.service.export;
+
+import ak.dev.khi_backend.khi_app.dto.news.NewsDto;
+import ak.dev.khi_backend.khi_app.enums.ExportFormat;
+import ak.dev.khi_backend.khi_app.enums.ExportTarget;
+import ak.dev.khi_backend.khi_app.enums.Language;
+import ak.dev.khi_backend.khi_app.service.news.NewsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.export.batch-size=2")
+@ActiveProfiles("test")
+@Transactional
+class ArchiveExportServiceIntegrationTests {
+
+    @Autowired private ArchiveExportService archiveExportService;
+    @Autowired private NewsService newsService;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EntityManager entityManager;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 3; i++) {
+            ids.add(newsService.addNews(NewsDto.builder()
+                    .contentLanguages(Set.of(Language.CKB))
+                    .coverUrl("http://x/export-" + i + ".jpg")
+                    .category(NewsDto.CategoryDto.builder().ckbName("export-cat").kmrName("export-cat").build())
+                    .subCategory(NewsDto.SubCategoryDto.builder().ckbName("export-sub").kmrName("export-sub").build())
+                    .ckbContent(NewsDto.LanguageContentDto.builder().title("export-news-" + i).build())
+                    .build()).getId());
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void ndjsonWritesOneDetailShapedLinePerItemAndClearsTheSession() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Map<ExportTarget, Long> written = archiveExportService.export(
+                ExportFormat.NDJSON, List.of(ExportTarget.NEWS), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written.get(ExportTarget.NEWS)).isEqualTo(lines.length).isGreaterThanOrEqualTo(3);
+        List<String> titles = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            assertThat(node.get("type").asText()).isEqualTo("NEWS");
+            titles.add(node.at("/data/ckbContent/title").asText());
+        }
+        assertThat(titles).contains("export-news-1", "export-news-2", "export-news-3");
+        assertThat(entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities()).isZero();
+    }
+
+    @Test
+    void jsonLdIsOneGraphOfTypedItems() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        archiveExportService.export(ExportFormat.JSONLD, List.of(ExportTarget.NEWS, ExportTarget.VIDEO), out);
+
+        JsonNode document = objectMapper.readTree(out.toByteArray());
+        assertThat(document.at("/@context/schema").asText()).isEqualTo("https://schema.org/");
+        List<String> exportedIds = new ArrayList<>();
+        for (JsonNode item : document.get("@graph")) {
+            assertThat(item.get("@type").asText()).isIn("schema:NewsArticle", "schema:VideoObject");
+            exportedIds.add(item.get("@id").asText());
+        }
+        assertThat(exportedIds).anySatisfy(id -> assertThat(id).endsWith("/ckb/news/" + ids.getFirst()));
+    }
+}
@@ -0,0 +1,117 @@
+package ak.dev.khi_backend.khi_app.service.importing;
+
+import ak.dev.khi_backend.khi_app.enums.ImportFormat;
+import ak.dev.khi_backend.khi_app.enums.ImportJobStatus;
+import ak.dev.khi_backend.khi_app.enums.ImportTarget;
+import ak.dev.khi_backend.khi_app.model.importing.ImportJob;
+import ak.dev.khi_backend.khi_app.model.importing.ImportRowError;
+import ak.dev.khi_backend.khi_app.model.news.News;
+import ak.dev.khi_backend.khi_app.model.news.NewsContent;
+import ak.dev.khi_backend.khi_app.repository.importing.ImportJobRepository;
+import ak.dev.khi_backend.khi_app.repository.importing.ImportRowErrorRepository;
+import ak.dev.khi_backend.khi_app.repository.news.NewsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkImportServiceIntegrationTests {
+
+    private static final String VALID = """
+            {"contentLanguages":["CKB"],"coverUrl":"http://x/%1$s.jpg",\
+            "category":{"ckbName":"import-cat","kmrName":"import-cat"},\
+            "subCategory":{"ckbName":"import-sub","kmrName":"import-sub"},\
+            "ckbContent":{"title":"%1$s"}}""";
+
+    @Autowired private BulkImportService bulkImportService;
+    @Autowired private ImportJobRepository jobRepository;
+    @Autowired private ImportRowErrorRepository rowErrorRepository;
+    @Autowired private NewsRepository newsRepository;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        rowErrorRepository.deleteAll();
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void badRowsAreRecordedAndTheRestIsCommittedInChunks() throws Exception {
+        Path spool = Files.writeString(dir.resolve("news.ndjson"), String.join("\n",
+                VALID.formatted("import-ok-1"),
+                "{not json",
+                VALID.formatted("import-no-cover").replace("\"coverUrl\":\"http://x/import-no-cover.jpg\",", ""),
+                VALID.formatted("import-ok-2")), StandardCharsets.UTF_8);
+        ImportJob job = queue(ImportFormat.NDJSON, spool, 0);
+
+        bulkImportService.run(job.getId());
+
+        ImportJob done = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(done.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(done.getCommittedRows()).isEqualTo(4);
+        assertThat(done.getImportedRows()).isEqualTo(2);
+        assertThat(done.getFailedRows()).isEqualTo(2);
+        assertThat(Files.exists(spool)).isFalse();
+
+        assertThat(rowErrorRepository.findByJobIdOrderByRowNumberAsc(job.getId(), Pageable.unpaged()))
+                .extracting(ImportRowError::getRowNumber, ImportRowError::getErrorCode)
+                .containsExactly(
+                        tuple(2L, "PARSE_ERROR"),
+                        tuple(3L, "NEWS_VALIDATION"));
+        assertThat(titles()).contains("import-ok-1", "import-ok-2").doesNotContain("import-no-cover");
+    }
+
+    @Test
+    void csvJobResumesAfterItsCommittedRows() throws Exception {
+        Path spool = Files.writeString(dir.resolve("news.csv"), """
+                contentLanguages[],coverUrl,category.ckbName,category.kmrName,subCategory.ckbName,subCategory.kmrName,ckbContent.title,tags.ckb[]
+                CKB,http://x/1.jpg,import-cat,import-cat,import-sub,import-sub,csv-already-imported,
+                CKB,http://x/2.jpg,import-cat,import-cat,import-sub,import-sub,csv-resumed-1,a|b
+                CKB,http://x/3.jpg,import-cat,import-cat,import-sub,import-sub,csv-resumed-2,
+                """, StandardCharsets.UTF_8);
+        ImportJob job = queue(ImportFormat.CSV, spool, 1);
+
+        bulkImportService.run(job.getId());
+
+        ImportJob done = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(done.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(done.getCommittedRows()).isEqualTo(3);
+        assertThat(done.getImportedRows()).isEqualTo(2);
+        assertThat(titles()).contains("csv-resumed-1", "csv-resumed-2").doesNotContain("csv-already-imported");
+    }
+
+    private ImportJob queue(ImportFormat format, Path spool, long committedRows) {
+        return jobRepository.save(ImportJob.builder()
+                .target(ImportTarget.NEWS)
+                .format(format)
+                .status(ImportJobStatus.QUEUED)
+                .spoolPath(spool.toString())
+                .chunkSize(2)
+                .committedRows(committedRows)
+                .build());
+    }
+
+    private List<String> titles() {
+        return newsRepository.findAll().stream()
+                .map(News::getCkbContent)
+                .filter(Objects::nonNull)
+                .map(NewsContent::getTitle)
+                .toList();
+    }
+}
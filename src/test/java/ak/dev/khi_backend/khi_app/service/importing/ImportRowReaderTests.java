@@ -0,0 +1,96 @@
+package ak.dev.khi_backend.khi_app.service.importing;
+
+import ak.dev.khi_backend.khi_app.enums.ImportFormat;
+import ak.dev.khi_backend.khi_app.service.importing.ImportRowReader.Row;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportRowReaderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void ndjsonSkipsBlankLinesAndReportsMalformedOnes() throws Exception {
+        Path file = write("rows.ndjson", "{\"a\":1}\r\n\n{broken\n[1,2]\n{\"a\":4}");
+
+        try (ImportRowReader reader = ImportRowReader.open(file, ImportFormat.NDJSON, objectMapper, 1024)) {
+            Row first = reader.next();
+            assertThat(first.number()).isEqualTo(1);
+            assertThat(first.node().get("a").asInt()).isEqualTo(1);
+
+            Row broken = reader.next();
+            assertThat(broken.number()).isEqualTo(2);
+            assertThat(broken.error()).startsWith("Malformed JSON");
+            assertThat(broken.raw()).isEqualTo("{broken");
+
+            assertThat(reader.next().error()).isEqualTo("Line is not a JSON object");
+            assertThat(reader.next().node().get("a").asInt()).isEqualTo(4);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void csvHeaderPathsBuildNestedObjectsAndLists() throws Exception {
+        Path file = write("rows.csv", String.join("\n",
+                "ckbContent.title,tags.ckb[],coverUrl",
+                "\"Title, with comma\",\"a| b |\",http://x/1.jpg",
+                "\"Multi\nline \"\"quoted\"\"\",,",
+                "only,two",
+                ""));
+
+        try (ImportRowReader reader = ImportRowReader.open(file, ImportFormat.CSV, objectMapper, 1024)) {
+            Row first = reader.next();
+            assertThat(first.node().at("/ckbContent/title").asText()).isEqualTo("Title, with comma");
+            assertThat(first.node().at("/tags/ckb").toString()).isEqualTo("[\"a\",\"b\"]");
+            assertThat(first.node().get("coverUrl").asText()).isEqualTo("http://x/1.jpg");
+
+            Row second = reader.next();
+            assertThat(second.number()).isEqualTo(2);
+            assertThat(second.node().at("/ckbContent/title").asText()).isEqualTo("Multi\nline \"quoted\"");
+            assertThat(second.node().has("tags")).isFalse();
+
+            Row third = reader.next();
+            assertThat(third.error()).isEqualTo("Expected 3 columns but found 2");
+            assertThat(third.raw()).isEqualTo("only,two");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void skipResumesAtTheSameRecordNumbers() throws Exception {
+        Path file = write("rows.csv", "a\n1\n\n2\n3\n");
+
+        try (ImportRowReader reader = ImportRowReader.open(file, ImportFormat.CSV, objectMapper, 1024)) {
+            assertThat(reader.skip(2)).isEqualTo(2);
+            Row row = reader.next();
+            assertThat(row.number()).isEqualTo(3);
+            assertThat(row.node().get("a").asText()).isEqualTo("3");
+        }
+    }
+
+    @Test
+    void oversizedRowIsReportedWithoutBufferingIt() throws Exception {
+        Path file = write("rows.ndjson", "{\"a\":\"" + "x".repeat(5000) + "\"}\n{\"a\":2}\n");
+
+        try (ImportRowReader reader = ImportRowReader.open(file, ImportFormat.NDJSON, objectMapper, 1024)) {
+            Row big = reader.next();
+            assertThat(big.error()).isEqualTo("Row exceeds 1024 characters");
+            assertThat(big.raw()).isNull();
+            assertThat(reader.next().node().get("a").asInt()).isEqualTo(2);
+        }
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
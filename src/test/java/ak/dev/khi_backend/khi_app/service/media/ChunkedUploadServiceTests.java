@@ -0,0 +1,252 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.UploadInitRequest;
+import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.UploadSessionResponse;
+import ak.dev.khi_backend.khi_app.enums.UploadStatus;
+import ak.dev.khi_backend.khi_app.exceptions.AppException;
+import ak.dev.khi_backend.khi_app.model.media.UploadSession;
+import ak.dev.khi_backend.khi_app.repository.media.UploadSessionRepository;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadServiceTests {
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private S3Service s3Service;
+
+    @TempDir
+    Path spoolDir;
+
+    private ChunkedUploadService service;
+    private UploadSession session;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChunkedUploadService(uploadSessionRepository, s3Service, new MediaMetadataExtractor(),
+                spoolDir.toString(), 1024, 8, Duration.ofHours(1));
+        when(uploadSessionRepository.save(any(UploadSession.class)))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        UploadSessionResponse opened = service.init(UploadInitRequest.builder()
+                .fileName("track.mp3")
+                .contentType("audio/mpeg")
+                .totalSize(10L)
+                .type("audio")
+                .build());
+
+        ArgumentCaptor<UploadSession> captor = ArgumentCaptor.forClass(UploadSession.class);
+        verify(uploadSessionRepository).save(captor.capture());
+        session = captor.getValue();
+        assertThat(session.getUploadId()).isEqualTo(opened.getUploadId());
+        when(uploadSessionRepository.findByUploadId(session.getUploadId()))
+                .thenReturn(Optional.of(session));
+    }
+
+    @Test
+    void chunksAreAppendedAndCompletedUploadIsStreamedFromSpool() throws Exception {
+        service.appendChunk(session.getUploadId(), 0, stream("01234567"), sha256("01234567"));
+        UploadSessionResponse afterSecond =
+                service.appendChunk(session.getUploadId(), 8, stream("89"), sha256("89"));
+
+        assertThat(afterSecond.getReceivedBytes()).isEqualTo(10);
+        Path spool = Paths.get(session.getSpoolPath());
+        assertThat(Files.readString(spool)).isEqualTo("0123456789");
+
+        when(s3Service.upload(any(S3Service.InputStreamProvider.class), eq(10L),
+                eq("track.mp3"), eq("audio/mpeg"), any()))
+                .thenAnswer(inv -> {
+                    S3Service.InputStreamProvider provider = inv.getArgument(0);
+                    try (InputStream in = provider.open()) {
+                        assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                                .isEqualTo("0123456789");
+                    }
+                    return "https://example.test/audio/track.mp3";
+                });
+
+        UploadSessionResponse done = service.complete(session.getUploadId());
+
+        assertThat(done.getStatus()).isEqualTo(UploadStatus.COMPLETED.name());
+        assertThat(done.getFileUrl()).isEqualTo("https://example.test/audio/track.mp3");
+        assertThat(spool).doesNotExist();
+
+        when(uploadSessionRepository.transitionStatus(eq(session.getUploadId()),
+                eq(UploadStatus.COMPLETED), eq(UploadStatus.CONSUMED), any()))
+                .thenReturn(1);
+        assertThat(service.consumeCompleted(session.getUploadId()).getFileUrl())
+                .isEqualTo("https://example.test/audio/track.mp3");
+        assertThat(session.getStatus()).isEqualTo(UploadStatus.CONSUMED);
+    }
+
+    @Test
+    void completedUploadIsAttachedOnceAndOnlyByItsUploader() {
+        session.setStatus(UploadStatus.COMPLETED);
+        session.setFileUrl("https://example.test/audio/track.mp3");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("someone-else", null, "ROLE_EMPLOYEE"));
+        try {
+            assertThatThrownBy(() -> service.consumeCompleted(session.getUploadId()))
+                    .isInstanceOf(AppException.class)
+                    .hasMessageContaining("upload.not_found");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        // Another request consumed it between our read and the status update
+        when(uploadSessionRepository.transitionStatus(eq(session.getUploadId()),
+                eq(UploadStatus.COMPLETED), eq(UploadStatus.CONSUMED), any()))
+                .thenReturn(0);
+        assertThatThrownBy(() -> service.consumeCompleted(session.getUploadId()))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("upload.already_attached");
+
+        session.setStatus(UploadStatus.CONSUMED);
+        assertThatThrownBy(() -> service.consumeCompleted(session.getUploadId()))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("upload.already_attached");
+    }
+
+    @Test
+    void checksumMismatchRollsTheSpoolBackToTheChunkOffset() throws Exception {
+        service.appendChunk(session.getUploadId(), 0, stream("0123"), sha256("0123"));
+
+        assertThatThrownBy(() -> service.appendChunk(
+                session.getUploadId(), 4, stream("4567"), sha256("xxxx")))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("upload.checksum_mismatch");
+
+        assertThat(session.getReceivedBytes()).isEqualTo(4);
+        assertThat(Files.readString(Paths.get(session.getSpoolPath()))).isEqualTo("0123");
+    }
+
+    @Test
+    void chunkAtWrongOffsetIsRejectedWithoutWriting() throws Exception {
+        assertThatThrownBy(() -> service.appendChunk(
+                session.getUploadId(), 3, stream("abc"), sha256("abc")))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("upload.offset_mismatch");
+
+        assertThat(Files.size(Paths.get(session.getSpoolPath()))).isZero();
+    }
+
+    @Test
+    void incompleteUploadCannotBeCompletedOrReferenced() throws Exception {
+        service.appendChunk(session.getUploadId(), 0, stream("0123"), sha256("0123"));
+
+        assertThatThrownBy(() -> service.complete(session.getUploadId()))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("upload.incomplete");
+        assertThatThrownBy(() -> service.consumeCompleted(session.getUploadId()))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("upload.not_completed");
+        verify(s3Service, never())
+                .upload(any(S3Service.InputStreamProvider.class), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void abortWaitsForTheChunkBeingWritten() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slow = new SequenceInputStream(stream("0123"), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return -1;
+            }
+        });
+        CompletableFuture<UploadSessionResponse> chunk = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.appendChunk(session.getUploadId(), 0, slow, sha256("0123"));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.abort(session.getUploadId()))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("upload.busy");
+
+        release.countDown();
+        assertThat(chunk.get(5, TimeUnit.SECONDS).getReceivedBytes()).isEqualTo(4);
+        Path spool = Paths.get(session.getSpoolPath());
+        service.abort(session.getUploadId());
+        assertThat(session.getStatus()).isEqualTo(UploadStatus.ABORTED);
+        assertThat(spool).doesNotExist();
+    }
+
+    @Test
+    void onlyTheUploaderCanResumeOrAbortTheSession() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("someone-else", null, "ROLE_EMPLOYEE"));
+        try {
+            assertThatThrownBy(() -> service.status(session.getUploadId()))
+                    .isInstanceOf(AppException.class)
+                    .hasMessageContaining("upload.not_found");
+            assertThatThrownBy(() -> service.appendChunk(session.getUploadId(), 0, stream("0123"), sha256("0123")))
+                    .isInstanceOf(AppException.class)
+                    .hasMessageContaining("upload.not_found");
+            assertThatThrownBy(() -> service.abort(session.getUploadId()))
+                    .isInstanceOf(AppException.class)
+                    .hasMessageContaining("upload.not_found");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertThat(session.getStatus()).isEqualTo(UploadStatus.IN_PROGRESS);
+        assertThat(Files.size(Paths.get(session.getSpoolPath()))).isZero();
+        assertThat(service.status(session.getUploadId()).getReceivedBytes()).isZero();
+    }
+
+    private static InputStream stream(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(String s) throws Exception {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,179 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaKind;
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import ak.dev.khi_backend.khi_app.enums.project.ProjectMediaType;
+import ak.dev.khi_backend.khi_app.model.media.ImageVariant;
+import ak.dev.khi_backend.khi_app.repository.media.ImageVariantRepository;
+import ak.dev.khi_backend.khi_app.repository.news.NewsRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.image.ImageAlbumItemRepository;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageDerivativeServiceTests {
+
+    private static final String SOURCE = "https://bucket.example.test/images/photo.jpg";
+
+    @Mock private S3Service s3Service;
+    @Mock private ImageVariantRepository imageVariantRepository;
+    @Mock private ImageAlbumItemRepository imageAlbumItemRepository;
+    @Mock private NewsRepository newsRepository;
+    @Mock private MediaOutbox mediaOutbox;
+    @Mock private MediaDeletionService mediaDeletionService;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private ImageDerivativeService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageDerivativeService(s3Service, imageVariantRepository, imageAlbumItemRepository,
+                newsRepository, mediaOutbox, mediaDeletionService, transactionTemplate,
+                List.of(320, 640, 1280), 640, 50_000_000L, 60_000_000L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generatesOnlyWidthsSmallerThanTheSourceAndAppliesTheListVariant() throws Exception {
+        when(imageVariantRepository.findBySourceUrlOrderByWidthPxAsc(SOURCE)).thenReturn(List.of());
+        stored(jpeg(1000, 500));
+        when(s3Service.upload(any(byte[].class), anyString(), eq("image/jpeg"), eq(ProjectMediaType.IMAGE)))
+                .thenAnswer(inv -> "https://bucket.example.test/images/" + inv.getArgument(1));
+        when(imageVariantRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+        doAnswer(inv -> {
+            ((Consumer<Object>) inv.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        service.generate(SOURCE);
+
+        ArgumentCaptor<List<ImageVariant>> saved = ArgumentCaptor.forClass(List.class);
+        verify(imageVariantRepository).saveAll(saved.capture());
+        assertThat(saved.getValue())
+                .extracting(ImageVariant::getWidthPx, ImageVariant::getHeightPx)
+                .containsExactly(
+                        tuple(320, 160),
+                        tuple(640, 320));
+
+        String listUrl = "https://bucket.example.test/images/photo-w640.jpg";
+        verify(imageAlbumItemRepository).applyThumbnail(SOURCE, listUrl, 640, 320);
+        verify(newsRepository).fillCoverThumbnail(SOURCE, listUrl, MediaKind.IMAGE);
+        verify(mediaOutbox).enqueue(eq(MediaOutboxType.EVICT_CACHE), any());
+        verify(s3Service, never()).download(anyString());
+    }
+
+    @Test
+    void oversizedSourceIsSkippedBeforeAnyByteIsRead() throws Exception {
+        when(imageVariantRepository.findBySourceUrlOrderByWidthPxAsc(SOURCE)).thenReturn(List.of());
+        when(s3Service.sizeOf(SOURCE)).thenReturn(OptionalLong.of(60_000_000L));
+
+        service.generate(SOURCE);
+
+        verify(s3Service, never()).openStream(anyString(), anyLong(), anyLong());
+        verify(imageVariantRepository, never()).saveAll(any());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void losingTheSaveRaceReleasesTheVariantsJustUploaded() throws Exception {
+        List<ImageVariant> winners = List.of(
+                variant(320, "https://bucket.example.test/images/other-w320.jpg"),
+                variant(640, "https://bucket.example.test/images/other-w640.jpg"));
+        when(imageVariantRepository.findBySourceUrlOrderByWidthPxAsc(SOURCE))
+                .thenReturn(List.of())
+                .thenReturn(winners);
+        stored(jpeg(1000, 500));
+        when(s3Service.upload(any(byte[].class), anyString(), eq("image/jpeg"), eq(ProjectMediaType.IMAGE)))
+                .thenAnswer(inv -> "https://bucket.example.test/images/" + inv.getArgument(1));
+        when(imageVariantRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        doAnswer(inv -> {
+            ((Consumer<Object>) inv.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        service.generate(SOURCE);
+
+        verify(mediaDeletionService).deleteAfterCommit(List.of(
+                "https://bucket.example.test/images/photo-w320.jpg",
+                "https://bucket.example.test/images/photo-w640.jpg"));
+        verify(imageAlbumItemRepository).applyThumbnail(SOURCE, winners.get(1).getUrl(), 640, 320);
+    }
+
+    @Test
+    void existingVariantsAreReusedWithoutDownloadingTheSource() throws Exception {
+        when(imageVariantRepository.findBySourceUrlOrderByWidthPxAsc(SOURCE)).thenReturn(List.of(
+                variant(320, "https://bucket.example.test/images/photo-w320.jpg"),
+                variant(1280, "https://bucket.example.test/images/photo-w1280.jpg")));
+
+        service.generate(SOURCE);
+
+        verify(s3Service, never()).sizeOf(anyString());
+        verify(s3Service, never()).openStream(anyString(), anyLong(), anyLong());
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void requestedUrlsAreQueuedOnTheOutboxAndFailuresComeBackForRetry() {
+        when(s3Service.isOurS3Url(anyString())).thenAnswer(inv -> inv.getArgument(0, String.class).startsWith("https://bucket."));
+
+        service.requestDerivatives(List.of(SOURCE, "  ", "https://elsewhere.test/x.jpg", SOURCE));
+        verify(mediaOutbox).enqueue(MediaOutboxType.GENERATE_DERIVATIVES, List.of(SOURCE));
+
+        when(imageVariantRepository.findBySourceUrlOrderByWidthPxAsc(SOURCE))
+                .thenThrow(new RuntimeException("db down"));
+        assertThat(service.handle(MediaOutboxType.GENERATE_DERIVATIVES, List.of(SOURCE)))
+                .containsExactly(SOURCE);
+    }
+
+    @Test
+    void pickForWidthPrefersTheSmallestVariantCoveringTheTarget() {
+        List<ImageVariant> variants = List.of(variant(320, "a"), variant(1280, "c"), variant(640, "b"));
+
+        assertThat(ImageDerivativeService.pickForWidth(variants, 500).getUrl()).isEqualTo("b");
+        assertThat(ImageDerivativeService.pickForWidth(variants, 2000).getUrl()).isEqualTo("c");
+    }
+
+    private static ImageVariant variant(int width, String url) {
+        return ImageVariant.builder().sourceUrl(SOURCE).url(url).widthPx(width).heightPx(width / 2).build();
+    }
+
+    private void stored(byte[] body) {
+        when(s3Service.sizeOf(SOURCE)).thenReturn(OptionalLong.of(body.length));
+        when(s3Service.openStream(eq(SOURCE), anyLong(), anyLong()))
+                .thenAnswer(inv -> new ByteArrayInputStream(body));
+    }
+
+    private static byte[] jpeg(int width, int height) throws Exception {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "jpeg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,66 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageProbeTests {
+
+    @Test
+    void readsJpegDimensionsFromTheHeaderWithoutConsumingTheRaster() throws Exception {
+        byte[] jpeg = encode(new BufferedImage(2400, 1600, BufferedImage.TYPE_INT_RGB), "jpg");
+        CountingInputStream in = new CountingInputStream(new ByteArrayInputStream(jpeg));
+
+        Dimension dim = ImageProbe.probe(in);
+
+        assertThat(dim).isEqualTo(new Dimension(2400, 1600));
+        assertThat(in.count).isLessThan(jpeg.length);
+    }
+
+    @Test
+    void readsPngDimensions() throws Exception {
+        byte[] png = encode(new BufferedImage(640, 480, BufferedImage.TYPE_INT_ARGB), "png");
+
+        assertThat(ImageProbe.probe(new ByteArrayInputStream(png))).isEqualTo(new Dimension(640, 480));
+    }
+
+    @Test
+    void returnsNullForNonImageContent() {
+        assertThat(ImageProbe.probe(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5}))).isNull();
+    }
+
+    private static byte[] encode(BufferedImage img, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, format, out);
+        return out.toByteArray();
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) { super(in); }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.model.media.MediaBlob;
+import ak.dev.khi_backend.khi_app.repository.media.MediaBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MediaBlobServiceIntegrationTests {
+
+    private static final String KEY = "test/images/shared.jpg";
+    private static final String SHA256 = "shared-body";
+
+    @Autowired private MediaBlobService mediaBlobService;
+    @Autowired private MediaBlobRepository mediaBlobRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        mediaBlobRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void reuseTakesAReferenceTheNextReleaseHonours() {
+        mediaBlobService.register(SHA256, KEY, 10, "image/jpeg");
+
+        assertThat(mediaBlobService.retainExisting(SHA256)).map(MediaBlob::getS3Key).contains(KEY);
+
+        assertThat(mediaBlobService.release(KEY)).isFalse();
+        assertThat(mediaBlobService.release(KEY)).isTrue();
+        assertThat(mediaBlobRepository.count()).isZero();
+    }
+
+    @Test
+    void reuseRacingTheLastReleaseIsAMiss() throws Exception {
+        mediaBlobService.register(SHA256, KEY, 10, "image/jpeg");
+
+        CompletableFuture<Optional<MediaBlob>> reuse = transactionTemplate.execute(status -> {
+            // The last reference is released and the row deleted, not yet committed
+            assertThat(mediaBlobService.releaseAllInTransaction(List.of(KEY))).containsExactly(KEY);
+
+            CompletableFuture<Optional<MediaBlob>> racing =
+                    CompletableFuture.supplyAsync(() -> mediaBlobService.retainExisting(SHA256));
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertThat(racing).isNotDone(); // waiting on the row lock
+            return racing;
+        });
+
+        // The object is queued for deletion, so the upload must not be pointed at it
+        assertThat(reuse.get(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(mediaBlobRepository.count()).isZero();
+    }
+}
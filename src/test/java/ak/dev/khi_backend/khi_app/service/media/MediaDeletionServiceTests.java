@@ -0,0 +1,128 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import ak.dev.khi_backend.khi_app.model.media.ImageVariant;
+import ak.dev.khi_backend.khi_app.repository.media.ImageVariantRepository;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MediaDeletionServiceTests {
+
+    @Mock private S3Service s3Service;
+    @Mock private MediaBlobService mediaBlobService;
+    @Mock private ImageVariantRepository imageVariantRepository;
+    @Mock private MediaOutbox mediaOutbox;
+
+    private MediaDeletionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MediaDeletionService(s3Service, mediaBlobService, imageVariantRepository, mediaOutbox, 1000);
+    }
+
+    @Test
+    void deleteAfterCommitQueuesTheKeysOfOurUrlsOnly() {
+        when(s3Service.isOurS3Url(anyString())).thenAnswer(inv -> inv.getArgument(0, String.class).startsWith("https://bucket/"));
+        when(s3Service.extractKeyFromUrl(anyString())).thenAnswer(inv -> inv.getArgument(0, String.class).substring(15));
+
+        service.deleteAfterCommit(Arrays.asList(
+                "https://bucket/a.jpg", null, " ", "https://elsewhere/b.jpg", "https://bucket/a.jpg"));
+
+        verify(mediaOutbox).enqueue(MediaOutboxType.DELETE_MEDIA, List.of("a.jpg"));
+        verifyNoInteractions(mediaBlobService);
+    }
+
+    @Test
+    void deleteMediaReleasesReferencesAndQueuesOnlyUnreferencedKeys() {
+        List<String> keys = List.of("a", "b", "c");
+        when(mediaBlobService.releaseAllInTransaction(keys)).thenReturn(List.of("a", "c"));
+        when(s3Service.getPublicUrl(anyString())).thenAnswer(inv -> "https://bucket/" + inv.getArgument(0));
+
+        assertThat(service.transactional(MediaOutboxType.DELETE_MEDIA)).isTrue();
+        assertThat(service.handle(MediaOutboxType.DELETE_MEDIA, keys)).isEmpty();
+
+        verify(mediaOutbox).enqueue(MediaOutboxType.DELETE_OBJECTS, List.of("a", "c"));
+        verify(imageVariantRepository).findBySourceUrlIn(List.of("https://bucket/a", "https://bucket/c"));
+        verify(s3Service, never()).deleteObjects(any());
+    }
+
+    @Test
+    void variantsOfAReleasedSourceAreRemovedAndReleasedWithIt() {
+        List<String> keys = List.of("a.jpg");
+        ImageVariant variant = ImageVariant.builder()
+                .sourceUrl("https://bucket/a.jpg").url("https://bucket/a-w320.jpg").widthPx(320).heightPx(160)
+                .build();
+        when(mediaBlobService.releaseAllInTransaction(keys)).thenReturn(keys);
+        when(s3Service.getPublicUrl("a.jpg")).thenReturn("https://bucket/a.jpg");
+        when(imageVariantRepository.findBySourceUrlIn(List.of("https://bucket/a.jpg"))).thenReturn(List.of(variant));
+        when(s3Service.isOurS3Url(anyString())).thenReturn(true);
+        when(s3Service.extractKeyFromUrl(anyString())).thenAnswer(inv -> inv.getArgument(0, String.class).substring(15));
+
+        service.handle(MediaOutboxType.DELETE_MEDIA, keys);
+
+        verify(mediaOutbox).enqueue(MediaOutboxType.DELETE_OBJECTS, keys);
+        verify(imageVariantRepository).deleteAllInBatch(List.of(variant));
+        verify(mediaOutbox).enqueue(MediaOutboxType.DELETE_MEDIA, List.of("a-w320.jpg"));
+    }
+
+    @Test
+    void sourceStillReferencedKeepsItsVariants() {
+        List<String> keys = List.of("a.jpg");
+        when(mediaBlobService.releaseAllInTransaction(keys)).thenReturn(List.of());
+
+        service.handle(MediaOutboxType.DELETE_MEDIA, keys);
+
+        verifyNoInteractions(imageVariantRepository);
+    }
+
+    @Test
+    void deleteObjectsGoesToS3InBatchesOfAThousandWithoutReleasing() {
+        List<String> keys = IntStream.range(0, 1200).mapToObj(i -> "k/" + i).toList();
+        when(s3Service.deleteObjects(anyList())).thenReturn(List.of());
+
+        assertThat(service.transactional(MediaOutboxType.DELETE_OBJECTS)).isFalse();
+        assertThat(service.handle(MediaOutboxType.DELETE_OBJECTS, keys)).isEmpty();
+
+        verify(s3Service).deleteObjects(keys.subList(0, 1000));
+        verify(s3Service).deleteObjects(keys.subList(1000, 1200));
+        verifyNoInteractions(mediaBlobService);
+    }
+
+    @Test
+    void keysS3ReportsAsFailedAreLeftForRetry() {
+        when(s3Service.deleteObjects(List.of("a", "b"))).thenReturn(List.of("b"));
+
+        assertThat(service.handle(MediaOutboxType.DELETE_OBJECTS, List.of("a", "b"))).containsExactly("b");
+        verifyNoInteractions(mediaBlobService);
+    }
+
+    @Test
+    void failedReferenceReleaseKeepsEveryObject() {
+        List<String> keys = List.of("a");
+        when(mediaBlobService.releaseAllInTransaction(keys)).thenThrow(new RuntimeException("db down"));
+
+        assertThatThrownBy(() -> service.handle(MediaOutboxType.DELETE_MEDIA, keys))
+                .hasMessage("db down");
+        verify(s3Service, never()).deleteObjects(any());
+        verify(mediaOutbox, never()).enqueue(any(), any());
+    }
+}
@@ -0,0 +1,145 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.MediaOutboxType;
+import ak.dev.khi_backend.khi_app.model.media.MediaBlob;
+import ak.dev.khi_backend.khi_app.model.media.MediaOutboxEvent;
+import ak.dev.khi_backend.khi_app.repository.media.MediaBlobRepository;
+import ak.dev.khi_backend.khi_app.repository.media.MediaOutboxRepository;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "app.media.outbox.max-attempts=2",
+        "app.media.outbox.poll-interval=PT1H"
+})
+@ActiveProfiles("test")
+class MediaOutboxWorkerIntegrationTests {
+
+    @MockitoBean private S3Service s3Service;
+    @MockitoSpyBean private MediaOutbox mediaOutbox;
+
+    @Autowired private MediaOutboxWorker worker;
+    @Autowired private MediaOutboxRepository mediaOutboxRepository;
+    @Autowired private MediaBlobRepository mediaBlobRepository;
+
+    @AfterEach
+    void tearDown() {
+        mediaOutboxRepository.deleteAllInBatch(); // a background drain may be removing rows too
+        mediaBlobRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void handledEventIsRemoved() {
+        save(MediaOutboxType.EVICT_CACHE, "soundTracks\nnews");
+
+        worker.drain();
+
+        assertThat(mediaOutboxRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void leftoverItemsAreRescheduledThenMarkedFailed() {
+        when(s3Service.deleteObjects(List.of("k/a", "k/b"))).thenReturn(List.of("k/b"));
+        when(s3Service.deleteObjects(List.of("k/b"))).thenReturn(List.of("k/b"));
+        MediaOutboxEvent event = save(MediaOutboxType.DELETE_OBJECTS, "k/a\nk/b");
+
+        worker.drain();
+
+        MediaOutboxEvent retried = mediaOutboxRepository.findById(event.getId()).orElseThrow();
+        assertThat(retried.getPayload()).isEqualTo("k/b");
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.isFailed()).isFalse();
+        assertThat(retried.getAvailableAt()).isAfter(LocalDateTime.now());
+        assertThat(retried.getLastError()).isNotBlank();
+
+        // not due yet: nothing is claimed
+        worker.drain();
+        assertThat(mediaOutboxRepository.findById(event.getId()).orElseThrow().getAttempts()).isEqualTo(1);
+
+        retried.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        mediaOutboxRepository.saveAndFlush(retried);
+        worker.drain();
+
+        MediaOutboxEvent failed = mediaOutboxRepository.findById(event.getId()).orElseThrow();
+        assertThat(failed.getAttempts()).isEqualTo(2);
+        assertThat(failed.isFailed()).isTrue();
+        verify(s3Service).deleteObjects(List.of("k/b"));
+    }
+
+    @Test
+    void deleteMediaReleasesReferencesOnceAndHandsUnreferencedKeysToS3() {
+        blob("k/shared", 2);
+        blob("k/last", 1);
+        save(MediaOutboxType.DELETE_MEDIA, "k/shared\nk/last");
+
+        worker.drain();
+
+        assertThat(mediaBlobRepository.findAll()).singleElement().satisfies(blob -> {
+            assertThat(blob.getS3Key()).isEqualTo("k/shared");
+            assertThat(blob.getRefCount()).isEqualTo(1);
+        });
+        assertThat(mediaOutboxRepository.findAll()).noneMatch(e -> e.getType() == MediaOutboxType.DELETE_MEDIA);
+        worker.drain();
+        verify(s3Service, timeout(5000)).deleteObjects(List.of("k/last"));
+    }
+
+    @Test
+    void failureAfterReleaseRollsTheReleaseBackSoTheRetryReleasesOnce() {
+        blob("k/shared", 2);
+        doThrow(new IllegalStateException("outbox down"))
+                .when(mediaOutbox).enqueue(eq(MediaOutboxType.DELETE_OBJECTS), anyCollection());
+        MediaOutboxEvent event = save(MediaOutboxType.DELETE_MEDIA, "k/shared");
+
+        worker.drain();
+
+        MediaOutboxEvent retried = mediaOutboxRepository.findById(event.getId()).orElseThrow();
+        assertThat(retried.getPayload()).isEqualTo("k/shared");
+        assertThat(retried.getLastError()).contains("outbox down");
+        assertThat(mediaBlobRepository.findAll()).singleElement()
+                .satisfies(blob -> assertThat(blob.getRefCount()).isEqualTo(2));
+
+        reset(mediaOutbox);
+        retried.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        mediaOutboxRepository.saveAndFlush(retried);
+        worker.drain();
+
+        assertThat(mediaOutboxRepository.findById(event.getId())).isEmpty();
+        assertThat(mediaBlobRepository.findAll()).singleElement()
+                .satisfies(blob -> assertThat(blob.getRefCount()).isEqualTo(1));
+    }
+
+    private void blob(String key, int refCount) {
+        mediaBlobRepository.saveAndFlush(MediaBlob.builder()
+                .sha256(key.replace('/', '-'))
+                .s3Key(key)
+                .sizeBytes(1)
+                .contentType("image/jpeg")
+                .refCount(refCount)
+                .build());
+    }
+
+    private MediaOutboxEvent save(MediaOutboxType type, String payload) {
+        return mediaOutboxRepository.saveAndFlush(MediaOutboxEvent.builder()
+                .type(type)
+                .payload(payload)
+                .build());
+    }
+}
@@ -0,0 +1,157 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.dto.media.MediaDtos.OrphanSweepReport;
+import ak.dev.khi_backend.khi_app.model.media.ImageVariant;
+import ak.dev.khi_backend.khi_app.model.media.MediaBlob;
+import ak.dev.khi_backend.khi_app.model.publishment.writing.Writing;
+import ak.dev.khi_backend.khi_app.model.publishment.writing.WritingContent;
+import ak.dev.khi_backend.khi_app.model.publishment.writing.WritingLog;
+import ak.dev.khi_backend.khi_app.repository.media.ImageVariantRepository;
+import ak.dev.khi_backend.khi_app.repository.media.MediaBlobRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingLogRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingRepository;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import ak.dev.khi_backend.khi_app.service.storage.StoredObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrphanedMediaCollectorIntegrationTests {
+
+    private static final String COVER  = "khi-web-folders/images/1-cover.jpg";
+    private static final String INLINE = "khi-web-folders/files/2-report.pdf";
+    private static final String ORPHAN = "khi-web-folders/audio/3-old.mp3";
+    private static final String FRESH  = "khi-web-folders/images/4-just-uploaded.jpg";
+    private static final String REPLACED = "khi-web-folders/images/5-previous-cover.jpg";
+    private static final String BUCKET   = "https://bucket.s3.amazonaws.com/";
+
+    @MockitoBean private S3Service s3Service;
+
+    @Autowired private OrphanedMediaCollector collector;
+    @Autowired private WritingRepository writingRepository;
+    @Autowired private MediaBlobRepository mediaBlobRepository;
+    @Autowired private WritingLogRepository writingLogRepository;
+    @Autowired private ImageVariantRepository imageVariantRepository;
+
+    private Writing writing;
+
+    @BeforeEach
+    void setUp() {
+        writing = writingRepository.saveAndFlush(Writing.builder()
+                .ckbCoverUrl("https://bucket.s3.eu-central-1.amazonaws.com/" + COVER + "?v=2")
+                .ckbContent(WritingContent.builder()
+                        .description("<p>see <a href=\"https://bucket.s3.amazonaws.com/" + INLINE + "\">pdf</a></p>")
+                        .build())
+                .build());
+        // the blob index names every key; it must not count as a reference
+        mediaBlobRepository.saveAndFlush(MediaBlob.builder()
+                .sha256("a".repeat(64)).s3Key(ORPHAN).sizeBytes(5).refCount(1).build());
+
+        Instant old = Instant.now().minus(Duration.ofDays(30));
+        when(s3Service.getBaseFolder()).thenReturn("khi-web-folders");
+        doAnswer(inv -> {
+            Consumer<StoredObject> visitor = inv.getArgument(0);
+            visitor.accept(object(COVER, old));
+            visitor.accept(object(INLINE, old));
+            visitor.accept(object(ORPHAN, old));
+            visitor.accept(object(FRESH, Instant.now()));
+            return null;
+        }).when(s3Service).forEachObject(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        writingLogRepository.deleteAll();
+        imageVariantRepository.deleteAll();
+        writingRepository.deleteById(writing.getId());
+        mediaBlobRepository.deleteAll();
+    }
+
+    @Test
+    void unreferencedObjectsPastTheGracePeriodAreDeletedWithTheirBlobRow() {
+        when(s3Service.deleteObjects(anyList())).thenReturn(List.of());
+
+        OrphanSweepReport report = collector.sweep(false);
+
+        verify(s3Service).deleteObjects(List.of(ORPHAN));
+        assertThat(mediaBlobRepository.findAll()).isEmpty();
+        assertThat(report.getScannedObjects()).isEqualTo(4);
+        assertThat(report.getSkippedWithinGracePeriod()).isEqualTo(1);
+        assertThat(report.getOrphanedObjects()).isEqualTo(1);
+        assertThat(report.getDeletedObjects()).isEqualTo(1);
+    }
+
+    @Test
+    void dryRunOnlyReports() {
+        OrphanSweepReport report = collector.sweep(true);
+
+        assertThat(report.getSampleKeys()).containsExactly(ORPHAN);
+        assertThat(report.getOrphanedBytes()).isEqualTo(ORPHAN.length());
+        verify(s3Service, never()).deleteObjects(anyList());
+        assertThat(mediaBlobRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void filesNamedOnlyByAuditTrailsOrAsVariantsOfThemAreOrphans() {
+        // The cover was replaced; only the audit trail still names the old file
+        writingLogRepository.saveAndFlush(WritingLog.builder()
+                .writingId(writing.getId())
+                .action("UPDATED")
+                .details("{\"ckbCoverUrl\":{\"old\":\"" + BUCKET + REPLACED + "\"}}")
+                .build());
+        String coverVariant = "khi-web-folders/images/1-cover-w320.jpg";
+        String replacedVariant = "khi-web-folders/images/5-previous-cover-w320.jpg";
+        imageVariantRepository.saveAllAndFlush(List.of(
+                variant(COVER, coverVariant),
+                variant(REPLACED, replacedVariant)));
+
+        Instant old = Instant.now().minus(Duration.ofDays(30));
+        doAnswer(inv -> {
+            Consumer<StoredObject> visitor = inv.getArgument(0);
+            for (String key : List.of(COVER, INLINE, REPLACED, coverVariant, replacedVariant)) {
+                visitor.accept(object(key, old));
+            }
+            return null;
+        }).when(s3Service).forEachObject(any());
+        when(s3Service.deleteObjects(anyList())).thenReturn(List.of());
+
+        OrphanSweepReport report = collector.sweep(false);
+
+        verify(s3Service).deleteObjects(List.of(REPLACED, replacedVariant));
+        assertThat(report.getOrphanedObjects()).isEqualTo(2);
+    }
+
+    private static ImageVariant variant(String sourceKey, String key) {
+        return ImageVariant.builder()
+                .sourceUrl(BUCKET + sourceKey)
+                .url(BUCKET + key)
+                .widthPx(320)
+                .heightPx(160)
+                .sizeBytes(1)
+                .contentType("image/jpeg")
+                .build();
+    }
+
+    private static StoredObject object(String key, Instant lastModified) {
+        return new StoredObject(key, key.length(), lastModified);
+    }
+}
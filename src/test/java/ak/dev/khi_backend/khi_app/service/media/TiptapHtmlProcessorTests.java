@@ -0,0 +1,163 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.enums.project.ProjectMediaType;
+import ak.dev.khi_backend.khi_app.service.S3Service;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TiptapHtmlProcessorTests {
+
+    @Mock
+    private S3Service s3Service;
+
+    private TiptapHtmlProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new TiptapHtmlProcessor(s3Service, 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    @Test
+    void srcAndHrefPayloadsAreStreamedToS3AndRewrittenInOnePass() {
+        byte[] image = "fake-png-bytes".getBytes(StandardCharsets.UTF_8);
+        byte[] pdf = "%PDF-1.7 body".getBytes(StandardCharsets.UTF_8);
+        // MIME-style line breaks inside the payload must be tolerated
+        String imageB64 = wrap(Base64.getEncoder().encodeToString(image));
+        String pdfB64 = Base64.getEncoder().encodeToString(pdf);
+
+        List<byte[]> received = new CopyOnWriteArrayList<>();
+        when(s3Service.uploadHashed(any(S3Service.InputStreamProvider.class), anyLong(), anyString(),
+                anyString(), anyString(), any()))
+                .thenAnswer(inv -> {
+                    S3Service.InputStreamProvider provider = inv.getArgument(0);
+                    long length = inv.getArgument(1);
+                    try (InputStream in = provider.open()) {
+                        byte[] bytes = in.readAllBytes();
+                        assertThat((long) bytes.length).isEqualTo(length);
+                        assertThat((String) inv.getArgument(2)).isEqualTo(sha256(bytes));
+                        received.add(bytes);
+                    }
+                    return "https://cdn/" + inv.getArgument(4, String.class).replace('/', '-');
+                });
+
+        String html = "<p>a</p><img SRC=\"data:image/png;base64," + imageB64 + "\">"
+                + "<a href='data:application/pdf;base64," + pdfB64 + "'>doc</a>";
+
+        String out = processor.process(html);
+
+        assertThat(out).isEqualTo(
+                "<p>a</p><img src=\"https://cdn/image-png\"><a href='https://cdn/application-pdf'>doc</a>");
+        assertThat(received).containsExactlyInAnyOrder(image, pdf);
+    }
+
+    @Test
+    void repeatedAssetIsUploadedOnceAndEveryOccurrenceSharesTheUrl() {
+        String b64 = Base64.getEncoder().encodeToString("same-image".getBytes(StandardCharsets.UTF_8));
+        when(s3Service.uploadHashed(any(S3Service.InputStreamProvider.class), anyLong(), anyString(),
+                anyString(), eq("image/png"), eq(ProjectMediaType.IMAGE)))
+                .thenReturn("https://cdn/shared.png");
+
+        // same bytes, different line wrapping and quoting
+        String html = "<img src=\"data:image/png;base64," + b64 + "\">"
+                + "<p>x</p><img src='data:image/png;base64," + wrap(b64) + "'>"
+                + "<img src=\"data:image/png;base64," + b64 + "\">";
+
+        assertThat(processor.process(html)).isEqualTo(
+                "<img src=\"https://cdn/shared.png\"><p>x</p><img src='https://cdn/shared.png'>"
+                        + "<img src=\"https://cdn/shared.png\">");
+        verify(s3Service, times(1)).uploadHashed(any(), anyLong(), anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void malformedPayloadIsLeftInPlaceWithoutUploading() {
+        String html = "<img src=\"data:image/png;base64,QUJD=RA\">";
+
+        assertThat(processor.process(html)).isEqualTo(html);
+        verifyNoInteractions(s3Service);
+    }
+
+    @Test
+    void dataTextOutsideAnAttributeIsNotTouched() {
+        String html = "<p>data:image/png;base64,QUJD is how inline images look</p>"
+                + "<img alt=\"data:image/png;base64,QUJD\">";
+
+        assertThat(processor.process(html)).isEqualTo(html);
+        verifyNoInteractions(s3Service);
+    }
+
+    @Test
+    void attributesThatOnlyEndInSrcOrHrefAreNotRewritten() {
+        String html = "<img data-src=\"data:image/png;base64,QUJD\">"
+                + "<a xhref='data:image/png;base64,QUJD'>x</a>"
+                + "<img data-src = \"data:image/png;base64,QUJD\">";
+
+        assertThat(TiptapHtmlProcessor.scan(html)).isEmpty();
+        assertThat(processor.process(html)).isEqualTo(html);
+        verifyNoInteractions(s3Service);
+    }
+
+    @Test
+    void whitespaceAroundTheEqualsSignIsAccepted() {
+        when(s3Service.uploadHashed(any(S3Service.InputStreamProvider.class), eq(3L), anyString(),
+                anyString(), eq("image/png"), eq(ProjectMediaType.IMAGE)))
+                .thenReturn("https://cdn/abc.png");
+        String html = "<img alt=\"a\" src = \"data:image/png;base64,QUJD\">"
+                + "<a\nhref=\n'data:image/png;base64,QUJD'>x</a>";
+
+        assertThat(TiptapHtmlProcessor.scan(html))
+                .extracting(TiptapHtmlProcessor.DataUri::attr)
+                .containsExactly("src", "href");
+        assertThat(processor.process(html)).isEqualTo(
+                "<img alt=\"a\" src=\"https://cdn/abc.png\"><a\nhref='https://cdn/abc.png'>x</a>");
+    }
+
+    @Test
+    void failedUploadKeepsTheOriginalAttribute() {
+        when(s3Service.uploadHashed(any(S3Service.InputStreamProvider.class), eq(3L), anyString(),
+                anyString(), eq("video/mp4"), eq(ProjectMediaType.VIDEO)))
+                .thenThrow(new RuntimeException("s3 down"));
+        String html = "<video src=\"data:video/mp4;base64,QUJD\"></video>";
+
+        assertThat(processor.process(html)).isEqualTo(html);
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    private static String wrap(String b64) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < b64.length(); i += 8) {
+            sb.append(b64, i, Math.min(b64.length(), i + 8)).append("\n  ");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package ak.dev.khi_backend.khi_app.service.media;
+
+import ak.dev.khi_backend.khi_app.exceptions.UploadThrottledException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UploadAdmissionServiceTests {
+
+    @Mock private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private UploadAdmissionService admission;
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistry.getIfAvailable()).thenReturn(null);
+        admission = new UploadAdmissionService(2, DataSize.ofMegabytes(100), DataSize.ofMegabytes(40),
+                Duration.ofMillis(50), Duration.ofSeconds(7), meterRegistry);
+    }
+
+    @Test
+    void userOverTheirBudgetIsThrottled() {
+        UploadAdmissionService.Permit first = admission.admit("editor", DataSize.ofMegabytes(30).toBytes());
+
+        assertThatThrownBy(() -> admission.admit("editor", DataSize.ofMegabytes(20).toBytes()))
+                .isInstanceOfSatisfying(UploadThrottledException.class, e -> {
+                    assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(7));
+                });
+
+        // another user is unaffected
+        admission.admit("other", DataSize.ofMegabytes(20).toBytes()).close();
+        first.close();
+    }
+
+    @Test
+    void fullSlotsTimeOutAsUnavailable() {
+        UploadAdmissionService.Permit a = admission.admit("a", 1024);
+        UploadAdmissionService.Permit b = admission.admit("b", 1024);
+
+        assertThatThrownBy(() -> admission.admit("c", 1024))
+                .isInstanceOfSatisfying(UploadThrottledException.class,
+                        e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        a.close();
+        admission.admit("c", 1024).close();
+        b.close();
+    }
+
+    @Test
+    void releasingAPermitRestoresTheByteBudget() {
+        UploadAdmissionService.Permit big = admission.admit("a", DataSize.ofMegabytes(80).toBytes());
+        assertThat(admission.getInFlightBytes()).isEqualTo(DataSize.ofMegabytes(80).toBytes());
+
+        assertThatThrownBy(() -> admission.admit("b", DataSize.ofMegabytes(30).toBytes()))
+                .isInstanceOf(UploadThrottledException.class);
+
+        big.close();
+        big.close(); // idempotent
+        assertThat(admission.getInFlightBytes()).isZero();
+        admission.admit("b", DataSize.ofMegabytes(30).toBytes()).close();
+    }
+}
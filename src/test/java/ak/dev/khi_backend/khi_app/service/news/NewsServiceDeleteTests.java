@@ -5,6 +5,7 @@ import ak.dev.khi_backend.khi_app.repository.news.NewsCategoryRepository;
 import ak.dev.khi_backend.khi_app.repository.news.NewsRepository;
 import ak.dev.khi_backend.khi_app.repository.news.NewsSubCategoryRepository;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +32,7 @@ class NewsServiceDeleteTests {
     @Mock private NewsCategoryRepository newsCategoryRepository;
     @Mock private NewsSubCategoryRepository newsSubCategoryRepository;
     @Mock private NewsAuditLogRepository newsAuditLogRepository;
+    @Mock private AuditLogWriter auditLogWriter;
     @Mock private TransactionTemplate transactionTemplate;
     @Mock private TiptapHtmlProcessor tiptapHtmlProcessor;
 
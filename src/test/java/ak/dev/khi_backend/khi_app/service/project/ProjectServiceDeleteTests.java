@@ -5,6 +5,7 @@ import ak.dev.khi_backend.khi_app.repository.project.ProjectLogRepository;
 import ak.dev.khi_backend.khi_app.repository.project.ProjectRepository;
 import ak.dev.khi_backend.khi_app.repository.project.ProjectTagRepository;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,7 @@ class ProjectServiceDeleteTests {
     @Mock private ProjectTagRepository projectTagRepository;
     @Mock private ProjectKeywordRepository projectKeywordRepository;
     @Mock private ProjectLogRepository projectLogRepository;
+    @Mock private AuditLogWriter auditLogWriter;
     @Mock private PlatformTransactionManager transactionManager;
     @Mock private TiptapHtmlProcessor tiptapHtmlProcessor;
     @Mock private EntityManager entityManager;
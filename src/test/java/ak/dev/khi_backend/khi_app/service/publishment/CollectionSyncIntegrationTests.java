@@ -0,0 +1,112 @@
+package ak.dev.khi_backend.khi_app.service.publishment;
+
+import ak.dev.khi_backend.khi_app.config.SqlStats;
+import ak.dev.khi_backend.khi_app.enums.Language;
+import ak.dev.khi_backend.khi_app.enums.publishment.FileType;
+import ak.dev.khi_backend.khi_app.enums.publishment.TrackState;
+import ak.dev.khi_backend.khi_app.model.publishment.sound.SoundTrack;
+import ak.dev.khi_backend.khi_app.model.publishment.sound.SoundTrackContent;
+import ak.dev.khi_backend.khi_app.model.publishment.sound.SoundTrackFile;
+import ak.dev.khi_backend.khi_app.model.publishment.writing.Writing;
+import ak.dev.khi_backend.khi_app.repository.publishment.sound.SoundTrackRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CollectionSyncIntegrationTests {
+
+    @Autowired private SoundTrackRepository soundTrackRepository;
+    @Autowired private WritingRepository writingRepository;
+    @Autowired private EntityManager entityManager;
+
+    @Test
+    void resubmittingAnUnchangedAlbumWritesNothing() {
+        SoundTrack track = loaded(albumWithTracks(30));
+
+        SqlStats.Summary summary;
+        try (SqlStats.Scope scope = SqlStats.open("sync")) {
+            CollectionSync.sync(track.getTagsCkb(), List.of("شیعر", "کلاسیک"));
+            CollectionSync.sync(track.getDirectors(), List.of("هەژار"));
+            CollectionSync.syncChildren(track.getFiles(), new ArrayList<>(track.getFiles()));
+            entityManager.flush();
+            summary = scope.summary();
+        }
+
+        assertThat(summary.statements()).isZero();
+    }
+
+    @Test
+    void changedTagIsOneDeleteAndOneInsert() {
+        SoundTrack track = loaded(albumWithTracks(30));
+
+        SqlStats.Summary summary;
+        try (SqlStats.Scope scope = SqlStats.open("sync")) {
+            CollectionSync.sync(track.getTagsCkb(), List.of("شیعر", "نوێ"));
+            CollectionSync.syncChildren(track.getFiles(), new ArrayList<>(track.getFiles()));
+            entityManager.flush();
+            summary = scope.summary();
+        }
+
+        assertThat(summary.statements()).isEqualTo(2);
+    }
+
+    @Test
+    void resubmittedLanguagesAreNotRewritten() {
+        Writing writing = Writing.builder().seriesId("sync-series").build();
+        writing.setContentLanguages(new LinkedHashSet<>(List.of(Language.CKB, Language.KMR)));
+        Long id = writingRepository.saveAndFlush(writing).getId();
+        entityManager.clear();
+        Writing reloaded = writingRepository.findById(id).orElseThrow();
+
+        SqlStats.Summary summary;
+        try (SqlStats.Scope scope = SqlStats.open("sync")) {
+            // a fresh set in place of the managed one was a delete-all plus re-insert
+            CollectionSync.sync(reloaded.getContentLanguages(), List.of(Language.KMR, Language.CKB));
+            entityManager.flush();
+            summary = scope.summary();
+        }
+
+        assertThat(summary.statements()).isZero();
+    }
+
+    private SoundTrack albumWithTracks(int tracks) {
+        SoundTrack track = SoundTrack.builder()
+                .soundType("poem")
+                .trackState(TrackState.MULTI)
+                .ckbContent(SoundTrackContent.builder().title("ئەلبوم").build())
+                .build();
+        track.setTagsCkb(new LinkedHashSet<>(List.of("شیعر", "کلاسیک")));
+        track.setDirectors(new LinkedHashSet<>(List.of("هەژار")));
+        IntStream.range(0, tracks).forEach(i -> track.addFile(SoundTrackFile.builder()
+                .fileUrl("https://cdn.example.com/" + i + ".mp3")
+                .fileType(FileType.MP3)
+                .title("track " + i)
+                .build()));
+        return track;
+    }
+
+    /** Persists, then reloads into a clean persistence context with every collection initialised. */
+    private SoundTrack loaded(SoundTrack track) {
+        Long id = soundTrackRepository.saveAndFlush(track).getId();
+        entityManager.clear();
+        SoundTrack reloaded = soundTrackRepository.findById(id).orElseThrow();
+        reloaded.getTagsCkb().size();
+        reloaded.getDirectors().size();
+        reloaded.getFiles().forEach(file -> file.getBrochures().size());
+        return reloaded;
+    }
+}
@@ -0,0 +1,45 @@
+package ak.dev.khi_backend.khi_app.service.publishment;
+
+import ak.dev.khi_backend.khi_app.model.publishment.image.ImageAlbumItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CollectionSyncTests {
+
+    @Test
+    void syncLeavesEqualSetUntouchedAndOtherwiseAppliesOnlyTheDifference() {
+        Set<String> tags = new LinkedHashSet<>(List.of("a", "b", "c"));
+
+        assertThat(CollectionSync.sync(tags, List.of("c", "b", "a"))).isFalse();
+        assertThat(CollectionSync.sync(tags, List.of("a", "c", "d"))).isTrue();
+        assertThat(tags).containsExactly("a", "c", "d");
+    }
+
+    @Test
+    void syncListReplacesOnlyDifferingSlots() {
+        List<String> target = new ArrayList<>(List.of("a", "b", "c"));
+
+        assertThat(CollectionSync.syncList(target, List.of("a", "b", "c"))).isFalse();
+        assertThat(CollectionSync.syncList(target, List.of("a", "x"))).isTrue();
+        assertThat(target).containsExactly("a", "x");
+    }
+
+    @Test
+    void syncChildrenKeepsMatchedInstancesAndFollowsRequestedOrder() {
+        ImageAlbumItem first = ImageAlbumItem.builder().id(1L).build();
+        ImageAlbumItem second = ImageAlbumItem.builder().id(2L).build();
+        ImageAlbumItem added = ImageAlbumItem.builder().build();
+        List<ImageAlbumItem> album = new ArrayList<>(List.of(first, second));
+
+        assertThat(CollectionSync.syncChildren(album, List.of(first, second))).isFalse();
+        assertThat(CollectionSync.syncChildren(album, List.of(second, added))).isTrue();
+        assertThat(album).containsExactly(second, added);
+        assertThat(album.get(0)).isSameAs(second);
+    }
+}
@@ -13,7 +13,9 @@ import ak.dev.khi_backend.khi_app.repository.publishment.image.ImageCollectionLo
 import ak.dev.khi_backend.khi_app.repository.publishment.image.ImageCollectionRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.topic.PublishmentTopicRepository;
 import ak.dev.khi_backend.khi_app.service.S3Service;
+import ak.dev.khi_backend.khi_app.service.media.ImageDerivativeService;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -36,9 +38,11 @@ class ImageCollectionServiceUpdateTests {
 
     @Mock private ImageCollectionRepository imageCollectionRepository;
     @Mock private ImageCollectionLogRepository imageCollectionLogRepository;
+    @Mock private AuditLogWriter auditLogWriter;
     @Mock private PublishmentTopicRepository topicRepository;
     @Mock private S3Service s3Service;
     @Mock private TiptapHtmlProcessor tiptapHtmlProcessor;
+    @Mock private ImageDerivativeService imageDerivativeService;
 
     @InjectMocks
     private ImageCollectionService imageCollectionService;
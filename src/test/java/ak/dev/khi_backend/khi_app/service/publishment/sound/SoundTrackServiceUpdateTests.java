@@ -13,8 +13,10 @@ import ak.dev.khi_backend.khi_app.model.publishment.sound.SoundTrackContent;
 import ak.dev.khi_backend.khi_app.repository.publishment.sound.SoundTrackLogRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.sound.SoundTrackRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.topic.PublishmentTopicRepository;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor;
 import ak.dev.khi_backend.khi_app.service.S3Service;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -37,9 +39,11 @@ class SoundTrackServiceUpdateTests {
 
     @Mock private SoundTrackRepository soundTrackRepository;
     @Mock private SoundTrackLogRepository soundTrackLogRepository;
+    @Mock private AuditLogWriter auditLogWriter;
     @Mock private PublishmentTopicRepository topicRepository;
     @Mock private S3Service s3Service;
     @Mock private TiptapHtmlProcessor tiptapHtmlProcessor;
+    @Mock private MediaMetadataExtractor mediaMetadataExtractor;
 
     @InjectMocks
     private SoundTrackService soundTrackService;
@@ -6,8 +6,11 @@ import ak.dev.khi_backend.khi_app.model.publishment.video.VideoType;
 import ak.dev.khi_backend.khi_app.repository.publishment.topic.PublishmentTopicRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.video.VideoLogRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.video.VideoRepository;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor.MediaFileMeta;
 import ak.dev.khi_backend.khi_app.service.S3Service;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -20,6 +23,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 
 /**
@@ -31,9 +35,11 @@ class VideoServiceFilmSourceTests {
 
     @Mock private VideoRepository videoRepository;
     @Mock private VideoLogRepository videoLogRepository;
+    @Mock private AuditLogWriter auditLogWriter;
     @Mock private PublishmentTopicRepository topicRepository;
     @Mock private S3Service s3Service;
     @Mock private TiptapHtmlProcessor tiptapHtmlProcessor;
+    @Mock private MediaMetadataExtractor mediaMetadataExtractor;
 
     @InjectMocks
     private VideoService videoService;
@@ -92,6 +98,32 @@ class VideoServiceFilmSourceTests {
         assertThat(response.getSourceUrl()).isEqualTo("https://cdn/two.mp4");
     }
 
+    @Test
+    void filmTechnicalFieldsComeFromTheMainUploadUnlessTypedIn() {
+        when(s3Service.upload(any(byte[].class), any(), any()))
+                .thenReturn("https://cdn/one.mp4", "https://cdn/two.mp4", "https://cdn/three.mp4");
+        when(videoRepository.save(any(Video.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(mediaMetadataExtractor.extract(any(MultipartFile.class), anyLong(), any(), any()))
+                .thenReturn(MediaFileMeta.builder()
+                        .widthPx(1920).heightPx(1080).durationSeconds(5400).fileFormat("MP4")
+                        .sizeBytes(3L * 1024 * 1024).build());
+
+        VideoDTO request = VideoDTO.builder()
+                .videoType(VideoType.FILM)
+                .fileFormat("MKV")
+                .build();
+
+        VideoDTO response = videoService.addVideo(
+                request, null, null, null, threeFilmFiles());
+
+        assertThat(response.getDurationSeconds()).isEqualTo(5400);
+        assertThat(response.getResolution()).isEqualTo("1920x1080");
+        assertThat(response.getFileSizeMb()).isEqualTo(3.0);
+        assertThat(response.getFileFormat()).isEqualTo("MKV");
+        assertThat(response.getVideoSources()).extracting(VideoDTO.VideoSourceDTO::getDurationSeconds)
+                .containsOnly(5400);
+    }
+
     private List<MultipartFile> threeFilmFiles() {
         return List.of(
                 new MockMultipartFile("videoFiles", "one.mp4",   "video/mp4", new byte[]{1}),
@@ -8,8 +8,10 @@ import ak.dev.khi_backend.khi_app.model.publishment.video.VideoType;
 import ak.dev.khi_backend.khi_app.repository.publishment.topic.PublishmentTopicRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.video.VideoLogRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.video.VideoRepository;
+import ak.dev.khi_backend.khi_app.service.MediaMetadataExtractor;
 import ak.dev.khi_backend.khi_app.service.S3Service;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -32,9 +34,11 @@ class VideoServiceUpdateTests {
 
     @Mock private VideoRepository videoRepository;
     @Mock private VideoLogRepository videoLogRepository;
+    @Mock private AuditLogWriter auditLogWriter;
     @Mock private PublishmentTopicRepository topicRepository;
     @Mock private S3Service s3Service;
     @Mock private TiptapHtmlProcessor tiptapHtmlProcessor;
+    @Mock private MediaMetadataExtractor mediaMetadataExtractor;
 
     @InjectMocks
     private VideoService videoService;
@@ -0,0 +1,184 @@
+package ak.dev.khi_backend.khi_app.service.publishment.writing;
+
+import ak.dev.khi_backend.khi_app.enums.publishment.WritingFileFormat;
+import ak.dev.khi_backend.khi_app.service.publishment.writing.BookFileAnalyzer.BookAnalysis;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookFileAnalyzerTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void pdfPageCountComesFromTheRootOfThePageTree() throws Exception {
+        Path pdf = write("book.pdf", ("""
+                %PDF-1.4
+                1 0 obj << /Type /Catalog /Pages 2 0 R >> endobj
+                2 0 obj << /Type /Pages /Kids [3 0 R 4 0 R] /Count 5 >> endobj
+                3 0 obj << /Type /Pages /Parent 2 0 R /Kids [5 0 R 6 0 R] /Count 2 >> endobj
+                5 0 obj << /Type /Page /Parent 3 0 R /Resources << /Font << /F1 7 0 R >> >> >> endobj
+                trailer << /Root 1 0 R >>
+                %%EOF
+                """).getBytes(StandardCharsets.ISO_8859_1));
+
+        BookAnalysis analysis = BookFileAnalyzer.analyze(pdf, "book.pdf", 1000);
+
+        assertThat(analysis.format()).isEqualTo(WritingFileFormat.PDF);
+        assertThat(analysis.pageCount()).isEqualTo(5);
+        assertThat(analysis.sizeBytes()).isEqualTo(Files.size(pdf));
+        assertThat(analysis.text()).isNull();
+    }
+
+    @Test
+    void pdfTextAndFirstPageCoverComeFromTheDocument() throws Exception {
+        Path pdf = dir.resolve("essay.pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int i = 1; i <= 3; i++) {
+                PDPage page = new PDPage(PDRectangle.A5);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 14);
+                    content.newLineAtOffset(50, 500);
+                    content.showText("Chapter " + i);
+                    content.endText();
+                }
+            }
+            document.save(pdf.toFile());
+        }
+
+        BookAnalysis analysis = BookFileAnalyzer.analyze(pdf, "essay.pdf", 10_000);
+
+        assertThat(analysis.format()).isEqualTo(WritingFileFormat.PDF);
+        assertThat(analysis.pageCount()).isEqualTo(3);
+        assertThat(analysis.text()).startsWith("Chapter 1").contains("Chapter 2").endsWith("Chapter 3");
+        BufferedImage cover = ImageIO.read(new ByteArrayInputStream(analysis.coverImage()));
+        assertThat(cover.getHeight()).isGreaterThan(cover.getWidth());
+
+        assertThat(BookFileAnalyzer.analyze(pdf, "essay.pdf", 5).text()).isEqualTo("Chapt");
+    }
+
+    @Test
+    void pdfPageTreeInsideACompressedObjectStreamIsFound() throws Exception {
+        byte[] objects = "2 0 <</Count 12/Kids[3 0 R]/Type/Pages>>".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] compressed = deflate(objects);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("%PDF-1.5\n1 0 obj <</Type/Catalog/Pages 2 0 R>> endobj\n"
+                + "9 0 obj <</Type/ObjStm/N 1/First 4/Filter/FlateDecode/Length " + compressed.length + ">>\nstream\n")
+                .getBytes(StandardCharsets.ISO_8859_1));
+        out.write(compressed);
+        out.write("\nendstream\nendobj\n%%EOF\n".getBytes(StandardCharsets.ISO_8859_1));
+        Path pdf = write("scan.pdf", out.toByteArray());
+
+        assertThat(BookFileAnalyzer.analyze(pdf, "scan.pdf", 1000).pageCount()).isEqualTo(12);
+    }
+
+    @Test
+    void epubYieldsSpineTextInOrderAndTheManifestCover() throws Exception {
+        Path epub = dir.resolve("novel.epub");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(epub))) {
+            entry(zip, "mimetype", "application/epub+zip".getBytes(StandardCharsets.US_ASCII));
+            entry(zip, "META-INF/container.xml", """
+                    <?xml version="1.0"?>
+                    <container version="1.0" xmlns="urn:oasis:names:tc:opendocument:xmlns:container">
+                      <rootfiles><rootfile full-path="OEBPS/content.opf" media-type="application/oebps-package+xml"/></rootfiles>
+                    </container>
+                    """.getBytes(StandardCharsets.UTF_8));
+            entry(zip, "OEBPS/content.opf", """
+                    <?xml version="1.0"?>
+                    <package xmlns="http://www.idpf.org/2007/opf" version="3.0">
+                      <manifest>
+                        <item id="c2" href="text/ch%202.xhtml" media-type="application/xhtml+xml"/>
+                        <item id="c1" href="text/ch1.xhtml" media-type="application/xhtml+xml"/>
+                        <item id="img" href="images/cover.png" media-type="image/png" properties="cover-image"/>
+                      </manifest>
+                      <spine><itemref idref="c1"/><itemref idref="c2"/></spine>
+                    </package>
+                    """.getBytes(StandardCharsets.UTF_8));
+            entry(zip, "OEBPS/text/ch1.xhtml", """
+                    <html><head><title>ignored</title><style>p{}</style></head>
+                    <body><h1>بەشی یەکەم</h1><p>Dest&amp;pêk &#1740;</p></body></html>
+                    """.getBytes(StandardCharsets.UTF_8));
+            entry(zip, "OEBPS/text/ch 2.xhtml", "<html><body><p>Second chapter</p></body></html>"
+                    .getBytes(StandardCharsets.UTF_8));
+            entry(zip, "OEBPS/images/cover.png", png(40, 60));
+        }
+
+        BookAnalysis analysis = BookFileAnalyzer.analyze(epub, "novel.epub", 10_000);
+
+        assertThat(analysis.format()).isEqualTo(WritingFileFormat.EPUB);
+        assertThat(analysis.text())
+                .startsWith("بەشی یەکەم\nDest&pêk ی")
+                .endsWith("Second chapter")
+                .doesNotContain("ignored");
+        assertThat(analysis.pageCount()).isEqualTo(1);
+        assertThat(ImageIO.read(new ByteArrayInputStream(analysis.coverImage())).getHeight()).isEqualTo(60);
+        assertThat(analysis.truncated()).isFalse();
+    }
+
+    @Test
+    void textIsCappedAndUnknownContentFallsBackToTheExtension() throws Exception {
+        Path txt = write("notes.txt", "x".repeat(5000).getBytes(StandardCharsets.UTF_8));
+
+        BookAnalysis analysis = BookFileAnalyzer.analyze(txt, "notes.txt", 2000);
+
+        assertThat(analysis.format()).isEqualTo(WritingFileFormat.TXT);
+        assertThat(analysis.text()).hasSize(2000);
+        assertThat(analysis.truncated()).isTrue();
+        assertThat(analysis.pageCount()).isEqualTo(2);
+
+        Path garbage = write("upload.bin", new byte[] {1, 2, 3});
+        assertThat(BookFileAnalyzer.analyze(garbage, "upload.bin", 100).format()).isEqualTo(WritingFileFormat.OTHER);
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        return Files.write(dir.resolve(name), bytes);
+    }
+
+    private static void entry(ZipOutputStream zip, String name, byte[] bytes) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(bytes);
+        zip.closeEntry();
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(bytes);
+        deflater.finish();
+        byte[] buffer = new byte[1024];
+        int n = deflater.deflate(buffer);
+        deflater.end();
+        return Arrays.copyOf(buffer, n);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", (OutputStream) out);
+        return out.toByteArray();
+    }
+}
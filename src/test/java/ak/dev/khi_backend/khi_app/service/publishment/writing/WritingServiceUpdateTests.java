@@ -6,10 +6,12 @@ import ak.dev.khi_backend.khi_app.dto.publishment.writing.WritingDtos.UpdateRequ
 import ak.dev.khi_backend.khi_app.model.publishment.writing.Writing;
 import ak.dev.khi_backend.khi_app.model.publishment.writing.WritingContent;
 import ak.dev.khi_backend.khi_app.repository.publishment.topic.PublishmentTopicRepository;
+import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingBookTextRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingLogRepository;
 import ak.dev.khi_backend.khi_app.repository.publishment.writing.WritingRepository;
 import ak.dev.khi_backend.khi_app.service.S3Service;
 import ak.dev.khi_backend.khi_app.service.media.TiptapHtmlProcessor;
+import ak.dev.khi_backend.khi_app.service.audit.AuditLogWriter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,10 +35,13 @@ class WritingServiceUpdateTests {
 
     @Mock private WritingRepository writingRepository;
     @Mock private WritingLogRepository writingLogRepository;
+    @Mock private AuditLogWriter auditLogWriter;
     @Mock private PublishmentTopicRepository topicRepository;
     @Mock private S3Service s3Service;
     @Mock private ObjectMapper objectMapper;
     @Mock private TiptapHtmlProcessor tiptapHtmlProcessor;
+    @Mock private BookAnalysisService bookAnalysisService;
+    @Mock private WritingBookTextRepository bookTextRepository;
 
     @InjectMocks
     private WritingService writingService;
@@ -0,0 +1,104 @@
+package ak.dev.khi_backend.khi_app.service.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileSystemStorageProviderTests {
+
+    private static final String BASE_URL = "http://localhost:8080/media-files";
+
+    @TempDir
+    Path root;
+
+    private FileSystemStorageProvider storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileSystemStorageProvider(root, BASE_URL + "/", false);
+    }
+
+    @Test
+    void putPublishesTheFileAndRangesReadFromIt() throws Exception {
+        byte[] body = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+        storage.put("khi/images/a.txt", () -> new ByteArrayInputStream(body), body.length, "text/plain");
+
+        assertThat(storage.read("khi/images/a.txt")).isEqualTo(body);
+        try (InputStream in = storage.readRange("khi/images/a.txt", 3, 4)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.US_ASCII)).isEqualTo("3456");
+        }
+        try (InputStream in = storage.readRange("khi/images/a.txt", 8, -1)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.US_ASCII)).isEqualTo("89");
+        }
+        assertThat(storage.stat("khi/images/a.txt")).get()
+                .extracting(StoredObject::size).isEqualTo(10L);
+        assertThat(storage.stat("khi/images/missing.txt")).isEmpty();
+        try (var staged = Files.list(root.resolve(FileSystemStorageProvider.STAGING_DIR))) {
+            assertThat(staged).isEmpty();
+        }
+    }
+
+    @Test
+    void shortBodyLeavesNothingBehind() throws Exception {
+        byte[] body = "abc".getBytes(StandardCharsets.US_ASCII);
+
+        assertThatThrownBy(() -> storage.put("khi/a.txt", () -> new ByteArrayInputStream(body), 10, "text/plain"))
+                .isInstanceOf(StorageException.class);
+
+        assertThat(storage.stat("khi/a.txt")).isEmpty();
+        try (var staged = Files.list(root.resolve(FileSystemStorageProvider.STAGING_DIR))) {
+            assertThat(staged).isEmpty();
+        }
+    }
+
+    @Test
+    void multipartPartsAreAssembledInPartOrder() {
+        StorageProvider.MultipartUpload upload = storage.startMultipart("khi/video/v.mp4", "video/mp4");
+        upload.uploadPart(2, () -> new ByteArrayInputStream("world".getBytes()), 5);
+        upload.uploadPart(1, () -> new ByteArrayInputStream("hello ".getBytes()), 6);
+
+        assertThat(storage.stat("khi/video/v.mp4")).isEmpty();
+        upload.complete();
+
+        assertThat(new String(storage.read("khi/video/v.mp4"))).isEqualTo("hello world");
+    }
+
+    @Test
+    void listSkipsStagingAndDeleteTreatsMissingKeysAsDeleted() {
+        storage.put("khi/images/a.jpg", () -> new ByteArrayInputStream(new byte[3]), 3, "image/jpeg");
+        storage.put("khi/audio/b.mp3", () -> new ByteArrayInputStream(new byte[4]), 4, "audio/mpeg");
+        storage.startMultipart("khi/video/pending.mp4", "video/mp4")
+                .uploadPart(1, () -> new ByteArrayInputStream(new byte[2]), 2);
+
+        List<String> keys = new ArrayList<>();
+        storage.list("", obj -> keys.add(obj.key()));
+        assertThat(keys).containsExactlyInAnyOrder("khi/images/a.jpg", "khi/audio/b.mp3");
+
+        assertThat(storage.deleteBatch(List.of("khi/images/a.jpg", "khi/images/never-there.jpg"))).isEmpty();
+        assertThat(storage.stat("khi/images/a.jpg")).isEmpty();
+    }
+
+    @Test
+    void urlsRoundTripAndKeysCannotEscapeTheRoot() {
+        String url = storage.publicUrl("khi/images/a.jpg");
+
+        assertThat(url).isEqualTo(BASE_URL + "/khi/images/a.jpg");
+        assertThat(storage.ownsUrl(url)).isTrue();
+        assertThat(storage.keyFromUrl(url + "?v=2")).isEqualTo("khi/images/a.jpg");
+        assertThat(storage.ownsUrl("https://bucket.s3.amazonaws.com/khi/images/a.jpg")).isFalse();
+        assertThatThrownBy(() -> storage.resolve("../outside.txt")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.resolve(".staging/x")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
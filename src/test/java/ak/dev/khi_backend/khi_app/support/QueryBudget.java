@@ -0,0 +1,34 @@
+package ak.dev.khi_backend.khi_app.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when an HTTP request it performs (through MockMvc) runs
+ * more SQL statements than {@link #value()}, or repeats one statement more
+ * than {@link #maxRepeats()} times.
+ *
+ * Only the requests count, not the fixtures the test saves around them.
+ * On a class it applies to every test; a method annotation wins.
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;QueryBudget(3)   // page of ids + hydration + count
+ * void listIsServedInThreeQueries() { mockMvc.perform(get("/api/v1/news")) ... }
+ * </pre>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /** Most statements one request may run. */
+    int value();
+
+    /** Most times one request may run the same statement; negative = not checked. */
+    int maxRepeats() default -1;
+}
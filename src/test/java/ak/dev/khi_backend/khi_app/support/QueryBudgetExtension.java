@@ -0,0 +1,60 @@
+package ak.dev.khi_backend.khi_app.support;
+
+import ak.dev.khi_backend.khi_app.config.SqlStats;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Opens a {@link SqlStats} scope around the test body; every request the
+ * SQL metrics filter handles inside it is checked against {@link QueryBudget}.
+ */
+class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), SqlStats.open(context.getDisplayName()));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStats.Scope scope = context.getStore(NAMESPACE).remove(context.getUniqueId(), SqlStats.Scope.class);
+        if (scope == null) return;
+        scope.close();
+        if (context.getExecutionException().isPresent()) return;
+
+        QueryBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .orElseThrow();
+
+        List<SqlStats.Summary> requests = scope.children();
+        if (requests.isEmpty()) {
+            throw new AssertionError("@QueryBudget test performed no HTTP request");
+        }
+        for (SqlStats.Summary request : requests) {
+            if (request.statements() > budget.value()) {
+                throw new AssertionError("%s ran %d SQL statements, budget is %d%s".formatted(
+                        request.name(), request.statements(), budget.value(), describe(request.repeated())));
+            }
+            if (budget.maxRepeats() >= 0 && request.maxRepeats() > budget.maxRepeats()) {
+                throw new AssertionError("%s repeated a statement %d times, at most %d allowed%s".formatted(
+                        request.name(), request.maxRepeats(), budget.maxRepeats(), describe(request.repeated())));
+            }
+        }
+    }
+
+    private static String describe(Map<String, Integer> repeated) {
+        if (repeated.isEmpty()) return "";
+        return repeated.entrySet().stream()
+                .map(e -> "  " + e.getValue() + "x " + e.getKey())
+                .collect(Collectors.joining("\n", "\nRepeated statements:\n", ""));
+    }
+}